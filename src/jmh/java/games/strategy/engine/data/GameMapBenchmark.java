@@ -0,0 +1,50 @@
+package games.strategy.engine.data;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.triplea.xml.TestMapGameData;
+
+/**
+ * Measures route finding and neighbor lookups on a large map.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class GameMapBenchmark {
+  private GameMap map;
+  private Territory start;
+  private Territory end;
+
+  @Setup
+  public void setUp() throws Exception {
+    final GameData data = TestMapGameData.BIG_WORLD_1942.getGameData();
+    map = data.getMap();
+    start = map.getTerritory("Western Germany");
+    end = map.getTerritory("Moscow");
+  }
+
+  @Benchmark
+  public Route getRoute() {
+    return map.getRoute(start, end);
+  }
+
+  @Benchmark
+  public Route getLandRoute() {
+    return map.getRoute(start, end, Matches.TerritoryIsLand);
+  }
+
+  @Benchmark
+  public Set<Territory> getNeighborsWithinDistance() {
+    return map.getNeighbors(start, 4, Matches.TerritoryIsLand);
+  }
+}
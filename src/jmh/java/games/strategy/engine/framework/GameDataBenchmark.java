@@ -0,0 +1,55 @@
+package games.strategy.engine.framework;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.triplea.xml.TestMapGameData;
+
+/**
+ * Measures copying, saving and loading complete game data.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class GameDataBenchmark {
+  @Param({"REVISED", "BIG_WORLD_1942"})
+  public TestMapGameData map;
+
+  private GameData data;
+  private byte[] savedGame;
+
+  @Setup
+  public void setUp() throws Exception {
+    data = map.getGameData();
+    savedGame = saveGame();
+  }
+
+  @Benchmark
+  public GameData cloneGameData() {
+    return GameDataUtils.cloneGameData(data, false);
+  }
+
+  @Benchmark
+  public byte[] saveGame() throws IOException {
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    GameDataManager.saveGame(sink, data);
+    return sink.toByteArray();
+  }
+
+  @Benchmark
+  public GameData loadGame() throws IOException {
+    return GameDataManager.loadGame(new ByteArrayInputStream(savedGame), null);
+  }
+}
@@ -0,0 +1,213 @@
+package games.strategy.net.nio;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.framework.GameObjectStreamFactory;
+import games.strategy.engine.framework.IGame;
+import games.strategy.engine.framework.IGameModifiedChannel;
+import games.strategy.engine.message.RemoteMethodCall;
+import games.strategy.engine.message.SpokeInvoke;
+import games.strategy.net.INode;
+import games.strategy.net.MessageHeader;
+import games.strategy.net.Node;
+import games.strategy.triplea.delegate.GameDataTestUtil;
+import games.strategy.triplea.xml.TestMapGameData;
+
+/**
+ * Measures encoding and decoding a typical game message, a broadcast {@link IGameModifiedChannel#gameDataChanged}
+ * call, with the {@link Encoder} and {@link Decoder} of a socket, including their pooled buffers and, if enabled, the
+ * registered types. The encoded packet is written to and read from memory instead of the network.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class MessageCodecBenchmark {
+  private static final INode SERVER = new Node("server", InetAddress.getLoopbackAddress(), 3300);
+
+  @Param({"false", "true"})
+  private boolean registeredTypes;
+
+  private NIOSocket nioSocket;
+  private NIOReader reader;
+  private Encoder encoder;
+  private Decoder decoder;
+  private final BufferPool bufferPool = new BufferPool();
+  private SocketChannel channel;
+  private MessageHeader message;
+  private final MemoryChannel encoded = new MemoryChannel();
+  private final MemoryChannel buffer = new MemoryChannel();
+
+  @Setup
+  public void setUp() throws Exception {
+    final GameData data = TestMapGameData.REVISED.getGameData();
+    final GameObjectStreamFactory objectStreamFactory = new GameObjectStreamFactory(data);
+    nioSocket = new NIOSocket(objectStreamFactory, new Listener(), "Benchmark");
+    reader = new NIOReader(nioSocket, "Benchmark", bufferPool);
+    encoder = new Encoder(nioSocket, null, objectStreamFactory, bufferPool);
+    decoder = new Decoder(nioSocket, reader, nioSocket, objectStreamFactory, "Benchmark", 1);
+    // never connected, only tells the encoder and decoder which encoding to use
+    channel = SocketChannel.open();
+    if (registeredTypes) {
+      nioSocket.useRegisteredTypes(channel);
+    }
+    final Territory germany = GameDataTestUtil.territory("Germany", data);
+    final Change change = ChangeFactory.addUnits(germany, GameDataTestUtil.infantry(data).create(10,
+        GameDataTestUtil.germans(data)));
+    final RemoteMethodCall call = new RemoteMethodCall(IGame.GAME_MODIFICATION_CHANNEL.getName(), "gameDataChanged",
+        new Object[] {change}, new Class<?>[] {Change.class}, IGameModifiedChannel.class);
+    message = new MessageHeader(SERVER, new SpokeInvoke(null, false, call, SERVER));
+    encode(message, encoded);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    decoder.shutDown();
+    reader.shutDown();
+    nioSocket.shutDown();
+    channel.close();
+  }
+
+  @Benchmark
+  public int encode() throws IOException {
+    return encode(message, buffer);
+  }
+
+  @Benchmark
+  public MessageHeader decode() throws Exception {
+    encoded.rewind();
+    return decode(encoded);
+  }
+
+  @Benchmark
+  public MessageHeader roundTrip() throws Exception {
+    encode(message, buffer);
+    return decode(buffer);
+  }
+
+  private int encode(final MessageHeader header, final MemoryChannel sink) throws IOException {
+    final SocketWriteData data = encoder.encode(header, null, registeredTypes);
+    try {
+      sink.clear();
+      data.write(sink);
+      return data.size();
+    } finally {
+      data.release();
+    }
+  }
+
+  private MessageHeader decode(final MemoryChannel source) throws Exception {
+    final SocketReadData data = new SocketReadData(channel, bufferPool);
+    try {
+      data.read(source);
+      return decoder.readMessage(data);
+    } finally {
+      data.release();
+    }
+  }
+
+  /**
+   * Keeps the bytes written to it, so they can be read again.
+   */
+  private static final class MemoryChannel implements GatheringByteChannel, ReadableByteChannel {
+    // the position is the end of the bytes written
+    private ByteBuffer bytes = ByteBuffer.allocate(4096);
+    private int readPosition = 0;
+
+    void clear() {
+      bytes.clear();
+      readPosition = 0;
+    }
+
+    void rewind() {
+      readPosition = 0;
+    }
+
+    @Override
+    public long write(final ByteBuffer[] sources, final int offset, final int length) {
+      long count = 0;
+      for (int i = offset; i < offset + length; i++) {
+        count += write(sources[i]);
+      }
+      return count;
+    }
+
+    @Override
+    public long write(final ByteBuffer[] sources) {
+      return write(sources, 0, sources.length);
+    }
+
+    @Override
+    public int write(final ByteBuffer source) {
+      final int count = source.remaining();
+      if (bytes.remaining() < count) {
+        final ByteBuffer larger = ByteBuffer.allocate(2 * (bytes.position() + count));
+        bytes.flip();
+        larger.put(bytes);
+        bytes = larger;
+      }
+      bytes.put(source);
+      return count;
+    }
+
+    @Override
+    public int read(final ByteBuffer destination) {
+      final ByteBuffer source = bytes.duplicate();
+      source.flip();
+      source.position(readPosition);
+      final int count = Math.min(destination.remaining(), source.remaining());
+      source.limit(readPosition + count);
+      destination.put(source);
+      readPosition += count;
+      return count;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {}
+  }
+
+  private static final class Listener implements NIOSocketListener {
+    @Override
+    public void socketUnqaurantined(final SocketChannel channel, final QuarantineConversation conversation) {}
+
+    @Override
+    public void socketError(final SocketChannel channel, final Exception error) {}
+
+    @Override
+    public void messageReceived(final MessageHeader message, final SocketChannel channel) {}
+
+    @Override
+    public INode getRemoteNode(final SocketChannel channel) {
+      return SERVER;
+    }
+
+    @Override
+    public INode getLocalNode() {
+      return SERVER;
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package games.strategy.triplea.ai.proAI;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.framework.ServerGame;
+import games.strategy.engine.gamePlayer.IGamePlayer;
+import games.strategy.net.HeadlessServerMessenger;
+import games.strategy.net.Messengers;
+import games.strategy.sound.HeadlessSoundChannel;
+import games.strategy.triplea.TripleA;
+import games.strategy.triplea.ui.display.HeadlessDisplay;
+import games.strategy.triplea.xml.TestMapGameData;
+
+/**
+ * Measures a complete turn of the first player of a map played by the hard AI, from its first to its last game step,
+ * in a headless game.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Thread)
+public class ProAiTurnBenchmark {
+  private ServerGame game;
+
+  @Setup(Level.Invocation)
+  public void setUp() throws Exception {
+    final GameData data = TestMapGameData.REVISED.getGameData();
+    final Map<String, String> playerTypes = new HashMap<>();
+    for (final PlayerID player : data.getPlayerList().getPlayers()) {
+      playerTypes.put(player.getName(), TripleA.PRO_COMPUTER_PLAYER_TYPE);
+    }
+    final Set<IGamePlayer> players = data.getGameLoader().createPlayers(playerTypes);
+    game = new ServerGame(data, players, new HashMap<>(), new Messengers(new HeadlessServerMessenger()));
+    game.addDisplay(new HeadlessDisplay());
+    game.addSoundChannel(new HeadlessSoundChannel());
+    final AtomicReference<PlayerID> firstPlayer = new AtomicReference<>();
+    final AtomicBoolean stopRequested = new AtomicBoolean();
+    game.addGameStepListener((stepName, delegateName, player, round, displayName) -> {
+      if (player == null) {
+        return;
+      }
+      firstPlayer.compareAndSet(null, player);
+      if (!player.equals(firstPlayer.get()) && stopRequested.compareAndSet(false, true)) {
+        // stopping the game blocks until the current step is done, so it must not be called from the game thread
+        new Thread(game::stopGame, "Stop benchmark game").start();
+      }
+    });
+  }
+
+  @Benchmark
+  public void playFirstTurn() {
+    game.startGame();
+  }
+}
@@ -0,0 +1,51 @@
+package games.strategy.triplea.delegate;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Route;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.delegate.dataObjects.MoveValidationResult;
+import games.strategy.triplea.xml.TestMapGameData;
+
+/**
+ * Measures validating a combat move of a mixed land force.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class MoveValidatorBenchmark {
+  private GameData data;
+  private PlayerID russians;
+  private Collection<Unit> units;
+  private Route route;
+
+  @Setup
+  public void setUp() throws Exception {
+    data = TestMapGameData.REVISED.getGameData();
+    russians = GameDataTestUtil.russians(data);
+    final Territory russia = GameDataTestUtil.territory("Russia", data);
+    final Territory westRussia = GameDataTestUtil.territory("West Russia", data);
+    units = russia.getUnits().getMatches(Matches.UnitIsLand);
+    route = new Route(russia, westRussia);
+  }
+
+  @Benchmark
+  public MoveValidationResult validateMove() {
+    return MoveValidator.validateMove(units, route, russians, Collections.emptyList(), new HashMap<>(), false, null,
+        data);
+  }
+}
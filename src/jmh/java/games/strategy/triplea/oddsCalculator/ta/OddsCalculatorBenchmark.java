@@ -0,0 +1,68 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.delegate.GameDataTestUtil;
+import games.strategy.triplea.xml.TestMapGameData;
+
+/**
+ * Measures {@link OddsCalculator#calculate()} for a plain land battle, and for the same battle with a defending AA gun
+ * (which cannot be compiled by {@link BattleSimulator} and is fought with a {@code MustFightBattle}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class OddsCalculatorBenchmark {
+  private static final int RUN_COUNT = 200;
+
+  @Param({"false", "true"})
+  public boolean withAaGun;
+
+  private OddsCalculator calculator;
+
+  @Setup
+  public void setUp() throws Exception {
+    final GameData data = TestMapGameData.REVISED.getGameData();
+    final PlayerID germans = GameDataTestUtil.germans(data);
+    final PlayerID russians = GameDataTestUtil.russians(data);
+    final Territory location = GameDataTestUtil.territory("West Russia", data);
+    final List<Unit> attacking = GameDataTestUtil.infantry(data).create(8, germans);
+    attacking.addAll(data.getUnitTypeList().getUnitType("artillery").create(4, germans));
+    attacking.addAll(GameDataTestUtil.armour(data).create(4, germans));
+    attacking.addAll(GameDataTestUtil.fighter(data).create(2, germans));
+    final List<Unit> defending = GameDataTestUtil.infantry(data).create(12, russians);
+    defending.addAll(GameDataTestUtil.armour(data).create(2, russians));
+    if (withAaGun) {
+      defending.addAll(GameDataTestUtil.aaGun(data).create(1, russians));
+    }
+    calculator = new OddsCalculator(data);
+    calculator.setCalculateData(germans, russians, location, attacking, defending, Collections.emptyList(),
+        Collections.emptyList(), RUN_COUNT);
+  }
+
+  @TearDown
+  public void tearDown() {
+    calculator.shutdown();
+  }
+
+  @Benchmark
+  public AggregateResults calculate() {
+    return calculator.calculate();
+  }
+}
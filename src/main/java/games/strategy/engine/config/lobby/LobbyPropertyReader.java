@@ -11,6 +11,8 @@ import games.strategy.engine.config.PropertyFileReader;
  */
 public class LobbyPropertyReader {
   private static final String LOBBY_PROPERTIES_FILE = "config/lobby/lobby.properties";
+  private static final int DEFAULT_RSA_KEY_POOL_SIZE = 32;
+  private static final int DEFAULT_RSA_KEY_POOL_LOW_WATER_MARK = 8;
 
   private final PropertyFileReader propertyFileReader;
 
@@ -36,10 +38,31 @@ public class LobbyPropertyReader {
     return propertyFileReader.readProperty("postgres_password");
   }
 
+  /**
+   * @return How many RSA key pairs for login challenges are generated ahead of time.
+   */
+  public int getRsaKeyPoolSize() {
+    return readInt(PropertyKeys.rsaKeyPoolSize, DEFAULT_RSA_KEY_POOL_SIZE);
+  }
+
+  /**
+   * @return How few pre-generated RSA key pairs may be left before more are generated.
+   */
+  public int getRsaKeyPoolLowWaterMark() {
+    return readInt(PropertyKeys.rsaKeyPoolLowWaterMark, DEFAULT_RSA_KEY_POOL_LOW_WATER_MARK);
+  }
+
+  private int readInt(final String key, final int defaultValue) {
+    final String value = propertyFileReader.readProperty(key);
+    return value.isEmpty() ? defaultValue : Integer.parseInt(value);
+  }
+
   @VisibleForTesting
   interface PropertyKeys {
     String port = "port";
     String postgresUser = "postgres_user";
     String postgresPassword = "postgres_password";
+    String rsaKeyPoolSize = "rsa_key_pool_size";
+    String rsaKeyPoolLowWaterMark = "rsa_key_pool_low_water_mark";
   }
 }
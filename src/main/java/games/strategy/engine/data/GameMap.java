@@ -30,6 +30,10 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
   // otherwise, m_gridDimensions.length is the number of dimensions,
   // and each element is the size of a dimension
   private int[] m_gridDimensions = null;
+  // index based copy of the connections and shortest path caches for the conditions in getRouteCacheIndex,
+  // both built lazily and dropped whenever the map changes
+  private transient volatile TerritoryGraph m_graph = null;
+  private transient volatile RouteCache[] m_routeCaches = null;
 
   GameMap(final GameData data) {
     super(data);
@@ -150,6 +154,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     m_territories.add(t1);
     m_connections.put(t1, Collections.emptySet());
     m_territoryLookup.put(t1.getName(), t1);
+    clearRouteCaches();
   }
 
   /**
@@ -187,6 +192,58 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     final Set<Territory> modified = new HashSet<>(current);
     modified.add(to);
     m_connections.put(from, Collections.unmodifiableSet(modified));
+    clearRouteCaches();
+  }
+
+  private void clearRouteCaches() {
+    m_graph = null;
+    m_routeCaches = null;
+  }
+
+  TerritoryGraph getGraph() {
+    TerritoryGraph graph = m_graph;
+    if (graph == null) {
+      graph = new TerritoryGraph(m_territories, m_connections);
+      m_graph = graph;
+    }
+    return graph;
+  }
+
+  /**
+   * Only conditions that depend on nothing but the map itself can be cached, since the caches are not dropped when
+   * ownership, units or attachments change.
+   */
+  private static int getRouteCacheIndex(final Match<Territory> cond) {
+    if (cond == null || cond == Matches.TerritoryIsLandOrWater) {
+      return 0;
+    } else if (cond == Matches.TerritoryIsLand) {
+      return 1;
+    } else if (cond == Matches.TerritoryIsWater) {
+      return 2;
+    }
+    return -1;
+  }
+
+  /**
+   * @return the shortest path cache for the given condition, or null if the condition can not be cached or the
+   *         territory is not part of this map.
+   */
+  private RouteCache getRouteCache(final Match<Territory> cond, final Territory t) {
+    final int index = getRouteCacheIndex(cond);
+    if (index < 0) {
+      return null;
+    }
+    RouteCache[] caches = m_routeCaches;
+    if (caches == null) {
+      caches = new RouteCache[3];
+      m_routeCaches = caches;
+    }
+    RouteCache cache = caches[index];
+    if (cache == null) {
+      cache = new RouteCache(getGraph(), cond);
+      caches[index] = cache;
+    }
+    return cache.contains(t) ? cache : null;
   }
 
   /**
@@ -258,6 +315,10 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     if (distance == 1) {
       return start;
     }
+    final RouteCache cache = getRouteCache(null, territory);
+    if (cache != null) {
+      return cache.getNeighbors(territory, distance);
+    }
     final Set<Territory> neighbors = getNeighbors(start, new HashSet<>(start), --distance);
     neighbors.remove(territory);
     return neighbors;
@@ -279,6 +340,10 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     if (distance == 1) {
       return start;
     }
+    final RouteCache cache = getRouteCache(cond, territory);
+    if (cache != null) {
+      return cache.getNeighbors(territory, distance);
+    }
     final Set<Territory> neighbors = getNeighbors(start, new HashSet<>(start), --distance, cond);
     neighbors.remove(territory);
     return neighbors;
@@ -365,6 +430,10 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     if (getNeighbors(t1, cond).contains(t2)) {
       return new Route(t1, t2);
     }
+    final RouteCache cache = getRouteCache(cond, t1);
+    if (cache != null) {
+      return cache.getRoute(t1, t2);
+    }
     final RouteFinder engine = new RouteFinder(this, cond);
     return engine.findRoute(t1, t2);
   }
@@ -458,6 +527,10 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     if (t1.equals(t2)) {
       return 0;
     }
+    final RouteCache cache = getRouteCache(cond, t1);
+    if (cache != null) {
+      return cache.getDistance(t1, t2);
+    }
     final Set<Territory> frontier = new HashSet<>();
     frontier.add(t1);
     return getDistance(0, new HashSet<>(), frontier, t2, cond);
@@ -588,6 +661,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    * If the actual territories in the map are deleted, or new ones added, call this.
    */
   public void notifyChanged() {
+    clearRouteCaches();
     getData().notifyMapDataChanged();
   }
 }
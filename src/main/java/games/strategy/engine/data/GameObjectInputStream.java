@@ -2,14 +2,15 @@ package games.strategy.engine.data;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.ObjectInputStream;
 
 import games.strategy.engine.framework.GameObjectStreamFactory;
+import games.strategy.net.RegisteredTypeObjectInputStream;
+import games.strategy.net.TypeRegistry;
 
 /**
  * Please refer to the comments on GameObjectOutputStream.
  */
-public class GameObjectInputStream extends ObjectInputStream {
+public class GameObjectInputStream extends RegisteredTypeObjectInputStream {
   private final GameObjectStreamFactory m_dataSource;
 
   /**
@@ -21,7 +22,22 @@ public class GameObjectInputStream extends ObjectInputStream {
    *        input stream
    */
   public GameObjectInputStream(final GameObjectStreamFactory dataSource, final InputStream input) throws IOException {
-    super(input);
+    this(dataSource, input, null);
+  }
+
+  /**
+   * Creates new GameObjectReader that reads the specified types compactly.
+   *
+   * @param dataSource
+   *        data source
+   * @param input
+   *        input stream
+   * @param typeRegistry
+   *        the registered types, or null to read plain java serialization
+   */
+  public GameObjectInputStream(final GameObjectStreamFactory dataSource, final InputStream input,
+      final TypeRegistry typeRegistry) throws IOException {
+    super(input, typeRegistry);
     m_dataSource = dataSource;
     enableResolveObject(true);
   }
@@ -1,9 +1,11 @@
 package games.strategy.engine.data;
 
 import java.io.IOException;
-import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 
+import games.strategy.net.RegisteredTypeObjectOutputStream;
+import games.strategy.net.TypeRegistry;
+
 /**
  * To maintain == relationships and the singleton nature of many classes in GameData
  * we do some work in the ObjectSteam.
@@ -15,7 +17,7 @@ import java.io.OutputStream;
  * with the GameObjectInputStream.
  * This ensures the state of the territory remains consistent.
  */
-public class GameObjectOutputStream extends ObjectOutputStream {
+public class GameObjectOutputStream extends RegisteredTypeObjectOutputStream {
   /**
    * Creates a new instance of GameObjectOutputStream.
    *
@@ -23,7 +25,19 @@ public class GameObjectOutputStream extends ObjectOutputStream {
    *        output stream
    */
   public GameObjectOutputStream(final OutputStream output) throws IOException {
-    super(output);
+    this(output, null);
+  }
+
+  /**
+   * Creates a new instance of GameObjectOutputStream that writes the specified types compactly.
+   *
+   * @param output
+   *        output stream
+   * @param typeRegistry
+   *        the registered types, or null to write plain java serialization
+   */
+  public GameObjectOutputStream(final OutputStream output, final TypeRegistry typeRegistry) throws IOException {
+    super(output, typeRegistry);
     enableReplaceObject(true);
   }
 
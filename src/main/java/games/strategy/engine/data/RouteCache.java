@@ -0,0 +1,143 @@
+package games.strategy.engine.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import games.strategy.util.Match;
+
+/**
+ * Shortest path information for a {@link GameMap}, restricted to the territories matching a fixed condition.
+ *
+ * <p>
+ * The condition is evaluated once per territory when the cache is created. Each start territory gets its own
+ * breadth-first search tree (a distance and a predecessor for every territory), computed the first time that territory
+ * is queried, so only the rows that are actually used are ever built. The owning map discards the whole cache when its
+ * territories or connections change.
+ * </p>
+ *
+ * <p>
+ * Like the uncached searches in {@link GameMap}, the condition applies to every covered territory of a route including
+ * the end, but not to the start.
+ * </p>
+ */
+final class RouteCache {
+  private static final int UNREACHABLE = -1;
+
+  private final TerritoryGraph graph;
+  // for each territory, the indices of its neighbors that match the condition
+  private final int[][] adjacency;
+  // rows are published without synchronization, the final fields of Row make that safe
+  private final Row[] rows;
+
+  RouteCache(final TerritoryGraph graph, final Match<Territory> condition) {
+    this.graph = graph;
+    final int size = graph.size();
+    final boolean[] matching = new boolean[size];
+    for (int i = 0; i < size; i++) {
+      matching[i] = condition == null || condition.match(graph.getTerritory(i));
+    }
+    adjacency = new int[size][];
+    for (int i = 0; i < size; i++) {
+      final int[] neighbors = graph.getNeighbors(i);
+      final int[] matchingNeighbors = new int[neighbors.length];
+      int count = 0;
+      for (final int neighbor : neighbors) {
+        if (matching[neighbor]) {
+          matchingNeighbors[count++] = neighbor;
+        }
+      }
+      adjacency[i] = count == neighbors.length ? matchingNeighbors : Arrays.copyOf(matchingNeighbors, count);
+    }
+    rows = new Row[size];
+  }
+
+  boolean contains(final Territory territory) {
+    return graph.indexOf(territory) >= 0;
+  }
+
+  /**
+   * @return the distance from start to end, or -1 if end can not be reached.
+   */
+  int getDistance(final Territory start, final Territory end) {
+    final int endIndex = graph.indexOf(end);
+    if (endIndex < 0) {
+      return UNREACHABLE;
+    }
+    return getRow(start).distance[endIndex];
+  }
+
+  /**
+   * @return a shortest route from start to end, or null if end can not be reached.
+   */
+  Route getRoute(final Territory start, final Territory end) {
+    final int endIndex = graph.indexOf(end);
+    if (endIndex < 0) {
+      return null;
+    }
+    final Row row = getRow(start);
+    if (row.distance[endIndex] == UNREACHABLE) {
+      return null;
+    }
+    final List<Territory> route = new ArrayList<>(row.distance[endIndex] + 1);
+    for (int current = endIndex; current != UNREACHABLE; current = row.previous[current]) {
+      route.add(graph.getTerritory(current));
+    }
+    Collections.reverse(route);
+    return new Route(route);
+  }
+
+  /**
+   * @return all territories within the given distance of start, not including start itself.
+   */
+  Set<Territory> getNeighbors(final Territory start, final int distance) {
+    final int[] distances = getRow(start).distance;
+    final Set<Territory> neighbors = new HashSet<>();
+    for (int i = 0; i < distances.length; i++) {
+      if (distances[i] > 0 && distances[i] <= distance) {
+        neighbors.add(graph.getTerritory(i));
+      }
+    }
+    return neighbors;
+  }
+
+  private Row getRow(final Territory start) {
+    final int startIndex = graph.indexOf(start);
+    Row row = rows[startIndex];
+    if (row == null) {
+      row = new Row(startIndex, adjacency);
+      rows[startIndex] = row;
+    }
+    return row;
+  }
+
+  private static final class Row {
+    private final int[] distance;
+    private final int[] previous;
+
+    private Row(final int start, final int[][] adjacency) {
+      distance = new int[adjacency.length];
+      previous = new int[adjacency.length];
+      Arrays.fill(distance, UNREACHABLE);
+      Arrays.fill(previous, UNREACHABLE);
+      final int[] queue = new int[adjacency.length];
+      int head = 0;
+      int tail = 0;
+      distance[start] = 0;
+      queue[tail++] = start;
+      while (head < tail) {
+        final int current = queue[head++];
+        for (final int next : adjacency[current]) {
+          if (distance[next] == UNREACHABLE) {
+            distance[next] = distance[current] + 1;
+            previous[next] = current;
+            queue[tail++] = next;
+          }
+        }
+      }
+    }
+  }
+}
@@ -1,71 +1,180 @@
 package games.strategy.engine.data;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.function.ToIntBiFunction;
 
 import games.strategy.util.Match;
 
-// TODO this class doesn't take movementcost into account... typically the shortest route is the fastest route, but not
-// always...
+/**
+ * Finds the cheapest route between two territories that only covers territories matching a condition.
+ *
+ * <p>
+ * This is Dijkstra's algorithm over the index based {@link TerritoryGraph} of the map: all search state lives in arrays
+ * indexed by territory, the condition is evaluated at most once per territory, and the search stops as soon as the end
+ * territory is reached with its final cost. Without a move cost every step costs 1, so the route found is one with the
+ * fewest steps.
+ * </p>
+ */
 class RouteFinder {
+  private static final byte NOT_EVALUATED = 0;
+  private static final byte MATCHING = 1;
+  private static final byte NOT_MATCHING = 2;
+  private static final byte SETTLED = 3;
+
   private final GameMap m_map;
   private final Match<Territory> m_condition;
-  private final Map<Territory, Territory> m_previous;
+  private final ToIntBiFunction<Territory, Territory> m_moveCost;
 
   RouteFinder(final GameMap map, final Match<Territory> condition) {
+    this(map, condition, null);
+  }
+
+  /**
+   * @param moveCost
+   *        cost of moving from a territory to an adjacent one, which must not be negative, or null if every step
+   *        costs 1.
+   */
+  RouteFinder(final GameMap map, final Match<Territory> condition,
+      final ToIntBiFunction<Territory, Territory> moveCost) {
     m_map = map;
     m_condition = condition;
-    m_previous = new HashMap<>();
+    m_moveCost = moveCost;
   }
 
+  /**
+   * @return the cheapest route from start to end, or null if no route exists.
+   */
   Route findRoute(final Territory start, final Territory end) {
-    final Set<Territory> startSet = m_map.getNeighbors(start, m_condition);
-    for (final Territory t : startSet) {
-      m_previous.put(t, start);
+    final TerritoryGraph graph = m_map.getGraph();
+    final int startIndex = graph.indexOf(start);
+    final int endIndex = graph.indexOf(end);
+    if (startIndex < 0 || endIndex < 0) {
+      return null;
     }
-    if (calculate(startSet, end)) {
-      return getRoute(start, end);
+    if (startIndex == endIndex) {
+      return new Route(start);
+    }
+    final int size = graph.size();
+    final long[] cost = new long[size];
+    Arrays.fill(cost, Long.MAX_VALUE);
+    final int[] previous = new int[size];
+    final byte[] state = new byte[size];
+    final Queue queue = new Queue(size);
+    cost[startIndex] = 0;
+    queue.add(startIndex, 0);
+    while (!queue.isEmpty()) {
+      final int current = queue.poll();
+      // a territory is queued again whenever a cheaper way to it is found, the older entries are skipped here
+      if (state[current] == SETTLED) {
+        continue;
+      }
+      state[current] = SETTLED;
+      if (current == endIndex) {
+        return getRoute(graph, startIndex, endIndex, previous);
+      }
+      final Territory from = graph.getTerritory(current);
+      for (final int next : graph.getNeighbors(current)) {
+        if (state[next] == NOT_EVALUATED) {
+          state[next] = (m_condition == null || m_condition.match(graph.getTerritory(next))) ? MATCHING : NOT_MATCHING;
+        }
+        if (state[next] != MATCHING) {
+          continue;
+        }
+        final long nextCost = cost[current] + getMoveCost(from, graph.getTerritory(next));
+        if (nextCost < cost[next]) {
+          cost[next] = nextCost;
+          previous[next] = current;
+          queue.add(next, nextCost);
+        }
+      }
     }
     return null;
   }
 
-  private boolean calculate(final Set<Territory> startSet, final Territory end) {
-    final Set<Territory> nextSet = new HashSet<>();
-    for (final Territory t : startSet) {
-      final Set<Territory> neighbors = m_map.getNeighbors(t, m_condition);
-      for (final Territory neighbor : neighbors) {
-        if (!m_previous.containsKey(neighbor)) {
-          m_previous.put(neighbor, t);
-          if (neighbor.equals(end)) {
-            return true;
-          }
-          nextSet.add(neighbor);
-        }
-      }
+  private int getMoveCost(final Territory from, final Territory to) {
+    if (m_moveCost == null) {
+      return 1;
     }
-    if (nextSet.isEmpty()) {
-      return false;
+    final int moveCost = m_moveCost.applyAsInt(from, to);
+    if (moveCost < 0) {
+      throw new IllegalStateException("Negative move cost from " + from + " to " + to + ": " + moveCost);
     }
-    return calculate(nextSet, end);
+    return moveCost;
   }
 
-  private Route getRoute(final Territory start, final Territory destination) {
+  private static Route getRoute(final TerritoryGraph graph, final int start, final int end, final int[] previous) {
     final List<Territory> route = new ArrayList<>();
-    Territory current = destination;
-    while (current != start) {
-      if (current == null) {
-        return null;
-      }
-      route.add(current);
-      current = m_previous.get(current);
+    for (int current = end; current != start; current = previous[current]) {
+      route.add(graph.getTerritory(current));
     }
-    route.add(start);
+    route.add(graph.getTerritory(start));
     Collections.reverse(route);
     return new Route(route);
   }
+
+  /**
+   * A binary min-heap of territory indices ordered by cost.
+   */
+  private static final class Queue {
+    private int[] territories;
+    private long[] costs;
+    private int size = 0;
+
+    private Queue(final int capacity) {
+      territories = new int[Math.max(capacity, 1)];
+      costs = new long[territories.length];
+    }
+
+    private boolean isEmpty() {
+      return size == 0;
+    }
+
+    private void add(final int territory, final long cost) {
+      if (size == territories.length) {
+        territories = Arrays.copyOf(territories, size * 2);
+        costs = Arrays.copyOf(costs, size * 2);
+      }
+      int child = size++;
+      while (child > 0) {
+        final int parent = (child - 1) / 2;
+        if (costs[parent] <= cost) {
+          break;
+        }
+        territories[child] = territories[parent];
+        costs[child] = costs[parent];
+        child = parent;
+      }
+      territories[child] = territory;
+      costs[child] = cost;
+    }
+
+    private int poll() {
+      final int result = territories[0];
+      size--;
+      final int lastTerritory = territories[size];
+      final long lastCost = costs[size];
+      int parent = 0;
+      while (true) {
+        int child = 2 * parent + 1;
+        if (child >= size) {
+          break;
+        }
+        if (child + 1 < size && costs[child + 1] < costs[child]) {
+          child++;
+        }
+        if (lastCost <= costs[child]) {
+          break;
+        }
+        territories[parent] = territories[child];
+        costs[parent] = costs[child];
+        parent = child;
+      }
+      territories[parent] = lastTerritory;
+      costs[parent] = lastCost;
+      return result;
+    }
+  }
 }
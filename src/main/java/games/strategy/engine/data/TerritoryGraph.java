@@ -0,0 +1,60 @@
+package games.strategy.engine.data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable copy of the connections of a {@link GameMap} where every territory is identified by an index, so route
+ * searches can keep their state in plain arrays instead of hash maps.
+ */
+final class TerritoryGraph {
+  private final List<Territory> territories;
+  private final Map<Territory, Integer> indices;
+  private final int[][] adjacency;
+
+  TerritoryGraph(final Collection<Territory> territories, final Map<Territory, Set<Territory>> connections) {
+    this.territories = new ArrayList<>(territories);
+    final int size = this.territories.size();
+    indices = new HashMap<>(size * 2);
+    for (int i = 0; i < size; i++) {
+      indices.put(this.territories.get(i), i);
+    }
+    adjacency = new int[size][];
+    for (int i = 0; i < size; i++) {
+      final Set<Territory> neighbors = connections.get(this.territories.get(i));
+      final int[] neighborIndices = new int[neighbors.size()];
+      int count = 0;
+      for (final Territory neighbor : neighbors) {
+        neighborIndices[count++] = indices.get(neighbor);
+      }
+      adjacency[i] = neighborIndices;
+    }
+  }
+
+  int size() {
+    return territories.size();
+  }
+
+  /**
+   * @return the index of the territory, or -1 if it is not part of the map.
+   */
+  int indexOf(final Territory territory) {
+    final Integer index = indices.get(territory);
+    return index == null ? -1 : index;
+  }
+
+  Territory getTerritory(final int index) {
+    return territories.get(index);
+  }
+
+  /**
+   * @return the indices of the territories the given territory connects to. Callers must not modify the array.
+   */
+  int[] getNeighbors(final int index) {
+    return adjacency[index];
+  }
+}
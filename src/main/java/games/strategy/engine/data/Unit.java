@@ -12,6 +12,8 @@ public class Unit extends GameDataComponent {
   private final GUID m_uid;
   private int m_hits = 0;
   private final UnitType m_type;
+  // the territory or player whose unit collection currently holds this unit, maintained by UnitCollection
+  private transient NamedUnitHolder m_holder = null;
 
   /**
    * Creates new Unit. Should use a call to UnitType.create(). Owner can be null
@@ -44,23 +46,27 @@ public class Unit extends GameDataComponent {
   }
 
   /**
-   * @deprecated DO NOT USE THIS METHOD if at all possible. It is very slow.
-   *             This can return null if the unit is not in any territories.
-   *             A unit just created, or held by a player after purchasing may not be in a territory.
-   *             A unit can be in exactly 2 territories, if the unit is in the process of moving from one territory to
-   *             another. This
-   *             method will just
-   *             return the first territory found.
-   *             A unit should never be in more than 2 territories.
+   * This can return null if the unit is not in any territories.
+   * A unit just created, or held by a player after purchasing may not be in a territory.
+   * A unit can be in exactly 2 territories, if the unit is in the process of moving from one territory to another.
+   * This method will return the territory it was added to last.
+   * A unit should never be in more than 2 territories.
    */
-  @Deprecated
   protected Territory getTerritoryUnitIsIn() {
-    for (final Territory t : this.getData().getMap().getTerritories()) {
-      if (t.getUnits().getUnits().contains(this)) {
-        return t;
-      }
+    return (m_holder instanceof Territory) ? (Territory) m_holder : null;
+  }
+
+  void setHolder(final NamedUnitHolder holder) {
+    m_holder = holder;
+  }
+
+  /**
+   * Called when this unit is removed from the units of the given holder, which it might have already left.
+   */
+  void clearHolder(final NamedUnitHolder holder) {
+    if (m_holder == holder) {
+      m_holder = null;
     }
-    return null;
   }
 
   public int getHits() {
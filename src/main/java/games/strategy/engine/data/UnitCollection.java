@@ -1,5 +1,7 @@
 package games.strategy.engine.data;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -36,6 +38,7 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
   @Override
   public boolean add(final Unit unit) {
     final boolean result = m_units.add(unit);
+    unit.setHolder(m_holder);
     m_holder.notifyChanged();
     return result;
   }
@@ -43,6 +46,7 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
   @Override
   public boolean addAll(final Collection<? extends Unit> units) {
     final boolean result = m_units.addAll(units);
+    units.forEach(unit -> unit.setHolder(m_holder));
     m_holder.notifyChanged();
     return result;
   }
@@ -50,6 +54,11 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
   @Override
   public boolean removeAll(final Collection<?> units) {
     final boolean result = m_units.removeAll(units);
+    for (final Object unit : units) {
+      if (unit instanceof Unit) {
+        ((Unit) unit).clearHolder(m_holder);
+      }
+    }
     m_holder.notifyChanged();
     return result;
   }
@@ -198,6 +207,15 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
     return Match.getMatches(m_units, predicate);
   }
 
+  private void readObject(final ObjectInputStream stream) throws IOException, ClassNotFoundException {
+    stream.defaultReadObject();
+    // units read through a GameObjectInputStream are replaced by the units of the local game data,
+    // which already know their holder
+    if (!(stream instanceof GameObjectInputStream)) {
+      m_units.forEach(unit -> unit.setHolder(m_holder));
+    }
+  }
+
   @Override
   public String toString() {
     final StringBuilder buf = new StringBuilder();
@@ -233,17 +251,27 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
   @Override
   public boolean remove(Object object) {
     final boolean result = m_units.remove(object);
+    if (result) {
+      ((Unit) object).clearHolder(m_holder);
+    }
     m_holder.notifyChanged();
     return result;
   }
 
   @Override
   public boolean retainAll(Collection<?> collection) {
-    return m_units.retainAll(collection);
+    return m_units.removeIf(unit -> {
+      if (collection.contains(unit)) {
+        return false;
+      }
+      unit.clearHolder(m_holder);
+      return true;
+    });
   }
 
   @Override
   public void clear() {
+    m_units.forEach(unit -> unit.clearHolder(m_holder));
     m_units.clear();
     m_holder.notifyChanged();
   }
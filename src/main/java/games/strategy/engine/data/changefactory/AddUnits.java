@@ -30,6 +30,18 @@ class AddUnits extends Change {
     m_name = name;
   }
 
+  String getName() {
+    return m_name;
+  }
+
+  String getType() {
+    return m_type;
+  }
+
+  Collection<Unit> getUnits() {
+    return m_units;
+  }
+
   @Override
   public Change invert() {
     return new RemoveUnits(m_name, m_type, m_units);
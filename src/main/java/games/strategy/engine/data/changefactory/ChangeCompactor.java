@@ -0,0 +1,174 @@
+package games.strategy.engine.data.changefactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
+import games.strategy.engine.data.Unit;
+
+/**
+ * Replaces a list of changes with a shorter change that has the same net effect on the game data.
+ *
+ * <p>
+ * Unit moves, unit property changes, resource changes and territory owner changes are combined: a unit that is removed
+ * from a territory and added back again is not moved at all, and only the first old and the last new value of a
+ * property or owner are kept. Other changes are kept as they are, and changes are never combined across them, so the
+ * order of the changes is kept wherever it may matter.
+ * </p>
+ *
+ * <p>
+ * The units of a territory may end up in a different order than when the changes are performed one by one.
+ * </p>
+ */
+public final class ChangeCompactor {
+  private final List<Change> compactedChanges = new ArrayList<>();
+  private final Map<List<String>, Map<Unit, Integer>> unitCountChanges = new LinkedHashMap<>();
+  private final Map<PropertyKey, ObjectPropertyChange> propertyChanges = new LinkedHashMap<>();
+  private final Map<List<String>, Integer> resourceChanges = new LinkedHashMap<>();
+  private final Map<String, OwnerChange> ownerChanges = new LinkedHashMap<>();
+
+  private ChangeCompactor() {}
+
+  /**
+   * @return A change with the same effect as performing the specified changes in order.
+   */
+  public static Change compact(final List<Change> changes) {
+    final ChangeCompactor compactor = new ChangeCompactor();
+    for (final Change change : changes) {
+      if (!compactor.add(change)) {
+        return new CompositeChange(changes);
+      }
+    }
+    compactor.flush();
+    return new CompositeChange(compactor.compactedChanges);
+  }
+
+  /**
+   * @return False if the change can not be combined with the previous ones.
+   */
+  private boolean add(final Change change) {
+    if (change instanceof CompositeChange) {
+      for (final Change child : ((CompositeChange) change).getChanges()) {
+        if (!add(child)) {
+          return false;
+        }
+      }
+    } else if (change instanceof AddUnits) {
+      final AddUnits addUnits = (AddUnits) change;
+      return addUnitCountChanges(addUnits.getName(), addUnits.getType(), addUnits.getUnits(), 1);
+    } else if (change instanceof RemoveUnits) {
+      final RemoveUnits removeUnits = (RemoveUnits) change;
+      return addUnitCountChanges(removeUnits.getName(), removeUnits.getType(), removeUnits.getUnits(), -1);
+    } else if (change instanceof ObjectPropertyChange) {
+      final ObjectPropertyChange propertyChange = (ObjectPropertyChange) change;
+      propertyChanges.merge(new PropertyKey(propertyChange.getObject(), propertyChange.getProperty()),
+          propertyChange, (first, last) -> new ObjectPropertyChange(first.getObject(), first.getProperty(),
+              last.getNewValue(), first.getOldValue()));
+    } else if (change instanceof ChangeResourceChange) {
+      final ChangeResourceChange resourceChange = (ChangeResourceChange) change;
+      resourceChanges.merge(listOf(resourceChange.getPlayer(), resourceChange.getResource()),
+          resourceChange.getQuantity(), Integer::sum);
+    } else if (change instanceof OwnerChange) {
+      final OwnerChange ownerChange = (OwnerChange) change;
+      ownerChanges.merge(ownerChange.getTerritory(), ownerChange,
+          (first, last) -> new OwnerChange(first.getTerritory(), last.getNewOwner(), first.getOldOwner()));
+    } else if (!change.isEmpty()) {
+      flush();
+      compactedChanges.add(change);
+    }
+    return true;
+  }
+
+  private static List<String> listOf(final String first, final String second) {
+    final List<String> list = new ArrayList<>(2);
+    list.add(first);
+    list.add(second);
+    return list;
+  }
+
+  private boolean addUnitCountChanges(final String name, final String type, final Iterable<Unit> units,
+      final int countChange) {
+    final Map<Unit, Integer> countChanges =
+        unitCountChanges.computeIfAbsent(listOf(name, type), key -> new LinkedHashMap<>());
+    for (final Unit unit : units) {
+      // a unit can only be in a unit holder once, so anything else means the changes are not what they seem
+      if (Math.abs(countChanges.merge(unit, countChange, Integer::sum)) > 1) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void flush() {
+    for (final ObjectPropertyChange propertyChange : propertyChanges.values()) {
+      if (!Objects.equals(propertyChange.getOldValue(), propertyChange.getNewValue())) {
+        compactedChanges.add(propertyChange);
+      }
+    }
+    propertyChanges.clear();
+    for (final OwnerChange ownerChange : ownerChanges.values()) {
+      if (!Objects.equals(ownerChange.getOldOwner(), ownerChange.getNewOwner())) {
+        compactedChanges.add(ownerChange);
+      }
+    }
+    ownerChanges.clear();
+    resourceChanges.forEach((key, quantity) -> {
+      if (quantity != 0) {
+        compactedChanges.add(new ChangeResourceChange(key.get(0), key.get(1), quantity));
+      }
+    });
+    resourceChanges.clear();
+    // removing all units before adding any keeps a unit from being in two unit holders at once
+    final List<Change> addUnits = new ArrayList<>();
+    unitCountChanges.forEach((key, countChanges) -> {
+      final List<Unit> removed = new ArrayList<>();
+      final List<Unit> added = new ArrayList<>();
+      countChanges.forEach((unit, countChange) -> {
+        if (countChange < 0) {
+          removed.add(unit);
+        } else if (countChange > 0) {
+          added.add(unit);
+        }
+      });
+      if (!removed.isEmpty()) {
+        compactedChanges.add(new RemoveUnits(key.get(0), key.get(1), removed));
+      }
+      if (!added.isEmpty()) {
+        addUnits.add(new AddUnits(key.get(0), key.get(1), added));
+      }
+    });
+    unitCountChanges.clear();
+    compactedChanges.addAll(addUnits);
+  }
+
+  /**
+   * A property of a specific object, which is told apart from equal objects.
+   */
+  private static final class PropertyKey {
+    private final Object object;
+    private final String property;
+
+    PropertyKey(final Object object, final String property) {
+      this.object = object;
+      this.property = property;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (!(other instanceof PropertyKey)) {
+        return false;
+      }
+      final PropertyKey otherKey = (PropertyKey) other;
+      return object == otherKey.object && property.equals(otherKey.property);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(object) + property.hashCode();
+    }
+  }
+}
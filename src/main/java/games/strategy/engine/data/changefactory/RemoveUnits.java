@@ -25,6 +25,18 @@ class RemoveUnits extends Change {
     m_type = type;
   }
 
+  String getName() {
+    return m_name;
+  }
+
+  String getType() {
+    return m_type;
+  }
+
+  Collection<Unit> getUnits() {
+    return m_units;
+  }
+
   @Override
   public Change invert() {
     return new AddUnits(m_name, m_type, m_units);
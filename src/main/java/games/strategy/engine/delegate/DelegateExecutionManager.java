@@ -39,11 +39,21 @@ public class DelegateExecutionManager {
   private final ReentrantReadWriteLock m_readWriteLock = new ReentrantReadWriteLock();
   private final ThreadLocal<Boolean> m_currentThreadHasReadLock = new ThreadLocal<>();
   private volatile boolean m_isGameOver = false;
+  private volatile Runnable m_beforeLeavingDelegateExecution = () -> {
+  };
 
   public void setGameOver() {
     m_isGameOver = true;
   }
 
+  /**
+   * Sets what each thread runs just before it leaves delegate execution, such as sending the changes the delegate made
+   * before anyone is called back.
+   */
+  public void setBeforeLeavingDelegateExecution(final Runnable beforeLeavingDelegateExecution) {
+    m_beforeLeavingDelegateExecution = beforeLeavingDelegateExecution;
+  }
+
   /**
    * When this method returns true, threads will not be able to enter delegates until
    * a call to resumeDelegateExecution is made.
@@ -172,8 +182,12 @@ public class DelegateExecutionManager {
     if (sm_logger.isLoggable(Level.FINE)) {
       sm_logger.fine(Thread.currentThread().getName() + " leaves delegate execution.");
     }
-    m_readWriteLock.readLock().unlock();
-    m_currentThreadHasReadLock.set(null);
+    try {
+      m_beforeLeavingDelegateExecution.run();
+    } finally {
+      m_readWriteLock.readLock().unlock();
+      m_currentThreadHasReadLock.set(null);
+    }
   }
 
   public void enterDelegateExecution() {
@@ -0,0 +1,133 @@
+package games.strategy.engine.framework;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import games.strategy.debug.ClientLogger;
+
+/**
+ * Writes autosaves on a background thread, so the game only has to be paused while it is serialized into memory.
+ *
+ * <p>
+ * Compressing a serialized game and writing it to disk happens on a single daemon thread. At most
+ * {@link #MAX_PENDING_SAVES} saves wait for that thread; when another one is submitted, the submitting thread waits
+ * for room in the queue. This bounds the memory held by pending saves and keeps saves to the same file in order.
+ * </p>
+ *
+ * <p>
+ * Every save is first written to a temporary file next to the target, forced to disk and then renamed over the
+ * target, so a crash never leaves a truncated autosave behind.
+ * </p>
+ */
+final class AutoSaveWriter {
+  private static final Logger logger = Logger.getLogger(AutoSaveWriter.class.getName());
+  static final int MAX_PENDING_SAVES = 2;
+
+  private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+      new ArrayBlockingQueue<>(MAX_PENDING_SAVES), runnable -> {
+        final Thread thread = new Thread(runnable, "Autosave writer");
+        thread.setDaemon(true);
+        return thread;
+      }, AutoSaveWriter::waitForRoom);
+  private final AtomicLong saveCount = new AtomicLong();
+  private volatile long lastSnapshotMillis = 0;
+  private volatile long lastWriteMillis = 0;
+
+  /**
+   * Queues a serialized game to be written to the specified file.
+   *
+   * @param file The autosave file; it is replaced once the new save is completely written.
+   * @param serializedGame The uncompressed game, as returned by {@link GameDataManager#serializeGame}.
+   * @param snapshotMillis How long the game was paused to serialize it.
+   */
+  void write(final File file, final byte[] serializedGame, final long snapshotMillis) {
+    checkNotNull(file);
+    checkNotNull(serializedGame);
+
+    lastSnapshotMillis = snapshotMillis;
+    executor.execute(() -> {
+      final long start = System.nanoTime();
+      try {
+        writeAtomically(file, serializedGame);
+      } catch (final IOException e) {
+        ClientLogger.logQuietly("Failed to write autosave: " + file, e);
+        return;
+      }
+      lastWriteMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      saveCount.incrementAndGet();
+      logger.log(Level.FINE, "Autosaved {0}: paused game for {1} ms, wrote file in {2} ms",
+          new Object[] {file.getName(), snapshotMillis, lastWriteMillis});
+    });
+  }
+
+  private static void waitForRoom(final Runnable save, final ThreadPoolExecutor executor) {
+    if (executor.isShutdown()) {
+      return;
+    }
+    try {
+      executor.getQueue().put(save);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void writeAtomically(final File file, final byte[] serializedGame) throws IOException {
+    final Path target = file.toPath().toAbsolutePath();
+    final Path temp = Files.createTempFile(target.getParent(), file.getName(), ".tmp");
+    try {
+      try (final FileOutputStream fos = new FileOutputStream(temp.toFile());
+          final OutputStream os = new BufferedOutputStream(fos, 64 * 1024)) {
+        GameDataManager.writeSerializedGame(os, serializedGame);
+        os.flush();
+        fos.getFD().sync();
+      }
+      try {
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (final AtomicMoveNotSupportedException e) {
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * Stops accepting saves and waits for the pending ones to be written.
+   */
+  void shutDown(final long timeout, final TimeUnit unit) throws InterruptedException {
+    executor.shutdown();
+    if (!executor.awaitTermination(timeout, unit)) {
+      logger.warning("Gave up waiting for pending autosaves");
+    }
+  }
+
+  /**
+   * @return The number of autosaves written so far.
+   */
+  long getSaveCount() {
+    return saveCount.get();
+  }
+
+  /**
+   * @return A summary of how long the last autosave took.
+   */
+  String getStatistics() {
+    return "Autosaves written: " + saveCount.get() + ", last paused game for " + lastSnapshotMillis
+        + " ms, last written in " + lastWriteMillis + " ms";
+  }
+}
@@ -0,0 +1,112 @@
+package games.strategy.engine.framework;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
+import games.strategy.engine.data.PlayerID;
+
+/**
+ * Broadcasts the modifications of a game, sending the changes made in a row as a single composite change.
+ *
+ * <p>
+ * Changes are held back until any other modification is broadcast, {@link #flush()} is called, too many changes are
+ * held back, or the linger time has passed since the first of them. Empty changes are dropped. All modifications reach
+ * the subscribers in the order they were made.
+ * </p>
+ *
+ * <p>
+ * Subscribers only see a change once it is flushed, so the caller must apply it to its own game data when it is made.
+ * </p>
+ */
+final class BatchingGameModifiedChannel implements IGameModifiedChannel {
+  static final long DEFAULT_LINGER_MILLIS = 50;
+  static final int MAX_BATCH_SIZE = 500;
+
+  private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    final Thread thread = new Thread(runnable, "Game change batch flusher");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final IGameModifiedChannel broadcaster;
+  private final long lingerMillis;
+  private final List<Change> pending = new ArrayList<>();
+  private ScheduledFuture<?> scheduledFlush;
+
+  BatchingGameModifiedChannel(final IGameModifiedChannel broadcaster) {
+    this(broadcaster, DEFAULT_LINGER_MILLIS);
+  }
+
+  BatchingGameModifiedChannel(final IGameModifiedChannel broadcaster, final long lingerMillis) {
+    this.broadcaster = checkNotNull(broadcaster);
+    this.lingerMillis = lingerMillis;
+  }
+
+  @Override
+  public synchronized void gameDataChanged(final Change change) {
+    if (change.isEmpty()) {
+      return;
+    }
+    pending.add(change);
+    if (pending.size() >= MAX_BATCH_SIZE) {
+      flush();
+    } else if (scheduledFlush == null) {
+      scheduledFlush = scheduler.schedule(this::flush, lingerMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Broadcasts the changes held back, if any.
+   */
+  synchronized void flush() {
+    if (scheduledFlush != null) {
+      scheduledFlush.cancel(false);
+      scheduledFlush = null;
+    }
+    if (pending.isEmpty()) {
+      return;
+    }
+    final Change batch = (pending.size() == 1) ? pending.get(0) : new CompositeChange(pending);
+    pending.clear();
+    broadcaster.gameDataChanged(batch);
+  }
+
+  @Override
+  public synchronized void startHistoryEvent(final String event, final Object renderingData) {
+    flush();
+    broadcaster.startHistoryEvent(event, renderingData);
+  }
+
+  @Override
+  public synchronized void startHistoryEvent(final String event) {
+    flush();
+    broadcaster.startHistoryEvent(event);
+  }
+
+  @Override
+  public synchronized void addChildToEvent(final String text, final Object renderingData) {
+    flush();
+    broadcaster.addChildToEvent(text, renderingData);
+  }
+
+  @Override
+  public synchronized void stepChanged(final String stepName, final String delegateName, final PlayerID player,
+      final int round, final String displayName, final boolean loadedFromSavedGame) {
+    flush();
+    broadcaster.stepChanged(stepName, delegateName, player, round, displayName, loadedFromSavedGame);
+  }
+
+  @Override
+  public synchronized void shutDown() {
+    flush();
+    broadcaster.shutDown();
+  }
+}
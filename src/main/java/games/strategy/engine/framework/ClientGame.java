@@ -3,6 +3,7 @@ package games.strategy.engine.framework;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -159,6 +160,16 @@ public class ClientGame extends AbstractGame {
     }
   }
 
+  /**
+   * Applies the modifications the server made while this observer was loading the game, in the order they were made.
+   * Must be called before the server resumes delegate execution.
+   */
+  public void applyMissedModifications(final List<GameModification> missedModifications) {
+    for (final GameModification modification : missedModifications) {
+      modification.applyTo(m_gameModifiedChannel);
+    }
+  }
+
   public void shutDown() {
     if (m_isGameOver) {
       return;
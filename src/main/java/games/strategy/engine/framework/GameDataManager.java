@@ -314,6 +314,47 @@ public final class GameDataManager {
     }
   }
 
+  /**
+   * Serializes the specified game data, including its delegates, in the save game format but without compressing it.
+   * Compressing is usually the larger part of saving a game and does not need access to the game data, so it can be
+   * done later, on another thread, with {@link #writeSerializedGame(OutputStream, byte[])}.
+   *
+   * @param gameData The game data to serialize.
+   *
+   * @return The uncompressed save game.
+   *
+   * @throws IOException If an error occurs while serializing the game.
+   */
+  static byte[] serializeGame(final GameData gameData) throws IOException {
+    checkNotNull(gameData);
+
+    if (ClientContext.gameEnginePropertyReader().useNewSaveGameFormat()) {
+      return serializeMemento(toMemento(
+          gameData,
+          Collections.singletonMap(GameDataMemento.ExportOptionName.EXCLUDE_DELEGATES, false)));
+    }
+    return serializeGameInCurrentFormat(gameData, true);
+  }
+
+  /**
+   * Writes a game serialized by {@link #serializeGame(GameData)} to the specified stream, which results in the same
+   * bytes as {@link #saveGame(OutputStream, GameData)}.
+   *
+   * @param os The stream to which the game will be saved. The caller is responsible for closing this stream; it will
+   *        not be closed when this method returns.
+   * @param serializedGame The uncompressed save game.
+   *
+   * @throws IOException If an error occurs while saving the game.
+   */
+  static void writeSerializedGame(final OutputStream os, final byte[] serializedGame) throws IOException {
+    checkNotNull(os);
+    checkNotNull(serializedGame);
+
+    try (final GZIPOutputStream gzipos = new GZIPOutputStream(new CloseShieldOutputStream(os))) {
+      gzipos.write(serializedGame);
+    }
+  }
+
   @VisibleForTesting
   static void saveGameInNewFormat(
       final OutputStream os,
@@ -342,29 +383,67 @@ public final class GameDataManager {
     }
   }
 
+  private static byte[] serializeMemento(final Memento memento) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(25000);
+    try (final ObjectOutputStream oos = new ProxyableObjectOutputStream(bytes, ProxyRegistries.GAME_DATA_MEMENTO)) {
+      oos.writeObject(memento);
+    }
+    return bytes.toByteArray();
+  }
+
   private static void saveGameInCurrentFormat(
       final OutputStream sink,
       final GameData data,
       final boolean saveDelegateInfo)
       throws IOException {
     // write internally first in case of error
+    final byte[] bytes = serializeGameInCurrentFormat(data, saveDelegateInfo);
+    try (final GZIPOutputStream zippedOut = new GZIPOutputStream(sink)) {
+      // now write to file
+      zippedOut.write(bytes);
+    }
+  }
+
+  private static byte[] serializeGameInCurrentFormat(final GameData data, final boolean saveDelegateInfo)
+      throws IOException {
     final ByteArrayOutputStream bytes = new ByteArrayOutputStream(25000);
-    final ObjectOutputStream outStream = new ObjectOutputStream(bytes);
-    outStream.writeObject(ClientContext.engineVersion());
+    try (final ObjectOutputStream outStream = new ObjectOutputStream(bytes)) {
+      outStream.writeObject(ClientContext.engineVersion());
+      writeGameData(outStream, data, saveDelegateInfo);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Writes the game data, followed by the delegate section, to the specified stream. Unlike the save game methods, no
+   * engine version header or compression is written. The game data read lock is held while writing.
+   */
+  static void writeGameData(final ObjectOutputStream out, final GameData data, final boolean saveDelegateInfo)
+      throws IOException {
     data.acquireReadLock();
     try {
-      outStream.writeObject(data);
+      out.writeObject(data);
       if (saveDelegateInfo) {
-        writeDelegates(data, outStream);
+        writeDelegates(data, out);
       } else {
-        outStream.writeObject(DELEGATE_LIST_END);
+        out.writeObject(DELEGATE_LIST_END);
       }
     } finally {
       data.releaseReadLock();
     }
-    try (final GZIPOutputStream zippedOut = new GZIPOutputStream(sink)) {
-      // now write to file
-      zippedOut.write(bytes.toByteArray());
+  }
+
+  /**
+   * Reads game data previously written by {@link #writeGameData(ObjectOutputStream, GameData, boolean)}.
+   */
+  static GameData readGameData(final ObjectInputStream in) throws IOException {
+    try {
+      final GameData data = (GameData) in.readObject();
+      loadDelegates(in, data);
+      data.postDeSerialize();
+      return data;
+    } catch (final ClassNotFoundException e) {
+      throw new IOException(e);
     }
   }
 
@@ -0,0 +1,75 @@
+package games.strategy.engine.framework;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import games.strategy.engine.data.GameData;
+
+/**
+ * An immutable, point-in-time copy of a {@link GameData} instance from which any number of independent copies can be
+ * created.
+ *
+ * <p>
+ * Taking a snapshot serializes the game data exactly once into an uncompressed in-memory buffer. Unlike a save game,
+ * the buffer has no engine version header and is not GZIP compressed, so both taking the snapshot and creating copies
+ * from it are considerably cheaper than a {@link GameDataManager#saveGame(java.io.OutputStream, GameData)} round trip.
+ * </p>
+ *
+ * <p>
+ * Threading. Only taking the snapshot requires the game data's read lock (which is acquired by {@link #of(GameData,
+ * boolean)}). Once taken, a snapshot is not tied to the source game data anymore and {@link #newGameData()} may be
+ * called concurrently from any number of threads, e.g. one call per odds calculator worker.
+ * </p>
+ */
+public final class GameDataSnapshot {
+  private final byte[] bytes;
+
+  private GameDataSnapshot(final byte[] bytes) {
+    this.bytes = bytes;
+  }
+
+  /**
+   * Takes a snapshot of the specified game data.
+   *
+   * @param data The game data to snapshot.
+   * @param includeDelegates {@code true} if the delegate state should be part of the snapshot; otherwise {@code false}.
+   *
+   * @return The snapshot.
+   *
+   * @throws IOException If the game data cannot be serialized.
+   */
+  public static GameDataSnapshot of(final GameData data, final boolean includeDelegates) throws IOException {
+    checkNotNull(data);
+
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream(25000);
+    try (final ObjectOutputStream out = new ObjectOutputStream(sink)) {
+      GameDataManager.writeGameData(out, data, includeDelegates);
+    }
+    return new GameDataSnapshot(sink.toByteArray());
+  }
+
+  /**
+   * Creates a new, independent copy of the game data captured by this snapshot.
+   *
+   * @return A new game data instance.
+   *
+   * @throws IOException If the game data cannot be deserialized.
+   */
+  public GameData newGameData() throws IOException {
+    try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+      return GameDataManager.readGameData(in);
+    }
+  }
+
+  /**
+   * @return The size of the snapshot in bytes.
+   */
+  public int size() {
+    return bytes.length;
+  }
+}
@@ -17,15 +17,15 @@ public class GameDataUtils {
   /**
    * Create a deep copy of GameData.
    * <strong>You should have the game data's read or write lock before calling this method</strong>
+   *
+   * <p>
+   * If more than one copy of the same game data is needed, take a {@link GameDataSnapshot} once and create the copies
+   * from it instead of calling this method repeatedly.
+   * </p>
    */
   public static GameData cloneGameData(final GameData data, final boolean copyDelegates) {
     try {
-      ByteArrayOutputStream sink = new ByteArrayOutputStream(10000);
-      GameDataManager.saveGame(sink, data, copyDelegates);
-      sink.close();
-      final ByteArrayInputStream source = new ByteArrayInputStream(sink.toByteArray());
-      sink = null;
-      return GameDataManager.loadGame(source, null);
+      return GameDataSnapshot.of(data, copyDelegates).newGameData();
     } catch (final IOException ex) {
       ClientLogger.logQuietly(ex);
       return null;
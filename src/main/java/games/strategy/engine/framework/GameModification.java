@@ -0,0 +1,87 @@
+package games.strategy.engine.framework;
+
+import java.io.Serializable;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.PlayerID;
+
+/**
+ * A recorded call of {@link IGameModifiedChannel}, used to replay the modifications an observer missed while it was
+ * loading the game.
+ */
+public final class GameModification implements Serializable {
+  private static final long serialVersionUID = -3270937389617420617L;
+
+  private enum Type {
+    GAME_DATA_CHANGED, START_HISTORY_EVENT, ADD_CHILD_TO_EVENT, STEP_CHANGED
+  }
+
+  private final Type type;
+  private final Change change;
+  private final String text;
+  private final Object renderingData;
+  private final String delegateName;
+  private final PlayerID player;
+  private final int round;
+  private final String displayName;
+  private final boolean loadedFromSavedGame;
+
+  private GameModification(final Type type, final Change change, final String text, final Object renderingData,
+      final String delegateName, final PlayerID player, final int round, final String displayName,
+      final boolean loadedFromSavedGame) {
+    this.type = type;
+    this.change = change;
+    this.text = text;
+    this.renderingData = renderingData;
+    this.delegateName = delegateName;
+    this.player = player;
+    this.round = round;
+    this.displayName = displayName;
+    this.loadedFromSavedGame = loadedFromSavedGame;
+  }
+
+  static GameModification gameDataChanged(final Change change) {
+    return new GameModification(Type.GAME_DATA_CHANGED, change, null, null, null, null, 0, null, false);
+  }
+
+  static GameModification startHistoryEvent(final String event, final Object renderingData) {
+    return new GameModification(Type.START_HISTORY_EVENT, null, event, renderingData, null, null, 0, null, false);
+  }
+
+  static GameModification addChildToEvent(final String text, final Object renderingData) {
+    return new GameModification(Type.ADD_CHILD_TO_EVENT, null, text, renderingData, null, null, 0, null, false);
+  }
+
+  static GameModification stepChanged(final String stepName, final String delegateName, final PlayerID player,
+      final int round, final String displayName, final boolean loadedFromSavedGame) {
+    return new GameModification(Type.STEP_CHANGED, null, stepName, null, delegateName, player, round, displayName,
+        loadedFromSavedGame);
+  }
+
+  /**
+   * Makes the same call on the specified channel that was recorded.
+   */
+  void applyTo(final IGameModifiedChannel channel) {
+    switch (type) {
+      case GAME_DATA_CHANGED:
+        channel.gameDataChanged(change);
+        break;
+      case START_HISTORY_EVENT:
+        channel.startHistoryEvent(text, renderingData);
+        break;
+      case ADD_CHILD_TO_EVENT:
+        channel.addChildToEvent(text, renderingData);
+        break;
+      case STEP_CHANGED:
+        channel.stepChanged(text, delegateName, player, round, displayName, loadedFromSavedGame);
+        break;
+      default:
+        throw new IllegalStateException("Unknown type:" + type);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "GameModification:" + type + " " + (type == Type.GAME_DATA_CHANGED ? change : text);
+  }
+}
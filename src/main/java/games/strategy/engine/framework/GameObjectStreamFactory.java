@@ -5,13 +5,52 @@ import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Optional;
 
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.GameObjectInputStream;
 import games.strategy.engine.data.GameObjectOutputStream;
 import games.strategy.net.IObjectStreamFactory;
+import games.strategy.net.TypeRegistry;
 
 public class GameObjectStreamFactory implements IObjectStreamFactory {
+  /**
+   * The message types of the network, plus the game objects and changes that are sent during a game.
+   */
+  static final TypeRegistry TYPE_REGISTRY = TypeRegistry.NETWORK.extend(Arrays.asList(
+      "games.strategy.engine.data.GameObjectStreamData",
+      "games.strategy.engine.data.GameDataComponent",
+      "games.strategy.engine.data.Unit",
+      "games.strategy.triplea.TripleAUnit",
+      "games.strategy.util.IntegerMap",
+      "games.strategy.engine.data.Change",
+      "games.strategy.engine.data.CompositeChange",
+      "games.strategy.engine.data.ChangeAttachmentChange",
+      "games.strategy.engine.data.UnitHitsChange",
+      "games.strategy.engine.data.BombingUnitDamageChange",
+      "games.strategy.engine.data.changefactory.AddAttachmentChange",
+      "games.strategy.engine.data.changefactory.AddAvailableTech",
+      "games.strategy.engine.data.changefactory.AddBattleRecordsChange",
+      "games.strategy.engine.data.changefactory.AddProductionRule",
+      "games.strategy.engine.data.changefactory.AddUnits",
+      "games.strategy.engine.data.changefactory.AttachmentPropertyReset",
+      "games.strategy.engine.data.changefactory.AttachmentPropertyResetUndo",
+      "games.strategy.engine.data.changefactory.ChangeResourceChange",
+      "games.strategy.engine.data.changefactory.GenericTechChange",
+      "games.strategy.engine.data.changefactory.ObjectPropertyChange",
+      "games.strategy.engine.data.changefactory.OwnerChange",
+      "games.strategy.engine.data.changefactory.PlayerOwnerChange",
+      "games.strategy.engine.data.changefactory.PlayerWhoAmIChange",
+      "games.strategy.engine.data.changefactory.ProductionFrontierChange",
+      "games.strategy.engine.data.changefactory.RelationshipChange",
+      "games.strategy.engine.data.changefactory.RemoveAttachmentChange",
+      "games.strategy.engine.data.changefactory.RemoveAvailableTech",
+      "games.strategy.engine.data.changefactory.RemoveBattleRecordsChange",
+      "games.strategy.engine.data.changefactory.RemoveProductionRule",
+      "games.strategy.engine.data.changefactory.RemoveUnits",
+      "games.strategy.engine.data.changefactory.SetPropertyChange"));
+
   private GameData m_data;
 
   public GameObjectStreamFactory(final GameData data) {
@@ -28,6 +67,21 @@ public class GameObjectStreamFactory implements IObjectStreamFactory {
     return new GameObjectOutputStream(stream);
   }
 
+  @Override
+  public Optional<TypeRegistry> getTypeRegistry() {
+    return Optional.of(TYPE_REGISTRY);
+  }
+
+  @Override
+  public ObjectInputStream createWithRegisteredTypes(final InputStream stream) throws IOException {
+    return new GameObjectInputStream(this, stream, TYPE_REGISTRY);
+  }
+
+  @Override
+  public ObjectOutputStream createWithRegisteredTypes(final OutputStream stream) throws IOException {
+    return new GameObjectOutputStream(stream, TYPE_REGISTRY);
+  }
+
   public void setData(final GameData data) {
     m_data = data;
   }
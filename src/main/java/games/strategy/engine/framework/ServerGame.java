@@ -5,8 +5,11 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
@@ -79,6 +82,15 @@ public class ServerGame extends AbstractGame {
    * Has the delegate signaled that delegate execution should stop.
    */
   private volatile boolean m_delegateExecutionStopped = false;
+  private final AutoSaveWriter m_autoSaveWriter = new AutoSaveWriter();
+  private volatile boolean m_autoSaveEnabled = true;
+  /**
+   * The modifications of the game made since the snapshot sent to each observer that is still joining. Also guards
+   * applying a modification together with recording it, so a snapshot is taken either before or after both.
+   */
+  private final List<List<GameModification>> m_joiningObserverBacklogs = new ArrayList<>();
+  private final BatchingGameModifiedChannel m_gameModifiedBroadcaster;
+  private static final int GAME_STATE_CHUNK_SIZE = 512 * 1024;
 
   /**
    * @param data
@@ -94,11 +106,10 @@ public class ServerGame extends AbstractGame {
       final Map<String, INode> remotePlayerMapping, final Messengers messengers) {
     super(data, localPlayers, remotePlayerMapping, messengers);
     m_gameModifiedChannel = new IGameModifiedChannel() {
+      // nothing to do, changes are applied when they are made, see addChange
       @Override
       public void gameDataChanged(final Change change) {
         assertCorrectCaller();
-        m_data.performChange(change);
-        m_data.getHistory().getHistoryWriter().addChange(change);
       }
 
       private void assertCorrectCaller() {
@@ -109,14 +120,24 @@ public class ServerGame extends AbstractGame {
 
       @Override
       public void startHistoryEvent(final String event, final Object renderingData) {
-        startHistoryEvent(event);
-        if (renderingData != null) {
-          setRenderingData(renderingData);
+        synchronized (m_joiningObserverBacklogs) {
+          startHistoryEventWithoutRecording(event);
+          if (renderingData != null) {
+            setRenderingData(renderingData);
+          }
+          recordForJoiningObservers(GameModification.startHistoryEvent(event, renderingData));
         }
       }
 
       @Override
       public void startHistoryEvent(final String event) {
+        synchronized (m_joiningObserverBacklogs) {
+          startHistoryEventWithoutRecording(event);
+          recordForJoiningObservers(GameModification.startHistoryEvent(event, null));
+        }
+      }
+
+      private void startHistoryEventWithoutRecording(final String event) {
         assertCorrectCaller();
         m_data.getHistory().getHistoryWriter().startEvent(event);
       }
@@ -124,7 +145,10 @@ public class ServerGame extends AbstractGame {
       @Override
       public void addChildToEvent(final String text, final Object renderingData) {
         assertCorrectCaller();
-        m_data.getHistory().getHistoryWriter().addChildToEvent(new EventChild(text, renderingData));
+        synchronized (m_joiningObserverBacklogs) {
+          m_data.getHistory().getHistoryWriter().addChildToEvent(new EventChild(text, renderingData));
+          recordForJoiningObservers(GameModification.addChildToEvent(text, renderingData));
+        }
       }
 
       protected void setRenderingData(final Object renderingData) {
@@ -136,10 +160,14 @@ public class ServerGame extends AbstractGame {
       public void stepChanged(final String stepName, final String delegateName, final PlayerID player, final int round,
           final String displayName, final boolean loadedFromSavedGame) {
         assertCorrectCaller();
-        if (loadedFromSavedGame) {
-          return;
+        synchronized (m_joiningObserverBacklogs) {
+          recordForJoiningObservers(
+              GameModification.stepChanged(stepName, delegateName, player, round, displayName, loadedFromSavedGame));
+          if (loadedFromSavedGame) {
+            return;
+          }
+          m_data.getHistory().getHistoryWriter().startNextStep(stepName, delegateName, player, displayName);
         }
-        m_data.getHistory().getHistoryWriter().startNextStep(stepName, delegateName, player, displayName);
       }
 
       // nothing to do, we call this
@@ -147,12 +175,17 @@ public class ServerGame extends AbstractGame {
       public void shutDown() {}
     };
     m_channelMessenger.registerChannelSubscriber(m_gameModifiedChannel, IGame.GAME_MODIFICATION_CHANNEL);
+    m_gameModifiedBroadcaster = new BatchingGameModifiedChannel(
+        (IGameModifiedChannel) m_channelMessenger.getChannelBroadcastor(IGame.GAME_MODIFICATION_CHANNEL));
+    // send the changes made by a delegate before it calls a player or returns to one
+    m_delegateExecutionManager.setBeforeLeavingDelegateExecution(m_gameModifiedBroadcaster::flush);
     setupDelegateMessaging(data);
     m_randomStats = new RandomStats(m_remoteMessenger);
     final IServerRemote m_serverRemote = () -> {
       final ByteArrayOutputStream sink = new ByteArrayOutputStream(5000);
       try {
-        saveGame(sink);
+        // only the snapshot needs delegate execution blocked, compress it afterwards
+        GameDataManager.writeSerializedGame(sink, serializeGame());
       } catch (final IOException e) {
         ClientLogger.logQuietly(e);
         throw new IllegalStateException(e);
@@ -162,6 +195,16 @@ public class ServerGame extends AbstractGame {
     m_remoteMessenger.registerRemote(m_serverRemote, SERVER_REMOTE);
   }
 
+  /**
+   * Sends the running game to a new observer.
+   *
+   * <p>
+   * Delegate execution is blocked only while a snapshot of the game is taken. The snapshot is then compressed and sent
+   * to the observer in chunks while the game goes on, and the modifications made in the meantime are recorded. Once the
+   * observer has loaded the snapshot, delegate execution is blocked again while the observer catches up with the
+   * recorded modifications and starts listening for new ones.
+   * </p>
+   */
   public void addObserver(final IObserverWaitingToJoin blockingObserver,
       final IObserverWaitingToJoin nonBlockingObserver, final INode newNode) {
     try {
@@ -173,16 +216,80 @@ public class ServerGame extends AbstractGame {
       nonBlockingObserver.cannotJoinGame(e.getMessage());
       return;
     }
+    final byte[] snapshot;
+    final List<GameModification> backlog = new ArrayList<>();
+    try {
+      // the observer must get the changes made before the snapshot from the snapshot alone
+      m_gameModifiedBroadcaster.flush();
+      synchronized (m_joiningObserverBacklogs) {
+        snapshot = GameDataManager.serializeGame(m_data);
+        m_joiningObserverBacklogs.add(backlog);
+      }
+    } catch (final Exception e) {
+      ClientLogger.logQuietly(e);
+      nonBlockingObserver.cannotJoinGame(e.getMessage());
+      return;
+    } finally {
+      m_delegateExecutionManager.resumeDelegateExecution();
+    }
+    new Thread(() -> {
+      try {
+        sendGameToObserver(snapshot, backlog, blockingObserver, nonBlockingObserver, newNode);
+      } finally {
+        stopRecording(backlog);
+      }
+    }, "Sending game to observer: " + newNode.getName()).start();
+  }
+
+  private void recordForJoiningObservers(final GameModification modification) {
+    for (final List<GameModification> backlog : m_joiningObserverBacklogs) {
+      backlog.add(modification);
+    }
+  }
+
+  private List<GameModification> stopRecording(final List<GameModification> backlog) {
+    synchronized (m_joiningObserverBacklogs) {
+      m_joiningObserverBacklogs.remove(backlog);
+      return new ArrayList<>(backlog);
+    }
+  }
+
+  private void sendGameToObserver(final byte[] snapshot, final List<GameModification> backlog,
+      final IObserverWaitingToJoin blockingObserver, final IObserverWaitingToJoin nonBlockingObserver,
+      final INode newNode) {
+    try {
+      final ByteArrayOutputStream sink = new ByteArrayOutputStream(snapshot.length / 4);
+      GameDataManager.writeSerializedGame(sink, snapshot);
+      final byte[] gameState = sink.toByteArray();
+      for (int offset = 0; offset < gameState.length; offset += GAME_STATE_CHUNK_SIZE) {
+        blockingObserver.addGameStateChunk(
+            Arrays.copyOfRange(gameState, offset, Math.min(gameState.length, offset + GAME_STATE_CHUNK_SIZE)));
+      }
+      // returns once the observer has loaded the game, which can take a while for huge games
+      blockingObserver.loadGameState();
+      if (!m_delegateExecutionManager.blockDelegateExecution(6000)) {
+        nonBlockingObserver.cannotJoinGame("Could not block delegate execution");
+        return;
+      }
+    } catch (final ConnectionLostException cle) {
+      ClientLogger.logQuietly("Connection lost to observer while joining: " + newNode.getName());
+      return;
+    } catch (final Exception e) {
+      ClientLogger.logQuietly(e);
+      nonBlockingObserver.cannotJoinGame(e.getMessage());
+      return;
+    }
     try {
+      // the observer must get the changes made after the snapshot from the backlog alone
+      m_gameModifiedBroadcaster.flush();
+      final List<GameModification> missedModifications = stopRecording(backlog);
       final CountDownLatch waitOnObserver = new CountDownLatch(1);
-      final ByteArrayOutputStream sink = new ByteArrayOutputStream(1000);
-      saveGame(sink);
       (new Thread(() -> {
         try {
-          blockingObserver.joinGame(sink.toByteArray(), m_playerManager.getPlayerMapping());
+          blockingObserver.joinGame(missedModifications, m_playerManager.getPlayerMapping());
           waitOnObserver.countDown();
         } catch (final ConnectionLostException cle) {
-          System.out.println("Connection lost to observer while joining: " + newNode.getName());
+          ClientLogger.logQuietly("Connection lost to observer while joining: " + newNode.getName());
         } catch (final Exception e) {
           ClientLogger.logQuietly(e);
         }
@@ -195,9 +302,6 @@ public class ServerGame extends AbstractGame {
         ClientLogger.logQuietly(e);
         nonBlockingObserver.cannotJoinGame(e.getMessage());
       }
-    } catch (final Exception e) {
-      ClientLogger.logQuietly(e);
-      nonBlockingObserver.cannotJoinGame(e.getMessage());
     } finally {
       m_delegateExecutionManager.resumeDelegateExecution();
     }
@@ -275,6 +379,9 @@ public class ServerGame extends AbstractGame {
       if (!m_isGameOver) {
         ClientLogger.logQuietly(e);
       }
+    } finally {
+      // however the game ended, no more autosaves will come
+      shutDownAutoSaveWriter();
     }
   }
 
@@ -340,20 +447,56 @@ public class ServerGame extends AbstractGame {
     } finally {
       m_delegateExecutionManager.resumeDelegateExecution();
     }
+    shutDownAutoSaveWriter();
     m_data.getGameLoader().shutDown();
     if (HeadlessGameServer.headless()) {
       System.out.println("StopGame successful.");
     }
   }
 
+  private void shutDownAutoSaveWriter() {
+    try {
+      m_autoSaveWriter.shutDown(30, TimeUnit.SECONDS);
+    } catch (final InterruptedException e) {
+      ClientLogger.logQuietly(e);
+    }
+  }
+
+  /**
+   * Sets whether the game is saved automatically during play. Autosaving is enabled by default.
+   */
+  public void setAutoSaveEnabled(final boolean autoSaveEnabled) {
+    m_autoSaveEnabled = autoSaveEnabled;
+  }
+
   private void autoSave(final String fileName) {
+    if (!m_autoSaveEnabled) {
+      return;
+    }
     SaveGameFileChooser.ensureMapsFolderExists();
     final File autoSaveDir = new File(ClientContext.folderSettings().getSaveGamePath()
         + (SystemProperties.isWindows() ? "\\" : "/" + "autoSave"));
     if (!autoSaveDir.exists()) {
       autoSaveDir.mkdirs();
     }
-    saveGame(new File(autoSaveDir, fileName));
+    // only serializing needs the game to be paused, compressing and writing the file happen in the background
+    final long start = System.nanoTime();
+    final byte[] serializedGame;
+    try {
+      serializedGame = serializeGame();
+    } catch (final IOException e) {
+      ClientLogger.logQuietly(e);
+      return;
+    }
+    final long snapshotMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    m_autoSaveWriter.write(new File(autoSaveDir, fileName), serializedGame, snapshotMillis);
+  }
+
+  /**
+   * @return A summary of how long autosaves take.
+   */
+  public String getAutoSaveStatistics() {
+    return m_autoSaveWriter.getStatistics();
   }
 
   private void autoSaveBefore(final IDelegate currentDelegate) {
@@ -375,6 +518,24 @@ public class ServerGame extends AbstractGame {
   }
 
   private void saveGame(final OutputStream out) throws IOException {
+    blockDelegateExecutionForSave();
+    try {
+      GameDataManager.saveGame(out, m_data);
+    } finally {
+      m_delegateExecutionManager.resumeDelegateExecution();
+    }
+  }
+
+  private byte[] serializeGame() throws IOException {
+    blockDelegateExecutionForSave();
+    try {
+      return GameDataManager.serializeGame(m_data);
+    } finally {
+      m_delegateExecutionManager.resumeDelegateExecution();
+    }
+  }
+
+  private void blockDelegateExecutionForSave() throws IOException {
     try {
       if (!m_delegateExecutionManager.blockDelegateExecution(6000)) {
         throw new IOException("Could not lock delegate execution");
@@ -382,11 +543,6 @@ public class ServerGame extends AbstractGame {
     } catch (final InterruptedException ie) {
       throw new IOException(ie.getMessage());
     }
-    try {
-      GameDataManager.saveGame(out, m_data);
-    } finally {
-      m_delegateExecutionManager.resumeDelegateExecution();
-    }
   }
 
   private void runStep(final boolean stepIsRestoredFromSavedGame) {
@@ -472,7 +628,7 @@ public class ServerGame extends AbstractGame {
         continue;
       }
       final DefaultDelegateBridge bridge = new DefaultDelegateBridge(m_data, this,
-          new DelegateHistoryWriter(m_channelMessenger), m_randomStats, m_delegateExecutionManager);
+          new DelegateHistoryWriter(getGameModifiedBroadcaster()), m_randomStats, m_delegateExecutionManager);
       if (m_delegateRandomSource == null) {
         m_delegateRandomSource = (IRandomSource) m_delegateExecutionManager.createOutboundImplementation(m_randomSource,
             new Class<?>[] {IRandomSource.class});
@@ -491,7 +647,7 @@ public class ServerGame extends AbstractGame {
   private void startStep(final boolean stepIsRestoredFromSavedGame) {
     // dont save if we just loaded
     final DefaultDelegateBridge bridge = new DefaultDelegateBridge(m_data, this,
-        new DelegateHistoryWriter(m_channelMessenger), m_randomStats, m_delegateExecutionManager);
+        new DelegateHistoryWriter(getGameModifiedBroadcaster()), m_randomStats, m_delegateExecutionManager);
     if (m_delegateRandomSource == null) {
       m_delegateRandomSource = (IRandomSource) m_delegateExecutionManager.createOutboundImplementation(m_randomSource,
           new Class<?>[] {IRandomSource.class});
@@ -603,14 +759,26 @@ public class ServerGame extends AbstractGame {
   }
 
   private IGameModifiedChannel getGameModifiedBroadcaster() {
-    return (IGameModifiedChannel) m_channelMessenger.getChannelBroadcastor(IGame.GAME_MODIFICATION_CHANNEL);
+    return m_gameModifiedBroadcaster;
   }
 
+  /**
+   * Applies the change right away, and sends it to the other nodes together with the changes following it, once
+   * anything else happens to the game.
+   */
   @Override
   public void addChange(final Change change) {
-    // let our channel subscribor do the change,
-    // that way all changes will happen in the same thread
-    getGameModifiedBroadcaster().gameDataChanged(change);
+    synchronized (m_joiningObserverBacklogs) {
+      try {
+        m_data.performChange(change);
+        m_data.getHistory().getHistoryWriter().addChange(change);
+      } catch (final RuntimeException e) {
+        // don't swallow errors
+        ClientLogger.logQuietly(e);
+      }
+      recordForJoiningObservers(GameModification.gameDataChanged(change));
+    }
+    m_gameModifiedBroadcaster.gameDataChanged(change);
   }
 
   @Override
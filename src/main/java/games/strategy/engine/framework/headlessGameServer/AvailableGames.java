@@ -1,13 +1,8 @@
 package games.strategy.engine.framework.headlessGameServer;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
-import java.net.URISyntaxException;
-import java.net.URL;
-import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -18,22 +13,25 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
 
 import games.strategy.debug.ClientLogger;
+import games.strategy.engine.ClientContext;
 import games.strategy.engine.ClientFileSystemHelper;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.GameParser;
-import games.strategy.triplea.Constants;
 import games.strategy.util.UrlStreams;
 
 /**
  * A list of all available games. We make sure we can parse them all, but we don't keep them in memory.
+ *
+ * <p>
+ * The games found are remembered in a {@link MapCatalog} in the user folder, so only maps that were added or changed
+ * since the last start are parsed.
+ * </p>
  */
 public class AvailableGames {
-  private static final boolean delayedParsing = false;
   private static final String ZIP_EXTENSION = ".zip";
+  private static final String MAP_CATALOG_FILE_NAME = "mapCatalog.cache";
   private final TreeMap<String, URI> availableGames = new TreeMap<>();
   private final Set<String> availableMapFolderOrZipNames = new HashSet<>();
 
@@ -75,11 +73,21 @@ public class AvailableGames {
   private static void populateAvailableGames(final Map<String, URI> availableGames,
       final Set<String> availableMapFolderOrZipNames, final Set<String> mapNamePropertyList) {
     System.out.println("Parsing all available games (this could take a while). ");
-    for (final File map : allMapFiles()) {
-      if (map.isDirectory()) {
-        populateFromDirectory(map, availableGames, availableMapFolderOrZipNames, mapNamePropertyList);
-      } else if (map.isFile() && map.getName().toLowerCase().endsWith(ZIP_EXTENSION)) {
-        populateFromZip(map, availableGames, availableMapFolderOrZipNames, mapNamePropertyList);
+    final File cacheFile = new File(ClientFileSystemHelper.getUserRootFolder(), MAP_CATALOG_FILE_NAME);
+    final MapCatalog catalog = new MapCatalog(cacheFile, ClientContext.engineVersion().getExactVersion());
+    for (final Map.Entry<File, List<MapCatalog.Game>> entry : catalog.scan(allMapFiles()).entrySet()) {
+      boolean added = false;
+      for (final MapCatalog.Game game : entry.getValue()) {
+        if (!availableGames.containsKey(game.getGameName())) {
+          availableGames.put(game.getGameName(), game.getUri());
+          if (game.getMapName().length() > 0) {
+            mapNamePropertyList.add(game.getMapName());
+          }
+          added = true;
+        }
+      }
+      if (added) {
+        availableMapFolderOrZipNames.add(getMapFolderOrZipName(entry.getKey()));
       }
     }
     System.out.println("Finished parsing all available game xmls. ");
@@ -99,89 +107,12 @@ public class AvailableGames {
     return Arrays.asList(files);
   }
 
-  private static void populateFromDirectory(
-      final File mapDir,
-      final Map<String, URI> availableGames,
-      final Set<String> availableMapFolderOrZipNames,
-      final Set<String> mapNamePropertyList) {
-    final File games = new File(mapDir, "games");
-    if (!games.exists()) {
-      // no games in this map dir
-      return;
-    }
-    if (games.listFiles() != null) {
-      for (final File game : games.listFiles()) {
-        if (game.isFile() && game.getName().toLowerCase().endsWith("xml")) {
-          final boolean added = addToAvailableGames(game.toURI(), availableGames, mapNamePropertyList);
-          if (added) {
-            availableMapFolderOrZipNames.add(mapDir.getName());
-          }
-        }
-      }
-    }
-  }
-
-  private static void populateFromZip(final File map, final Map<String, URI> availableGames,
-      final Set<String> availableMapFolderOrZipNames, final Set<String> mapNamePropertyList) {
-    try (
-        final FileInputStream fis = new FileInputStream(map);
-        final ZipInputStream zis = new ZipInputStream(fis);
-        final URLClassLoader loader = new URLClassLoader(new URL[] {map.toURI().toURL()})) {
-      ZipEntry entry = zis.getNextEntry();
-      while (entry != null) {
-        if (entry.getName().contains("games/") && entry.getName().toLowerCase().endsWith(".xml")) {
-          final URL url = loader.getResource(entry.getName());
-          if (url != null) {
-            try {
-              final boolean added = addToAvailableGames(
-                  new URI(url.toString().replace(" ", "%20")),
-                  availableGames,
-                  mapNamePropertyList);
-              if (added && map.getName().length() > 4) {
-                availableMapFolderOrZipNames
-                    .add(map.getName().substring(0, map.getName().length() - ZIP_EXTENSION.length()));
-              }
-            } catch (final URISyntaxException e) {
-              // only happens when URI couldn't be build and therefore no entry was added. That's fine
-            }
-          }
-        }
-        // we have to close the loader to allow files to be deleted on windows
-        zis.closeEntry();
-        entry = zis.getNextEntry();
-      }
-    } catch (final IOException e) {
-      ClientLogger.logQuietly("Map: " + map, e);
-    }
-  }
-
-
-  private static boolean addToAvailableGames(final URI uri, final Map<String, URI> availableGames,
-      final Set<String> mapNamePropertyList) {
-    if (uri == null) {
-      return false;
-    }
-    final AtomicReference<String> gameName = new AtomicReference<>();
-
-    final Optional<InputStream> inputStream = UrlStreams.openStream(uri);
-    if (inputStream.isPresent()) {
-      try (InputStream input = inputStream.get()) {
-        final GameData data = new GameParser(uri.toString()).parse(input, gameName, delayedParsing);
-        final String name = data.getGameName();
-        final String mapName = data.getProperties().get(Constants.MAP_NAME, "");
-        if (!availableGames.containsKey(name)) {
-          availableGames.put(name, uri);
-          if (mapName.length() > 0) {
-            mapNamePropertyList.add(mapName);
-          }
-          return true;
-        }
-      } catch (final Exception e) {
-        ClientLogger.logError("Exception while parsing: " + uri.toString() + " : "
-            + (gameName.get() != null ? gameName.get() + " : " : ""), e);
-      }
+  private static String getMapFolderOrZipName(final File map) {
+    final String name = map.getName();
+    if (map.isFile() && name.toLowerCase().endsWith(ZIP_EXTENSION)) {
+      return name.substring(0, name.length() - ZIP_EXTENSION.length());
     }
-    return false;
+    return name;
   }
 
   private static GameData getGameDataFromXML(final URI uri) {
@@ -29,8 +29,11 @@ import games.strategy.engine.framework.startup.ui.ClientSetupPanel;
 import games.strategy.engine.framework.startup.ui.ISetupPanel;
 import games.strategy.engine.framework.startup.ui.ServerSetupPanel;
 import games.strategy.engine.framework.ui.SaveGameFileChooser;
+import games.strategy.engine.message.ChannelMessenger;
+import games.strategy.engine.message.unifiedmessenger.InvocationStatistics;
 import games.strategy.net.INode;
 import games.strategy.net.IServerMessenger;
+import games.strategy.net.ServerMessenger;
 import games.strategy.sound.ClipPlayer;
 import games.strategy.triplea.Constants;
 import games.strategy.util.MD5Crypt;
@@ -488,10 +491,24 @@ public class HeadlessGameServer {
     if (game != null) {
       message += "\nIs currently running: " + game.isGameSequenceRunning() + "\nIs GameOver: " + game.isGameOver()
           + "\nGame: " + game.getData().getGameName() + "\nRound: " + game.getData().getSequence().getRound()
-          + "\nPlayers: " + game.getPlayerManager().toString();
+          + "\nPlayers: " + game.getPlayerManager().toString()
+          + "\n" + game.getAutoSaveStatistics();
+      if (game.getChannelMessenger() instanceof ChannelMessenger) {
+        message += "\nRemote invocations:";
+        for (final InvocationStatistics statistics : ((ChannelMessenger) game.getChannelMessenger())
+            .getUnifiedMessenger().getInvocationStatistics()) {
+          message += "\n" + statistics;
+        }
+      }
     } else {
       message += "\nCurrently Waiting To Start A Game";
     }
+    final ServerModel serverModel = getServerModel();
+    if (serverModel != null && serverModel.getMessenger() instanceof ServerMessenger) {
+      final ServerMessenger messenger = (ServerMessenger) serverModel.getMessenger();
+      message += "\nDecoders:\n" + messenger.getDecoderStatistics();
+      message += "\n" + messenger.getBufferPoolStatistics();
+    }
     return message;
   }
 
@@ -0,0 +1,378 @@
+package games.strategy.engine.framework.headlessGameServer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import games.strategy.debug.ClientLogger;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameParser;
+import games.strategy.triplea.Constants;
+import games.strategy.util.UrlStreams;
+
+/**
+ * An index of the games found in the map zips and map folders, which is kept on disk between runs.
+ *
+ * <p>
+ * A game xml is only parsed when the file containing it is new or has changed, which is detected by its path, size and
+ * last modified time. The files that have to be parsed are parsed in parallel on a small pool of threads. When nothing
+ * has changed since the last run, no game xml is parsed at all.
+ * </p>
+ *
+ * <p>
+ * A map zip is indexed as a whole, while the game xmls in a map folder are indexed one by one. The whole index is
+ * dropped when it was written by a different engine version, since a game may parse differently with another engine.
+ * </p>
+ */
+final class MapCatalog {
+  private static final String ZIP_EXTENSION = ".zip";
+  private static final int MAX_THREADS = 4;
+
+  private final File cacheFile;
+  private final String engineVersion;
+  private final Function<URI, Game> gameReader;
+
+  /**
+   * @param cacheFile The file the index is kept in between runs.
+   * @param engineVersion The version of the running engine.
+   */
+  MapCatalog(final File cacheFile, final String engineVersion) {
+    this(cacheFile, engineVersion, MapCatalog::readGame);
+  }
+
+  /**
+   * @param gameReader Reads the game in a game xml, returning null if it cannot be read.
+   */
+  MapCatalog(final File cacheFile, final String engineVersion, final Function<URI, Game> gameReader) {
+    this.cacheFile = checkNotNull(cacheFile);
+    this.engineVersion = checkNotNull(engineVersion);
+    this.gameReader = checkNotNull(gameReader);
+  }
+
+  /**
+   * Finds the games in the specified map zips and map folders, and updates the index on disk.
+   *
+   * @return The games of each map zip or map folder that contains any, in the order of the specified files.
+   */
+  Map<File, List<Game>> scan(final Collection<File> mapFiles) {
+    final Map<String, IndexedFile> index = load();
+    final Map<String, IndexedFile> updatedIndex = new HashMap<>();
+    final Map<File, List<Future<IndexedFile>>> pending = new LinkedHashMap<>();
+    final ExecutorService executor = Executors.newFixedThreadPool(
+        Math.max(1, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors())), runnable -> {
+          final Thread thread = new Thread(runnable, "Map catalog scanner");
+          thread.setDaemon(true);
+          return thread;
+        });
+    try {
+      for (final File mapFile : mapFiles) {
+        final List<Future<IndexedFile>> files = new ArrayList<>();
+        for (final File file : getIndexedFiles(mapFile)) {
+          final IndexedFile indexedFile = index.get(file.getAbsolutePath());
+          if (indexedFile != null && indexedFile.isUpToDate(file)) {
+            updatedIndex.put(indexedFile.path, indexedFile);
+            files.add(CompletableFuture.completedFuture(indexedFile));
+          } else {
+            files.add(executor.submit(() -> index(file)));
+          }
+        }
+        pending.put(mapFile, files);
+      }
+      final Map<File, List<Game>> result = new LinkedHashMap<>();
+      for (final Map.Entry<File, List<Future<IndexedFile>>> entry : pending.entrySet()) {
+        final List<Game> games = new ArrayList<>();
+        for (final Future<IndexedFile> future : entry.getValue()) {
+          final IndexedFile indexedFile = getQuietly(future);
+          if (indexedFile != null) {
+            updatedIndex.put(indexedFile.path, indexedFile);
+            games.addAll(indexedFile.games);
+          }
+        }
+        if (!games.isEmpty()) {
+          result.put(entry.getKey(), games);
+        }
+      }
+      if (!updatedIndex.equals(index)) {
+        save(updatedIndex);
+      }
+      return result;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static IndexedFile getQuietly(final Future<IndexedFile> future) {
+    try {
+      return future.get();
+    } catch (final ExecutionException e) {
+      ClientLogger.logQuietly(e.getCause());
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return null;
+  }
+
+  /**
+   * A map zip is indexed as one file, a map folder by the game xmls in its games folder.
+   */
+  private static List<File> getIndexedFiles(final File mapFile) {
+    if (mapFile.isFile() && mapFile.getName().toLowerCase().endsWith(ZIP_EXTENSION)) {
+      return Collections.singletonList(mapFile);
+    }
+    if (!mapFile.isDirectory()) {
+      return Collections.emptyList();
+    }
+    // use contents under a "mapDir/map" folder if present, otherwise use the "mapDir/" contents directly
+    final File mapFolder = new File(mapFile, "map");
+    final File games = new File(mapFolder.exists() ? mapFolder : mapFile, "games");
+    final File[] files = games.listFiles();
+    if (files == null) {
+      return Collections.emptyList();
+    }
+    final List<File> gameFiles = new ArrayList<>();
+    for (final File game : files) {
+      if (game.isFile() && game.getName().toLowerCase().endsWith("xml")) {
+        gameFiles.add(game);
+      }
+    }
+    // listFiles does not guarantee any order, sort so that duplicate game names always resolve the same way
+    Collections.sort(gameFiles);
+    return gameFiles;
+  }
+
+  private IndexedFile index(final File file) {
+    // take the size and time first, so a file that changes while it is parsed is parsed again next time
+    final long length = file.length();
+    final long lastModified = file.lastModified();
+    final List<Game> games = new ArrayList<>();
+    if (file.getName().toLowerCase().endsWith(ZIP_EXTENSION)) {
+      for (final URI uri : getGameUris(file)) {
+        addGame(games, uri);
+      }
+    } else {
+      addGame(games, file.toURI());
+    }
+    return new IndexedFile(file.getAbsolutePath(), length, lastModified, games);
+  }
+
+  private void addGame(final List<Game> games, final URI uri) {
+    final Game game = gameReader.apply(uri);
+    if (game != null) {
+      games.add(game);
+    }
+  }
+
+  private static List<URI> getGameUris(final File zip) {
+    final List<URI> uris = new ArrayList<>();
+    try (final FileInputStream fis = new FileInputStream(zip);
+        final ZipInputStream zis = new ZipInputStream(fis);
+        final URLClassLoader loader = new URLClassLoader(new URL[] {zip.toURI().toURL()})) {
+      ZipEntry entry = zis.getNextEntry();
+      while (entry != null) {
+        if (entry.getName().contains("games/") && entry.getName().toLowerCase().endsWith(".xml")) {
+          final URL url = loader.getResource(entry.getName());
+          if (url != null) {
+            try {
+              uris.add(new URI(url.toString().replace(" ", "%20")));
+            } catch (final URISyntaxException e) {
+              // this game is skipped, which is fine
+            }
+          }
+        }
+        zis.closeEntry();
+        entry = zis.getNextEntry();
+      }
+    } catch (final IOException e) {
+      ClientLogger.logQuietly("Map: " + zip, e);
+    }
+    return uris;
+  }
+
+  private static Game readGame(final URI uri) {
+    final AtomicReference<String> gameName = new AtomicReference<>();
+    final Optional<InputStream> inputStream = UrlStreams.openStream(uri);
+    if (inputStream.isPresent()) {
+      try (InputStream input = inputStream.get()) {
+        final GameData data = new GameParser(uri.toString()).parse(input, gameName, false);
+        return new Game(data.getGameName(), data.getProperties().get(Constants.MAP_NAME, ""),
+            Arrays.asList(data.getPlayerList().getNames()), uri);
+      } catch (final Exception e) {
+        ClientLogger.logError("Exception while parsing: " + uri.toString() + " : "
+            + (gameName.get() != null ? gameName.get() + " : " : ""), e);
+      }
+    }
+    return null;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, IndexedFile> load() {
+    if (!cacheFile.exists()) {
+      return Collections.emptyMap();
+    }
+    try (final ObjectInputStream in =
+        new ObjectInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+      if (engineVersion.equals(in.readObject())) {
+        return (Map<String, IndexedFile>) in.readObject();
+      }
+    } catch (IOException | ClassNotFoundException | ClassCastException e) {
+      // a damaged or outdated index is simply rebuilt
+      ClientLogger.logQuietly("Could not read map catalog: " + cacheFile, e);
+    }
+    return Collections.emptyMap();
+  }
+
+  private void save(final Map<String, IndexedFile> index) {
+    try {
+      final File folder = cacheFile.getAbsoluteFile().getParentFile();
+      if (!folder.exists()) {
+        folder.mkdirs();
+      }
+      // several headless servers may share a user folder, so never let one of them read a half written index
+      final File temp = File.createTempFile(cacheFile.getName(), ".tmp", folder);
+      try {
+        try (final ObjectOutputStream out =
+            new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+          out.writeObject(engineVersion);
+          out.writeObject(new HashMap<>(index));
+        }
+        Files.move(temp.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      } finally {
+        Files.deleteIfExists(temp.toPath());
+      }
+    } catch (final IOException e) {
+      ClientLogger.logQuietly("Could not write map catalog: " + cacheFile, e);
+    }
+  }
+
+  /**
+   * A game found in a map zip or map folder.
+   */
+  static final class Game implements Serializable {
+    private static final long serialVersionUID = 6340418376398853364L;
+
+    private final String gameName;
+    private final String mapName;
+    private final List<String> playerNames;
+    private final String uri;
+
+    Game(final String gameName, final String mapName, final List<String> playerNames, final URI uri) {
+      this.gameName = checkNotNull(gameName);
+      this.mapName = checkNotNull(mapName);
+      this.playerNames = new ArrayList<>(playerNames);
+      this.uri = uri.toString();
+    }
+
+    String getGameName() {
+      return gameName;
+    }
+
+    String getMapName() {
+      return mapName;
+    }
+
+    List<String> getPlayerNames() {
+      return Collections.unmodifiableList(playerNames);
+    }
+
+    URI getUri() {
+      return URI.create(uri);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Game)) {
+        return false;
+      }
+      final Game other = (Game) obj;
+      return gameName.equals(other.gameName) && mapName.equals(other.mapName)
+          && playerNames.equals(other.playerNames) && uri.equals(other.uri);
+    }
+
+    @Override
+    public int hashCode() {
+      return uri.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return gameName + " (" + uri + ")";
+    }
+  }
+
+  /**
+   * The games of one map zip or game xml, as they were when the file had the recorded size and modification time.
+   */
+  private static final class IndexedFile implements Serializable {
+    private static final long serialVersionUID = -3139427427387839164L;
+
+    private final String path;
+    private final long length;
+    private final long lastModified;
+    private final List<Game> games;
+
+    private IndexedFile(final String path, final long length, final long lastModified, final List<Game> games) {
+      this.path = path;
+      this.length = length;
+      this.lastModified = lastModified;
+      this.games = games;
+    }
+
+    private boolean isUpToDate(final File file) {
+      return length == file.length() && lastModified == file.lastModified();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof IndexedFile)) {
+        return false;
+      }
+      final IndexedFile other = (IndexedFile) obj;
+      return path.equals(other.path) && length == other.length && lastModified == other.lastModified
+          && games.equals(other.games);
+    }
+
+    @Override
+    public int hashCode() {
+      return path.hashCode();
+    }
+  }
+}
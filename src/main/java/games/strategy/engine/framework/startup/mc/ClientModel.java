@@ -2,9 +2,11 @@ package games.strategy.engine.framework.startup.mc;
 
 import java.awt.Component;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -27,6 +29,7 @@ import games.strategy.engine.chat.IChatPanel;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.framework.ClientGame;
 import games.strategy.engine.framework.GameDataManager;
+import games.strategy.engine.framework.GameModification;
 import games.strategy.engine.framework.GameObjectStreamFactory;
 import games.strategy.engine.framework.GameRunner;
 import games.strategy.engine.framework.IGameLoader;
@@ -256,15 +259,36 @@ public class ClientModel implements IMessengerErrorListener {
     }
   };
   IObserverWaitingToJoin m_observerWaitingToJoin = new IObserverWaitingToJoin() {
+    private final ByteArrayOutputStream gameState = new ByteArrayOutputStream();
+    private GameData gameData;
+
+    @Override
+    public void addGameStateChunk(final byte[] chunk) {
+      gameState.write(chunk, 0, chunk.length);
+    }
+
+    @Override
+    public void loadGameState() {
+      showGameLoadingWindow();
+      final byte[] bytes = gameState.toByteArray();
+      gameState.reset();
+      gameData = loadGame(bytes);
+      if (gameData == null) {
+        m_gameLoadingWindow.doneWait();
+        throw new IllegalStateException("Could not load game");
+      }
+    }
+
     @Override
-    public void joinGame(final byte[] gameData, final Map<String, INode> players) {
+    public void joinGame(final List<GameModification> missedModifications, final Map<String, INode> players) {
       m_remoteMessenger.unregisterRemote(ServerModel.getObserverWaitingToStartName(m_messenger.getLocalNode()));
-      final CountDownLatch latch = new CountDownLatch(1);
-      startGame(gameData, players, latch, true);
       try {
-        latch.await(GameRunner.MINIMUM_CLIENT_GAMEDATA_LOAD_GRACE_TIME, TimeUnit.SECONDS);
-      } catch (final InterruptedException e) {
-        ClientLogger.logQuietly(e);
+        startGameInNewThread(gameData, players, missedModifications, true);
+      } catch (final RuntimeException e) {
+        m_gameLoadingWindow.doneWait();
+        throw e;
+      } finally {
+        gameData = null;
       }
     }
 
@@ -278,15 +302,22 @@ public class ClientModel implements IMessengerErrorListener {
     }
   };
 
-  private void startGame(final byte[] gameData, final Map<String, INode> players, final CountDownLatch onDone,
-      final boolean gameRunning) {
+  private void showGameLoadingWindow() {
     SwingUtilities.invokeLater(() -> {
       m_gameLoadingWindow.setVisible(true);
       m_gameLoadingWindow.setLocationRelativeTo(JOptionPane.getFrameForComponent(m_ui));
       m_gameLoadingWindow.showWait();
     });
+  }
+
+  private void startGame(final byte[] gameData, final Map<String, INode> players, final CountDownLatch onDone,
+      final boolean gameRunning) {
+    showGameLoadingWindow();
     try {
-      startGameInNewThread(gameData, players, gameRunning);
+      final GameData data = loadGame(gameData);
+      if (data != null) {
+        startGameInNewThread(data, players, Collections.emptyList(), gameRunning);
+      }
     } catch (final RuntimeException e) {
       m_gameLoadingWindow.doneWait();
       throw e;
@@ -297,8 +328,11 @@ public class ClientModel implements IMessengerErrorListener {
     }
   }
 
-  private void startGameInNewThread(final byte[] gameData, final Map<String, INode> players,
-      final boolean gameRunning) {
+  /**
+   * @return The loaded game, which is also used to read further messages from the server, or null if it could not be
+   *         loaded.
+   */
+  private GameData loadGame(final byte[] gameData) {
     final GameData data;
     try {
       // this normally takes a couple seconds, but can take
@@ -306,9 +340,14 @@ public class ClientModel implements IMessengerErrorListener {
       data = GameDataManager.loadGame(new ByteArrayInputStream(gameData), null);
     } catch (final IOException ex) {
       ClientLogger.logQuietly(ex);
-      return;
+      return null;
     }
     m_objectStreamFactory.setData(data);
+    return data;
+  }
+
+  private void startGameInNewThread(final GameData data, final Map<String, INode> players,
+      final List<GameModification> missedModifications, final boolean gameRunning) {
     final Map<String, String> playerMapping = new HashMap<>();
     for (final String player : m_playersToNodes.keySet()) {
       final String playedBy = m_playersToNodes.get(player);
@@ -319,6 +358,7 @@ public class ClientModel implements IMessengerErrorListener {
     final Set<IGamePlayer> playerSet = data.getGameLoader().createPlayers(playerMapping);
     final Messengers messengers = new Messengers(m_messenger, m_remoteMessenger, m_channelMessenger);
     m_game = new ClientGame(data, playerSet, players, messengers);
+    m_game.applyMissedModifications(missedModifications);
     new Thread(() -> {
       SwingUtilities.invokeLater(() -> JOptionPane.getFrameForComponent(m_ui).setVisible(false));
       try {
@@ -1,20 +1,39 @@
 package games.strategy.engine.framework.startup.mc;
 
+import java.util.List;
 import java.util.Map;
 
+import games.strategy.engine.framework.GameModification;
 import games.strategy.engine.message.IRemote;
 import games.strategy.net.INode;
 
 /**
  * A callback remote.
  * Allows the server to add the player as an observer when the game is in progress.
+ *
+ * <p>
+ * The server sends a snapshot of the game in chunks while the game goes on, has the observer load it, and then has
+ * the observer join with the modifications made since the snapshot was taken.
+ * </p>
  */
 public interface IObserverWaitingToJoin extends IRemote {
+  /**
+   * Receives the next part of the compressed snapshot of the game.
+   */
+  void addGameStateChunk(byte[] chunk);
+
+  /**
+   * Loads the game from the chunks received so far. This method should not return until the game is loaded.
+   */
+  void loadGameState();
+
   /**
    * This method should not return until the client is ready to start the game.
    * This includes the display running, with all remote and channel listeners set up.
+   *
+   * @param missedModifications The modifications made since the snapshot was taken, in the order they were made.
    */
-  void joinGame(byte[] gameData, Map<String, INode> players);
+  void joinGame(List<GameModification> missedModifications, Map<String, INode> players);
 
   /**
    * You could not join the game, usually this is due to an error.
@@ -11,8 +11,14 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import javax.swing.DefaultListModel;
@@ -32,6 +38,7 @@ import games.strategy.ui.SwingAction;
 
 public class NewGameChooserModel extends DefaultListModel<NewGameChooserEntry> {
   private static final long serialVersionUID = -2044689419834812524L;
+  private static final int MAX_PARSER_THREADS = 4;
 
   private enum ZipProcessingResult {
     SUCCESS, ERROR
@@ -67,19 +74,47 @@ public class NewGameChooserModel extends DefaultListModel<NewGameChooserEntry> {
     return Arrays.asList(files);
   }
 
+  /**
+   * Parses the games of all map zips and map folders, several maps at a time. Corrupt map zips are only reported to the
+   * user after all maps have been parsed, on the calling thread.
+   */
   private static Set<NewGameChooserEntry> parseMapFiles() {
-    final Set<NewGameChooserEntry> parsedMapSet = Sets.newHashSet();
-    for (final File map : allMapFiles()) {
-      if (map.isDirectory()) {
-        parsedMapSet.addAll(populateFromDirectory(map));
-      } else if (map.isFile() && map.getName().toLowerCase().endsWith(".zip")) {
-        parsedMapSet.addAll(populateFromZip(map));
+    final Map<File, Optional<String>> corruptMapZips = new ConcurrentHashMap<>();
+    final List<Future<List<NewGameChooserEntry>>> parsedMaps = new ArrayList<>();
+    final ExecutorService executor = Executors.newFixedThreadPool(
+        Math.max(1, Math.min(MAX_PARSER_THREADS, Runtime.getRuntime().availableProcessors())), runnable -> {
+          final Thread thread = new Thread(runnable, "Map parser");
+          thread.setDaemon(true);
+          return thread;
+        });
+    try {
+      for (final File map : allMapFiles()) {
+        if (map.isDirectory()) {
+          parsedMaps.add(executor.submit(() -> populateFromDirectory(map)));
+        } else if (map.isFile() && map.getName().toLowerCase().endsWith(".zip")) {
+          parsedMaps.add(executor.submit(() -> populateFromZip(map, corruptMapZips)));
+        }
+      }
+      final Set<NewGameChooserEntry> parsedMapSet = Sets.newHashSet();
+      for (final Future<List<NewGameChooserEntry>> parsedMap : parsedMaps) {
+        try {
+          parsedMapSet.addAll(parsedMap.get());
+        } catch (final ExecutionException e) {
+          ClientLogger.logQuietly(e.getCause());
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          break;
+        }
       }
+      corruptMapZips.forEach(NewGameChooserModel::confirmWithUserAndThenDeleteCorruptZipFile);
+      return parsedMapSet;
+    } finally {
+      executor.shutdownNow();
     }
-    return parsedMapSet;
   }
 
-  private static List<NewGameChooserEntry> populateFromZip(final File map) {
+  private static List<NewGameChooserEntry> populateFromZip(final File map,
+      final Map<File, Optional<String>> corruptMapZips) {
     boolean badMapZip = false;
     final List<NewGameChooserEntry> entries = new ArrayList<>();
 
@@ -97,11 +132,11 @@ public class NewGameChooserModel extends DefaultListModel<NewGameChooserEntry> {
         }
       }
     } catch (final IOException e) {
-      confirmWithUserAndThenDeleteCorruptZipFile(map, Optional.of(e.getMessage()));
+      corruptMapZips.put(map, Optional.ofNullable(e.getMessage()));
     }
 
     if (badMapZip) {
-      confirmWithUserAndThenDeleteCorruptZipFile(map, Optional.empty());
+      corruptMapZips.put(map, Optional.empty());
     }
     return entries;
   }
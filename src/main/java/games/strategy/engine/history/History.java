@@ -3,7 +3,10 @@ package games.strategy.engine.history;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.swing.SwingUtilities;
 import javax.swing.tree.DefaultMutableTreeNode;
@@ -12,6 +15,7 @@ import javax.swing.tree.DefaultTreeModel;
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.CompositeChange;
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.changefactory.ChangeCompactor;
 import games.strategy.triplea.ui.history.HistoryPanel;
 
 /**
@@ -25,12 +29,26 @@ import games.strategy.triplea.ui.history.HistoryPanel;
  * Round - the current round in the game, eg 1, 2, 3
  * Step - the current step, eg Britian Combat Move
  * Event - an event that happened in the game, eg Russia buys 8 inf.
+ *
+ * <p>
+ * Going to a node performs or undoes the changes between the current node and that node. For every round that is over,
+ * the net effect of its changes is kept as a checkpoint, see {@link ChangeCompactor}, so going many rounds back or
+ * forth performs the checkpoints of the rounds in between instead of all their changes. The checkpoints are made when
+ * they are first needed, and only the most recently used ones are kept once they hold too many changes.
+ * </p>
  */
 public class History extends DefaultTreeModel {
   private static final long serialVersionUID = -1769876896869L;
+  static final int MAX_CHECKPOINT_CHANGES = 100_000;
 
   private final HistoryWriter m_writer = new HistoryWriter(this);
   private final List<Change> m_changes = new ArrayList<>();
+  /**
+   * The checkpoints of the rounds that are over, by the index of the first change of the round, least recently used
+   * first. They are only a cache, so they are not saved, and are created on first use.
+   */
+  private transient Map<Integer, Checkpoint> m_checkpoints;
+  private transient int m_checkpointChanges = 0;
   private final GameData m_data;
   private HistoryNode m_currentNode;
 
@@ -99,8 +117,7 @@ public class History extends DefaultTreeModel {
     if (firstChange == lastChange) {
       return null;
     }
-    final List<Change> changes =
-        m_changes.subList(Math.min(firstChange, lastChange), Math.max(firstChange, lastChange));
+    final List<Change> changes = getChanges(Math.min(firstChange, lastChange), Math.max(firstChange, lastChange));
     final Change compositeChange = new CompositeChange(changes);
     if (lastChange >= firstChange) {
       return compositeChange;
@@ -109,6 +126,66 @@ public class History extends DefaultTreeModel {
     }
   }
 
+  /**
+   * @return Changes with the same effect as the changes from the start index to the end index, using the checkpoints of
+   *         the rounds in between.
+   */
+  private synchronized List<Change> getChanges(final int startIndex, final int endIndex) {
+    final List<Change> changes = new ArrayList<>();
+    int index = startIndex;
+    final Enumeration<?> rounds = ((HistoryNode) getRoot()).children();
+    Round round = null;
+    while (rounds.hasMoreElements()) {
+      final Object node = rounds.nextElement();
+      if (!(node instanceof Round)) {
+        continue;
+      }
+      final Round nextRound = (Round) node;
+      if (round != null && round.getChangeStartIndex() >= index && nextRound.getChangeStartIndex() <= endIndex
+          && round.getChangeStartIndex() < nextRound.getChangeStartIndex()) {
+        changes.addAll(m_changes.subList(index, round.getChangeStartIndex()));
+        changes.add(getCheckpoint(round.getChangeStartIndex(), nextRound.getChangeStartIndex()));
+        index = nextRound.getChangeStartIndex();
+      }
+      round = nextRound;
+    }
+    changes.addAll(m_changes.subList(index, endIndex));
+    return changes;
+  }
+
+  private Map<Integer, Checkpoint> getCheckpoints() {
+    if (m_checkpoints == null) {
+      m_checkpoints = new LinkedHashMap<>(16, 0.75f, true);
+      m_checkpointChanges = 0;
+    }
+    return m_checkpoints;
+  }
+
+  private Change getCheckpoint(final int startIndex, final int endIndex) {
+    final Map<Integer, Checkpoint> checkpoints = getCheckpoints();
+    final Checkpoint checkpoint = checkpoints.get(startIndex);
+    if (checkpoint != null && checkpoint.endIndex == endIndex) {
+      return checkpoint.change;
+    }
+    final Change change = ChangeCompactor.compact(m_changes.subList(startIndex, endIndex));
+    final int changeCount = ((CompositeChange) change).getChanges().size();
+    if (checkpoint != null) {
+      m_checkpointChanges -= checkpoint.changeCount;
+    }
+    checkpoints.put(startIndex, new Checkpoint(endIndex, change, changeCount));
+    m_checkpointChanges += changeCount;
+    final Iterator<Checkpoint> leastRecentlyUsed = checkpoints.values().iterator();
+    while (m_checkpointChanges > MAX_CHECKPOINT_CHANGES && checkpoints.size() > 1) {
+      m_checkpointChanges -= leastRecentlyUsed.next().changeCount;
+      leastRecentlyUsed.remove();
+    }
+    return change;
+  }
+
+  int getCheckpointCount() {
+    return (m_checkpoints == null) ? 0 : m_checkpoints.size();
+  }
+
   public synchronized void gotoNode(final HistoryNode node) {
     assertCorrectThread();
     getGameData().acquireWriteLock();
@@ -135,6 +212,8 @@ public class History extends DefaultTreeModel {
       while (m_changes.size() > lastChange) {
         m_changes.remove(lastChange);
       }
+      m_checkpoints = null;
+      m_checkpointChanges = 0;
       final List<HistoryNode> nodesToRemove = new ArrayList<>();
       final Enumeration<?> enumeration = ((DefaultMutableTreeNode) this.getRoot()).preorderEnumeration();
       enumeration.nextElement();
@@ -180,6 +259,21 @@ public class History extends DefaultTreeModel {
   GameData getGameData() {
     return m_data;
   }
+
+  /**
+   * The net effect of the changes of a round.
+   */
+  private static final class Checkpoint {
+    private final int endIndex;
+    private final Change change;
+    private final int changeCount;
+
+    Checkpoint(final int endIndex, final Change change, final int changeCount) {
+      this.endIndex = endIndex;
+      this.change = change;
+      this.changeCount = changeCount;
+    }
+  }
 }
 
 
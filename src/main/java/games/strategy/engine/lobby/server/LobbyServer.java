@@ -7,6 +7,7 @@ import java.util.logging.Logger;
 import games.strategy.engine.chat.ChatController;
 import games.strategy.engine.chat.StatusManager;
 import games.strategy.engine.lobby.server.db.Database;
+import games.strategy.engine.lobby.server.db.ModerationCache;
 import games.strategy.engine.lobby.server.login.LobbyLoginValidator;
 import games.strategy.net.IServerMessenger;
 import games.strategy.net.Messengers;
@@ -58,6 +59,8 @@ public class LobbyServer {
       // initialize the database
       Database.getDerbyConnection().close();
       Database.getPostgresConnection().close();
+      // load the bans, mutes and bad words before the first login
+      ModerationCache.getInstance();
       ClipPlayer.setBeSilentInPreferencesWithoutAffectingCurrent(true);
       final int port = LobbyContext.lobbyPropertyReader().getPort();
       logger.info("Trying to listen on port:" + port);
@@ -3,11 +3,8 @@ package games.strategy.engine.lobby.server;
 import java.time.Instant;
 import java.util.Date;
 
-import games.strategy.engine.lobby.server.db.BannedMacController;
-import games.strategy.engine.lobby.server.db.BannedUsernameController;
 import games.strategy.engine.lobby.server.db.DbUserController;
-import games.strategy.engine.lobby.server.db.MutedMacController;
-import games.strategy.engine.lobby.server.db.MutedUsernameController;
+import games.strategy.engine.lobby.server.db.ModerationCache;
 import games.strategy.engine.lobby.server.userDB.DBUser;
 import games.strategy.engine.message.MessageContext;
 import games.strategy.engine.message.RemoteName;
@@ -33,7 +30,7 @@ public class ModeratorController extends AbstractModeratorController {
     }
     final INode modNode = MessageContext.getSender();
     final String mac = getNodeMacAddress(node);
-    new BannedUsernameController().addBannedUsername(getRealName(node), banExpires);
+    ModerationCache.getInstance().addBannedUsername(getRealName(node), banExpires);
     final String banUntil = (banExpires == null ? "forever" : banExpires.toString());
     logger.info(String.format(
         "User was banned from the lobby(Username ban). "
@@ -73,7 +70,7 @@ public class ModeratorController extends AbstractModeratorController {
     }
     final INode modNode = MessageContext.getSender();
     final String mac = getNodeMacAddress(node);
-    new BannedMacController().addBannedMac(mac, banExpires);
+    ModerationCache.getInstance().addBannedMac(mac, banExpires);
     final String banUntil = (banExpires == null ? "forever" : banExpires.toString());
     logger.info(String.format(
         "User was banned from the lobby(Mac ban). "
@@ -93,7 +90,7 @@ public class ModeratorController extends AbstractModeratorController {
       throw new IllegalStateException("Can't ban an admin");
     }
     final INode modNode = MessageContext.getSender();
-    new BannedMacController().addBannedMac(hashedMac, banExpires);
+    ModerationCache.getInstance().addBannedMac(hashedMac, banExpires);
     final String banUntil = (banExpires == null ? "forever" : banExpires.toString());
     logger.info(String.format(
         "User was banned from the lobby(Mac ban). "
@@ -115,7 +112,7 @@ public class ModeratorController extends AbstractModeratorController {
     final INode modNode = MessageContext.getSender();
     final String mac = getNodeMacAddress(node);
     final String realName = getRealName(node);
-    new MutedUsernameController().addMutedUsername(realName, muteExpires);
+    ModerationCache.getInstance().addMutedUsername(realName, muteExpires);
     m_serverMessenger.notifyUsernameMutingOfPlayer(realName, muteExpires);
     final String muteUntil = (muteExpires == null ? "forever" : muteExpires.toString());
     logger.info(String.format(
@@ -137,7 +134,7 @@ public class ModeratorController extends AbstractModeratorController {
     }
     final INode modNode = MessageContext.getSender();
     final String mac = getNodeMacAddress(node);
-    new MutedMacController().addMutedMac(mac, muteExpires);
+    ModerationCache.getInstance().addMutedMac(mac, muteExpires);
     m_serverMessenger.notifyMacMutingOfPlayer(mac, muteExpires);
     final String muteUntil = (muteExpires == null ? "forever" : muteExpires.toString());
     logger.info(String.format(
@@ -0,0 +1,84 @@
+package games.strategy.engine.lobby.server.db;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Finds whether a text contains any of a set of bad words, ignoring case.
+ *
+ * <p>
+ * The words are compiled into an Aho-Corasick automaton, so a text is checked in a single pass over its characters no
+ * matter how many bad words there are. A matcher is immutable, a new one is built whenever the words change.
+ * </p>
+ */
+final class BadWordMatcher {
+  private final State root = new State();
+
+  BadWordMatcher(final Collection<String> words) {
+    for (final String word : words) {
+      if (!word.isEmpty()) {
+        add(word.toLowerCase());
+      }
+    }
+    link();
+  }
+
+  private void add(final String word) {
+    State state = root;
+    for (int i = 0; i < word.length(); i++) {
+      state = state.next.computeIfAbsent(word.charAt(i), c -> new State());
+    }
+    state.matches = true;
+  }
+
+  /**
+   * Sets the fail link of every state to the state of the longest proper suffix of its word that is a prefix of some
+   * bad word, breadth first so the links of shorter words are known first.
+   */
+  private void link() {
+    final Queue<State> queue = new ArrayDeque<>();
+    for (final State child : root.next.values()) {
+      child.fail = root;
+      queue.add(child);
+    }
+    while (!queue.isEmpty()) {
+      final State state = queue.remove();
+      for (final Map.Entry<Character, State> entry : state.next.entrySet()) {
+        final State child = entry.getValue();
+        State fail = state.fail;
+        while (fail != root && !fail.next.containsKey(entry.getKey())) {
+          fail = fail.fail;
+        }
+        child.fail = fail.next.getOrDefault(entry.getKey(), root);
+        child.matches |= child.fail.matches;
+        queue.add(child);
+      }
+    }
+  }
+
+  boolean containsBadWord(final String text) {
+    final String lowerCaseText = text.toLowerCase();
+    State state = root;
+    for (int i = 0; i < lowerCaseText.length(); i++) {
+      final char c = lowerCaseText.charAt(i);
+      while (state != root && !state.next.containsKey(c)) {
+        state = state.fail;
+      }
+      state = state.next.getOrDefault(c, root);
+      if (state.matches) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static final class State {
+    private final Map<Character, State> next = new HashMap<>();
+    private State fail;
+    // true if a bad word ends here, or in the state of one of the suffixes
+    private boolean matches = false;
+  }
+}
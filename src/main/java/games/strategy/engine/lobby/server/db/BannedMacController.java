@@ -6,6 +6,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -116,4 +117,11 @@ public class BannedMacController {
     }
     return Tuple.of(found, banTill);
   }
+
+  /**
+   * @return The banned macs whose ban has not expired, with the end of their ban or null if it never ends.
+   */
+  public Map<String, Instant> getBannedMacs() {
+    return DbUtil.readUnexpired("banned_macs", "mac", "ban_till");
+  }
 }
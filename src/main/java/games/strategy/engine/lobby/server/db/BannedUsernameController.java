@@ -6,6 +6,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -117,4 +118,11 @@ public class BannedUsernameController {
     }
     return Tuple.of(found, banTill);
   }
+
+  /**
+   * @return The banned usernames whose ban has not expired, with the end of their ban or null if it never ends.
+   */
+  public Map<String, Instant> getBannedUsernames() {
+    return DbUtil.readUnexpired("banned_usernames", "username", "ban_till");
+  }
 }
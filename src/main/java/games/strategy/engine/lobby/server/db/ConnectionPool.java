@@ -0,0 +1,362 @@
+package games.strategy.engine.lobby.server.db;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A bounded pool of database connections.
+ *
+ * <p>
+ * {@link #get()} hands out a connection whose {@link Connection#close()} returns it to the pool instead of closing
+ * it, so callers keep using connections exactly as if they were opened for them. Uncommitted work is rolled back when
+ * a connection is returned. A connection that has been idle for a while is validated before it is handed out again,
+ * and one that has been idle for longer than the idle time of the pool is closed.
+ * </p>
+ *
+ * <p>
+ * Each pooled connection also keeps the statements prepared on it, so preparing the same sql again reuses the
+ * statement; closing such a statement only clears its parameters.
+ * </p>
+ */
+final class ConnectionPool implements Supplier<Connection> {
+  private static final Logger logger = Logger.getLogger(ConnectionPool.class.getName());
+  private static final long BORROW_TIMEOUT_SECONDS = 30;
+  private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+  private static final int MAX_CACHED_STATEMENTS = 32;
+
+  private final Supplier<Connection> connectionFactory;
+  private final Semaphore permits;
+  private final long maxIdleNanos;
+  private final long validationIntervalNanos;
+  // the most recently returned connection first
+  private final Deque<PooledConnection> idle = new ArrayDeque<>();
+  private boolean closed = false;
+
+  /**
+   * @param connectionFactory Opens a new connection to the database.
+   * @param maxConnections The most connections open at the same time, borrowers wait for a free one beyond that.
+   * @param maxIdleTime How long an unused connection is kept open.
+   * @param validationInterval How long a connection may be unused before it is validated when borrowed.
+   */
+  ConnectionPool(final Supplier<Connection> connectionFactory, final int maxConnections, final Duration maxIdleTime,
+      final Duration validationInterval) {
+    checkNotNull(connectionFactory);
+    if (maxConnections < 1) {
+      throw new IllegalArgumentException("Invalid number of connections:" + maxConnections);
+    }
+    this.connectionFactory = connectionFactory;
+    permits = new Semaphore(maxConnections, true);
+    maxIdleNanos = maxIdleTime.toNanos();
+    validationIntervalNanos = validationInterval.toNanos();
+  }
+
+  /**
+   * Borrows a connection from the pool, waiting for one to be returned if all are in use.
+   * The connection must be closed to return it.
+   *
+   * @throws IllegalStateException If no connection could be borrowed.
+   */
+  @Override
+  public Connection get() {
+    try {
+      if (!permits.tryAcquire(BORROW_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        throw new IllegalStateException("Timed out waiting for a free db connection");
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted waiting for a free db connection", e);
+    }
+    try {
+      PooledConnection pooled;
+      while ((pooled = takeIdle()) != null) {
+        if (isUsable(pooled)) {
+          return pooled.borrow();
+        }
+        pooled.discard();
+      }
+      return new PooledConnection(connectionFactory.get()).borrow();
+    } catch (final RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  private PooledConnection takeIdle() {
+    final List<PooledConnection> expired = new ArrayList<>();
+    final PooledConnection pooled;
+    synchronized (idle) {
+      if (closed) {
+        throw new IllegalStateException("Connection pool is closed");
+      }
+      pooled = idle.pollFirst();
+      removeExpired(expired);
+    }
+    expired.forEach(PooledConnection::discard);
+    return pooled;
+  }
+
+  private void removeExpired(final List<PooledConnection> expired) {
+    final long now = System.nanoTime();
+    while (!idle.isEmpty() && now - idle.peekLast().idleSince >= maxIdleNanos) {
+      expired.add(idle.pollLast());
+    }
+  }
+
+  private boolean isUsable(final PooledConnection pooled) {
+    if (System.nanoTime() - pooled.idleSince < validationIntervalNanos) {
+      return true;
+    }
+    try {
+      return pooled.connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+    } catch (final SQLException e) {
+      logger.log(Level.FINE, "Error validating db connection", e);
+      return false;
+    }
+  }
+
+  private void giveBack(final PooledConnection pooled) {
+    try {
+      final List<PooledConnection> expired = new ArrayList<>();
+      boolean keep = pooled.reset();
+      synchronized (idle) {
+        if (keep && !closed) {
+          pooled.idleSince = System.nanoTime();
+          idle.addFirst(pooled);
+        } else {
+          keep = false;
+        }
+        removeExpired(expired);
+      }
+      if (!keep) {
+        pooled.discard();
+      }
+      expired.forEach(PooledConnection::discard);
+    } finally {
+      permits.release();
+    }
+  }
+
+  /**
+   * Closes the idle connections. Connections in use are closed when they are returned.
+   */
+  void close() {
+    final List<PooledConnection> toClose;
+    synchronized (idle) {
+      closed = true;
+      toClose = new ArrayList<>(idle);
+      idle.clear();
+    }
+    toClose.forEach(PooledConnection::discard);
+  }
+
+  private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (final InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * An open connection with the statements prepared on it. Only the thread that borrowed it uses it.
+   */
+  private final class PooledConnection {
+    private final Connection connection;
+    private final Set<PreparedStatement> statementsInUse = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<String, PreparedStatement> statements =
+        new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+          private static final long serialVersionUID = 1L;
+
+          @Override
+          protected boolean removeEldestEntry(final Map.Entry<String, PreparedStatement> eldest) {
+            if (size() <= MAX_CACHED_STATEMENTS) {
+              return false;
+            }
+            if (!statementsInUse.contains(eldest.getValue())) {
+              closeQuietly(eldest.getValue());
+            }
+            return true;
+          }
+        };
+    private long idleSince;
+
+    private PooledConnection(final Connection connection) {
+      this.connection = checkNotNull(connection);
+    }
+
+    private Connection borrow() {
+      return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+          new ConnectionHandler(this));
+    }
+
+    private PreparedStatement prepare(final String sql) throws SQLException {
+      PreparedStatement statement = statements.get(sql);
+      if (statement == null || statementsInUse.contains(statement)) {
+        final PreparedStatement prepared = connection.prepareStatement(sql);
+        if (statement == null) {
+          statements.put(sql, prepared);
+        }
+        statement = prepared;
+      }
+      statementsInUse.add(statement);
+      return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+          new Class<?>[] {PreparedStatement.class}, new StatementHandler(this, statement));
+    }
+
+    private void closeStatement(final PreparedStatement statement, final ResultSet resultSet) throws SQLException {
+      statementsInUse.remove(statement);
+      if (!statements.containsValue(statement)) {
+        statement.close();
+        return;
+      }
+      if (resultSet != null) {
+        resultSet.close();
+      }
+      statement.clearParameters();
+    }
+
+    /**
+     * @return False if the connection could not be brought back to a clean state.
+     */
+    private boolean reset() {
+      try {
+        for (final PreparedStatement statement : statementsInUse) {
+          closeQuietly(statement);
+          statements.values().remove(statement);
+        }
+        statementsInUse.clear();
+        if (!connection.getAutoCommit()) {
+          connection.rollback();
+        }
+        connection.clearWarnings();
+        return true;
+      } catch (final SQLException e) {
+        logger.log(Level.FINE, "Error returning db connection", e);
+        return false;
+      }
+    }
+
+    private void discard() {
+      statements.values().forEach(ConnectionPool::closeQuietly);
+      statements.clear();
+      DbUtil.closeConnection(connection);
+    }
+  }
+
+  private static void closeQuietly(final PreparedStatement statement) {
+    try {
+      statement.close();
+    } catch (final SQLException e) {
+      logger.log(Level.FINE, "Error closing statement", e);
+    }
+  }
+
+  /**
+   * The connection handed to one borrower.
+   */
+  private final class ConnectionHandler implements InvocationHandler {
+    private final PooledConnection pooled;
+    private boolean closed = false;
+
+    private ConnectionHandler(final PooledConnection pooled) {
+      this.pooled = pooled;
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+      switch (method.getName()) {
+        case "close":
+          if (!closed) {
+            closed = true;
+            giveBack(pooled);
+          }
+          return null;
+        case "isClosed":
+          return closed || pooled.connection.isClosed();
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "toString":
+          return "Pooled " + pooled.connection;
+        default:
+          break;
+      }
+      if (closed) {
+        throw new SQLException("Connection is closed");
+      }
+      if (method.getName().equals("prepareStatement") && args.length == 1) {
+        return pooled.prepare((String) args[0]);
+      }
+      return ConnectionPool.invoke(pooled.connection, method, args);
+    }
+  }
+
+  /**
+   * A cached statement handed to one borrower.
+   */
+  private static final class StatementHandler implements InvocationHandler {
+    private final PooledConnection pooled;
+    private final PreparedStatement statement;
+    private ResultSet resultSet;
+    private boolean closed = false;
+
+    private StatementHandler(final PooledConnection pooled, final PreparedStatement statement) {
+      this.pooled = pooled;
+      this.statement = statement;
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+      switch (method.getName()) {
+        case "close":
+          if (!closed) {
+            closed = true;
+            pooled.closeStatement(statement, resultSet);
+          }
+          return null;
+        case "isClosed":
+          return closed || statement.isClosed();
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "toString":
+          return "Pooled " + statement;
+        default:
+          break;
+      }
+      if (closed) {
+        throw new SQLException("Statement is closed");
+      }
+      final Object result = ConnectionPool.invoke(statement, method, args);
+      if (method.getName().equals("executeQuery")) {
+        resultSet = (ResultSet) result;
+      }
+      return result;
+    }
+  }
+}
@@ -7,6 +7,7 @@ import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -38,12 +39,23 @@ import games.strategy.util.ThreadUtil;
  * <p>
  * Getting a connection will also schedule backups at regular intervals.
  * </p>
+ *
+ * <p>
+ * Connections are taken from a pool, closing a connection returns it to the pool.
+ * </p>
  */
 public class Database {
   private static final Logger logger = Logger.getLogger(Database.class.getName());
   private static final Object dbSetupLock = new Object();
   private static boolean isDbSetup = false;
   private static boolean areDbTablesCreated = false;
+  private static final int MAX_CONNECTIONS = 10;
+  private static final Duration MAX_IDLE_TIME = Duration.ofMinutes(5);
+  private static final Duration VALIDATION_INTERVAL = Duration.ofSeconds(30);
+  private static final ConnectionPool derbyConnections =
+      new ConnectionPool(Database::newDerbyConnection, MAX_CONNECTIONS, MAX_IDLE_TIME, VALIDATION_INTERVAL);
+  private static final ConnectionPool postgresConnections =
+      new ConnectionPool(Database::newPostgresConnection, MAX_CONNECTIONS, MAX_IDLE_TIME, VALIDATION_INTERVAL);
 
   private static File getCurrentDataBaseDir() {
     final File dbRootDir = getDBRoot();
@@ -70,11 +82,19 @@ public class Database {
   }
 
   public static Connection getDerbyConnection() {
+    return derbyConnections.get();
+  }
+
+  public static Connection getPostgresConnection() {
+    return postgresConnections.get();
+  }
+
+  private static Connection newDerbyConnection() {
     final String url = "jdbc:derby:ta_users;create=true";
     return getConnection(url, getDbProps());
   }
 
-  public static Connection getPostgresConnection() {
+  private static Connection newPostgresConnection() {
     final Connection connection = getConnection("jdbc:postgresql://localhost/ta_users", getPostgresDbProps());
     try {
       connection.setAutoCommit(false);
@@ -253,6 +273,8 @@ public class Database {
   }
 
   private static void shutDownDB() {
+    derbyConnections.close();
+    postgresConnections.close();
     try {
       DriverManager.getConnection("jdbc:derby:ta_users;shutdown=true");
     } catch (final SQLException se) {
@@ -1,7 +1,13 @@
 package games.strategy.engine.lobby.server.db;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -15,4 +21,31 @@ class DbUtil {
       logger.log(Level.WARNING, "Error closing connection", e);
     }
   }
+
+  /**
+   * Reads the entries of a ban or mute table that have not expired yet.
+   *
+   * @return The end of every entry keyed by its name, the end is null for entries that never expire.
+   */
+  static Map<String, Instant> readUnexpired(final String table, final String keyColumn, final String tillColumn) {
+    final String sql = "select " + keyColumn + ", " + tillColumn + " from " + table + " where " + tillColumn
+        + " is null or " + tillColumn + " > ?";
+    final Connection con = Database.getDerbyConnection();
+    try (final PreparedStatement ps = con.prepareStatement(sql)) {
+      ps.setTimestamp(1, new Timestamp(System.currentTimeMillis()));
+      final Map<String, Instant> entries = new HashMap<>();
+      try (final ResultSet rs = ps.executeQuery()) {
+        while (rs.next()) {
+          final Timestamp till = rs.getTimestamp(2);
+          entries.put(rs.getString(1), till == null ? null : till.toInstant());
+        }
+      }
+      return entries;
+    } catch (final SQLException sqle) {
+      logger.info("Error reading " + table + " error:" + sqle.getMessage());
+      throw new IllegalStateException(sqle.getMessage());
+    } finally {
+      closeConnection(con);
+    }
+  }
 }
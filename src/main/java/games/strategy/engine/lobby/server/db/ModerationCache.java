@@ -0,0 +1,198 @@
+package games.strategy.engine.lobby.server.db;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import games.strategy.util.Tuple;
+
+/**
+ * The bans, mutes and bad words of the lobby, kept in memory so logins and chat messages do not have to query the
+ * database.
+ *
+ * <p>
+ * Everything is read from the database once, when the cache is first used. Changes made through the cache are written
+ * to the database and the cache alike; the lobby must not change these tables by any other way while it is running.
+ * </p>
+ *
+ * <p>
+ * A ban or mute is checked against its end on every lookup, and removed from memory by a single scheduler thread when
+ * it ends. Expired entries are left in the database; they are skipped when the cache is loaded and replaced when the
+ * same name is banned or muted again.
+ * </p>
+ */
+public final class ModerationCache {
+  private static final Logger logger = Logger.getLogger(ModerationCache.class.getName());
+  // the end of bans and mutes that never end
+  private static final long FOREVER = Long.MAX_VALUE;
+
+  private final BannedMacController bannedMacController;
+  private final BannedUsernameController bannedUsernameController;
+  private final MutedMacController mutedMacController;
+  private final MutedUsernameController mutedUsernameController;
+  private final BadWordController badWordController;
+  private final ScheduledExecutorService expiryScheduler;
+  private final Map<String, Long> bannedMacs = new ConcurrentHashMap<>();
+  private final Map<String, Long> bannedUsernames = new ConcurrentHashMap<>();
+  private final Map<String, Long> mutedMacs = new ConcurrentHashMap<>();
+  private final Map<String, Long> mutedUsernames = new ConcurrentHashMap<>();
+  private final Set<String> badWords = ConcurrentHashMap.newKeySet();
+  private volatile BadWordMatcher badWordMatcher;
+
+  private static final class InstanceHolder {
+    private static final ModerationCache instance = newInstance();
+
+    private static ModerationCache newInstance() {
+      final ScheduledExecutorService expiryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "Lobby ban and mute expiry");
+        thread.setDaemon(true);
+        return thread;
+      });
+      return new ModerationCache(new BannedMacController(), new BannedUsernameController(), new MutedMacController(),
+          new MutedUsernameController(), new BadWordController(), expiryScheduler);
+    }
+  }
+
+  /**
+   * @return The cache of the lobby database, loading it on first use.
+   */
+  public static ModerationCache getInstance() {
+    return InstanceHolder.instance;
+  }
+
+  ModerationCache(final BannedMacController bannedMacController,
+      final BannedUsernameController bannedUsernameController, final MutedMacController mutedMacController,
+      final MutedUsernameController mutedUsernameController, final BadWordController badWordController,
+      final ScheduledExecutorService expiryScheduler) {
+    this.bannedMacController = bannedMacController;
+    this.bannedUsernameController = bannedUsernameController;
+    this.mutedMacController = mutedMacController;
+    this.mutedUsernameController = mutedUsernameController;
+    this.badWordController = badWordController;
+    this.expiryScheduler = expiryScheduler;
+    load(bannedMacs, bannedMacController.getBannedMacs());
+    load(bannedUsernames, bannedUsernameController.getBannedUsernames());
+    load(mutedMacs, mutedMacController.getMutedMacs());
+    load(mutedUsernames, mutedUsernameController.getMutedUsernames());
+    badWords.addAll(badWordController.list());
+    badWordMatcher = new BadWordMatcher(badWords);
+    logger.info("Loaded " + bannedMacs.size() + " banned macs, " + bannedUsernames.size() + " banned usernames, "
+        + mutedMacs.size() + " muted macs, " + mutedUsernames.size() + " muted usernames and " + badWords.size()
+        + " bad words");
+  }
+
+  private void load(final Map<String, Long> entries, final Map<String, Instant> ends) {
+    ends.forEach((name, end) -> put(entries, name, end));
+  }
+
+  private void put(final Map<String, Long> entries, final String name, final Instant end) {
+    final long endMillis = (end == null) ? FOREVER : end.toEpochMilli();
+    entries.put(name, endMillis);
+    if (endMillis != FOREVER) {
+      expiryScheduler.schedule(() -> entries.remove(name, endMillis),
+          Math.max(0, endMillis - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * @return The end of the ban or mute of the specified name, FOREVER if it never ends, or -1 if there is none.
+   */
+  private static long getEnd(final Map<String, Long> entries, final String name) {
+    final Long end = entries.get(name);
+    if (end == null || end <= System.currentTimeMillis()) {
+      return -1;
+    }
+    return end;
+  }
+
+  private static Tuple<Boolean, Timestamp> getBan(final Map<String, Long> entries, final String name) {
+    final long end = getEnd(entries, name);
+    if (end == -1) {
+      return Tuple.of(false, null);
+    }
+    return Tuple.of(true, (end == FOREVER) ? null : new Timestamp(end));
+  }
+
+  /**
+   * Bans the mac. If banTill is not null, the ban will expire when banTill is reached.
+   */
+  public void addBannedMac(final String mac, final Instant banTill) {
+    bannedMacController.addBannedMac(mac, banTill);
+    put(bannedMacs, mac, banTill);
+  }
+
+  /**
+   * @return Whether the mac is banned, and the end of the ban or null if it never ends.
+   */
+  public Tuple<Boolean, Timestamp> isMacBanned(final String mac) {
+    return getBan(bannedMacs, mac);
+  }
+
+  /**
+   * Bans the username. If banTill is not null, the ban will expire when banTill is reached.
+   */
+  public void addBannedUsername(final String username, final Instant banTill) {
+    bannedUsernameController.addBannedUsername(username, banTill);
+    put(bannedUsernames, username, banTill);
+  }
+
+  /**
+   * @return Whether the username is banned, and the end of the ban or null if it never ends.
+   */
+  public Tuple<Boolean, Timestamp> isUsernameBanned(final String username) {
+    return getBan(bannedUsernames, username);
+  }
+
+  /**
+   * Mutes the mac. If muteTill is not null, the mute will expire when muteTill is reached.
+   */
+  public void addMutedMac(final String mac, final Instant muteTill) {
+    mutedMacController.addMutedMac(mac, muteTill);
+    put(mutedMacs, mac, muteTill);
+  }
+
+  /**
+   * @return Epoch millis of when the mute of the mac ends, Long.MAX_VALUE if it never ends, or -1 if it is not muted.
+   */
+  public long getMacUnmuteTime(final String mac) {
+    return getEnd(mutedMacs, mac);
+  }
+
+  /**
+   * Mutes the username. If muteTill is not null, the mute will expire when muteTill is reached.
+   */
+  public void addMutedUsername(final String username, final Instant muteTill) {
+    mutedUsernameController.addMutedUsername(username, muteTill);
+    put(mutedUsernames, username, muteTill);
+  }
+
+  /**
+   * @return Epoch millis of when the mute of the username ends, Long.MAX_VALUE if it never ends, or -1 if it is not
+   *         muted.
+   */
+  public long getUsernameUnmuteTime(final String username) {
+    return getEnd(mutedUsernames, username);
+  }
+
+  public void addBadWord(final String word) {
+    badWordController.addBadWord(word);
+    synchronized (badWords) {
+      if (badWords.add(word)) {
+        badWordMatcher = new BadWordMatcher(badWords);
+      }
+    }
+  }
+
+  /**
+   * @return True if the text contains any bad word, ignoring case.
+   */
+  public boolean containsBadWord(final String text) {
+    return badWordMatcher.containsBadWord(text);
+  }
+}
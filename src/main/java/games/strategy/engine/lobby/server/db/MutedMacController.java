@@ -6,6 +6,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -125,4 +126,11 @@ public class MutedMacController {
     }
     return result;
   }
+
+  /**
+   * @return The muted macs whose mute has not expired, with the end of their mute or null if it never ends.
+   */
+  public Map<String, Instant> getMutedMacs() {
+    return DbUtil.readUnexpired("muted_macs", "mac", "mute_till");
+  }
 }
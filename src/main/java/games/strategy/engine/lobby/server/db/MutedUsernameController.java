@@ -6,6 +6,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -126,4 +127,11 @@ public class MutedUsernameController {
     }
     return result;
   }
+
+  /**
+   * @return The muted usernames whose mute has not expired, with the end of their mute or null if it never ends.
+   */
+  public Map<String, Instant> getMutedUsernames() {
+    return DbUtil.readUnexpired("muted_usernames", "username", "mute_till");
+  }
 }
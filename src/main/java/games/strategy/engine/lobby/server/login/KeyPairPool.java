@@ -0,0 +1,136 @@
+package games.strategy.engine.lobby.server.login;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.security.KeyPair;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Key pairs generated ahead of time by a background thread, so a login does not have to wait for one.
+ *
+ * <p>
+ * Every key pair is handed out once. When fewer than the low water mark are left, the pool is filled up again in the
+ * background. When it is empty, a key pair is generated on the calling thread instead; such starvation is counted
+ * and logged.
+ * </p>
+ */
+final class KeyPairPool {
+  private static final Logger logger = Logger.getLogger(KeyPairPool.class.getName());
+
+  private final Supplier<KeyPair> generator;
+  private final BlockingQueue<KeyPair> keyPairs;
+  private final int lowWaterMark;
+  private final Executor executor;
+  private final AtomicBoolean refilling = new AtomicBoolean();
+  // set once starvation was logged, until the pool is full again
+  private final AtomicBoolean starvationLogged = new AtomicBoolean();
+  private final AtomicLong taken = new AtomicLong();
+  private final AtomicLong starved = new AtomicLong();
+  private final AtomicLong generated = new AtomicLong();
+
+  /**
+   * @param generator Generates a new key pair, called by the executor and by starved callers.
+   * @param size How many key pairs are kept ready.
+   * @param lowWaterMark How few key pairs may be left before the pool is filled up again.
+   * @param executor Runs the tasks that fill the pool.
+   */
+  KeyPairPool(final Supplier<KeyPair> generator, final int size, final int lowWaterMark, final Executor executor) {
+    if (size < 1 || lowWaterMark < 0 || lowWaterMark > size) {
+      throw new IllegalArgumentException("Invalid size:" + size + " or low water mark:" + lowWaterMark);
+    }
+    this.generator = checkNotNull(generator);
+    this.lowWaterMark = lowWaterMark;
+    this.executor = checkNotNull(executor);
+    keyPairs = new ArrayBlockingQueue<>(size);
+    startRefill();
+  }
+
+  /**
+   * Creates a pool filled by a single low priority daemon thread.
+   */
+  static KeyPairPool newInstance(final Supplier<KeyPair> generator, final int size, final int lowWaterMark) {
+    return new KeyPairPool(generator, size, lowWaterMark, Executors.newSingleThreadExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, "RSA key pair generator");
+      thread.setDaemon(true);
+      thread.setPriority(Thread.MIN_PRIORITY);
+      return thread;
+    }));
+  }
+
+  /**
+   * @return A key pair that has not been handed out before.
+   */
+  KeyPair take() {
+    taken.incrementAndGet();
+    KeyPair keyPair = keyPairs.poll();
+    if (keyPair == null) {
+      starved.incrementAndGet();
+      if (starvationLogged.compareAndSet(false, true)) {
+        logger.warning("RSA key pair pool is empty, generating key pairs on login threads. " + getStatistics());
+      }
+      keyPair = generator.get();
+    }
+    if (keyPairs.size() < lowWaterMark) {
+      startRefill();
+    }
+    return keyPair;
+  }
+
+  private void startRefill() {
+    if (refilling.compareAndSet(false, true)) {
+      try {
+        executor.execute(this::refill);
+      } catch (final RejectedExecutionException e) {
+        refilling.set(false);
+      }
+    }
+  }
+
+  private void refill() {
+    try {
+      while (keyPairs.remainingCapacity() > 0) {
+        keyPairs.offer(generator.get());
+        generated.incrementAndGet();
+      }
+      starvationLogged.set(false);
+    } catch (final RuntimeException e) {
+      logger.log(Level.SEVERE, "Failed to generate RSA key pair", e);
+    } finally {
+      refilling.set(false);
+    }
+  }
+
+  int size() {
+    return keyPairs.size();
+  }
+
+  long getTaken() {
+    return taken.get();
+  }
+
+  long getStarved() {
+    return starved.get();
+  }
+
+  long getGenerated() {
+    return generated.get();
+  }
+
+  /**
+   * @return How many key pairs are ready, how many were handed out, how many of those had to be generated on the
+   *         calling thread, and how many were generated in the background.
+   */
+  String getStatistics() {
+    return "RSA key pairs ready: " + keyPairs.size() + ", taken: " + taken.get() + ", starved: " + starved.get()
+        + ", generated in background: " + generated.get();
+  }
+}
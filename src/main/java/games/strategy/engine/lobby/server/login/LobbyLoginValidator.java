@@ -5,7 +5,6 @@ import java.net.SocketAddress;
 import java.security.PrivateKey;
 import java.sql.Timestamp;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
@@ -17,11 +16,9 @@ import com.google.common.base.Strings;
 
 import games.strategy.engine.framework.startup.ui.InGameLobbyWatcher;
 import games.strategy.engine.lobby.server.LobbyServer;
-import games.strategy.engine.lobby.server.db.BadWordController;
-import games.strategy.engine.lobby.server.db.BannedMacController;
-import games.strategy.engine.lobby.server.db.BannedUsernameController;
 import games.strategy.engine.lobby.server.db.DbUserController;
 import games.strategy.engine.lobby.server.db.HashedPassword;
+import games.strategy.engine.lobby.server.db.ModerationCache;
 import games.strategy.engine.lobby.server.db.UserDao;
 import games.strategy.engine.lobby.server.userDB.DBUser;
 import games.strategy.net.ILoginValidator;
@@ -89,10 +86,9 @@ public class LobbyLoginValidator implements ILoginValidator {
       return "Wrong version, we require" + LobbyServer.LOBBY_VERSION.toString() + " but trying to log in with "
           + clientVersionString;
     }
-    for (final String s : getBadWords()) {
-      if (clientName.toLowerCase().contains(s.toLowerCase())) {
-        return THATS_NOT_A_NICE_NAME;
-      }
+    final ModerationCache moderationCache = ModerationCache.getInstance();
+    if (moderationCache.containsBadWord(clientName)) {
+      return THATS_NOT_A_NICE_NAME;
     }
     if (hashedMac == null) {
       return UNABLE_TO_OBTAIN_MAC;
@@ -102,14 +98,14 @@ public class LobbyLoginValidator implements ILoginValidator {
       // Must have been tampered with
       return INVALID_MAC;
     }
-    final Tuple<Boolean, Timestamp> macBanned = new BannedMacController().isMacBanned(hashedMac);
+    final Tuple<Boolean, Timestamp> macBanned = moderationCache.isMacBanned(hashedMac);
     if (macBanned.getFirst()) {
       return YOU_HAVE_BEEN_BANNED + " " + getBanDurationBreakdown(macBanned.getSecond());
     }
     // test for username ban after testing normal bans, because if it is only a username ban then the user should know
     // they can change their
     // name
-    final Tuple<Boolean, Timestamp> usernameBanned = new BannedUsernameController().isUsernameBanned(clientName);
+    final Tuple<Boolean, Timestamp> usernameBanned = moderationCache.isUsernameBanned(clientName);
     if (usernameBanned.getFirst()) {
       return USERNAME_HAS_BEEN_BANNED + " " + getBanDurationBreakdown(usernameBanned.getSecond());
     }
@@ -158,10 +154,6 @@ public class LobbyLoginValidator implements ILoginValidator {
     return (sb.toString());
   }
 
-  private static List<String> getBadWords() {
-    return new BadWordController().list();
-  }
-
   private String validatePassword(final Map<String, String> propertiesSentToClient,
       final Map<String, String> propertiesReadFromClient, final String clientName) {
     final String errorMessage = "Incorrect username or password";
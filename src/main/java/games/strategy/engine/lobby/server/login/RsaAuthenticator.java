@@ -27,6 +27,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 
+import games.strategy.engine.lobby.server.LobbyContext;
 import games.strategy.util.Util;
 
 /**
@@ -45,14 +46,26 @@ public final class RsaAuthenticator {
   static final String RSA_PUBLIC_KEY = "RSAPUBLICKEY";
 
   private final Cache<String, PrivateKey> rsaKeyCache;
+  private final KeyPairPool keyPairPool;
 
+  private static final class KeyPairPoolHolder {
+    private static final KeyPairPool instance = KeyPairPool.newInstance(RsaAuthenticator::generateKeyPair,
+        LobbyContext.lobbyPropertyReader().getRsaKeyPoolSize(),
+        LobbyContext.lobbyPropertyReader().getRsaKeyPoolLowWaterMark());
+  }
+
+  /**
+   * Creates an authenticator taking its key pairs from the pool shared by all authenticators of this process, which is
+   * created on first use.
+   */
   RsaAuthenticator() {
-    this(CacheBuilder.newBuilder().expireAfterWrite(10, TimeUnit.MINUTES).build());
+    this(CacheBuilder.newBuilder().expireAfterWrite(10, TimeUnit.MINUTES).build(), KeyPairPoolHolder.instance);
   }
 
   @VisibleForTesting
-  RsaAuthenticator(final Cache<String, PrivateKey> rsaKeyCache) {
+  RsaAuthenticator(final Cache<String, PrivateKey> rsaKeyCache, final KeyPairPool keyPairPool) {
     this.rsaKeyCache = rsaKeyCache;
+    this.keyPairPool = keyPairPool;
   }
 
   /**
@@ -81,7 +94,7 @@ public final class RsaAuthenticator {
     KeyPair keyPair;
     String publicKey;
     do {
-      keyPair = generateKeyPair();
+      keyPair = keyPairPool.take();
       publicKey = Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded());
     } while (rsaKeyCache.getIfPresent(publicKey) != null);
     rsaKeyCache.put(publicKey, keyPair.getPrivate());
@@ -29,11 +29,14 @@ class EndPoint {
   private final Class<?> m_remoteClass;
   private final List<Object> m_implementors = new ArrayList<>();
   private final boolean m_singleThreaded;
+  // kept here, so the statistics of an end point go away with it
+  private final InvocationStatistics m_invocationStatistics;
 
   public EndPoint(final String name, final Class<?> remoteClass, final boolean singleThreaded) {
     m_name = name;
     m_remoteClass = remoteClass;
     m_singleThreaded = singleThreaded;
+    m_invocationStatistics = new InvocationStatistics(name);
   }
 
   public Object getFirstImplementor() {
@@ -118,6 +121,10 @@ class EndPoint {
     return m_remoteClass;
   }
 
+  InvocationStatistics getInvocationStatistics() {
+    return m_invocationStatistics;
+  }
+
   /*
    * @param number - like the number you get in a bank line, if we are single
    * threaded, then the method will not run until the number comes up. Acquire
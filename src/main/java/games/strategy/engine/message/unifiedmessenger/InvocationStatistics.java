@@ -0,0 +1,94 @@
+package games.strategy.engine.message.unifiedmessenger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * How many invocations received for an end point are waiting or running, and how long they took.
+ */
+public final class InvocationStatistics {
+  private final String endPointName;
+  private final AtomicInteger queued = new AtomicInteger();
+  private final AtomicInteger running = new AtomicInteger();
+  private final AtomicLong completed = new AtomicLong();
+  private final AtomicLong totalWaitNanos = new AtomicLong();
+  private final AtomicLong totalRunNanos = new AtomicLong();
+  private final AtomicLong maxRunNanos = new AtomicLong();
+
+  InvocationStatistics(final String endPointName) {
+    this.endPointName = endPointName;
+  }
+
+  /**
+   * @return The task, wrapped to record when it waits and runs.
+   */
+  Runnable track(final Runnable task) {
+    final long queuedAt = System.nanoTime();
+    queued.incrementAndGet();
+    return () -> {
+      final long startedAt = System.nanoTime();
+      queued.decrementAndGet();
+      running.incrementAndGet();
+      totalWaitNanos.addAndGet(startedAt - queuedAt);
+      try {
+        task.run();
+      } finally {
+        final long runNanos = System.nanoTime() - startedAt;
+        running.decrementAndGet();
+        completed.incrementAndGet();
+        totalRunNanos.addAndGet(runNanos);
+        maxRunNanos.accumulateAndGet(runNanos, Math::max);
+      }
+    };
+  }
+
+  public String getEndPointName() {
+    return endPointName;
+  }
+
+  /**
+   * @return How many invocations are waiting for a thread or for their turn.
+   */
+  public int getQueued() {
+    return queued.get();
+  }
+
+  public int getRunning() {
+    return running.get();
+  }
+
+  public long getCompleted() {
+    return completed.get();
+  }
+
+  /**
+   * @return The average time from receiving an invocation until it started, in milliseconds.
+   */
+  public long getAverageWaitMillis() {
+    return average(totalWaitNanos.get());
+  }
+
+  /**
+   * @return The average time an invocation ran, in milliseconds.
+   */
+  public long getAverageRunMillis() {
+    return average(totalRunNanos.get());
+  }
+
+  public long getMaxRunMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(maxRunNanos.get());
+  }
+
+  private long average(final long totalNanos) {
+    final long count = completed.get();
+    return (count == 0) ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos / count);
+  }
+
+  @Override
+  public String toString() {
+    return endPointName + " queued: " + getQueued() + ", running: " + getRunning() + ", completed: " + getCompleted()
+        + ", average wait: " + getAverageWaitMillis() + "ms, average run: " + getAverageRunMillis() + "ms, max run: "
+        + getMaxRunMillis() + "ms";
+  }
+}
@@ -0,0 +1,47 @@
+package games.strategy.engine.message.unifiedmessenger;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs tasks one after another, in the order they were submitted, on the threads of another executor.
+ *
+ * <p>
+ * At most one task is queued with the other executor at any time, so a serial executor waiting for its turn never
+ * holds a thread of it.
+ * </p>
+ */
+final class SerialExecutor implements Executor {
+  private final Executor executor;
+  private final Queue<Runnable> tasks = new ArrayDeque<>();
+  private Runnable active;
+
+  SerialExecutor(final Executor executor) {
+    this.executor = checkNotNull(executor);
+  }
+
+  @Override
+  public synchronized void execute(final Runnable task) {
+    checkNotNull(task);
+    tasks.add(() -> {
+      try {
+        task.run();
+      } finally {
+        scheduleNext();
+      }
+    });
+    if (active == null) {
+      scheduleNext();
+    }
+  }
+
+  private synchronized void scheduleNext() {
+    active = tasks.poll();
+    if (active != null) {
+      executor.execute(active);
+    }
+  }
+}
@@ -1,12 +1,22 @@
 package games.strategy.engine.message.unifiedmessenger;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -34,7 +44,12 @@ import games.strategy.util.ThreadUtil;
 public class UnifiedMessenger {
   private static final Logger logger = Logger.getLogger(UnifiedMessenger.class.getName());
 
-  private static final ExecutorService threadPool = Executors.newFixedThreadPool(15);
+  private static final int MAX_CONCURRENT_INVOCATIONS = 32;
+  // runs the invocations received for end points that are not single threaded
+  private static final ExecutorService threadPool = newThreadPool();
+  // runs the invocations received for single threaded end points, which take at most one thread each at a time
+  private static final ExecutorService serialThreadPool =
+      Executors.newCachedThreadPool(newThreadFactory("Serial remote invocation"));
   // the messenger we are based on
   private final IMessenger m_messenger;
   // lock on this for modifications to create or remove local end points
@@ -43,15 +58,12 @@ public class UnifiedMessenger {
   // these are the end points that
   // have local implementors
   private final Map<String, EndPoint> m_localEndPoints = new HashMap<>();
-  private final Object m_pendingLock = new Object();
-  // threads wait on these latches for the hub to return invocations
-  // the latch should be removed from the map when you countdown the last result
-  // access should be synchronized on m_pendingLock
-  // TODO: how do these get shutdown when we exit a game or close triplea?
-  private final Map<GUID, CountDownLatch> m_pendingInvocations = new HashMap<>();
-  // after the remote has invoked, the results are placed here
-  // access should be synchronized on m_pendingLock
-  private final Map<GUID, RemoteMethodCallResults> m_results = new HashMap<>();
+  // threads wait on these futures for the hub to return invocations
+  // the future is removed from the map when it is completed
+  private final ConcurrentMap<GUID, CompletableFuture<RemoteMethodCallResults>> m_pendingInvocations =
+      new ConcurrentHashMap<>();
+  // maps end point name -> the executor running the invocations received for a single threaded end point
+  private final ConcurrentMap<String, SerialExecutor> m_serialExecutors = new ConcurrentHashMap<>();
   // only non null for the server
   private UnifiedMessengerHub m_hub;
 
@@ -70,16 +82,28 @@ public class UnifiedMessenger {
     }
   }
 
+  private static ExecutorService newThreadPool() {
+    final ThreadPoolExecutor threadPool = new ThreadPoolExecutor(MAX_CONCURRENT_INVOCATIONS,
+        MAX_CONCURRENT_INVOCATIONS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+        newThreadFactory("Remote invocation"));
+    threadPool.allowCoreThreadTimeOut(true);
+    return threadPool;
+  }
+
+  private static ThreadFactory newThreadFactory(final String name) {
+    final AtomicInteger threadCount = new AtomicInteger();
+    return runnable -> new Thread(runnable, name + " " + threadCount.incrementAndGet());
+  }
+
   UnifiedMessengerHub getHub() {
     return m_hub;
   }
 
   private void messengerInvalid() {
-    synchronized (m_pendingLock) {
-      for (final GUID id : m_pendingInvocations.keySet()) {
-        final CountDownLatch latch = m_pendingInvocations.remove(id);
-        latch.countDown();
-        m_results.put(id, new RemoteMethodCallResults(new ConnectionLostException("Connection Lost")));
+    for (final GUID id : m_pendingInvocations.keySet()) {
+      final CompletableFuture<RemoteMethodCallResults> pending = m_pendingInvocations.remove(id);
+      if (pending != null) {
+        pending.complete(new RemoteMethodCallResults(new ConnectionLostException("Connection Lost")));
       }
     }
   }
@@ -110,29 +134,27 @@ public class UnifiedMessenger {
 
   private RemoteMethodCallResults invokeAndWaitRemote(final RemoteMethodCall remoteCall) {
     final GUID methodCallId = new GUID();
-    final CountDownLatch latch = new CountDownLatch(1);
-    synchronized (m_pendingLock) {
-      m_pendingInvocations.put(methodCallId, latch);
-    }
+    final CompletableFuture<RemoteMethodCallResults> pending = new CompletableFuture<>();
+    m_pendingInvocations.put(methodCallId, pending);
     // invoke remotely
     final Invoke invoke = new HubInvoke(methodCallId, true, remoteCall);
     send(invoke, m_messenger.getServerNode());
 
+    RemoteMethodCallResults results = null;
     try {
-      latch.await();
+      results = pending.get();
     } catch (final InterruptedException e) {
       logger.log(Level.WARNING, e.getMessage());
+      m_pendingInvocations.remove(methodCallId);
+    } catch (final ExecutionException e) {
+      throw new IllegalStateException(e);
     }
-
-    synchronized (m_pendingLock) {
-      final RemoteMethodCallResults results = m_results.remove(methodCallId);
-      if (results == null) {
-        throw new IllegalStateException(
-            "No results from remote call. Method returned:" + remoteCall.getMethodName() + " for remote name:"
-                + remoteCall.getRemoteName() + " with id:" + methodCallId);
-      }
-      return results;
+    if (results == null) {
+      throw new IllegalStateException(
+          "No results from remote call. Method returned:" + remoteCall.getMethodName() + " for remote name:"
+              + remoteCall.getRemoteName() + " with id:" + methodCallId);
     }
+    return results;
   }
 
   /**
@@ -195,6 +217,7 @@ public class UnifiedMessenger {
       final boolean noneLeft = endPoint.removeImplementor(implementor);
       if (noneLeft) {
         m_localEndPoints.remove(name);
+        m_serialExecutors.remove(name);
         send(new NoLongerHasEndPointImplementor(name), m_messenger.getServerNode());
       }
     }
@@ -289,26 +312,20 @@ public class UnifiedMessenger {
       // guarantee that the thread pool task will run before
       // we get the next message notification
       // get the number for the invocation here
-      final long methodRunNumber = local.takeANumber();
       // we dont want to block the message thread, only one thread is
-      // reading messages
-      // per connection, so run with out thread pool
-      final EndPoint localFinal = local;
-      final Runnable task = () -> {
-        final List<RemoteMethodCallResults> results =
-            localFinal.invokeLocal(invoke.call, methodRunNumber, invoke.getInvoker());
-        if (invoke.needReturnValues) {
-          RemoteMethodCallResults result = null;
-          if (results.size() == 1) {
-            result = results.get(0);
-          } else {
-            result = new RemoteMethodCallResults(
-                new IllegalStateException("Invalid result count" + results.size()) + " for end point:" + localFinal);
-          }
-          send(new HubInvocationResults(result, invoke.methodCallID), from);
+      // reading messages per connection, so run with out thread pools
+      final InvocationStatistics statistics = local.getInvocationStatistics();
+      if (local.isSingleThreaded()) {
+        final SerialExecutor serialExecutor =
+            m_serialExecutors.computeIfAbsent(local.getName(), name -> new SerialExecutor(serialThreadPool));
+        // the serial executor must get the invocations in the order of their numbers,
+        // or an invocation would wait for its turn in front of the one it waits for
+        synchronized (serialExecutor) {
+          serialExecutor.execute(statistics.track(newInvocationTask(local, invoke, local.takeANumber(), from)));
         }
-      };
-      threadPool.execute(task);
+      } else {
+        threadPool.execute(statistics.track(newInvocationTask(local, invoke, local.takeANumber(), from)));
+      }
     } else if (msg instanceof SpokeInvocationResults) { // a remote machine is returning results
       // if this isn't the server, something is wrong
       // maybe an attempt to spoof a message
@@ -318,11 +335,44 @@ public class UnifiedMessenger {
       // both of these should already be populated
       // this list should be a synchronized list so we can do the add
       // all
-      synchronized (m_pendingLock) {
-        m_results.put(methodId, results.results);
-        m_pendingInvocations.remove(methodId).countDown();
+      final CompletableFuture<RemoteMethodCallResults> pending = m_pendingInvocations.remove(methodId);
+      if (pending != null) {
+        pending.complete(results.results);
+      }
+    }
+  }
+
+  /**
+   * @return How many invocations received for each end point are waiting or running, and how long they took, sorted by
+   *         end point name.
+   */
+  public List<InvocationStatistics> getInvocationStatistics() {
+    final List<InvocationStatistics> statistics = new ArrayList<>();
+    synchronized (m_endPointMutex) {
+      for (final EndPoint endPoint : m_localEndPoints.values()) {
+        statistics.add(endPoint.getInvocationStatistics());
       }
     }
+    statistics.sort(Comparator.comparing(InvocationStatistics::getEndPointName));
+    return statistics;
+  }
+
+  private Runnable newInvocationTask(final EndPoint local, final SpokeInvoke invoke, final long methodRunNumber,
+      final INode from) {
+    return () -> {
+      final List<RemoteMethodCallResults> results =
+          local.invokeLocal(invoke.call, methodRunNumber, invoke.getInvoker());
+      if (invoke.needReturnValues) {
+        RemoteMethodCallResults result = null;
+        if (results.size() == 1) {
+          result = results.get(0);
+        } else {
+          result = new RemoteMethodCallResults(
+              new IllegalStateException("Invalid result count" + results.size()) + " for end point:" + local);
+        }
+        send(new HubInvocationResults(result, invoke.methodCallID), from);
+      }
+    };
   }
 
   @Override
@@ -0,0 +1,31 @@
+package games.strategy.engine.random;
+
+/**
+ * Gets random numbers from a random number generator with a fixed seed, so the same seed always gives the same
+ * numbers. Only meant for games without human players, such as AI tournaments, where a game must be repeatable.
+ */
+public class SeededRandomSource implements IRandomSource {
+  private final MersenneTwister random;
+
+  public SeededRandomSource(final long seed) {
+    random = new MersenneTwister(seed);
+  }
+
+  @Override
+  public synchronized int[] getRandom(final int max, final int count, final String annotation)
+      throws IllegalArgumentException {
+    if (count <= 0) {
+      throw new IllegalArgumentException("count must be > 0, annotation:" + annotation);
+    }
+    final int[] numbers = new int[count];
+    for (int i = 0; i < count; i++) {
+      numbers[i] = getRandom(max, annotation);
+    }
+    return numbers;
+  }
+
+  @Override
+  public synchronized int getRandom(final int max, final String annotation) throws IllegalArgumentException {
+    return random.nextInt(max);
+  }
+}
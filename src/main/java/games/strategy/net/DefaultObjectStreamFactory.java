@@ -5,6 +5,7 @@ import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
+import java.util.Optional;
 
 public class DefaultObjectStreamFactory implements IObjectStreamFactory {
   @Override
@@ -16,4 +17,19 @@ public class DefaultObjectStreamFactory implements IObjectStreamFactory {
   public ObjectOutputStream create(final OutputStream stream) throws IOException {
     return new ObjectOutputStream(stream);
   }
+
+  @Override
+  public Optional<TypeRegistry> getTypeRegistry() {
+    return Optional.of(TypeRegistry.NETWORK);
+  }
+
+  @Override
+  public ObjectInputStream createWithRegisteredTypes(final InputStream stream) throws IOException {
+    return new RegisteredTypeObjectInputStream(stream, TypeRegistry.NETWORK);
+  }
+
+  @Override
+  public ObjectOutputStream createWithRegisteredTypes(final OutputStream stream) throws IOException {
+    return new RegisteredTypeObjectOutputStream(stream, TypeRegistry.NETWORK);
+  }
 }
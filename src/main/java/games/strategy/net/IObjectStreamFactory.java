@@ -5,9 +5,37 @@ import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
+import java.util.Optional;
 
 public interface IObjectStreamFactory {
   ObjectInputStream create(InputStream stream) throws IOException;
 
   ObjectOutputStream create(OutputStream stream) throws IOException;
+
+  /**
+   * Returns the types that the streams created by {@link #createWithRegisteredTypes(OutputStream)} write as a short
+   * id instead of a full class descriptor. These streams are only used on connections whose ends agreed on the same
+   * registry during login.
+   *
+   * @return The registered types, or empty if this factory only supports plain java serialization.
+   */
+  default Optional<TypeRegistry> getTypeRegistry() {
+    return Optional.empty();
+  }
+
+  /**
+   * Creates a stream that reads what a stream created by {@link #createWithRegisteredTypes(OutputStream)} wrote.
+   * Factories without registered types read plain java serialization, as {@link #create(InputStream)} does.
+   */
+  default ObjectInputStream createWithRegisteredTypes(final InputStream stream) throws IOException {
+    return create(stream);
+  }
+
+  /**
+   * Creates a stream that writes the types of {@link #getTypeRegistry()} compactly. Factories without registered
+   * types write plain java serialization, as {@link #create(OutputStream)} does.
+   */
+  default ObjectOutputStream createWithRegisteredTypes(final OutputStream stream) throws IOException {
+    return create(stream);
+  }
 }
@@ -0,0 +1,40 @@
+package games.strategy.net;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+
+/**
+ * An object input stream that reads what a {@link RegisteredTypeObjectOutputStream} with the same {@link TypeRegistry}
+ * has written.
+ */
+public class RegisteredTypeObjectInputStream extends ObjectInputStream {
+  private final TypeRegistry typeRegistry;
+
+  /**
+   * @param typeRegistry The registered types, or null to read plain java serialization.
+   */
+  public RegisteredTypeObjectInputStream(final InputStream input, final TypeRegistry typeRegistry)
+      throws IOException {
+    super(input);
+    this.typeRegistry = typeRegistry;
+  }
+
+  @Override
+  protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+    if (typeRegistry == null) {
+      return super.readClassDescriptor();
+    }
+    final short id = readShort();
+    if (id < 0) {
+      return super.readClassDescriptor();
+    }
+    final ObjectStreamClass descriptor = typeRegistry.getDescriptor(id);
+    if (descriptor == null) {
+      throw new InvalidClassException("Unknown registered type: " + id);
+    }
+    return descriptor;
+  }
+}
@@ -0,0 +1,36 @@
+package games.strategy.net;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+
+/**
+ * An object output stream that writes the classes of a {@link TypeRegistry} as their id instead of a full class
+ * descriptor. Its output can only be read by a {@link RegisteredTypeObjectInputStream} with the same registry.
+ */
+public class RegisteredTypeObjectOutputStream extends ObjectOutputStream {
+  private final TypeRegistry typeRegistry;
+
+  /**
+   * @param typeRegistry The registered types, or null to write plain java serialization.
+   */
+  public RegisteredTypeObjectOutputStream(final OutputStream output, final TypeRegistry typeRegistry)
+      throws IOException {
+    super(output);
+    this.typeRegistry = typeRegistry;
+  }
+
+  @Override
+  protected void writeClassDescriptor(final ObjectStreamClass descriptor) throws IOException {
+    if (typeRegistry == null) {
+      super.writeClassDescriptor(descriptor);
+      return;
+    }
+    final short id = typeRegistry.getId(descriptor.forClass());
+    writeShort(id);
+    if (id < 0) {
+      super.writeClassDescriptor(descriptor);
+    }
+  }
+}
@@ -27,8 +27,7 @@ import java.util.logging.Logger;
 
 import games.strategy.engine.chat.ChatController;
 import games.strategy.engine.chat.IChatChannel;
-import games.strategy.engine.lobby.server.db.MutedMacController;
-import games.strategy.engine.lobby.server.db.MutedUsernameController;
+import games.strategy.engine.lobby.server.db.ModerationCache;
 import games.strategy.engine.lobby.server.login.LobbyLoginValidator;
 import games.strategy.engine.message.HubInvoke;
 import games.strategy.engine.message.RemoteMethodCall;
@@ -44,6 +43,11 @@ import games.strategy.net.nio.ServerQuarantineConversation;
  */
 public class ServerMessenger implements IServerMessenger, NIOSocketListener {
   private static final Logger logger = Logger.getLogger(ServerMessenger.class.getName());
+  /**
+   * The system property with the number of threads decoding the messages of the clients, by default one per core up
+   * to four.
+   */
+  public static final String DECODER_THREADS_PROPERTY = "triplea.server.decoderThreads";
   private final Selector acceptorSelector;
   private final ServerSocketChannel socketChannel;
   private final Node node;
@@ -57,6 +61,9 @@ public class ServerMessenger implements IServerMessenger, NIOSocketListener {
   // all our nodes
   private final Map<INode, SocketChannel> nodeToChannel = new ConcurrentHashMap<>();
   private final Map<SocketChannel, INode> channelToNode = new ConcurrentHashMap<>();
+  // the messages of different clients are decoded in parallel, but are passed on one at a time so that every client
+  // and listener sees broadcasts in the same order
+  private final Object dispatchLock = new Object();
 
   // A hack, till I think of something better
   public ServerMessenger(final String name, final int portNumber, final IObjectStreamFactory streamFactory)
@@ -65,7 +72,7 @@ public class ServerMessenger implements IServerMessenger, NIOSocketListener {
     socketChannel.configureBlocking(false);
     socketChannel.socket().setReuseAddress(true);
     socketChannel.socket().bind(new InetSocketAddress(portNumber), 10);
-    nioSocket = new NIOSocket(streamFactory, this, "Server");
+    nioSocket = new NIOSocket(streamFactory, this, "Server", getDecoderThreads());
     acceptorSelector = Selector.open();
     if (IPFinder.findInetAddress() != null) {
       node = new Node(name, IPFinder.findInetAddress(), portNumber);
@@ -257,19 +264,23 @@ public class ServerMessenger implements IServerMessenger, NIOSocketListener {
       if (isLobby()) {
         final String realName = uniquePlayerName.split(" ")[0];
         if (!m_liveMutedUsernames.contains(realName)) {
-          final long muteTill = new MutedUsernameController().getUsernameUnmuteTime(realName);
-          if (muteTill != -1 && muteTill <= System.currentTimeMillis()) {
+          final long muteTill = ModerationCache.getInstance().getUsernameUnmuteTime(realName);
+          if (muteTill != -1) {
             // Signal the player as muted
             m_liveMutedUsernames.add(realName);
-            scheduleUsernameUnmuteAt(realName, Instant.ofEpochMilli(muteTill));
+            if (muteTill != Long.MAX_VALUE) {
+              scheduleUsernameUnmuteAt(realName, Instant.ofEpochMilli(muteTill));
+            }
           }
         }
         if (!m_liveMutedMacAddresses.contains(mac)) {
-          final long muteTill = new MutedMacController().getMacUnmuteTime(mac);
-          if (muteTill != -1 && muteTill <= System.currentTimeMillis()) {
+          final long muteTill = ModerationCache.getInstance().getMacUnmuteTime(mac);
+          if (muteTill != -1) {
             // Signal the player as muted
             m_liveMutedMacAddresses.add(mac);
-            scheduleMacUnmuteAt(mac, Instant.ofEpochMilli(muteTill));
+            if (muteTill != Long.MAX_VALUE) {
+              scheduleMacUnmuteAt(mac, Instant.ofEpochMilli(muteTill));
+            }
           }
         }
       }
@@ -328,13 +339,15 @@ public class ServerMessenger implements IServerMessenger, NIOSocketListener {
         }
       }
     }
-    if (msg.getFor() == null) {
-      forwardBroadcast(msg);
-      notifyListeners(msg);
-    } else if (msg.getFor().equals(node)) {
-      notifyListeners(msg);
-    } else {
-      forward(msg);
+    synchronized (dispatchLock) {
+      if (msg.getFor() == null) {
+        forwardBroadcast(msg);
+        notifyListeners(msg);
+      } else if (msg.getFor().equals(node)) {
+        notifyListeners(msg);
+      } else {
+        forward(msg);
+      }
     }
   }
 
@@ -465,11 +478,12 @@ public class ServerMessenger implements IServerMessenger, NIOSocketListener {
     if (logger.isLoggable(Level.FINEST)) {
       logger.log(Level.FINEST, "broadcasting to" + nodes);
     }
-    for (final SocketChannel channel : nodes) {
-      if (channel != fromChannel) {
-        nioSocket.send(channel, msg);
-      }
-    }
+    nodes.remove(fromChannel);
+    nioSocket.broadcast(nodes, msg);
+  }
+
+  static int getDecoderThreads() {
+    return Integer.getInteger(DECODER_THREADS_PROPERTY, Math.min(4, Runtime.getRuntime().availableProcessors()));
   }
 
   private boolean isNameTaken(final String nodeName) {
@@ -626,7 +640,7 @@ public class ServerMessenger implements IServerMessenger, NIOSocketListener {
 
   private TimerTask getUsernameUnmuteTask(final String username) {
     return createUnmuteTimerTask(
-        () -> (isLobby() && new MutedUsernameController().getUsernameUnmuteTime(username) == -1) || (isGame()),
+        () -> (isLobby() && ModerationCache.getInstance().getUsernameUnmuteTime(username) == -1) || (isGame()),
         () -> m_liveMutedUsernames.remove(username));
   }
 
@@ -645,7 +659,7 @@ public class ServerMessenger implements IServerMessenger, NIOSocketListener {
 
   private TimerTask getMacUnmuteTask(final String mac) {
     return createUnmuteTimerTask(
-        () -> (isLobby() && new MutedMacController().getMacUnmuteTime(mac) == -1) || (isGame()),
+        () -> (isLobby() && ModerationCache.getInstance().getMacUnmuteTime(mac) == -1) || (isGame()),
         () -> m_liveMutedMacAddresses.remove(mac));
   }
 
@@ -711,6 +725,20 @@ public class ServerMessenger implements IServerMessenger, NIOSocketListener {
     return node.getSocketAddress();
   }
 
+  /**
+   * @return For every connected client, how many of its messages wait to be decoded and how long decoding them took.
+   */
+  public String getDecoderStatistics() {
+    return nioSocket.getDecoderStatistics();
+  }
+
+  /**
+   * @return How well the buffers used to read and write messages are reused.
+   */
+  public String getBufferPoolStatistics() {
+    return nioSocket.getBufferPoolStatistics();
+  }
+
   @Override
   public String toString() {
     return "ServerMessenger LocalNode:" + node + " ClientNodes:" + nodeToChannel.keySet();
@@ -0,0 +1,146 @@
+package games.strategy.net;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.ObjectStreamClass;
+import java.io.ObjectStreamField;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import games.strategy.util.Util;
+
+/**
+ * A numbered list of serializable classes that are sent over the network so often that writing their full class
+ * descriptor in every message is wasteful.
+ *
+ * <p>
+ * Java serialization writes the name, serial version and fields of every class used in a stream. As every message is
+ * written to its own stream, these descriptors are a large part of a typical small message. Streams created with a
+ * registry write a registered class as its two byte id instead, and fall back to a full descriptor for every other
+ * class.
+ * </p>
+ *
+ * <p>
+ * Both ends of a connection must use the same registry with the same versions of the registered classes. This is
+ * checked by comparing {@link #getFingerprint()} during login; a connection whose ends disagree uses plain java
+ * serialization.
+ * </p>
+ */
+public final class TypeRegistry {
+  /**
+   * The classes of the messages used by every messenger.
+   */
+  public static final TypeRegistry NETWORK = new TypeRegistry(Arrays.asList(
+      "java.lang.Boolean",
+      "java.lang.Number",
+      "java.lang.Integer",
+      "java.lang.Long",
+      "java.lang.Enum",
+      "java.util.ArrayList",
+      "java.util.HashMap",
+      "java.util.HashSet",
+      "java.util.LinkedHashMap",
+      "java.util.LinkedHashSet",
+      "java.util.TreeMap",
+      "java.rmi.server.UID",
+      "java.rmi.dgc.VMID",
+      "[B",
+      "[I",
+      "[Ljava.lang.Object;",
+      "[Ljava.lang.String;",
+      "games.strategy.net.GUID",
+      "games.strategy.net.Node",
+      "games.strategy.engine.message.RemoteMethodCall",
+      "games.strategy.engine.message.RemoteMethodCallResults",
+      "games.strategy.engine.message.HubInvoke",
+      "games.strategy.engine.message.SpokeInvoke",
+      "games.strategy.engine.message.HubInvocationResults",
+      "games.strategy.engine.message.SpokeInvocationResults",
+      "games.strategy.engine.message.unifiedmessenger.Invoke",
+      "games.strategy.engine.message.unifiedmessenger.InvocationResults"));
+
+  private static final short UNREGISTERED = -1;
+
+  private final List<Class<?>> types;
+  private final Map<Class<?>, Short> ids = new IdentityHashMap<>();
+  private final String fingerprint;
+
+  private TypeRegistry(final List<String> typeNames) {
+    if (typeNames.size() > Short.MAX_VALUE) {
+      throw new IllegalArgumentException("Too many types: " + typeNames.size());
+    }
+    final List<Class<?>> types = new ArrayList<>(typeNames.size());
+    final StringBuilder descriptors = new StringBuilder();
+    for (final String typeName : typeNames) {
+      final Class<?> type;
+      try {
+        type = Class.forName(typeName, false, TypeRegistry.class.getClassLoader());
+      } catch (final ClassNotFoundException e) {
+        throw new IllegalStateException("Unknown type: " + typeName, e);
+      }
+      if (ids.put(type, (short) types.size()) != null) {
+        throw new IllegalArgumentException("Type registered twice: " + typeName);
+      }
+      types.add(type);
+      appendDescriptor(descriptors, ObjectStreamClass.lookupAny(type));
+    }
+    this.types = Collections.unmodifiableList(types);
+    fingerprint = Util.sha512(descriptors.toString());
+  }
+
+  private static void appendDescriptor(final StringBuilder descriptors, final ObjectStreamClass descriptor) {
+    descriptors.append(descriptor.getName()).append(':').append(descriptor.getSerialVersionUID());
+    for (final ObjectStreamField field : descriptor.getFields()) {
+      descriptors.append(',').append(field.getName()).append(':').append(field.getTypeCode());
+      if (field.getTypeString() != null) {
+        descriptors.append(field.getTypeString());
+      }
+    }
+    descriptors.append(';');
+  }
+
+  /**
+   * Returns a registry with the types of this registry followed by the specified types.
+   *
+   * @param typeNames The names of the classes to add, as returned by {@link Class#getName()}.
+   */
+  public TypeRegistry extend(final List<String> typeNames) {
+    checkNotNull(typeNames);
+
+    final List<String> allTypeNames = new ArrayList<>(types.size() + typeNames.size());
+    for (final Class<?> type : types) {
+      allTypeNames.add(type.getName());
+    }
+    allTypeNames.addAll(typeNames);
+    return new TypeRegistry(allTypeNames);
+  }
+
+  /**
+   * @return A hash of the names, serial versions and fields of all registered classes.
+   */
+  public String getFingerprint() {
+    return fingerprint;
+  }
+
+  /**
+   * @return The id of the specified class, or -1 if it is not registered.
+   */
+  short getId(final Class<?> type) {
+    final Short id = ids.get(type);
+    return id == null ? UNREGISTERED : id;
+  }
+
+  /**
+   * @return The descriptor of the class with the specified id, or null if there is no such class.
+   */
+  ObjectStreamClass getDescriptor(final short id) {
+    if (id < 0 || id >= types.size()) {
+      return null;
+    }
+    return ObjectStreamClass.lookupAny(types.get(id));
+  }
+}
@@ -0,0 +1,113 @@
+package games.strategy.net.nio;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A pool of direct byte buffers for the data read from and written to sockets.
+ *
+ * <p>
+ * Buffers come in power of two sizes from {@link #MIN_POOLED_SIZE} to {@link #MAX_POOLED_SIZE}, a request is served
+ * with a buffer of the smallest size that fits. Each size keeps at most about a megabyte of released buffers for
+ * reuse. Larger requests are served with an ordinary heap buffer that is never pooled.
+ * </p>
+ *
+ * <p>
+ * A buffer must not be used after it has been released, and must be released at most once. A buffer that is never
+ * released is simply left to the garbage collector.
+ * </p>
+ */
+final class BufferPool {
+  static final int MIN_POOLED_SIZE = 1024;
+  static final int MAX_POOLED_SIZE = 1024 * 1024;
+  private static final int MAX_RETAINED_BYTES_PER_SIZE = 1024 * 1024;
+  private static final int MIN_SIZE_SHIFT = Integer.numberOfTrailingZeros(MIN_POOLED_SIZE);
+
+  private final List<Queue<ByteBuffer>> pools = new ArrayList<>();
+  private final List<AtomicInteger> pooledCounts = new ArrayList<>();
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong unpooled = new AtomicLong();
+
+  BufferPool() {
+    for (int size = MIN_POOLED_SIZE; size <= MAX_POOLED_SIZE; size *= 2) {
+      pools.add(new ConcurrentLinkedQueue<>());
+      pooledCounts.add(new AtomicInteger());
+    }
+  }
+
+  /**
+   * @return A buffer with its position at 0 and its limit at the specified size.
+   */
+  ByteBuffer acquire(final int size) {
+    if (size < 0) {
+      throw new IllegalArgumentException("Invalid size:" + size);
+    }
+    if (size > MAX_POOLED_SIZE) {
+      unpooled.incrementAndGet();
+      return ByteBuffer.allocate(size);
+    }
+    final int sizeClass = getSizeClass(size);
+    ByteBuffer buffer = pools.get(sizeClass).poll();
+    if (buffer == null) {
+      misses.incrementAndGet();
+      buffer = ByteBuffer.allocateDirect(MIN_POOLED_SIZE << sizeClass);
+    } else {
+      hits.incrementAndGet();
+      pooledCounts.get(sizeClass).decrementAndGet();
+    }
+    buffer.clear();
+    buffer.limit(size);
+    return buffer;
+  }
+
+  /**
+   * Returns a buffer acquired from this pool, so it can be reused.
+   */
+  void release(final ByteBuffer buffer) {
+    final int capacity = buffer.capacity();
+    if (!buffer.isDirect() || buffer.isReadOnly() || capacity < MIN_POOLED_SIZE || capacity > MAX_POOLED_SIZE
+        || Integer.bitCount(capacity) != 1) {
+      return;
+    }
+    final int sizeClass = getSizeClass(capacity);
+    if (pooledCounts.get(sizeClass).incrementAndGet() * capacity > MAX_RETAINED_BYTES_PER_SIZE) {
+      pooledCounts.get(sizeClass).decrementAndGet();
+      return;
+    }
+    pools.get(sizeClass).add(buffer);
+  }
+
+  private static int getSizeClass(final int size) {
+    if (size <= MIN_POOLED_SIZE) {
+      return 0;
+    }
+    // the exponent of the smallest power of two that is not below size
+    return 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_SIZE_SHIFT;
+  }
+
+  long getHits() {
+    return hits.get();
+  }
+
+  long getMisses() {
+    return misses.get();
+  }
+
+  long getUnpooled() {
+    return unpooled.get();
+  }
+
+  /**
+   * @return How often a buffer could be reused, how often a new one had to be allocated, and how often a request
+   *         was too large to pool.
+   */
+  String getStatistics() {
+    return "Buffer pool hits: " + hits.get() + ", misses: " + misses.get() + ", too large to pool: " + unpooled.get();
+  }
+}
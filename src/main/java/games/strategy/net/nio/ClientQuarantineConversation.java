@@ -3,6 +3,7 @@ package games.strategy.net.nio;
 import java.io.Serializable;
 import java.net.InetSocketAddress;
 import java.nio.channels.SocketChannel;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.logging.Level;
@@ -34,6 +35,7 @@ public class ClientQuarantineConversation extends QuarantineConversation {
   private Map<String, String> challengeResponse;
   private volatile boolean isClosed = false;
   private volatile String errorMessage;
+  private boolean useRegisteredTypes = false;
 
   public ClientQuarantineConversation(final IConnectionLogin login, final SocketChannel channel, final NIOSocket socket,
       final String localName, final String mac) {
@@ -114,7 +116,7 @@ public class ClientQuarantineConversation extends QuarantineConversation {
             if (logger.isLoggable(Level.FINER)) {
               logger.log(Level.FINER, "writing response" + challengeResponse);
             }
-            send((Serializable) challengeResponse);
+            send((Serializable) offerRegisteredTypes(challengeResponse));
           } else {
             showLatch.countDown();
             if (logger.isLoggable(Level.FINER)) {
@@ -143,6 +145,9 @@ public class ClientQuarantineConversation extends QuarantineConversation {
           }
           localName = strings[0];
           serverName = strings[1];
+          // a server that accepted our registered types echoes their fingerprint
+          useRegisteredTypes = strings.length > 2 && socket.getTypeRegistryFingerprint().isPresent()
+              && socket.getTypeRegistryFingerprint().get().equals(strings[2]);
           step = STEP.READ_ADDRESS;
           return ACTION.NONE;
         case READ_ADDRESS:
@@ -157,6 +162,9 @@ public class ClientQuarantineConversation extends QuarantineConversation {
             logger.log(Level.FINE, "network visible address:" + networkVisibleAddress);
             logger.log(Level.FINE, "channel local adresss:" + channel.socket().getLocalSocketAddress());
           }
+          if (useRegisteredTypes) {
+            socket.useRegisteredTypes(channel);
+          }
           return ACTION.UNQUARANTINE;
         default:
           throw new IllegalStateException("Invalid state");
@@ -170,6 +178,19 @@ public class ClientQuarantineConversation extends QuarantineConversation {
     }
   }
 
+  /**
+   * Adds the fingerprint of our registered types to the challenge response, if we have any. A server that sends no
+   * challenge still gets a null response, as older servers expect, so such connections use plain serialization.
+   */
+  private Map<String, String> offerRegisteredTypes(final Map<String, String> response) {
+    if (response == null || !socket.getTypeRegistryFingerprint().isPresent()) {
+      return response;
+    }
+    final Map<String, String> offer = new HashMap<>(response);
+    offer.put(TYPE_REGISTRY_PROPERTY, socket.getTypeRegistryFingerprint().get());
+    return offer;
+  }
+
   private void send(final Serializable object) {
     // this messenger is quarantined, so to and from dont matter
     final MessageHeader header = new MessageHeader(Node.NULL_NODE, Node.NULL_NODE, object);
@@ -1,13 +1,19 @@
 package games.strategy.net.nio;
 
-import java.io.ByteArrayInputStream;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.net.Socket;
 import java.nio.channels.SocketChannel;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -23,7 +29,20 @@ import games.strategy.net.Node;
 import games.strategy.net.nio.QuarantineConversation.ACTION;
 
 /**
- * A thread to Decode messages from a reader.
+ * Decodes the messages read by a reader.
+ *
+ * <p>
+ * Messages are decoded on a pool of threads. The messages of one channel are decoded one at a time and in the order
+ * they were read, but different channels are decoded in parallel, so a channel that sends a huge message does not hold
+ * up the others. How many messages of each channel wait to be decoded, and how long decoding them took, is available
+ * from {@link #getStatistics()}.
+ * </p>
+ *
+ * <p>
+ * Since decoded messages of different channels may be passed to {@link NIOSocket#messageReceived(MessageHeader,
+ * SocketChannel)} concurrently, a listener that needs one order across all channels, like a server forwarding
+ * broadcasts, must pass them on one at a time itself.
+ * </p>
  */
 class Decoder {
   private static final Logger logger = Logger.getLogger(Decoder.class.getName());
@@ -38,14 +57,22 @@ class Decoder {
    */
   private final ConcurrentHashMap<SocketChannel, QuarantineConversation> quarantine =
       new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<SocketChannel, ChannelDecoder> channelDecoders = new ConcurrentHashMap<>();
+  private final ExecutorService executor;
   private final Thread thread;
 
   Decoder(final NIOSocket nioSocket, final NIOReader reader, final IErrorReporter reporter,
-      final IObjectStreamFactory objectStreamFactory, final String threadSuffix) {
+      final IObjectStreamFactory objectStreamFactory, final String threadSuffix, final int threads) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("Invalid number of decoder threads:" + threads);
+    }
     this.reader = reader;
     errorReporter = reporter;
     this.objectStreamFactory = objectStreamFactory;
     this.nioSocket = nioSocket;
+    final AtomicInteger threadCount = new AtomicInteger();
+    executor = Executors.newFixedThreadPool(threads,
+        runnable -> new Thread(runnable, "Decoder -" + threadSuffix + " " + threadCount.incrementAndGet()));
     thread = new Thread(() -> loop(), "Decoder -" + threadSuffix);
     thread.start();
   }
@@ -53,6 +80,7 @@ class Decoder {
   void shutDown() {
     running = false;
     thread.interrupt();
+    executor.shutdownNow();
   }
 
   private void loop() {
@@ -64,45 +92,14 @@ class Decoder {
         } catch (final InterruptedException e) {
           continue;
         }
-        if (data == null || !running) {
+        if (data == null) {
           continue;
         }
-        if (logger.isLoggable(Level.FINEST)) {
-          logger.finest("Decoding packet:" + data);
-        }
-        final ByteArrayInputStream stream = new ByteArrayInputStream(data.getData());
-        try {
-          final MessageHeader header = readMessageHeader(data.getChannel(), objectStreamFactory.create(stream));
-          if (logger.isLoggable(Level.FINEST)) {
-            logger.log(Level.FINEST, "header decoded:" + header);
-          }
-          // make sure we are still open
-          final Socket s = data.getChannel().socket();
-          if (!running || s == null || s.isInputShutdown()) {
-            continue;
-          }
-          final QuarantineConversation converstation = quarantine.get(data.getChannel());
-          if (converstation != null) {
-            sendQuarantine(data.getChannel(), converstation, header);
-          } else {
-            if (nioSocket.getLocalNode() == null) {
-              throw new IllegalStateException("we are writing messages, but no local node");
-            }
-            if (header.getFrom() == null) {
-              throw new IllegalArgumentException("Null from:" + header);
-            }
-            if (logger.isLoggable(Level.FINER)) {
-              logger.log(Level.FINER, "decoded  msg:" + header.getMessage() + " size:" + data.size());
-            }
-            nioSocket.messageReceived(header, data.getChannel());
-          }
-        } catch (final Exception ioe) {
-          // we are reading from memory here
-          // there should be no network errors, something
-          // is odd
-          logger.log(Level.SEVERE, "error reading object", ioe);
-          errorReporter.error(data.getChannel(), ioe);
+        if (!running || !data.getChannel().isOpen()) {
+          data.release();
+          continue;
         }
+        channelDecoders.computeIfAbsent(data.getChannel(), ChannelDecoder::new).add(data);
       } catch (final Exception e) {
         // catch unhandles exceptions to that the decoder
         // thread doesnt die
@@ -111,6 +108,46 @@ class Decoder {
     }
   }
 
+  private void decode(final SocketReadData data) {
+    if (logger.isLoggable(Level.FINEST)) {
+      logger.finest("Decoding packet:" + data);
+    }
+    try {
+      final MessageHeader header = readMessage(data);
+      if (logger.isLoggable(Level.FINEST)) {
+        logger.log(Level.FINEST, "header decoded:" + header);
+      }
+      // make sure we are still open
+      final Socket s = data.getChannel().socket();
+      if (!running || s == null || s.isInputShutdown()) {
+        return;
+      }
+      final QuarantineConversation converstation = quarantine.get(data.getChannel());
+      if (converstation != null) {
+        sendQuarantine(data.getChannel(), converstation, header);
+      } else {
+        if (nioSocket.getLocalNode() == null) {
+          throw new IllegalStateException("we are writing messages, but no local node");
+        }
+        if (header.getFrom() == null) {
+          throw new IllegalArgumentException("Null from:" + header);
+        }
+        if (logger.isLoggable(Level.FINER)) {
+          logger.log(Level.FINER, "decoded  msg:" + header.getMessage() + " size:" + data.size());
+        }
+        nioSocket.messageReceived(header, data.getChannel());
+      }
+    } catch (final Exception ioe) {
+      // we are reading from memory here
+      // there should be no network errors, something
+      // is odd
+      logger.log(Level.SEVERE, "error reading object", ioe);
+      errorReporter.error(data.getChannel(), ioe);
+    } finally {
+      data.release();
+    }
+  }
+
   private void sendQuarantine(final SocketChannel channel, final QuarantineConversation conversation,
       final MessageHeader header) {
     final ACTION a = conversation.message(header.getMessage());
@@ -130,6 +167,17 @@ class Decoder {
     }
   }
 
+  /**
+   * Reads the message of a packet on the calling thread, without passing it on.
+   */
+  MessageHeader readMessage(final SocketReadData data) throws IOException, ClassNotFoundException {
+    final ByteBufferInputStream stream = new ByteBufferInputStream(data.getContent());
+    final ObjectInputStream in = nioSocket.usesRegisteredTypes(data.getChannel())
+        ? objectStreamFactory.createWithRegisteredTypes(stream)
+        : objectStreamFactory.create(stream);
+    return readMessageHeader(data.getChannel(), in);
+  }
+
   private MessageHeader readMessageHeader(final SocketChannel channel, final ObjectInputStream objectInput)
       throws IOException, ClassNotFoundException {
     INode to;
@@ -212,5 +260,77 @@ class Decoder {
     if (conversation != null) {
       conversation.close();
     }
+    channelDecoders.remove(channel);
+  }
+
+  /**
+   * @return For every open channel, how many messages wait to be decoded and how long decoding took so far.
+   */
+  String getStatistics() {
+    final StringBuilder statistics = new StringBuilder();
+    for (final ChannelDecoder channelDecoder : channelDecoders.values()) {
+      statistics.append(channelDecoder).append('\n');
+    }
+    return statistics.toString();
+  }
+
+  /**
+   * Decodes the messages of one channel in order. At most one thread of the pool decodes them at any time.
+   */
+  private final class ChannelDecoder implements Runnable {
+    private final SocketChannel channel;
+    private final Queue<SocketReadData> pending = new ConcurrentLinkedQueue<>();
+    // the number of messages added but not yet decoded, the thread that raises it from 0 schedules this decoder
+    private final AtomicInteger queued = new AtomicInteger();
+    private volatile long decoded = 0;
+    private volatile long decodeNanos = 0;
+    private volatile long maxDecodeNanos = 0;
+
+    private ChannelDecoder(final SocketChannel channel) {
+      this.channel = channel;
+    }
+
+    private void add(final SocketReadData data) {
+      pending.add(data);
+      if (queued.getAndIncrement() == 0) {
+        try {
+          executor.execute(this);
+        } catch (final RejectedExecutionException e) {
+          // we are shutting down
+          pending.clear();
+          data.release();
+        }
+      }
+    }
+
+    @Override
+    public void run() {
+      do {
+        final SocketReadData data = pending.poll();
+        if (data == null) {
+          continue;
+        }
+        if (!running) {
+          data.release();
+          continue;
+        }
+        final long start = System.nanoTime();
+        decode(data);
+        final long nanos = System.nanoTime() - start;
+        // only the one thread decoding this channel writes these
+        decoded++;
+        decodeNanos += nanos;
+        maxDecodeNanos = Math.max(maxDecodeNanos, nanos);
+      } while (queued.decrementAndGet() > 0);
+    }
+
+    @Override
+    public String toString() {
+      final Socket socket = channel.socket();
+      final Object remote = (socket == null) ? channel : socket.getRemoteSocketAddress();
+      return remote + " queued:" + queued.get() + " decoded:" + decoded
+          + " decode ms total:" + TimeUnit.NANOSECONDS.toMillis(decodeNanos)
+          + " max:" + TimeUnit.NANOSECONDS.toMillis(maxDecodeNanos);
+    }
   }
 }
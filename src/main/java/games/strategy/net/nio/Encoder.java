@@ -4,6 +4,9 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -19,9 +22,12 @@ class Encoder {
   private final NIOWriter m_writer;
   private final IObjectStreamFactory m_objectStreamFactory;
   private final NIOSocket m_nioSocket;
+  private final BufferPool m_bufferPool;
 
-  Encoder(final NIOSocket nioSocket, final NIOWriter writer, final IObjectStreamFactory objectStreamFactory) {
+  Encoder(final NIOSocket nioSocket, final NIOWriter writer, final IObjectStreamFactory objectStreamFactory,
+      final BufferPool bufferPool) {
     m_nioSocket = nioSocket;
+    m_bufferPool = bufferPool;
     m_writer = writer;
     m_objectStreamFactory = objectStreamFactory;
   }
@@ -30,27 +36,81 @@ class Encoder {
     if (logger.isLoggable(Level.FINEST)) {
       logger.log(Level.FINEST, "Encoding msg:" + header + " to:" + to);
     }
-    if (header.getFrom() == null) {
-      throw new IllegalArgumentException("No from node");
-    }
     if (to == null) {
       throw new IllegalArgumentException("No to channel!");
     }
-    final ByteArrayOutputStream2 sink = new ByteArrayOutputStream2(512);
-    SocketWriteData data;
+    final SocketWriteData data = encode(header, to, m_nioSocket.usesRegisteredTypes(to));
+    if (data != null) {
+      m_writer.enque(data, to);
+    }
+  }
+
+  /**
+   * Writes a broadcast to several channels.
+   *
+   * <p>
+   * A broadcast is encoded the same way for every channel, so it is encoded only once for each kind of encoding used
+   * by the channels, and every channel writes the same shared bytes.
+   * </p>
+   */
+  void writeBroadcast(final Collection<SocketChannel> to, final MessageHeader header) {
+    if (logger.isLoggable(Level.FINEST)) {
+      logger.log(Level.FINEST, "Encoding broadcast:" + header + " to:" + to);
+    }
+    if (header.getFor() != null) {
+      throw new IllegalArgumentException("Not a broadcast:" + header);
+    }
+    final List<SocketChannel> registeredTypeChannels = new ArrayList<>();
+    final List<SocketChannel> plainChannels = new ArrayList<>();
+    for (final SocketChannel channel : to) {
+      (m_nioSocket.usesRegisteredTypes(channel) ? registeredTypeChannels : plainChannels).add(channel);
+    }
+    enqueBroadcast(registeredTypeChannels, header, true);
+    enqueBroadcast(plainChannels, header, false);
+  }
+
+  private void enqueBroadcast(final List<SocketChannel> to, final MessageHeader header,
+      final boolean registeredTypes) {
+    if (to.isEmpty()) {
+      return;
+    }
+    final SocketWriteData data = encode(header, null, registeredTypes);
+    if (data != null) {
+      for (final SocketChannel channel : to.subList(1, to.size())) {
+        m_writer.enque(data.copy(), channel);
+      }
+      m_writer.enque(data, to.get(0));
+    }
+  }
+
+  /**
+   * @param to The channel the message is written to; may only be null for a broadcast.
+   * @param registeredTypes Whether to write the registered types of the object stream factory compactly.
+   * @return The encoded message, or null if it could not be encoded.
+   */
+  SocketWriteData encode(final MessageHeader header, final SocketChannel to, final boolean registeredTypes) {
+    if (header.getFrom() == null) {
+      throw new IllegalArgumentException("No from node");
+    }
+    final PooledOutputStream sink = new PooledOutputStream(m_bufferPool);
+    final SocketWriteData data;
     try {
-      write(header, m_objectStreamFactory.create(sink), to);
-      data = new SocketWriteData(sink.getBuffer(), sink.size());
+      final ObjectOutputStream out = registeredTypes
+          ? m_objectStreamFactory.createWithRegisteredTypes(sink)
+          : m_objectStreamFactory.create(sink);
+      write(header, out, to);
+      data = new SocketWriteData(m_bufferPool, sink.toBuffers());
     } catch (final Exception e) {
+      sink.release();
       // we arent doing any io, just writing in memory
       // so something is very wrong
       logger.log(Level.SEVERE, "Error writing object:" + header, e);
-      return;
+      return null;
     }
     if (logger.isLoggable(Level.FINER)) {
       logger.log(Level.FINER, "encoded  msg:" + header.getMessage() + " size:" + data.size());
     }
-    m_writer.enque(data, to);
+    return data;
   }
 
   private void write(final MessageHeader header, final ObjectOutputStream out, final SocketChannel remote)
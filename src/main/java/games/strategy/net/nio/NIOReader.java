@@ -32,10 +32,12 @@ class NIOReader {
   private final Selector selector;
   private final Object socketsToAddMutex = new Object();
   private final List<SocketChannel> socketsToAdd = new ArrayList<>();
+  private final BufferPool bufferPool;
   private long totalBytes;
 
-  NIOReader(final IErrorReporter reporter, final String threadSuffix) {
+  NIOReader(final IErrorReporter reporter, final String threadSuffix, final BufferPool bufferPool) {
     errorReporter = reporter;
+    this.bufferPool = bufferPool;
     try {
       selector = Selector.open();
     } catch (final IOException e) {
@@ -160,7 +162,7 @@ class NIOReader {
     if (reading.containsKey(channel)) {
       return reading.get(channel);
     }
-    final SocketReadData packet = new SocketReadData(channel);
+    final SocketReadData packet = new SocketReadData(channel, bufferPool);
     reading.put(channel, packet);
     return packet;
   }
@@ -3,17 +3,22 @@ package games.strategy.net.nio;
 import java.io.IOException;
 import java.net.Socket;
 import java.nio.channels.SocketChannel;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import games.strategy.net.INode;
 import games.strategy.net.IObjectStreamFactory;
 import games.strategy.net.MessageHeader;
+import games.strategy.net.TypeRegistry;
 
 /**
  * The threads needed for a group of sockets using NIO.
  * One thread reds socket data, one thread writes socket data
- * and one thread deserializes (decodes) packets read by the read
+ * and a pool of threads deserializes (decodes) packets read by the read
  * thread.
  * serializing (encoding) objects to be written across the network is done
  * by threads calling this object.
@@ -24,14 +29,27 @@ public class NIOSocket implements IErrorReporter {
   private final Decoder m_decoder;
   private final NIOWriter m_writer;
   private final NIOReader m_reader;
+  private final BufferPool m_bufferPool = new BufferPool();
   private final NIOSocketListener m_listener;
+  private final Optional<String> m_typeRegistryFingerprint;
+  // the channels whose other end agreed to use our registered types during login
+  private final Set<SocketChannel> m_registeredTypeChannels = ConcurrentHashMap.newKeySet();
 
   public NIOSocket(final IObjectStreamFactory factory, final NIOSocketListener listener, final String name) {
+    this(factory, listener, name, 1);
+  }
+
+  /**
+   * @param decoderThreads The number of threads decoding the messages read, see {@link Decoder}.
+   */
+  public NIOSocket(final IObjectStreamFactory factory, final NIOSocketListener listener, final String name,
+      final int decoderThreads) {
     m_listener = listener;
+    m_typeRegistryFingerprint = factory.getTypeRegistry().map(TypeRegistry::getFingerprint);
     m_writer = new NIOWriter(this, name);
-    m_reader = new NIOReader(this, name);
-    m_decoder = new Decoder(this, m_reader, this, factory, name);
-    m_encoder = new Encoder(this, m_writer, factory);
+    m_reader = new NIOReader(this, name, m_bufferPool);
+    m_decoder = new Decoder(this, m_reader, this, factory, name, decoderThreads);
+    m_encoder = new Encoder(this, m_writer, factory, m_bufferPool);
   }
 
   INode getLocalNode() {
@@ -62,6 +80,19 @@ public class NIOSocket implements IErrorReporter {
     m_encoder.write(to, header);
   }
 
+  /**
+   * Sends a broadcast to the specified channels, encoding it only once.
+   */
+  public void broadcast(final Collection<SocketChannel> to, final MessageHeader header) {
+    if (to == null) {
+      throw new IllegalArgumentException("to cant be null!");
+    }
+    if (header == null) {
+      throw new IllegalArgumentException("header cant be null");
+    }
+    m_encoder.writeBroadcast(to, header);
+  }
+
   /**
    * Add this channel.
    * The channel will either be unquarantined, or an error will be reported
@@ -75,6 +106,29 @@ public class NIOSocket implements IErrorReporter {
     m_reader.add(channel);
   }
 
+  /**
+   * @return The fingerprint of the registered types this socket can use, or empty if it only supports plain java
+   *         serialization.
+   */
+  Optional<String> getTypeRegistryFingerprint() {
+    return m_typeRegistryFingerprint;
+  }
+
+  /**
+   * Uses the registered types for all messages written to and read from the specified channel from now on. Called
+   * during login, once both ends agreed on the same registered types.
+   */
+  void useRegisteredTypes(final SocketChannel channel) {
+    if (!m_typeRegistryFingerprint.isPresent()) {
+      throw new IllegalStateException("No registered types");
+    }
+    m_registeredTypeChannels.add(channel);
+  }
+
+  boolean usesRegisteredTypes(final SocketChannel channel) {
+    return m_registeredTypeChannels.contains(channel);
+  }
+
   void unquarantine(final SocketChannel channel, final QuarantineConversation conversation) {
     m_listener.socketUnqaurantined(channel, conversation);
   }
@@ -107,6 +161,21 @@ public class NIOSocket implements IErrorReporter {
     m_decoder.closed(channel);
     m_writer.closed(channel);
     m_reader.closed(channel);
+    m_registeredTypeChannels.remove(channel);
+  }
+
+  /**
+   * @return For every open channel, how many messages wait to be decoded and how long decoding them took so far.
+   */
+  public String getDecoderStatistics() {
+    return m_decoder.getStatistics();
+  }
+
+  /**
+   * @return How well the buffers used to read and write messages are reused.
+   */
+  public String getBufferPoolStatistics() {
+    return m_bufferPool.getStatistics();
   }
 
   void messageReceived(final MessageHeader header, final SocketChannel channel) {
@@ -30,6 +30,8 @@ class NIOWriter {
       new HashMap<>();
   // these are the sockets we arent selecting on, but should now
   private List<SocketChannel> m_socketsToWake = new ArrayList<>();
+  // the packet the writing thread is writing, which only that thread may release
+  private SocketWriteData m_writingPacket = null;
   // the writing thread and threads adding data to write synchronize on this lock
   private final Object m_mutex = new Object();
   private long m_totalBytes = 0;
@@ -104,11 +106,12 @@ class NIOWriter {
             final SocketChannel channel = (SocketChannel) key.channel();
             final SocketWriteData packet = getData(channel);
             if (packet != null) {
+              boolean done = false;
               try {
                 if (logger.isLoggable(Level.FINEST)) {
                   logger.finest("writing packet:" + packet + " to:" + channel.socket().getRemoteSocketAddress());
                 }
-                final boolean done = packet.write(channel);
+                done = packet.write(channel);
                 if (done) {
                   m_totalBytes += packet.size();
                   if (logger.isLoggable(Level.FINE)) {
@@ -124,12 +127,13 @@ class NIOWriter {
                     logger.log(Level.FINE, " done writing to:" + remote + " size:" + packet.size() + " writeCalls;"
                         + packet.getWriteCalls() + " total:" + m_totalBytes);
                   }
-                  removeLast(channel);
                 }
               } catch (final Exception e) {
                 logger.log(Level.FINER, "exception writing", e);
                 m_errorReporter.error(channel, e);
                 key.cancel();
+              } finally {
+                finishWriting(channel, packet, done);
               }
             } else {
               // nothing to write
@@ -154,43 +158,63 @@ class NIOWriter {
     removeAll(channel);
   }
 
+  /**
+   * Releases the packets queued for the channel, except the one the writing thread is writing, which it releases once
+   * it is done with it.
+   */
   private void removeAll(final SocketChannel to) {
+    final List<SocketWriteData> dropped;
     synchronized (m_mutex) {
-      m_writing.remove(to);
+      dropped = m_writing.remove(to);
+      if (dropped != null) {
+        dropped.remove(m_writingPacket);
+      }
+    }
+    if (dropped != null) {
+      dropped.forEach(SocketWriteData::release);
     }
   }
 
-  private void removeLast(final SocketChannel to) {
+  /**
+   * Called by the writing thread after writing to the packet returned by {@link #getData(SocketChannel)}.
+   *
+   * @param done Whether the whole packet was written.
+   */
+  private void finishWriting(final SocketChannel to, final SocketWriteData packet, final boolean done) {
+    final boolean dropped;
     synchronized (m_mutex) {
+      m_writingPacket = null;
       final List<SocketWriteData> values = m_writing.get(to);
-      if (values == null) {
-        logger.log(Level.SEVERE, "NO socket data to:" + to + " all:" + values);
-        return;
-      }
-      values.remove(0);
-      // remove empty lists, so we can detect that we need to wake up the socket
-      if (values.isEmpty()) {
-        m_writing.remove(to);
+      // the channel was closed while we were writing
+      dropped = values == null || values.isEmpty() || values.get(0) != packet;
+      if (done && !dropped) {
+        values.remove(0);
+        // remove empty lists, so we can detect that we need to wake up the socket
+        if (values.isEmpty()) {
+          m_writing.remove(to);
+        }
       }
     }
+    if (done || dropped) {
+      packet.release();
+    }
   }
 
   private SocketWriteData getData(final SocketChannel to) {
     synchronized (m_mutex) {
-      if (!m_writing.containsKey(to)) {
-        return null;
-      }
       final List<SocketWriteData> values = m_writing.get(to);
-      if (values.isEmpty()) {
+      if (values == null || values.isEmpty()) {
         return null;
       }
-      return values.get(0);
+      m_writingPacket = values.get(0);
+      return m_writingPacket;
     }
   }
 
   void enque(final SocketWriteData data, final SocketChannel channel) {
     synchronized (m_mutex) {
       if (!m_running) {
+        data.release();
         return;
       }
       if (m_writing.containsKey(channel)) {
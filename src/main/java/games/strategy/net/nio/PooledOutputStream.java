@@ -0,0 +1,80 @@
+package games.strategy.net.nio;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An output stream that writes into buffers from a {@link BufferPool}.
+ *
+ * <p>
+ * When a buffer is full, the stream continues in a new buffer twice its size instead of copying what was written so
+ * far, so the result is a list of buffers that is meant for a gathering write.
+ * </p>
+ */
+final class PooledOutputStream extends OutputStream {
+  private static final int MAX_CHUNK_SIZE = 64 * 1024;
+
+  private final BufferPool pool;
+  private final List<ByteBuffer> chunks = new ArrayList<>();
+  private ByteBuffer current;
+  private int size = 0;
+
+  PooledOutputStream(final BufferPool pool) {
+    this.pool = pool;
+    current = pool.acquire(BufferPool.MIN_POOLED_SIZE);
+    chunks.add(current);
+  }
+
+  @Override
+  public void write(final int b) {
+    ensureRemaining();
+    current.put((byte) b);
+    size++;
+  }
+
+  @Override
+  public void write(final byte[] bytes, final int offset, final int length) {
+    int written = 0;
+    while (written < length) {
+      ensureRemaining();
+      final int count = Math.min(length - written, current.remaining());
+      current.put(bytes, offset + written, count);
+      written += count;
+    }
+    size += length;
+  }
+
+  private void ensureRemaining() {
+    if (!current.hasRemaining()) {
+      current = pool.acquire(Math.min(current.capacity() * 2, MAX_CHUNK_SIZE));
+      chunks.add(current);
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * @return The buffers written, ready to be read. They are owned by the caller, who must release them to the pool.
+   */
+  ByteBuffer[] toBuffers() {
+    final ByteBuffer[] buffers = chunks.toArray(new ByteBuffer[chunks.size()]);
+    for (final ByteBuffer buffer : buffers) {
+      buffer.flip();
+    }
+    return buffers;
+  }
+
+  /**
+   * Releases the buffers written, when they are not needed after all.
+   */
+  void release() {
+    for (final ByteBuffer chunk : chunks) {
+      pool.release(chunk);
+    }
+    chunks.clear();
+  }
+}
@@ -12,10 +12,16 @@ package games.strategy.net.nio;
  * </p>
  *
  * <p>
- * All messages sent to a conversation must be done in the Decode thread.
+ * All messages are sent to a conversation by the decoder of its channel, one at a time.
  * </p>
  */
 public abstract class QuarantineConversation {
+  /**
+   * The property of the challenge response in which the client offers the fingerprint of its registered types. Old
+   * servers ignore it, and old clients never send it, so both keep using plain java serialization.
+   */
+  static final String TYPE_REGISTRY_PROPERTY = "Net.TypeRegistry";
+
   public enum ACTION {
     NONE, TERMINATE, UNQUARANTINE
   }
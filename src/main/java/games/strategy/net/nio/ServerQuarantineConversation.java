@@ -19,6 +19,8 @@ public class ServerQuarantineConversation extends QuarantineConversation {
    * 2) server sends challenge (or null if no challenge is to be made)
    * 3) server reads response (or null if no challenge)
    * 4) server send null then client name and node info on success, or an error message if there is an error
+   * (a client that offered the same registered types in its response gets their fingerprint with its name, and
+   * both ends use them from then on)
    * 5) if the client reads an error message, the client sends an acknowledgment (we need to make sur the client gets
    * the message before
    * closing the socket).
@@ -106,11 +108,21 @@ public class ServerQuarantineConversation extends QuarantineConversation {
           if (s_logger.isLoggable(Level.FINER)) {
             s_logger.log(Level.FINER, "Sending name:" + m_remoteName);
           }
-          // send the node its name and our name
-          send(new String[] {m_remoteName, m_serverMessenger.getLocalNode().getName()});
+          // send the node its name and our name, and accept its registered types if they are the same as ours
+          final boolean useRegisteredTypes = acceptsRegisteredTypes(response);
+          if (useRegisteredTypes) {
+            send(new String[] {m_remoteName, m_serverMessenger.getLocalNode().getName(),
+                m_socket.getTypeRegistryFingerprint().get()});
+          } else {
+            send(new String[] {m_remoteName, m_serverMessenger.getLocalNode().getName()});
+          }
           // send the node its and our address as we see it
           send(new InetSocketAddress[] {(InetSocketAddress) m_channel.socket().getRemoteSocketAddress(),
               m_serverMessenger.getLocalNode().getSocketAddress()});
+          // the client switches once it has read our address, so everything written after it uses registered types
+          if (useRegisteredTypes) {
+            m_socket.useRegisteredTypes(m_channel);
+          }
           // Login succeeded, so notify the ServerMessenger about the login with the name, mac, etc.
           m_serverMessenger.notifyPlayerLogin(m_remoteName, m_channel.socket().getInetAddress().getHostAddress(),
               m_remoteMac);
@@ -127,6 +139,11 @@ public class ServerQuarantineConversation extends QuarantineConversation {
     }
   }
 
+  private boolean acceptsRegisteredTypes(final Map<String, String> response) {
+    return response != null && m_socket.getTypeRegistryFingerprint().isPresent()
+        && m_socket.getTypeRegistryFingerprint().get().equals(response.get(TYPE_REGISTRY_PROPERTY));
+  }
+
   private void send(final Serializable object) {
     // this messenger is quarantined, so to and from dont matter
     final MessageHeader header = new MessageHeader(Node.NULL_NODE, Node.NULL_NODE, object);
@@ -2,6 +2,7 @@ package games.strategy.net.nio;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.SocketChannel;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
@@ -13,6 +14,11 @@ import java.util.logging.Logger;
  * <p>
  * A Packet does not correspond to a network packet, rather it is the bytes for 1 serialized java object.
  * </p>
+ *
+ * <p>
+ * The content is read into a buffer of the pool of the socket, which is returned to the pool by {@link #release()}
+ * once the content has been decoded.
+ * </p>
  */
 class SocketReadData {
   public static final int MAX_MESSAGE_SIZE = 1000 * 1000 * 10;
@@ -30,11 +36,13 @@ class SocketReadData {
   // we read into here after knowing out size
   private ByteBuffer contentBuffer;
   private final SocketChannel channel;
+  private final BufferPool pool;
   private final int number = counter.incrementAndGet();
   private int readCalls;
 
-  public SocketReadData(final SocketChannel channel) {
+  public SocketReadData(final SocketChannel channel, final BufferPool pool) {
     this.channel = channel;
+    this.pool = pool;
   }
 
   /**
@@ -44,7 +52,7 @@ class SocketReadData {
    * If we detect the socket is closed, we will throw an IOExcpetion
    * </p>
    */
-  public boolean read(final SocketChannel channel) throws IOException {
+  public boolean read(final ReadableByteChannel channel) throws IOException {
     readCalls++;
     // we dont know our size, read it
     if (targetSize < 0) {
@@ -72,7 +80,7 @@ class SocketReadData {
         if (targetSize <= 0 || targetSize > MAX_MESSAGE_SIZE) {
           throw new IOException("Invalid triplea packet size:" + targetSize);
         }
-        contentBuffer = ByteBuffer.allocate(targetSize);
+        contentBuffer = pool.acquire(targetSize);
         sizeBuffer = null;
       } else {
         // we ddnt read all 4 bytes, return
@@ -95,15 +103,22 @@ class SocketReadData {
   }
 
   /**
-   * Get the data as a byte[].
+   * Get the data read, the buffer returned is only valid until this packet is released.
    * This method can only be called once.
    */
-  public byte[] getData() {
-    final byte[] rVal = new byte[contentBuffer.capacity()];
+  public ByteBuffer getContent() {
     contentBuffer.flip();
-    contentBuffer.get(rVal);
-    contentBuffer = null;
-    return rVal;
+    return contentBuffer;
+  }
+
+  /**
+   * Returns the content buffer to the pool, the content can no longer be used after this.
+   */
+  public void release() {
+    if (contentBuffer != null) {
+      pool.release(contentBuffer);
+      contentBuffer = null;
+    }
   }
 
   public int size() {
@@ -2,7 +2,8 @@ package games.strategy.net.nio;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.channels.SocketChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -21,27 +22,57 @@ import java.util.logging.Logger;
 class SocketWriteData {
   private static final Logger logger = Logger.getLogger(SocketWriteData.class.getName());
   private static final AtomicInteger counter = new AtomicInteger();
-  private final ByteBuffer m_size;
-  private final ByteBuffer m_content;
+  private final Content m_content;
+  private final ByteBuffer[] m_buffers;
+  private final ByteBuffer m_last;
   private final int m_number = counter.incrementAndGet();
   // how many times we called write before we finished writing ourselves
   private int m_writeCalls = 0;
+  private final AtomicBoolean m_released = new AtomicBoolean();
 
-  SocketWriteData(final byte[] data, int count) {
-    m_content = ByteBuffer.allocate(count);
-    m_content.put(data, 0, count);
-    m_size = ByteBuffer.allocate(4);
-    if (count < 0 || count > SocketReadData.MAX_MESSAGE_SIZE) {
-      throw new IllegalStateException("Invalid message size:" + count);
+  /**
+   * @param pool The pool the content buffers were acquired from; they are released to it once the packet and all its
+   *        copies are written or dropped.
+   * @param content The data to write, which must not be changed afterwards, it is not copied.
+   */
+  SocketWriteData(final BufferPool pool, final ByteBuffer[] content) {
+    this(new Content(pool, content));
+  }
+
+  private SocketWriteData(final Content content) {
+    m_content = content;
+    final ByteBuffer size = ByteBuffer.allocate(4);
+    size.putInt(content.m_size ^ SocketReadData.MAGIC);
+    size.flip();
+    m_buffers = new ByteBuffer[content.m_buffers.length + 1];
+    m_buffers[0] = size;
+    for (int i = 0; i < content.m_buffers.length; i++) {
+      m_buffers[i + 1] = content.m_buffers[i].duplicate();
+    }
+    m_last = m_buffers[m_buffers.length - 1];
+  }
+
+  /**
+   * Returns a packet with the same content that can be written to another channel independently of this one. The
+   * content is shared, not copied.
+   */
+  SocketWriteData copy() {
+    return new SocketWriteData(m_content.retain());
+  }
+
+  /**
+   * Called once this packet is written or will not be written any more. The content buffers go back to the pool
+   * once every copy of this packet has been released.
+   */
+  void release() {
+    // may be called by the writing thread and by a thread closing the channel
+    if (m_released.compareAndSet(false, true)) {
+      m_content.release();
     }
-    count = count ^ SocketReadData.MAGIC;
-    m_size.putInt(count);
-    m_size.flip();
-    m_content.flip();
   }
 
   int size() {
-    return m_size.capacity() + m_content.capacity();
+    return 4 + m_content.m_size;
   }
 
   int getWriteCalls() {
@@ -51,33 +82,57 @@ class SocketWriteData {
   /**
    * @return true if the write has written the entire message.
    */
-  boolean write(final SocketChannel channel) throws IOException {
+  boolean write(final GatheringByteChannel channel) throws IOException {
     m_writeCalls++;
-    if (m_size.hasRemaining()) {
-      final int count = channel.write(m_size);
-      if (count == -1) {
-        throw new IOException("triplea: end of stream detected");
-      }
-      if (logger.isLoggable(Level.FINEST)) {
-        logger.finest("wrote size_buffer bytes:" + count);
-      }
-      // we could not write everything
-      if (m_size.hasRemaining()) {
-        return false;
-      }
-    }
-    final int count = channel.write(m_content);
+    // write the size and the content with one gathering write
+    final long count = channel.write(m_buffers);
     if (count == -1) {
       throw new IOException("triplea: end of stream detected");
     }
     if (logger.isLoggable(Level.FINEST)) {
-      logger.finest("wrote content bytes:" + count);
+      logger.finest("wrote bytes:" + count);
     }
-    return !m_content.hasRemaining();
+    return !m_last.hasRemaining();
   }
 
   @Override
   public String toString() {
-    return "<id:" + m_number + " size:" + m_content.capacity() + ">";
+    return "<id:" + m_number + " size:" + m_content.m_size + ">";
+  }
+
+  /**
+   * The content shared by a packet and its copies, which counts how many of them still need it.
+   */
+  private static final class Content {
+    private final BufferPool m_pool;
+    private final ByteBuffer[] m_buffers;
+    private final int m_size;
+    private final AtomicInteger m_references = new AtomicInteger(1);
+
+    private Content(final BufferPool pool, final ByteBuffer[] buffers) {
+      int size = 0;
+      for (final ByteBuffer buffer : buffers) {
+        size += buffer.remaining();
+      }
+      if (size < 0 || size > SocketReadData.MAX_MESSAGE_SIZE) {
+        throw new IllegalStateException("Invalid message size:" + size);
+      }
+      m_pool = pool;
+      m_buffers = buffers;
+      m_size = size;
+    }
+
+    private Content retain() {
+      m_references.incrementAndGet();
+      return this;
+    }
+
+    private void release() {
+      if (m_references.decrementAndGet() == 0) {
+        for (final ByteBuffer buffer : m_buffers) {
+          m_pool.release(buffer);
+        }
+      }
+    }
   }
 }
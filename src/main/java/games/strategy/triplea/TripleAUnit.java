@@ -1,5 +1,7 @@
 package games.strategy.triplea;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -8,6 +10,7 @@ import java.util.List;
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.CompositeChange;
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameObjectInputStream;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.Unit;
@@ -56,6 +59,8 @@ public class TripleAUnit extends Unit {
   public static final String AIRBORNE = "airborne";
   // the transport that is currently transporting us
   private TripleAUnit m_transportedBy = null;
+  // the units whose m_transportedBy is us, wherever they are, maintained by setTransportedBy
+  private transient List<TripleAUnit> m_transporting = null;
   // the units we have unloaded this turn
   private List<Unit> m_unloaded = Collections.emptyList();
   // was this unit loaded this turn?
@@ -103,22 +108,63 @@ public class TripleAUnit extends Unit {
 
   @GameProperty(xmlProperty = false, gameProperty = true, adds = false)
   public void setTransportedBy(final TripleAUnit transportedBy) {
+    if (m_transportedBy != null) {
+      m_transportedBy.removeTransported(this);
+    }
     m_transportedBy = transportedBy;
+    if (transportedBy != null) {
+      transportedBy.addTransported(this);
+    }
+  }
+
+  private void addTransported(final TripleAUnit unit) {
+    if (m_transporting == null) {
+      m_transporting = new ArrayList<>(4);
+    }
+    for (final TripleAUnit transported : m_transporting) {
+      if (transported == unit) {
+        return;
+      }
+    }
+    m_transporting.add(unit);
+  }
+
+  private void removeTransported(final TripleAUnit unit) {
+    if (m_transporting != null) {
+      m_transporting.removeIf(transported -> transported == unit);
+    }
+  }
+
+  private void readObject(final ObjectInputStream stream) throws IOException, ClassNotFoundException {
+    stream.defaultReadObject();
+    if (m_transportedBy == null) {
+      return;
+    }
+    // a unit read through a GameObjectInputStream is replaced by the local unit with the same id, if there is one
+    if (stream instanceof GameObjectInputStream
+        && ((GameObjectInputStream) stream).getData().getUnits().get(getID()) != null) {
+      return;
+    }
+    m_transportedBy.addTransported(this);
   }
 
   /**
-   * This is a very slow method because it checks all territories on the map. Try not to use this method if possible.
+   * @return the units transported by this unit that are in the same territory as this unit.
    */
   public List<Unit> getTransporting() {
     // we don't store the units we are transporting
-    // rather we look at the transported by property of units
-    for (final Territory t : getData().getMap()) {
-      // find the territory this transport is in
-      if (t.getUnits().getUnits().contains(this)) {
-        return t.getUnits().getMatches(Match.of(o -> TripleAUnit.get(o).getTransportedBy() == TripleAUnit.this));
+    // rather we look at the units whose transported by property is us
+    final Territory territory = getTerritoryUnitIsIn();
+    if (territory == null || m_transporting == null || m_transporting.isEmpty()) {
+      return Collections.emptyList();
+    }
+    final List<Unit> transporting = new ArrayList<>(m_transporting.size());
+    for (final TripleAUnit transported : m_transporting) {
+      if (transported.getTerritoryUnitIsIn() == territory) {
+        transporting.add(transported);
       }
     }
-    return Collections.emptyList();
+    return transporting;
   }
 
   public List<Unit> getTransporting(final Collection<Unit> transportedUnitsPossible) {
@@ -13,6 +13,7 @@ import games.strategy.engine.data.Unit;
 import games.strategy.triplea.ai.proAI.util.ProBattleUtils;
 import games.strategy.triplea.ai.proAI.util.ProPurchaseUtils;
 import games.strategy.triplea.oddsCalculator.ta.AggregateResults;
+import games.strategy.triplea.oddsCalculator.ta.BattleSpec;
 import games.strategy.triplea.oddsCalculator.ta.IOddsCalculator;
 import games.strategy.triplea.oddsCalculator.ta.OddsCalculatorListener;
 
@@ -64,6 +65,17 @@ public class FastOddsEstimator implements IOddsCalculator {
     return calculate();
   }
 
+  @Override
+  public List<AggregateResults> calculate(final List<BattleSpec> battles) {
+    final List<AggregateResults> results = new ArrayList<>(battles.size());
+    for (final BattleSpec battle : battles) {
+      results.add(setCalculateDataAndCalculate(battle.getAttacker(), battle.getDefender(), battle.getLocation(),
+          battle.getAttacking(), battle.getDefending(), battle.getBombarding(), battle.getTerritoryEffects(),
+          battle.getRunCount()));
+    }
+    return results;
+  }
+
   @Override
   public int getRunCount() {
     return 1;
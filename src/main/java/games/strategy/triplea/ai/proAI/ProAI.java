@@ -7,7 +7,6 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import games.strategy.engine.data.GameData;
@@ -16,7 +15,6 @@ import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.Unit;
 import games.strategy.engine.delegate.IDelegateBridge;
-import games.strategy.engine.framework.GameDataUtils;
 import games.strategy.net.GUID;
 import games.strategy.triplea.Properties;
 import games.strategy.triplea.ai.AbstractAI;
@@ -26,6 +24,7 @@ import games.strategy.triplea.ai.proAI.data.ProTerritory;
 import games.strategy.triplea.ai.proAI.logging.ProLogUI;
 import games.strategy.triplea.ai.proAI.logging.ProLogger;
 import games.strategy.triplea.ai.proAI.simulate.ProDummyDelegateBridge;
+import games.strategy.triplea.ai.proAI.simulate.ProSimulationData;
 import games.strategy.triplea.ai.proAI.simulate.ProSimulateTurnUtils;
 import games.strategy.triplea.ai.proAI.util.ProBattleUtils;
 import games.strategy.triplea.ai.proAI.util.ProMatches;
@@ -47,8 +46,8 @@ import games.strategy.triplea.delegate.remote.IAbstractPlaceDelegate;
 import games.strategy.triplea.delegate.remote.IMoveDelegate;
 import games.strategy.triplea.delegate.remote.IPurchaseDelegate;
 import games.strategy.triplea.delegate.remote.ITechDelegate;
+import games.strategy.triplea.oddsCalculator.ta.CachingOddsCalculator;
 import games.strategy.triplea.oddsCalculator.ta.ConcurrentOddsCalculator;
-import games.strategy.triplea.oddsCalculator.ta.IOddsCalculator;
 import games.strategy.triplea.ui.TripleAFrame;
 import games.strategy.util.Match;
 import games.strategy.util.Tuple;
@@ -61,9 +60,13 @@ public class ProAI extends AbstractAI {
   private static final Logger logger = Logger.getLogger(ProAI.class.getName());
 
   // Odds calculator
-  private static final IOddsCalculator concurrentCalc = new ConcurrentOddsCalculator("ProAI");
+  private static final CachingOddsCalculator concurrentCalc =
+      new CachingOddsCalculator(new ConcurrentOddsCalculator("ProAI"));
   protected ProOddsCalculator calc;
 
+  // Game data copy for simulating the rest of a turn
+  private static ProSimulationData simulationData = null;
+
   // Phases
   private final ProCombatMoveAI combatMoveAI;
   private final ProNonCombatMoveAI nonCombatMoveAI;
@@ -120,9 +123,25 @@ public class ProAI extends AbstractAI {
   public static void gameOverClearCache() {
     // Are static, clear so that we don't keep the data around after a game is exited
     concurrentCalc.setGameData(null);
+    synchronized (ProAI.class) {
+      if (simulationData != null) {
+        simulationData.dispose();
+        simulationData = null;
+      }
+    }
     ProLogUI.clearCachedInstances();
   }
 
+  private static synchronized ProSimulationData getSimulationData(final GameData data) {
+    if (simulationData == null || simulationData.getData() != data) {
+      if (simulationData != null) {
+        simulationData.dispose();
+      }
+      simulationData = new ProSimulationData(data);
+    }
+    return simulationData;
+  }
+
   @Override
   public void stopGame() {
     super.stopGame(); // absolutely MUST call super.stopGame() first
@@ -158,6 +177,7 @@ public class ProAI extends AbstractAI {
     }
     ProLogger
         .info(player.getName() + " time for nonCombat=" + nonCombat + " time=" + (System.currentTimeMillis() - start));
+    ProLogger.debug(concurrentCalc.toString());
   }
 
   @Override
@@ -189,70 +209,75 @@ public class ProAI extends AbstractAI {
       ProLogger.info("Starting simulation for purchase phase");
 
       // Setup data copy and delegates
-      GameData dataCopy;
-      try {
-        data.acquireReadLock();
-        dataCopy = GameDataUtils.cloneGameData(data, true);
-      } catch (final Throwable t) {
-        ProLogger.log(Level.WARNING, "Error trying to clone game data for simulating phases", t);
+      final ProSimulationData simulationData = getSimulationData(data);
+      final GameData dataCopy = simulationData.startSimulation();
+      if (dataCopy == null) {
         return;
-      } finally {
-        data.releaseReadLock();
       }
       calc.setData(dataCopy);
       final PlayerID playerCopy = dataCopy.getPlayerList().getPlayerID(player.getName());
       final IMoveDelegate moveDel = DelegateFinder.moveDelegate(dataCopy);
-      final IDelegateBridge bridge = new ProDummyDelegateBridge(this, playerCopy, dataCopy);
+      final ProDummyDelegateBridge bridge = new ProDummyDelegateBridge(this, playerCopy, dataCopy);
       moveDel.setDelegateBridgeAndPlayer(bridge);
-
-      // Determine turn sequence
-      final List<GameStep> gameSteps = new ArrayList<>();
-      for (final GameStep gameStep : dataCopy.getSequence()) {
-        gameSteps.add(gameStep);
+      try {
+        simulateTurn(purchaseDelegate, data, player, dataCopy, playerCopy, moveDel, bridge);
+      } finally {
+        simulationData.endSimulation(bridge);
       }
+    }
+    ProLogger.info(player.getName() + " time for purchase=" + (System.currentTimeMillis() - start));
+  }
+
+  private void simulateTurn(final IPurchaseDelegate purchaseDelegate, final GameData data, final PlayerID player,
+      final GameData dataCopy, final PlayerID playerCopy, final IMoveDelegate moveDel,
+      final IDelegateBridge bridge) {
+
+    // Determine turn sequence
+    final List<GameStep> gameSteps = new ArrayList<>();
+    for (final GameStep gameStep : dataCopy.getSequence()) {
+      gameSteps.add(gameStep);
+    }
 
-      // Simulate the next phases until place/end of turn is reached then use simulated data for purchase
-      final int nextStepIndex = dataCopy.getSequence().getStepIndex() + 1;
-      for (int i = nextStepIndex; i < gameSteps.size(); i++) {
-        final GameStep step = gameSteps.get(i);
-        if (!playerCopy.equals(step.getPlayerID())) {
-          continue;
+    // Simulate the next phases until place/end of turn is reached then use simulated data for purchase
+    final int nextStepIndex = dataCopy.getSequence().getStepIndex() + 1;
+    for (int i = nextStepIndex; i < gameSteps.size(); i++) {
+      final GameStep step = gameSteps.get(i);
+      if (!playerCopy.equals(step.getPlayerID())) {
+        continue;
+      }
+      dataCopy.getSequence().setRoundAndStep(dataCopy.getSequence().getRound(), step.getDisplayName(),
+          step.getPlayerID());
+      final String stepName = step.getName();
+      ProLogger.info("Simulating phase: " + stepName);
+      if (stepName.endsWith("NonCombatMove")) {
+        ProData.initializeSimulation(this, dataCopy, playerCopy);
+        final Map<Territory, ProTerritory> factoryMoveMap = nonCombatMoveAI.simulateNonCombatMove(moveDel);
+        if (storedFactoryMoveMap == null) {
+          storedFactoryMoveMap = ProSimulateTurnUtils.transferMoveMap(factoryMoveMap, data, player);
         }
-        dataCopy.getSequence().setRoundAndStep(dataCopy.getSequence().getRound(), step.getDisplayName(),
-            step.getPlayerID());
-        final String stepName = step.getName();
-        ProLogger.info("Simulating phase: " + stepName);
-        if (stepName.endsWith("NonCombatMove")) {
-          ProData.initializeSimulation(this, dataCopy, playerCopy);
-          final Map<Territory, ProTerritory> factoryMoveMap = nonCombatMoveAI.simulateNonCombatMove(moveDel);
-          if (storedFactoryMoveMap == null) {
-            storedFactoryMoveMap = ProSimulateTurnUtils.transferMoveMap(factoryMoveMap, data, player);
-          }
-        } else if (stepName.endsWith("CombatMove") && !stepName.endsWith("AirborneCombatMove")) {
-          ProData.initializeSimulation(this, dataCopy, playerCopy);
-          final Map<Territory, ProTerritory> moveMap = combatMoveAI.doCombatMove(moveDel);
-          if (storedCombatMoveMap == null) {
-            storedCombatMoveMap = ProSimulateTurnUtils.transferMoveMap(moveMap, data, player);
-          }
-        } else if (stepName.endsWith("Battle")) {
-          ProData.initializeSimulation(this, dataCopy, playerCopy);
-          ProSimulateTurnUtils.simulateBattles(dataCopy, playerCopy, bridge, calc);
-        } else if (stepName.endsWith("Place") || stepName.endsWith("EndTurn")) {
-          ProData.initializeSimulation(this, dataCopy, player);
-          storedPurchaseTerritories = purchaseAI.purchase(purchaseDelegate, data);
-          break;
-        } else if (stepName.endsWith("Politics")) {
-          ProData.initializeSimulation(this, dataCopy, player);
-          final PoliticsDelegate politicsDelegate = DelegateFinder.politicsDelegate(dataCopy);
-          politicsDelegate.setDelegateBridgeAndPlayer(bridge);
-          final List<PoliticalActionAttachment> actions = politicsAI.politicalActions();
-          if (storedPoliticalActions == null) {
-            storedPoliticalActions = actions;
-          }
+      } else if (stepName.endsWith("CombatMove") && !stepName.endsWith("AirborneCombatMove")) {
+        ProData.initializeSimulation(this, dataCopy, playerCopy);
+        final Map<Territory, ProTerritory> moveMap = combatMoveAI.doCombatMove(moveDel);
+        if (storedCombatMoveMap == null) {
+          storedCombatMoveMap = ProSimulateTurnUtils.transferMoveMap(moveMap, data, player);
+        }
+      } else if (stepName.endsWith("Battle")) {
+        ProData.initializeSimulation(this, dataCopy, playerCopy);
+        ProSimulateTurnUtils.simulateBattles(dataCopy, playerCopy, bridge, calc);
+      } else if (stepName.endsWith("Place") || stepName.endsWith("EndTurn")) {
+        ProData.initializeSimulation(this, dataCopy, player);
+        storedPurchaseTerritories = purchaseAI.purchase(purchaseDelegate, data);
+        break;
+      } else if (stepName.endsWith("Politics")) {
+        ProData.initializeSimulation(this, dataCopy, player);
+        final PoliticsDelegate politicsDelegate = DelegateFinder.politicsDelegate(dataCopy);
+        politicsDelegate.setDelegateBridgeAndPlayer(bridge);
+        final List<PoliticalActionAttachment> actions = politicsAI.politicalActions();
+        if (storedPoliticalActions == null) {
+          storedPoliticalActions = actions;
         }
       }
     }
-    ProLogger.info(player.getName() + " time for purchase=" + (System.currentTimeMillis() - start));
   }
 
   @Override
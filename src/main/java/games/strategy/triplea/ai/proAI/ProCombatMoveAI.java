@@ -20,6 +20,7 @@ import games.strategy.engine.data.Unit;
 import games.strategy.triplea.Properties;
 import games.strategy.triplea.TripleAUnit;
 import games.strategy.triplea.ai.proAI.data.ProBattleResult;
+import games.strategy.triplea.ai.proAI.data.ProBattleSetup;
 import games.strategy.triplea.ai.proAI.data.ProOtherMoveOptions;
 import games.strategy.triplea.ai.proAI.data.ProPurchaseOption;
 import games.strategy.triplea.ai.proAI.data.ProTerritory;
@@ -311,14 +312,27 @@ class ProCombatMoveAI {
       ProLogger.debug("Current number of territories: " + numToAttack);
       tryToAttackTerritories(territoriesToTryToAttack, new ArrayList<>());
 
+      // Estimate the attacks without a result all at once
+      final List<ProTerritory> territoriesToEstimate = new ArrayList<>();
+      final List<ProBattleSetup> battles = new ArrayList<>();
+      for (final ProTerritory patd : territoriesToTryToAttack) {
+        if (patd.getBattleResult() == null) {
+          territoriesToEstimate.add(patd);
+          battles.add(new ProBattleSetup(patd.getTerritory(), patd.getUnits(), patd.getMaxEnemyDefenders(player, data),
+              patd.getBombardTerritoryMap().keySet()));
+        }
+      }
+      if (!battles.isEmpty()) {
+        final List<ProBattleResult> results = calc.estimateAttackBattleResults(battles);
+        for (int i = 0; i < territoriesToEstimate.size(); i++) {
+          territoriesToEstimate.get(i).setBattleResult(results.get(i));
+        }
+      }
+
       // Determine if all attacks are successful
       boolean areSuccessful = true;
       for (final ProTerritory patd : territoriesToTryToAttack) {
         final Territory t = patd.getTerritory();
-        if (patd.getBattleResult() == null) {
-          patd.setBattleResult(calc.estimateAttackBattleResults(t, patd.getUnits(),
-              patd.getMaxEnemyDefenders(player, data), patd.getBombardTerritoryMap().keySet()));
-        }
         ProLogger.trace(patd.getResultString() + " with attackers: " + patd.getUnits());
         final double estimate =
             ProBattleUtils.estimateStrengthDifference(t, patd.getUnits(), patd.getMaxEnemyDefenders(player, data));
@@ -0,0 +1,43 @@
+package games.strategy.triplea.ai.proAI.data;
+
+import java.util.List;
+import java.util.Set;
+
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+
+/**
+ * The units of a battle the AI wants to estimate, see
+ * {@link games.strategy.triplea.ai.proAI.util.ProOddsCalculator#estimateAttackBattleResults(List)}.
+ */
+public class ProBattleSetup {
+
+  private final Territory territory;
+  private final List<Unit> attackingUnits;
+  private final List<Unit> defendingUnits;
+  private final Set<Unit> bombardingUnits;
+
+  public ProBattleSetup(final Territory territory, final List<Unit> attackingUnits, final List<Unit> defendingUnits,
+      final Set<Unit> bombardingUnits) {
+    this.territory = territory;
+    this.attackingUnits = attackingUnits;
+    this.defendingUnits = defendingUnits;
+    this.bombardingUnits = bombardingUnits;
+  }
+
+  public Territory getTerritory() {
+    return territory;
+  }
+
+  public List<Unit> getAttackingUnits() {
+    return attackingUnits;
+  }
+
+  public List<Unit> getDefendingUnits() {
+    return defendingUnits;
+  }
+
+  public Set<Unit> getBombardingUnits() {
+    return bombardingUnits;
+  }
+}
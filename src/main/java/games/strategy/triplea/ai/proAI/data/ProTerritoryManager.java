@@ -112,18 +112,27 @@ public class ProTerritoryManager {
     ProLogger.info("Removing territories that can't be conquered");
     final GameData data = ProData.getData();
 
-    // Determine if territory can be successfully attacked with max possible attackers
-    final List<Territory> territoriesToRemove = new ArrayList<>();
+    // Check if I can win without amphib units and ignore AA since max units might have lots of planes, estimating all
+    // territories at once
+    final List<ProBattleSetup> maxBattles = new ArrayList<>();
     for (final Territory t : attackMap.keySet()) {
       final ProTerritory patd = attackMap.get(t);
-
-      // Check if I can win without amphib units and ignore AA since max units might have lots of planes
       List<Unit> defenders =
           Match.getMatches(patd.getMaxEnemyDefenders(player, data), ProMatches.unitIsEnemyAndNotAA(player, data));
       if (isIgnoringRelationships) {
         defenders = new ArrayList<>(t.getUnits().getUnits());
       }
-      patd.setMaxBattleResult(calc.estimateAttackBattleResults(t, patd.getMaxUnits(), defenders, new HashSet<>()));
+      maxBattles.add(new ProBattleSetup(t, patd.getMaxUnits(), defenders, new HashSet<>()));
+    }
+    final List<ProBattleResult> maxBattleResults = calc.estimateAttackBattleResults(maxBattles);
+
+    // Determine if territory can be successfully attacked with max possible attackers
+    final List<Territory> territoriesToRemove = new ArrayList<>();
+    for (int i = 0; i < maxBattles.size(); i++) {
+      final Territory t = maxBattles.get(i).getTerritory();
+      final ProTerritory patd = attackMap.get(t);
+      final List<Unit> defenders = maxBattles.get(i).getDefendingUnits();
+      patd.setMaxBattleResult(maxBattleResults.get(i));
 
       // Add in amphib units if I can't win without them
       if (patd.getMaxBattleResult().getWinPercentage() < ProData.winPercentage && !patd.getMaxAmphibUnits().isEmpty()) {
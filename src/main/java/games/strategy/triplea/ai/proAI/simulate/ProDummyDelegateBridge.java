@@ -108,6 +108,13 @@ public class ProDummyDelegateBridge implements IDelegateBridge {
   @Override
   public void stopGameSequence() {}
 
+  /**
+   * @return All changes added to this bridge, in order.
+   */
+  public CompositeChange getAllChanges() {
+    return m_allChanges;
+  }
+
   public MustFightBattle getBattle() {
     return m_battle;
   }
@@ -0,0 +1,182 @@
+package games.strategy.triplea.ai.proAI.simulate;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameSequence;
+import games.strategy.engine.data.GameStep;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.events.GameDataChangeListener;
+import games.strategy.engine.delegate.IDelegate;
+import games.strategy.engine.framework.GameDataUtils;
+import games.strategy.net.GUID;
+import games.strategy.triplea.ai.proAI.logging.ProLogger;
+
+/**
+ * A copy of the game data for simulating the rest of a turn, which is kept in step with the game instead of being
+ * cloned for every simulation.
+ *
+ * <p>
+ * The game data is cloned once. After that, the changes made to the game are recorded and applied to the copy at the
+ * start of the next simulation, the same way a network client keeps its game data in step. The delegate states and the
+ * current step are copied from the game each time, since they are not changed through {@link Change}s. At the end of a
+ * simulation, the changes it made are undone.
+ * </p>
+ *
+ * <p>
+ * If the copy no longer matches the game, or anything goes wrong keeping it in step, the game data is cloned again.
+ * </p>
+ */
+public class ProSimulationData {
+
+  private final GameData data;
+  private final List<Change> changesToApply = new ArrayList<>();
+  private final GameDataChangeListener changeRecorder = this::recordChange;
+  private GameData dataCopy = null;
+
+  public ProSimulationData(final GameData data) {
+    this.data = checkNotNull(data);
+    data.addDataChangeListener(changeRecorder);
+  }
+
+  public GameData getData() {
+    return data;
+  }
+
+  private void recordChange(final Change change) {
+    synchronized (changesToApply) {
+      if (dataCopy != null) {
+        changesToApply.add(change);
+      }
+    }
+  }
+
+  /**
+   * @return The copy of the game data, matching the game, or null if it could not be created.
+   */
+  public GameData startSimulation() {
+    try {
+      data.acquireReadLock();
+      if (dataCopy == null || !updateDataCopy()) {
+        cloneData();
+      }
+      return dataCopy;
+    } catch (final Throwable t) {
+      ProLogger.log(Level.WARNING, "Error trying to clone game data for simulating phases", t);
+      synchronized (changesToApply) {
+        dataCopy = null;
+        changesToApply.clear();
+      }
+      return null;
+    } finally {
+      data.releaseReadLock();
+    }
+  }
+
+  private void cloneData() {
+    final GameData clonedData = GameDataUtils.cloneGameData(data, true);
+    synchronized (changesToApply) {
+      changesToApply.clear();
+      dataCopy = clonedData;
+    }
+  }
+
+  /**
+   * @return Whether the copy matches the game after applying the changes made to the game.
+   */
+  private boolean updateDataCopy() {
+    try {
+      final List<Change> changes;
+      synchronized (changesToApply) {
+        changes = new ArrayList<>(changesToApply);
+        changesToApply.clear();
+      }
+      if (!changes.isEmpty()) {
+        dataCopy.performChange(GameDataUtils.translateIntoOtherGameData(new CompositeChange(changes), dataCopy));
+      }
+      for (final IDelegate delegate : data.getDelegateList()) {
+        final IDelegate delegateCopy = dataCopy.getDelegateList().getDelegate(delegate.getName());
+        delegateCopy.loadState(GameDataUtils.translateIntoOtherGameData(delegate.saveState(), dataCopy));
+      }
+      final GameSequence sequence = data.getSequence();
+      final GameStep step = sequence.getStep();
+      final PlayerID player =
+          (step.getPlayerID() == null) ? null : dataCopy.getPlayerList().getPlayerID(step.getPlayerID().getName());
+      dataCopy.getSequence().setRoundAndStep(sequence.getRound() - sequence.getRoundOffset(), step.getDisplayName(),
+          player);
+    } catch (final RuntimeException e) {
+      ProLogger.log(Level.WARNING, "Error trying to update game data copy for simulating phases", e);
+      return false;
+    }
+    if (!isDataCopyInStep()) {
+      ProLogger.warn("Game data copy for simulating phases does not match the game, cloning it again");
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Checks that every territory of the copy has the same owner and the same units as in the game. The properties of the
+   * units, like their hits or how far they moved, and anything outside of the territories are not compared.
+   */
+  private boolean isDataCopyInStep() {
+    for (final Territory t : data.getMap().getTerritories()) {
+      final Territory territoryCopy = dataCopy.getMap().getTerritory(t.getName());
+      if (territoryCopy == null || !t.getOwner().getName().equals(territoryCopy.getOwner().getName())
+          || t.getUnits().size() != territoryCopy.getUnits().size()
+          || !getUnitIds(t).equals(getUnitIds(territoryCopy))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static Set<GUID> getUnitIds(final Territory territory) {
+    final Set<GUID> unitIds = new HashSet<>();
+    for (final Unit unit : territory.getUnits().getUnits()) {
+      unitIds.add(unit.getID());
+    }
+    return unitIds;
+  }
+
+  /**
+   * Undoes the changes the simulation made through the specified delegate bridge.
+   */
+  public void endSimulation(final ProDummyDelegateBridge bridge) {
+    if (bridge.getData() != dataCopy) {
+      // the copy was dropped or replaced during the simulation, so there is nothing to undo
+      ProLogger.debug("Game data copy for simulating phases changed during the simulation, not undoing it");
+      return;
+    }
+    try {
+      dataCopy.performChange(bridge.getAllChanges().invert());
+    } catch (final RuntimeException e) {
+      ProLogger.log(Level.WARNING, "Error trying to undo simulated phases, game data will be cloned again", e);
+      synchronized (changesToApply) {
+        dataCopy = null;
+        changesToApply.clear();
+      }
+    }
+  }
+
+  /**
+   * Stops recording the changes of the game.
+   */
+  public void dispose() {
+    data.removeDataChangeListener(changeRecorder);
+    synchronized (changesToApply) {
+      dataCopy = null;
+      changesToApply.clear();
+    }
+  }
+}
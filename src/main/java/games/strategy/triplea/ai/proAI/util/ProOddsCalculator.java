@@ -1,6 +1,8 @@
 package games.strategy.triplea.ai.proAI.util;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -11,10 +13,12 @@ import games.strategy.engine.data.Unit;
 import games.strategy.triplea.Properties;
 import games.strategy.triplea.ai.proAI.ProData;
 import games.strategy.triplea.ai.proAI.data.ProBattleResult;
+import games.strategy.triplea.ai.proAI.data.ProBattleSetup;
 import games.strategy.triplea.delegate.BattleCalculator;
 import games.strategy.triplea.delegate.Matches;
 import games.strategy.triplea.delegate.TerritoryEffectHelper;
 import games.strategy.triplea.oddsCalculator.ta.AggregateResults;
+import games.strategy.triplea.oddsCalculator.ta.BattleSpec;
 import games.strategy.triplea.oddsCalculator.ta.IOddsCalculator;
 import games.strategy.util.Match;
 
@@ -42,17 +46,45 @@ public class ProOddsCalculator {
   public ProBattleResult estimateAttackBattleResults(final Territory t,
       final List<Unit> attackingUnits, final List<Unit> defendingUnits, final Set<Unit> bombardingUnits) {
 
-    final ProBattleResult result = checkIfNoAttackersOrDefenders(t, attackingUnits, defendingUnits);
+    final ProBattleResult result = estimateAttackWithoutCalculator(t, attackingUnits, defendingUnits);
     if (result != null) {
       return result;
     }
+    return callBattleCalculator(t, attackingUnits, defendingUnits, bombardingUnits);
+  }
 
-    // Determine if attackers have no chance
-    final double strengthDifference = ProBattleUtils.estimateStrengthDifference(t, attackingUnits, defendingUnits);
-    if (strengthDifference < 45) {
-      return new ProBattleResult(0, -999, false, new ArrayList<>(), defendingUnits, 1);
+  /**
+   * Estimates the results of several attacks with a single call of the battle calculator, which keeps all its threads
+   * busy when the battles are small. The results are in the order of the battles.
+   */
+  public List<ProBattleResult> estimateAttackBattleResults(final List<ProBattleSetup> battles) {
+    final ProBattleResult[] results = new ProBattleResult[battles.size()];
+    final List<Integer> battlesToCalculate = new ArrayList<>();
+    final List<BattleSpec> battleSpecs = new ArrayList<>();
+    for (int i = 0; i < battles.size(); i++) {
+      final ProBattleSetup battle = battles.get(i);
+      final Territory t = battle.getTerritory();
+      final List<Unit> attackingUnits = battle.getAttackingUnits();
+      final List<Unit> defendingUnits = battle.getDefendingUnits();
+      final ProBattleResult result = estimateAttackWithoutCalculator(t, attackingUnits, defendingUnits);
+      if (result != null) {
+        results[i] = result;
+      } else if (!canCallBattleCalculator(attackingUnits, defendingUnits)) {
+        results[i] = new ProBattleResult();
+      } else {
+        battlesToCalculate.add(i);
+        battleSpecs.add(newBattleSpec(t, attackingUnits, defendingUnits, battle.getBombardingUnits(), false));
+      }
     }
-    return callBattleCalculator(t, attackingUnits, defendingUnits, bombardingUnits);
+    if (!battleSpecs.isEmpty()) {
+      final List<AggregateResults> calculated = calc.calculate(battleSpecs);
+      for (int i = 0; i < battlesToCalculate.size(); i++) {
+        final ProBattleSetup battle = battles.get(battlesToCalculate.get(i));
+        results[battlesToCalculate.get(i)] = toBattleResult(battle.getTerritory(), battle.getAttackingUnits(),
+            battle.getDefendingUnits(), calculated.get(i));
+      }
+    }
+    return Arrays.asList(results);
   }
 
   public ProBattleResult estimateDefendBattleResults(final Territory t,
@@ -84,6 +116,24 @@ public class ProOddsCalculator {
     return callBattleCalculator(t, attackingUnits, defendingUnits, bombardingUnits);
   }
 
+  /**
+   * @return The result of an attack that is clear without calling the battle calculator, or null if there is none.
+   */
+  private static ProBattleResult estimateAttackWithoutCalculator(final Territory t, final List<Unit> attackingUnits,
+      final List<Unit> defendingUnits) {
+    final ProBattleResult result = checkIfNoAttackersOrDefenders(t, attackingUnits, defendingUnits);
+    if (result != null) {
+      return result;
+    }
+
+    // Determine if attackers have no chance
+    final double strengthDifference = ProBattleUtils.estimateStrengthDifference(t, attackingUnits, defendingUnits);
+    if (strengthDifference < 45) {
+      return new ProBattleResult(0, -999, false, new ArrayList<>(), defendingUnits, 1);
+    }
+    return null;
+  }
+
   private static ProBattleResult checkIfNoAttackersOrDefenders(final Territory t, final List<Unit> attackingUnits,
       final List<Unit> defendingUnits) {
     final GameData data = ProData.getData();
@@ -113,26 +163,39 @@ public class ProOddsCalculator {
 
   public ProBattleResult callBattleCalculator(final Territory t, final List<Unit> attackingUnits,
       final List<Unit> defendingUnits, final Set<Unit> bombardingUnits, final boolean retreatWhenOnlyAirLeft) {
-    final GameData data = ProData.getData();
-
-    if (isCanceled || attackingUnits.isEmpty() || defendingUnits.isEmpty()) {
+    if (!canCallBattleCalculator(attackingUnits, defendingUnits)) {
       return new ProBattleResult();
     }
 
     // Use battle calculator (hasLandUnitRemaining is always true for naval territories)
-    AggregateResults results = null;
+    final BattleSpec battle = newBattleSpec(t, attackingUnits, defendingUnits, bombardingUnits, retreatWhenOnlyAirLeft);
+    final AggregateResults results = calc.calculate(Collections.singletonList(battle)).get(0);
+    return toBattleResult(t, attackingUnits, defendingUnits, results);
+  }
+
+  private boolean canCallBattleCalculator(final List<Unit> attackingUnits, final List<Unit> defendingUnits) {
+    return !isCanceled && !attackingUnits.isEmpty() && !defendingUnits.isEmpty();
+  }
+
+  private static BattleSpec newBattleSpec(final Territory t, final List<Unit> attackingUnits,
+      final List<Unit> defendingUnits, final Set<Unit> bombardingUnits, final boolean retreatWhenOnlyAirLeft) {
     final int minArmySize = Math.min(attackingUnits.size(), defendingUnits.size());
     final int runCount = Math.max(16, 100 - minArmySize);
     final PlayerID attacker = attackingUnits.get(0).getOwner();
     final PlayerID defender = defendingUnits.get(0).getOwner();
-    if (retreatWhenOnlyAirLeft) {
-      calc.setRetreatWhenOnlyAirLeft(true);
-    }
-    results = calc.setCalculateDataAndCalculate(attacker, defender, t, attackingUnits, defendingUnits,
-        new ArrayList<>(bombardingUnits), TerritoryEffectHelper.getEffects(t), runCount);
-    if (retreatWhenOnlyAirLeft) {
-      calc.setRetreatWhenOnlyAirLeft(false);
+    return new BattleSpec(attacker, defender, t, attackingUnits, defendingUnits, bombardingUnits,
+        TerritoryEffectHelper.getEffects(t), runCount, retreatWhenOnlyAirLeft);
+  }
+
+  private static ProBattleResult toBattleResult(final Territory t, final List<Unit> attackingUnits,
+      final List<Unit> defendingUnits, final AggregateResults results) {
+    if (results.getRollCount() == 0) {
+      // the calculation was cancelled before this battle
+      return new ProBattleResult();
     }
+    final GameData data = ProData.getData();
+    final PlayerID attacker = attackingUnits.get(0).getOwner();
+    final PlayerID defender = defendingUnits.get(0).getOwner();
 
     // Find battle result statistics
     final double winPercentage = results.getAttackerWinPercent() * 100;
@@ -0,0 +1,312 @@
+package games.strategy.triplea.ai.tournament;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+import games.strategy.debug.ClientLogger;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameParser;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.delegate.IDelegate;
+import games.strategy.engine.framework.ArgParser;
+import games.strategy.engine.framework.GameRunner;
+import games.strategy.engine.framework.ServerGame;
+import games.strategy.engine.gamePlayer.IGamePlayer;
+import games.strategy.engine.random.SeededRandomSource;
+import games.strategy.net.HeadlessServerMessenger;
+import games.strategy.net.Messengers;
+import games.strategy.sound.HeadlessSoundChannel;
+import games.strategy.triplea.TripleA;
+import games.strategy.triplea.ai.tournament.TournamentGameResult.Outcome;
+import games.strategy.triplea.delegate.EndRoundDelegate;
+import games.strategy.triplea.ui.AbstractUIContext;
+import games.strategy.triplea.ui.display.HeadlessDisplay;
+
+/**
+ * Plays games of a map headless, with the same AI for every player, and reports how each game went and how long its
+ * phases took. Since the games are played by the real game engine, a tournament doubles as an end to end benchmark of
+ * the AIs and the engine.
+ *
+ * <p>
+ * Each game gets its own seed, the tournament seed plus the index of the game, for the dice, so a game can be played
+ * again with the same dice. The AIs make some decisions at random without using the dice, so replaying a game does not
+ * always give the same result.
+ * </p>
+ *
+ * <p>
+ * Games are played in parallel, except with the hard and fast AIs: they keep their state in static fields, which
+ * games played at the same time would share.
+ * </p>
+ */
+public class AiTournament {
+  private static final Logger logger = Logger.getLogger(AiTournament.class.getName());
+  public static final String AI_TYPE_PROPERTY = "tournament.ai";
+  public static final String GAMES_PROPERTY = "tournament.games";
+  public static final String THREADS_PROPERTY = "tournament.threads";
+  public static final String SEED_PROPERTY = "tournament.seed";
+  public static final String MAX_ROUNDS_PROPERTY = "tournament.maxRounds";
+  public static final String TIMEOUT_MINUTES_PROPERTY = "tournament.timeoutMinutes";
+  public static final String OUTPUT_PROPERTY = "tournament.output";
+  public static final String FORMAT_PROPERTY = "tournament.format";
+  private static final String[] COMMAND_LINE_ARGS = {GameRunner.TRIPLEA_GAME_PROPERTY, AI_TYPE_PROPERTY,
+      GAMES_PROPERTY, THREADS_PROPERTY, SEED_PROPERTY, MAX_ROUNDS_PROPERTY, TIMEOUT_MINUTES_PROPERTY, OUTPUT_PROPERTY,
+      FORMAT_PROPERTY};
+  private static final long POLL_MILLIS = 100;
+
+  private final File mapFile;
+  private final String aiType;
+  private final int gameCount;
+  private final int threadCount;
+  private final long seed;
+  private final int maxRounds;
+  private final long timeoutMillis;
+
+  /**
+   * @param mapFile The game XML of the map to play.
+   * @param aiType The player type of the AI playing all players, for example {@link TripleA#PRO_COMPUTER_PLAYER_TYPE}.
+   * @param threadCount The number of games to play at the same time.
+   * @param seed The seed of the dice of the first game, the following games use the next seeds.
+   * @param maxRounds The number of rounds after which a game is stopped if nobody won.
+   * @param timeoutMillis The time after which a game is stopped if it is not over.
+   */
+  public AiTournament(final File mapFile, final String aiType, final int gameCount, final int threadCount,
+      final long seed, final int maxRounds, final long timeoutMillis) {
+    checkArgument(Arrays.asList(new TripleA().getServerPlayerTypes()).contains(aiType)
+        && !TripleA.HUMAN_PLAYER_TYPE.equals(aiType), "Unknown AI type: " + aiType);
+    checkArgument(gameCount > 0, "Game count must be positive");
+    checkArgument(threadCount > 0, "Thread count must be positive");
+    checkArgument(maxRounds > 0, "Max rounds must be positive");
+    checkArgument(timeoutMillis > 0, "Timeout must be positive");
+    this.mapFile = checkNotNull(mapFile);
+    this.aiType = aiType;
+    this.gameCount = gameCount;
+    this.threadCount = usesStaticState(aiType) ? 1 : threadCount;
+    if (this.threadCount < threadCount) {
+      logger.info(aiType + " keeps its state in static fields, playing one game at a time");
+    }
+    this.seed = seed;
+    this.maxRounds = maxRounds;
+    this.timeoutMillis = timeoutMillis;
+  }
+
+  private static boolean usesStaticState(final String aiType) {
+    return TripleA.PRO_COMPUTER_PLAYER_TYPE.equals(aiType) || TripleA.FAST_COMPUTER_PLAYER_TYPE.equals(aiType);
+  }
+
+  /**
+   * Plays all games of the tournament.
+   *
+   * @return The results of the games, in the order of their index.
+   */
+  public List<TournamentGameResult> play() throws InterruptedException {
+    final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    try {
+      final List<Future<TournamentGameResult>> futures = new ArrayList<>();
+      for (int i = 0; i < gameCount; i++) {
+        final int gameIndex = i;
+        futures.add(executor.submit(() -> playGame(gameIndex)));
+      }
+      final List<TournamentGameResult> results = new ArrayList<>();
+      for (int i = 0; i < gameCount; i++) {
+        try {
+          results.add(futures.get(i).get());
+        } catch (final ExecutionException e) {
+          ClientLogger.logQuietly("Failed to play tournament game " + i, e.getCause());
+          results.add(new TournamentGameResult(i, seed + i, Outcome.FAILED, 0, Collections.emptyList(), 0,
+              Collections.emptyMap()));
+        }
+      }
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private TournamentGameResult playGame(final int gameIndex) throws Exception {
+    final long gameSeed = seed + gameIndex;
+    final GameData data = loadGameData();
+    final Map<String, String> playerTypes = new HashMap<>();
+    for (final PlayerID player : data.getPlayerList().getPlayers()) {
+      playerTypes.put(player.getName(), aiType);
+    }
+    final Set<IGamePlayer> players = data.getGameLoader().createPlayers(playerTypes);
+    final ServerGame game =
+        new ServerGame(data, players, new HashMap<>(), new Messengers(new HeadlessServerMessenger()));
+    game.addDisplay(new HeadlessDisplay());
+    game.addSoundChannel(new HeadlessSoundChannel());
+    game.setRandomSource(new SeededRandomSource(gameSeed));
+    game.setAutoSaveEnabled(false);
+    final GameTimer timer = new GameTimer(maxRounds);
+    game.addGameStepListener((stepName, delegateName, player, round, displayName) -> timer.stepChanged(delegateName,
+        round));
+    final Thread gameThread = new Thread(game::startGame, "AI tournament game " + gameIndex);
+    final long start = System.nanoTime();
+    gameThread.start();
+    final Outcome outcome = awaitOutcome(game, gameThread, timer, start);
+    timer.stop();
+    game.stopGame();
+    gameThread.join();
+    final long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    final TournamentGameResult result = new TournamentGameResult(gameIndex, gameSeed, outcome,
+        Math.min(timer.getRound(), maxRounds), (outcome == Outcome.WON) ? getWinners(data) : Collections.emptyList(),
+        durationMillis, timer.getPhaseMillis());
+    logger.info(result.toString());
+    return result;
+  }
+
+  private GameData loadGameData() throws Exception {
+    try (InputStream is = new FileInputStream(mapFile)) {
+      return new GameParser(mapFile.getName()).parse(is, new AtomicReference<>(), false);
+    }
+  }
+
+  private Outcome awaitOutcome(final ServerGame game, final Thread gameThread, final GameTimer timer,
+      final long start) throws InterruptedException {
+    while (true) {
+      if (!game.isGameSequenceRunning()) {
+        return Outcome.WON;
+      } else if (!gameThread.isAlive()) {
+        return Outcome.FAILED;
+      } else if (timer.isRoundLimitReached()) {
+        return Outcome.ROUND_LIMIT;
+      } else if (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) > timeoutMillis) {
+        return Outcome.TIMED_OUT;
+      }
+      Thread.sleep(POLL_MILLIS);
+    }
+  }
+
+  private static List<String> getWinners(final GameData data) {
+    final List<String> winners = new ArrayList<>();
+    for (final IDelegate delegate : data.getDelegateList()) {
+      if (delegate instanceof EndRoundDelegate) {
+        final Collection<PlayerID> delegateWinners = ((EndRoundDelegate) delegate).getWinners();
+        if (delegateWinners != null) {
+          delegateWinners.forEach(player -> winners.add(player.getName()));
+          break;
+        }
+      }
+    }
+    return winners;
+  }
+
+  /**
+   * Adds up the time spent in each phase of a game, until the round limit is reached.
+   */
+  private static final class GameTimer {
+    private final int maxRounds;
+    private final Map<String, Long> phaseNanos = new LinkedHashMap<>();
+    private String phase = null;
+    private long phaseStart = 0;
+    private int round = 0;
+    private boolean roundLimitReached = false;
+
+    GameTimer(final int maxRounds) {
+      this.maxRounds = maxRounds;
+    }
+
+    synchronized void stepChanged(final String delegateName, final int round) {
+      stop();
+      this.round = round;
+      if (round > maxRounds) {
+        roundLimitReached = true;
+      } else if (!roundLimitReached) {
+        phase = delegateName;
+        phaseStart = System.nanoTime();
+      }
+    }
+
+    synchronized void stop() {
+      if (phase != null) {
+        phaseNanos.merge(phase, System.nanoTime() - phaseStart, Long::sum);
+        phase = null;
+      }
+    }
+
+    synchronized int getRound() {
+      return round;
+    }
+
+    synchronized boolean isRoundLimitReached() {
+      return roundLimitReached;
+    }
+
+    synchronized Map<String, Long> getPhaseMillis() {
+      final Map<String, Long> phaseMillis = new LinkedHashMap<>();
+      phaseNanos.forEach((name, nanos) -> phaseMillis.put(name, TimeUnit.NANOSECONDS.toMillis(nanos)));
+      return phaseMillis;
+    }
+  }
+
+  /**
+   * Plays a tournament configured by the command line arguments and writes its results.
+   */
+  public static void main(final String[] args) throws Exception {
+    System.getProperties().setProperty(GameRunner.TRIPLEA_HEADLESS, "true");
+    if (!ArgParser.handleCommandLineArgs(args, COMMAND_LINE_ARGS)
+        || System.getProperty(GameRunner.TRIPLEA_GAME_PROPERTY) == null) {
+      usage();
+      return;
+    }
+    AbstractUIContext.setAiPauseDisabled(true);
+    final AiTournament tournament = new AiTournament(new File(System.getProperty(GameRunner.TRIPLEA_GAME_PROPERTY)),
+        System.getProperty(AI_TYPE_PROPERTY, TripleA.PRO_COMPUTER_PLAYER_TYPE),
+        Integer.getInteger(GAMES_PROPERTY, 1), Integer.getInteger(THREADS_PROPERTY, 1),
+        Long.getLong(SEED_PROPERTY, 0L), Integer.getInteger(MAX_ROUNDS_PROPERTY, 20),
+        TimeUnit.MINUTES.toMillis(Integer.getInteger(TIMEOUT_MINUTES_PROPERTY, 60)));
+    final List<TournamentGameResult> results = tournament.play();
+    final TournamentResultFormat format = TournamentResultFormat.valueOf(System.getProperty(FORMAT_PROPERTY, "CSV"));
+    final String output = System.getProperty(OUTPUT_PROPERTY);
+    if (output == null) {
+      final Writer writer = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+      format.write(results, writer);
+      writer.flush();
+    } else {
+      try (Writer writer = new OutputStreamWriter(new FileOutputStream(output), StandardCharsets.UTF_8)) {
+        format.write(results, writer);
+      } catch (final IOException e) {
+        ClientLogger.logError("Failed to write tournament results to " + output, e);
+      }
+    }
+    // the games leave threads behind
+    System.exit(0);
+  }
+
+  private static void usage() {
+    System.out.println("\nUsage and Valid Arguments:\n"
+        + "   " + GameRunner.TRIPLEA_GAME_PROPERTY + "=<GAME_XML_FILE>\n"
+        + "   " + AI_TYPE_PROPERTY + "=<AI player type, default " + TripleA.PRO_COMPUTER_PLAYER_TYPE + ">\n"
+        + "   " + GAMES_PROPERTY + "=<number of games, default 1>\n"
+        + "   " + THREADS_PROPERTY + "=<number of games played at the same time, default 1>\n"
+        + "   " + SEED_PROPERTY + "=<dice seed of the first game, default 0>\n"
+        + "   " + MAX_ROUNDS_PROPERTY + "=<rounds after which a game is stopped, default 20>\n"
+        + "   " + TIMEOUT_MINUTES_PROPERTY + "=<minutes after which a game is stopped, default 60>\n"
+        + "   " + OUTPUT_PROPERTY + "=<results file, default standard output>\n"
+        + "   " + FORMAT_PROPERTY + "=<CSV/JSON, default CSV>\n");
+  }
+}
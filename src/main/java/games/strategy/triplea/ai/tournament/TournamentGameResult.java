@@ -0,0 +1,96 @@
+package games.strategy.triplea.ai.tournament;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The result of a single game of an {@link AiTournament}.
+ */
+public final class TournamentGameResult {
+
+  /**
+   * How a tournament game ended.
+   */
+  public enum Outcome {
+    /** The game was won by one side. */
+    WON,
+    /** The game was stopped after the maximum number of rounds. */
+    ROUND_LIMIT,
+    /** The game was stopped because it took too long. */
+    TIMED_OUT,
+    /** The game stopped because of an error. */
+    FAILED
+  }
+
+  private final int gameIndex;
+  private final long seed;
+  private final Outcome outcome;
+  private final int rounds;
+  private final List<String> winners;
+  private final long durationMillis;
+  private final Map<String, Long> phaseMillis;
+
+  /**
+   * @param phaseMillis The total time spent in each phase of the game, by delegate name.
+   */
+  public TournamentGameResult(final int gameIndex, final long seed, final Outcome outcome, final int rounds,
+      final Collection<String> winners, final long durationMillis, final Map<String, Long> phaseMillis) {
+    this.gameIndex = gameIndex;
+    this.seed = seed;
+    this.outcome = checkNotNull(outcome);
+    this.rounds = rounds;
+    this.winners = Collections.unmodifiableList(new ArrayList<>(winners));
+    this.durationMillis = durationMillis;
+    this.phaseMillis = Collections.unmodifiableMap(new LinkedHashMap<>(phaseMillis));
+  }
+
+  public int getGameIndex() {
+    return gameIndex;
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  public Outcome getOutcome() {
+    return outcome;
+  }
+
+  /**
+   * @return The number of rounds that were started.
+   */
+  public int getRounds() {
+    return rounds;
+  }
+
+  /**
+   * @return The names of the winning players, empty if the game was not won.
+   */
+  public List<String> getWinners() {
+    return winners;
+  }
+
+  public long getDurationMillis() {
+    return durationMillis;
+  }
+
+  /**
+   * @return The total time spent in each phase of the game, by delegate name, in the order the phases were first
+   *         played.
+   */
+  public Map<String, Long> getPhaseMillis() {
+    return phaseMillis;
+  }
+
+  @Override
+  public String toString() {
+    return "Game " + gameIndex + " seed:" + seed + " outcome:" + outcome + " rounds:" + rounds + " winners:" + winners
+        + " duration:" + durationMillis + "ms";
+  }
+}
@@ -0,0 +1,77 @@
+package games.strategy.triplea.ai.tournament;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * The formats the results of an {@link AiTournament} can be written in.
+ */
+public enum TournamentResultFormat {
+  /**
+   * One line per game, with a column for the time spent in each phase played in any of the games.
+   */
+  CSV {
+    @Override
+    public void write(final List<TournamentGameResult> results, final Writer writer) throws IOException {
+      final Set<String> phases = new LinkedHashSet<>();
+      for (final TournamentGameResult result : results) {
+        phases.addAll(result.getPhaseMillis().keySet());
+      }
+      final StringBuilder sb = new StringBuilder("game,seed,outcome,rounds,winners,durationMillis");
+      for (final String phase : phases) {
+        sb.append(',').append(quote(phase + "Millis"));
+      }
+      sb.append('\n');
+      for (final TournamentGameResult result : results) {
+        sb.append(result.getGameIndex()).append(',').append(result.getSeed()).append(',').append(result.getOutcome())
+            .append(',').append(result.getRounds()).append(',').append(quote(String.join(" ", result.getWinners())))
+            .append(',').append(result.getDurationMillis());
+        for (final String phase : phases) {
+          sb.append(',').append(result.getPhaseMillis().getOrDefault(phase, 0L));
+        }
+        sb.append('\n');
+      }
+      writer.write(sb.toString());
+    }
+
+    private String quote(final String value) {
+      if (value.contains(",") || value.contains("\"")) {
+        return '"' + value.replace("\"", "\"\"") + '"';
+      }
+      return value;
+    }
+  },
+
+  /**
+   * An array with one object per game.
+   */
+  JSON {
+    @Override
+    public void write(final List<TournamentGameResult> results, final Writer writer) throws IOException {
+      final JSONArray games = new JSONArray();
+      for (final TournamentGameResult result : results) {
+        final JSONObject phases = new JSONObject();
+        result.getPhaseMillis().forEach(phases::put);
+        final JSONObject game = new JSONObject();
+        game.put("game", result.getGameIndex());
+        game.put("seed", result.getSeed());
+        game.put("outcome", result.getOutcome().name());
+        game.put("rounds", result.getRounds());
+        game.put("winners", new JSONArray(result.getWinners()));
+        game.put("durationMillis", result.getDurationMillis());
+        game.put("phaseMillis", phases);
+        games.put(game);
+      }
+      writer.write(games.toString(2));
+      writer.write('\n');
+    }
+  };
+
+  public abstract void write(List<TournamentGameResult> results, Writer writer) throws IOException;
+}
@@ -3,7 +3,9 @@ package games.strategy.triplea.oddsCalculator.ta;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
@@ -13,37 +15,136 @@ import games.strategy.triplea.delegate.BattleCalculator;
 import games.strategy.util.IntegerMap;
 import games.strategy.util.Tuple;
 
+/**
+ * Aggregated statistics over a number of simulated battles.
+ *
+ * <p>
+ * Results are accumulated in a streaming fashion: win/loss/draw counts, units left, rounds fought and the number of
+ * surviving units per unit type are kept as running totals, so memory use does not grow with the number of runs. Only a
+ * bounded, uniformly sampled reservoir of individual {@link BattleResults} is retained, which is used to pick a
+ * representative battle for {@link #getBattleResultsClosestToAverage()}.
+ * </p>
+ */
 public class AggregateResults implements Serializable {
   private static final long serialVersionUID = -556699626060414738L;
+  static final int RESERVOIR_SIZE = 200;
+
   // can be empty!
-  private final List<BattleResults> m_results;
+  private final List<BattleResults> m_reservoir;
+  private final Random m_random = new Random();
+  private int m_rollCount = 0;
+  private int m_attackerWins = 0;
+  private int m_defenderWins = 0;
+  private int m_draws = 0;
+  private long m_attackingCombatUnitsLeft = 0;
+  private long m_defendingCombatUnitsLeft = 0;
+  private long m_attackingCombatUnitsLeftWhenAttackerWon = 0;
+  private long m_defendingCombatUnitsLeftWhenDefenderWon = 0;
+  private long m_battleRoundsFought = 0;
+  private final IntegerMap<UnitType> m_attackingUnitsLeftByType = new IntegerMap<>();
+  private final IntegerMap<UnitType> m_defendingUnitsLeftByType = new IntegerMap<>();
   private long m_time;
 
   public AggregateResults(final int expectedCount) {
-    m_results = new ArrayList<>(expectedCount);
+    m_reservoir = new ArrayList<>(Math.max(0, Math.min(expectedCount, RESERVOIR_SIZE)));
   }
 
   public void addResult(final BattleResults result) {
-    m_results.add(result);
+    final int attackingCombatUnitsLeft = result.getAttackingCombatUnitsLeft();
+    final int defendingCombatUnitsLeft = result.getDefendingCombatUnitsLeft();
+    m_rollCount++;
+    if (result.attackerWon()) {
+      m_attackerWins++;
+      m_attackingCombatUnitsLeftWhenAttackerWon += attackingCombatUnitsLeft;
+    } else if (result.defenderWon()) {
+      m_defenderWins++;
+      m_defendingCombatUnitsLeftWhenDefenderWon += defendingCombatUnitsLeft;
+    } else {
+      m_draws++;
+    }
+    m_attackingCombatUnitsLeft += attackingCombatUnitsLeft;
+    m_defendingCombatUnitsLeft += defendingCombatUnitsLeft;
+    m_battleRoundsFought += result.getBattleRoundsFought();
+    for (final Unit unit : result.getRemainingAttackingUnits()) {
+      m_attackingUnitsLeftByType.add(unit.getType(), 1);
+    }
+    for (final Unit unit : result.getRemainingDefendingUnits()) {
+      m_defendingUnitsLeftByType.add(unit.getType(), 1);
+    }
+    // reservoir sampling, every result so far has the same chance of being kept
+    if (m_reservoir.size() < RESERVOIR_SIZE) {
+      m_reservoir.add(result);
+    } else {
+      final int index = m_random.nextInt(m_rollCount);
+      if (index < RESERVOIR_SIZE) {
+        m_reservoir.set(index, result);
+      }
+    }
   }
 
   public void addResults(final Collection<BattleResults> results) {
-    m_results.addAll(results);
+    for (final BattleResults result : results) {
+      addResult(result);
+    }
   }
 
-  public List<BattleResults> getResults() {
-    return m_results;
+  /**
+   * Merges the statistics of the specified results (for example, from another worker) into these results.
+   */
+  public void addResults(final AggregateResults other) {
+    m_reservoir.addAll(mergeReservoirs(other));
+    m_rollCount += other.m_rollCount;
+    m_attackerWins += other.m_attackerWins;
+    m_defenderWins += other.m_defenderWins;
+    m_draws += other.m_draws;
+    m_attackingCombatUnitsLeft += other.m_attackingCombatUnitsLeft;
+    m_defendingCombatUnitsLeft += other.m_defendingCombatUnitsLeft;
+    m_attackingCombatUnitsLeftWhenAttackerWon += other.m_attackingCombatUnitsLeftWhenAttackerWon;
+    m_defendingCombatUnitsLeftWhenDefenderWon += other.m_defendingCombatUnitsLeftWhenDefenderWon;
+    m_battleRoundsFought += other.m_battleRoundsFought;
+    m_attackingUnitsLeftByType.add(other.m_attackingUnitsLeftByType);
+    m_defendingUnitsLeftByType.add(other.m_defendingUnitsLeftByType);
+  }
+
+  /**
+   * Picks up to {@link #RESERVOIR_SIZE} samples from both reservoirs, each one weighted by the number of results it
+   * represents. The own reservoir is emptied by this method.
+   */
+  private List<BattleResults> mergeReservoirs(final AggregateResults other) {
+    final List<BattleResults> ours = new ArrayList<>(m_reservoir);
+    final List<BattleResults> theirs = new ArrayList<>(other.m_reservoir);
+    m_reservoir.clear();
+    Collections.shuffle(ours, m_random);
+    Collections.shuffle(theirs, m_random);
+    final double ourWeight = m_rollCount / (double) Math.max(1, m_rollCount + other.m_rollCount);
+    final List<BattleResults> merged = new ArrayList<>(RESERVOIR_SIZE);
+    while (merged.size() < RESERVOIR_SIZE && !(ours.isEmpty() && theirs.isEmpty())) {
+      final boolean takeOurs = theirs.isEmpty() || (!ours.isEmpty() && m_random.nextDouble() < ourWeight);
+      merged.add((takeOurs ? ours : theirs).remove(0));
+    }
+    return merged;
+  }
+
+  /**
+   * @return A bounded, uniformly sampled subset of the individual battle results that were added.
+   */
+  List<BattleResults> getSampledResults() {
+    return Collections.unmodifiableList(m_reservoir);
   }
 
   /**
    * This could be null if we have zero results.
+   * The battle is chosen among the sampled results, so it is representative but not necessarily the closest of all
+   * battles that were simulated.
    */
   public BattleResults getBattleResultsClosestToAverage() {
+    final double averageAttackingUnitsLeft = getAverageAttackingUnitsLeft();
+    final double averageDefendingUnitsLeft = getAverageDefendingUnitsLeft();
     double closestBattleDif = Integer.MAX_VALUE;
     BattleResults closestBattle = null;
-    for (final BattleResults results : m_results) {
-      double dif = Math.abs(results.getAttackingCombatUnitsLeft() - getAverageAttackingUnitsLeft());
-      dif += Math.abs(results.getDefendingCombatUnitsLeft() - getAverageDefendingUnitsLeft());
+    for (final BattleResults results : m_reservoir) {
+      double dif = Math.abs(results.getAttackingCombatUnitsLeft() - averageAttackingUnitsLeft);
+      dif += Math.abs(results.getDefendingCombatUnitsLeft() - averageDefendingUnitsLeft);
       if (dif < closestBattleDif) {
         closestBattleDif = dif;
         closestBattle = results;
@@ -56,24 +157,20 @@ public class AggregateResults implements Serializable {
   public List<Unit> getAverageAttackingUnitsRemaining() {
     // can be null!
     final BattleResults results = getBattleResultsClosestToAverage();
-    return results == null ? new ArrayList<>() : results.getRemainingAttackingUnits();
+    return results == null ? new ArrayList<>() : new ArrayList<>(results.getRemainingAttackingUnits());
   }
 
   public List<Unit> getAverageDefendingUnitsRemaining() {
     // can be null!
     final BattleResults results = getBattleResultsClosestToAverage();
-    return results == null ? new ArrayList<>() : results.getRemainingDefendingUnits();
+    return results == null ? new ArrayList<>() : new ArrayList<>(results.getRemainingDefendingUnits());
   }
 
   double getAverageAttackingUnitsLeft() {
-    if (m_results.isEmpty()) { // can be empty!
+    if (m_rollCount == 0) { // can be empty!
       return 0.0;
     }
-    double count = 0;
-    for (final BattleResults result : m_results) {
-      count += result.getAttackingCombatUnitsLeft();
-    }
-    return count / m_results.size();
+    return m_attackingCombatUnitsLeft / (double) m_rollCount;
   }
 
   /**
@@ -81,21 +178,25 @@ public class AggregateResults implements Serializable {
    */
   public Tuple<Double, Double> getAverageTUVofUnitsLeftOver(final IntegerMap<UnitType> attackerCostsForTuv,
       final IntegerMap<UnitType> defenderCostsForTuv) {
-    if (m_results.isEmpty()) { // can be empty!
+    if (m_rollCount == 0) { // can be empty!
       return Tuple.of(0.0, 0.0);
     }
-    double attackerTuv = 0;
-    double defenderTuv = 0;
-    for (final BattleResults result : m_results) {
-      attackerTuv += BattleCalculator.getTUV(result.getRemainingAttackingUnits(), attackerCostsForTuv);
-      defenderTuv += BattleCalculator.getTUV(result.getRemainingDefendingUnits(), defenderCostsForTuv);
+    final double attackerTuv = getTuv(m_attackingUnitsLeftByType, attackerCostsForTuv);
+    final double defenderTuv = getTuv(m_defendingUnitsLeftByType, defenderCostsForTuv);
+    return Tuple.of(attackerTuv / m_rollCount, defenderTuv / m_rollCount);
+  }
+
+  private static long getTuv(final IntegerMap<UnitType> unitCounts, final IntegerMap<UnitType> costs) {
+    long tuv = 0;
+    for (final UnitType unitType : unitCounts.keySet()) {
+      tuv += (long) unitCounts.getInt(unitType) * costs.getInt(unitType);
     }
-    return Tuple.of(attackerTuv / m_results.size(), defenderTuv / m_results.size());
+    return tuv;
   }
 
   public double getAverageTUVswing(final PlayerID attacker, final Collection<Unit> attackers, final PlayerID defender,
       final Collection<Unit> defenders, final GameData data) {
-    if (m_results.isEmpty()) { // can be empty!
+    if (m_rollCount == 0) { // can be empty!
       return 0.0;
     }
     final IntegerMap<UnitType> attackerCostsForTuv = BattleCalculator.getCostsForTUV(attacker, data);
@@ -110,108 +211,60 @@ public class AggregateResults implements Serializable {
   }
 
   double getAverageAttackingUnitsLeftWhenAttackerWon() {
-    if (m_results.isEmpty()) { // can be empty!
-      return 0.0;
-    }
-    double count = 0;
-    double total = 0;
-    for (final BattleResults result : m_results) {
-      if (result.attackerWon()) {
-        count += result.getAttackingCombatUnitsLeft();
-        total += 1;
-      }
-    }
-    if (total <= 0) {
+    if (m_attackerWins == 0) {
       return 0;
     }
-    return count / total;
+    return m_attackingCombatUnitsLeftWhenAttackerWon / (double) m_attackerWins;
   }
 
   double getAverageDefendingUnitsLeft() {
-    if (m_results.isEmpty()) { // can be empty!
+    if (m_rollCount == 0) { // can be empty!
       return 0.0;
     }
-    double count = 0;
-    for (final BattleResults result : m_results) {
-      count += result.getDefendingCombatUnitsLeft();
-    }
-    return count / m_results.size();
+    return m_defendingCombatUnitsLeft / (double) m_rollCount;
   }
 
   double getAverageDefendingUnitsLeftWhenDefenderWon() {
-    if (m_results.isEmpty()) { // can be empty!
-      return 0.0;
-    }
-    double count = 0;
-    double total = 0;
-    for (final BattleResults result : m_results) {
-      if (result.defenderWon()) {
-        count += result.getDefendingCombatUnitsLeft();
-        total += 1;
-      }
-    }
-    if (total <= 0) {
+    if (m_defenderWins == 0) {
       return 0;
     }
-    return count / total;
+    return m_defendingCombatUnitsLeftWhenDefenderWon / (double) m_defenderWins;
   }
 
   public double getAttackerWinPercent() {
-    if (m_results.isEmpty()) { // can be empty!
+    if (m_rollCount == 0) { // can be empty!
       return 0.0;
     }
-    double count = 0;
-    for (final BattleResults result : m_results) {
-      if (result.attackerWon()) {
-        count++;
-      }
-    }
-    return count / m_results.size();
+    return m_attackerWins / (double) m_rollCount;
   }
 
   double getDefenderWinPercent() {
-    if (m_results.isEmpty()) { // can be empty!
+    if (m_rollCount == 0) { // can be empty!
       return 0.0;
     }
-    double count = 0;
-    for (final BattleResults result : m_results) {
-      if (result.defenderWon()) {
-        count++;
-      }
-    }
-    return count / m_results.size();
+    return m_defenderWins / (double) m_rollCount;
   }
 
   public double getAverageBattleRoundsFought() {
-    if (m_results.isEmpty()) { // can be empty!
+    if (m_rollCount == 0) { // can be empty!
       return 0.0;
     }
-    double count = 0;
-    for (final BattleResults result : m_results) {
-      count += result.getBattleRoundsFought();
-    }
-    if (count == 0) {
+    if (m_battleRoundsFought == 0) {
       // If this is a 'fake' aggregate result, return 1.0
       return 1.0;
     }
-    return count / m_results.size();
+    return m_battleRoundsFought / (double) m_rollCount;
   }
 
   double getDrawPercent() {
-    if (m_results.isEmpty()) { // can be empty!
+    if (m_rollCount == 0) { // can be empty!
       return 0.0;
     }
-    double count = 0;
-    for (final BattleResults result : m_results) {
-      if (result.draw()) {
-        count++;
-      }
-    }
-    return count / m_results.size();
+    return m_draws / (double) m_rollCount;
   }
 
   public int getRollCount() {
-    return m_results.size();
+    return m_rollCount;
   }
 
   public long getTime() {
@@ -0,0 +1,277 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.TerritoryEffect;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.Properties;
+import games.strategy.triplea.attachments.UnitAttachment;
+import games.strategy.triplea.attachments.UnitSupportAttachment;
+import games.strategy.triplea.delegate.BattleCalculator;
+import games.strategy.triplea.delegate.DiceRoll;
+import games.strategy.triplea.delegate.IBattle.WhoWon;
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.util.Match;
+import games.strategy.util.Tuple;
+
+/**
+ * A fast battle simulator used by the odds calculator for plain battles.
+ *
+ * <p>
+ * A battle is compiled once into primitive arrays: the order in which each side loses its units, the number of dice
+ * each side rolls at every strength after the first k units have been lost (including support bonuses, as computed by
+ * {@link DiceRoll#getUnitPowerAndRollsForNormalBattles}) and the number of extra hit points each side has. Each
+ * simulated battle then only rolls dice and moves two loss counters, without touching {@link GameData}.
+ * </p>
+ *
+ * <p>
+ * Only battles in which both sides simply fire at each other every round can be compiled. Battles using low luck,
+ * retreats, bombardment, amphibious assaults, subs, AA guns, transports, suicide units, enemy support or units that
+ * choose the best of several rolls are not supported; {@link #compile} returns an empty result for them and the caller
+ * must fight a full {@code MustFightBattle} instead.
+ * </p>
+ *
+ * <p>
+ * Casualties are always taken in the default casualty order computed for the complete side at the start of the battle
+ * (after applying the order of losses, if any), rather than recomputing the default casualties after each round.
+ * </p>
+ */
+final class BattleSimulator {
+  private final GameData data;
+  private final int diceSides;
+  private final int maxRounds;
+  private final Side attacker;
+  private final Side defender;
+
+  private BattleSimulator(final GameData data, final int maxRounds, final Side attacker, final Side defender) {
+    this.data = data;
+    diceSides = data.getDiceSides();
+    this.maxRounds = maxRounds;
+    this.attacker = attacker;
+    this.defender = defender;
+  }
+
+  /**
+   * Compiles the specified battle.
+   *
+   * @return The compiled battle or empty if the battle uses rules that cannot be simulated by this class.
+   */
+  static Optional<BattleSimulator> compile(final GameData data, final PlayerID attacker, final PlayerID defender,
+      final Territory location, final Collection<Unit> attackingUnits, final Collection<Unit> defendingUnits,
+      final Collection<Unit> bombardingUnits, final Collection<TerritoryEffect> territoryEffects,
+      final boolean amphibious, final boolean keepOneAttackingLandUnit, final int retreatAfterRound,
+      final int retreatAfterXUnitsLeft, final boolean retreatWhenOnlyAirLeft, final List<Unit> attackerOrderOfLosses,
+      final List<Unit> defenderOrderOfLosses) {
+    if (Properties.getLow_Luck(data) || Properties.getLHTR_Heavy_Bombers(data) || amphibious
+        || !bombardingUnits.isEmpty() || retreatAfterRound >= 0 || retreatAfterXUnitsLeft >= 0
+        || retreatWhenOnlyAirLeft) {
+      return Optional.empty();
+    }
+    if (Match.anyMatch(attackingUnits, Matches.UnitIsAAforCombatOnly)
+        || Match.anyMatch(defendingUnits, Matches.UnitIsAAforCombatOnly)) {
+      return Optional.empty();
+    }
+    final List<Unit> attacking = getCombatants(attackingUnits, true, attacker, location, data);
+    final List<Unit> defending = getCombatants(defendingUnits, false, attacker, location, data);
+    if (attacking.isEmpty() || defending.isEmpty() || !canSimulate(attacking, true, location, data)
+        || !canSimulate(defending, false, location, data)) {
+      return Optional.empty();
+    }
+    if (!Properties.getAlliedAirIndependent(data) && !Match.allMatch(attacking, Matches.unitIsOwnedBy(attacker))) {
+      return Optional.empty();
+    }
+    final List<Unit> attackerOrder = getCasualtyOrder(attacking, false, attacker, defending, location,
+        territoryEffects, attackerOrderOfLosses, keepOneAttackingLandUnit && !location.isWater(), data);
+    final List<Unit> defenderOrder = getCasualtyOrder(defending, true, defender, attacking, location,
+        territoryEffects, defenderOrderOfLosses, false, data);
+    final int maxRounds =
+        location.isWater() ? Properties.getSeaBattleRounds(data) : Properties.getLandBattleRounds(data);
+    return Optional.of(new BattleSimulator(data, maxRounds,
+        new Side(attackerOrder, false, defenderOrder, location, territoryEffects, data),
+        new Side(defenderOrder, true, attackerOrder, location, territoryEffects, data)));
+  }
+
+  /**
+   * Mirrors {@code MustFightBattle.removeNonCombatants()} for the first round of a battle.
+   */
+  private static List<Unit> getCombatants(final Collection<Unit> units, final boolean attacking,
+      final PlayerID attacker, final Territory location, final GameData data) {
+    final List<Unit> combatants = new ArrayList<>(units);
+    if (location.isWater()) {
+      combatants.removeAll(Match.getMatches(combatants, Matches.UnitIsLand));
+    }
+    combatants.removeAll(Match.getMatches(combatants,
+        Matches.unitCanBeInBattle(attacking, !location.isWater(), 2, true, false, false).invert()));
+    combatants.removeAll(Match.getMatches(combatants, Matches.UnitIsDisabled));
+    combatants.removeAll(Match.getMatches(combatants,
+        Matches.unitCanBeCapturedOnEnteringToInThisTerritory(attacker, location, data)));
+    combatants.removeAll(Match.getMatches(combatants,
+        Match.allOf(Matches.unitIsBeingTransported(), Matches.UnitIsAir, Matches.UnitCanLandOnCarrier)));
+    combatants.removeAll(Match.getMatches(combatants, Matches.UnitWasInAirBattle));
+    return combatants;
+  }
+
+  private static boolean canSimulate(final List<Unit> combatants, final boolean attacking, final Territory location,
+      final GameData data) {
+    final boolean transportCasualtiesRestricted = Properties.getTransportCasualtiesRestricted(data);
+    for (final Unit unit : combatants) {
+      final UnitAttachment ua = UnitAttachment.get(unit.getType());
+      if (ua.getIsSub() || ua.getIsSuicide() || ua.getChooseBestRoll() || Matches.UnitIsAAforAnything.match(unit)
+          || Matches.UnitIsInfrastructure.match(unit) || Matches.UnitIsTransportButNotCombatTransport.match(unit)
+          || Matches.UnitIsAirTransport.match(unit) || Matches.unitIsTransporting().match(unit)
+          || Matches.unitIsBeingTransported().match(unit)) {
+        return false;
+      }
+      if (attacking && !location.isWater() && ua.getIsSea()) {
+        return false;
+      }
+      // the restricted transport casualty rules remove sides that cannot roll at all
+      if (transportCasualtiesRestricted && !Matches.unitIsSupporterOrHasCombatAbility(attacking).match(unit)) {
+        return false;
+      }
+      for (final UnitSupportAttachment support : UnitSupportAttachment.get(unit.getType())) {
+        if (support.getEnemy()) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return The units in the order in which they are lost, the first unit is lost first.
+   */
+  private static List<Unit> getCasualtyOrder(final List<Unit> units, final boolean defending, final PlayerID player,
+      final List<Unit> enemyUnits, final Territory location, final Collection<TerritoryEffect> territoryEffects,
+      final List<Unit> orderOfLosses, final boolean keepOneLandUnit, final GameData data) {
+    final List<Unit> defaultOrder = BattleCalculator.sortUnitsForCasualtiesWithSupport(units, defending, player,
+        enemyUnits, false, Collections.emptyList(), location, BattleCalculator.getCostsForTUV(player, data),
+        territoryEffects, data, true);
+    final List<Unit> order = new ArrayList<>(units.size());
+    if (orderOfLosses != null) {
+      order.addAll(orderOfLosses);
+      order.retainAll(units);
+    }
+    if (order.isEmpty() && keepOneLandUnit && Match.anyMatch(units, Matches.UnitIsNotLand)) {
+      // lose the strongest land unit last, the same as the dummy player does when asked to keep one land unit
+      for (int i = defaultOrder.size() - 1; i >= 0; i--) {
+        if (Matches.UnitIsLand.match(defaultOrder.get(i))) {
+          defaultOrder.add(defaultOrder.remove(i));
+          break;
+        }
+      }
+    }
+    final List<Unit> remaining = new ArrayList<>(defaultOrder);
+    remaining.removeAll(order);
+    order.addAll(remaining);
+    return order;
+  }
+
+  /**
+   * Fights a single battle.
+   */
+  BattleResults fight(final Random random) {
+    int attackerLosses = 0;
+    int defenderLosses = 0;
+    int attackerExtraHitPoints = attacker.extraHitPoints;
+    int defenderExtraHitPoints = defender.extraHitPoints;
+    int round = 1;
+    while (true) {
+      // both sides fire at the same time, units that are hit still fire back
+      final int attackerHits = attacker.rollHits(attackerLosses, diceSides, random);
+      final int defenderHits = defender.rollHits(defenderLosses, diceSides, random);
+      final int defenderHitPointsLost = Math.min(attackerHits, defenderExtraHitPoints);
+      defenderExtraHitPoints -= defenderHitPointsLost;
+      defenderLosses = Math.min(defender.size, defenderLosses + attackerHits - defenderHitPointsLost);
+      final int attackerHitPointsLost = Math.min(defenderHits, attackerExtraHitPoints);
+      attackerExtraHitPoints -= attackerHitPointsLost;
+      attackerLosses = Math.min(attacker.size, attackerLosses + defenderHits - attackerHitPointsLost);
+      final WhoWon whoWon;
+      if (attackerLosses == attacker.size) {
+        whoWon = WhoWon.DEFENDER;
+      } else if (defenderLosses == defender.size) {
+        whoWon = WhoWon.ATTACKER;
+      } else if ((maxRounds > 0 && maxRounds <= round)
+          || (attacker.powerless[attackerLosses] && defender.powerless[defenderLosses])) {
+        whoWon = WhoWon.DRAW;
+      } else {
+        round++;
+        continue;
+      }
+      return new BattleResults(round, attacker.remaining.get(attackerLosses),
+          defender.remaining.get(defenderLosses), whoWon, data);
+    }
+  }
+
+  /**
+   * One side of a compiled battle. All arrays are indexed by the number of units this side has lost.
+   */
+  private static final class Side {
+    private final int size;
+    private final int extraHitPoints;
+    private final int[][] diceByStrength;
+    private final boolean[] powerless;
+    private final List<List<Unit>> remaining;
+
+    Side(final List<Unit> order, final boolean defending, final List<Unit> enemyUnits, final Territory location,
+        final Collection<TerritoryEffect> territoryEffects, final GameData data) {
+      size = order.size();
+      int extraHitPoints = 0;
+      for (final Unit unit : order) {
+        extraHitPoints += Math.max(0, UnitAttachment.get(unit.getType()).getHitPoints() - 1 - unit.getHits());
+      }
+      this.extraHitPoints = extraHitPoints;
+      diceByStrength = new int[size][data.getDiceSides() + 1];
+      powerless = new boolean[size + 1];
+      remaining = new ArrayList<>(size + 1);
+      for (int losses = 0; losses <= size; losses++) {
+        final List<Unit> survivors = new ArrayList<>(order.subList(losses, size));
+        remaining.add(Collections.unmodifiableList(survivors));
+        if (losses == size) {
+          break;
+        }
+        final List<Unit> firing = new ArrayList<>(survivors);
+        DiceRoll.sortByStrength(firing, defending);
+        final Map<Unit, Tuple<Integer, Integer>> powerAndRolls = DiceRoll.getUnitPowerAndRollsForNormalBattles(
+            firing, new ArrayList<>(enemyUnits), defending, false, data, location, territoryEffects, false,
+            Collections.emptyList());
+        boolean canHit = false;
+        for (final Tuple<Integer, Integer> unitPowerAndRolls : powerAndRolls.values()) {
+          final int strength = unitPowerAndRolls.getFirst();
+          final int rolls = unitPowerAndRolls.getSecond();
+          if (strength > 0 && rolls > 0) {
+            diceByStrength[losses][strength] += rolls;
+            canHit = true;
+          }
+        }
+        // support and territory effects can take away all dice of units that have an attack or defense value, and a
+        // battle without a round limit would never end if neither side could hit
+        powerless[losses] = !canHit || !Match.anyMatch(survivors, defending ? Matches.unitHasDefendValueOfAtLeast(1)
+            : Matches.unitHasAttackValueOfAtLeast(1));
+      }
+    }
+
+    int rollHits(final int losses, final int diceSides, final Random random) {
+      final int[] dice = diceByStrength[losses];
+      int hits = 0;
+      for (int strength = 1; strength < dice.length; strength++) {
+        for (int i = dice[strength]; i > 0; i--) {
+          // zero based
+          if (strength > random.nextInt(diceSides)) {
+            hits++;
+          }
+        }
+      }
+      return hits;
+    }
+  }
+}
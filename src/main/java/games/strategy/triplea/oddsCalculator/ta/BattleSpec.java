@@ -0,0 +1,89 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.TerritoryEffect;
+import games.strategy.engine.data.Unit;
+
+/**
+ * A battle to calculate with {@link IOddsCalculator#calculate(List)}, holding the same data as
+ * {@link IOddsCalculator#setCalculateData}.
+ */
+public final class BattleSpec {
+  private final PlayerID attacker;
+  private final PlayerID defender;
+  private final Territory location;
+  private final List<Unit> attacking;
+  private final List<Unit> defending;
+  private final List<Unit> bombarding;
+  private final List<TerritoryEffect> territoryEffects;
+  private final int runCount;
+  private final boolean retreatWhenOnlyAirLeft;
+
+  /**
+   * @param retreatWhenOnlyAirLeft Whether the attacker retreats when only air units are left in this battle, even if
+   *        the calculator is not set to.
+   */
+  public BattleSpec(final PlayerID attacker, final PlayerID defender, final Territory location,
+      final Collection<Unit> attacking, final Collection<Unit> defending, final Collection<Unit> bombarding,
+      final Collection<TerritoryEffect> territoryEffects, final int runCount, final boolean retreatWhenOnlyAirLeft) {
+    this.attacker = attacker;
+    this.defender = defender;
+    this.location = checkNotNull(location);
+    this.attacking = Collections.unmodifiableList(new ArrayList<>(attacking));
+    this.defending = Collections.unmodifiableList(new ArrayList<>(defending));
+    this.bombarding = Collections.unmodifiableList(new ArrayList<>(bombarding));
+    this.territoryEffects = Collections.unmodifiableList(new ArrayList<>(territoryEffects));
+    this.runCount = runCount;
+    this.retreatWhenOnlyAirLeft = retreatWhenOnlyAirLeft;
+  }
+
+  public PlayerID getAttacker() {
+    return attacker;
+  }
+
+  public PlayerID getDefender() {
+    return defender;
+  }
+
+  public Territory getLocation() {
+    return location;
+  }
+
+  public List<Unit> getAttacking() {
+    return attacking;
+  }
+
+  public List<Unit> getDefending() {
+    return defending;
+  }
+
+  public List<Unit> getBombarding() {
+    return bombarding;
+  }
+
+  public List<TerritoryEffect> getTerritoryEffects() {
+    return territoryEffects;
+  }
+
+  public int getRunCount() {
+    return runCount;
+  }
+
+  public boolean isRetreatWhenOnlyAirLeft() {
+    return retreatWhenOnlyAirLeft;
+  }
+
+  @Override
+  public String toString() {
+    return "BattleSpec attacker:" + attacker + " defender:" + defender + " location:" + location + " attacking:"
+        + attacking.size() + " defending:" + defending.size() + " runCount:" + runCount;
+  }
+}
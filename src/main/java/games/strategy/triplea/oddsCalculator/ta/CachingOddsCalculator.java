@@ -0,0 +1,486 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.google.common.collect.ImmutableMultiset;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.TerritoryEffect;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.events.GameDataChangeListener;
+import games.strategy.engine.data.properties.IEditableProperty;
+import games.strategy.triplea.TripleAUnit;
+import games.strategy.triplea.delegate.TechAdvance;
+import games.strategy.triplea.delegate.TechTracker;
+
+/**
+ * Remembers the results of another odds calculator, so a battle that was already calculated is not simulated again.
+ *
+ * <p>
+ * Battles are the same if they have the same players, territory, territory effects, run count and settings, and units
+ * of the same types, owners, hits and damage, even if the units themselves differ. The results of the least recently
+ * used battles are dropped when the cache is full.
+ * </p>
+ *
+ * <p>
+ * All results are dropped when the rules, the technologies or the relationships of the players in the game data change.
+ * Whether they changed is only checked after a change was performed on the game data, or when the game data is set
+ * again. Results not used since the game data was set before the previous time are dropped too, since they keep the
+ * copies of the game data the underlying calculator made at that time.
+ * </p>
+ */
+public final class CachingOddsCalculator implements IOddsCalculator {
+  static final int DEFAULT_CAPACITY = 2000;
+
+  private final IOddsCalculator calculator;
+  private final int capacity;
+  private final Map<BattleKey, CachedResults> cache;
+  private GameData gameData = null;
+  private int generation = 0;
+  private List<Object> rulesSignature = Collections.emptyList();
+  // set by the listener below when the game data is changed, so the rules are not compared for every calculation
+  private volatile boolean gameDataChanged = true;
+  private final GameDataChangeListener gameDataChangeListener = change -> gameDataChanged = true;
+  private BattleSpec battle = null;
+  private boolean keepOneAttackingLandUnit = false;
+  private boolean amphibious = false;
+  private int retreatAfterRound = -1;
+  private int retreatAfterXUnitsLeft = -1;
+  private boolean retreatWhenOnlyAirLeft = false;
+  private String attackerOrderOfLosses = null;
+  private String defenderOrderOfLosses = null;
+  private long hits = 0;
+  private long misses = 0;
+  private long evictions = 0;
+  private long invalidations = 0;
+
+  public CachingOddsCalculator(final IOddsCalculator calculator) {
+    this(calculator, DEFAULT_CAPACITY);
+  }
+
+  public CachingOddsCalculator(final IOddsCalculator calculator, final int capacity) {
+    checkArgument(capacity > 0, "capacity must be positive");
+    this.calculator = checkNotNull(calculator);
+    this.capacity = capacity;
+    cache = new LinkedHashMap<BattleKey, CachedResults>(16, 0.75f, true) {
+      private static final long serialVersionUID = 4617532049382757013L;
+
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<BattleKey, CachedResults> eldest) {
+        if (size() > CachingOddsCalculator.this.capacity) {
+          evictions++;
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  @Override
+  public void setGameData(final GameData data) {
+    // not holding the lock, so the delegate can cancel a running calculation
+    calculator.setGameData(data);
+    synchronized (this) {
+      battle = null;
+      setListenedGameData(data);
+      generation++;
+      if (data == null) {
+        cache.clear();
+        rulesSignature = Collections.emptyList();
+        return;
+      }
+      final Iterator<CachedResults> iterator = cache.values().iterator();
+      while (iterator.hasNext()) {
+        if (iterator.next().generation < generation - 1) {
+          iterator.remove();
+        }
+      }
+      invalidateIfRulesChanged();
+    }
+  }
+
+  private void setListenedGameData(final GameData data) {
+    if (gameData != null) {
+      gameData.removeDataChangeListener(gameDataChangeListener);
+    }
+    gameData = data;
+    gameDataChanged = true;
+    if (data != null) {
+      data.addDataChangeListener(gameDataChangeListener);
+    }
+  }
+
+  @Override
+  public synchronized void setCalculateData(final PlayerID attacker, final PlayerID defender, final Territory location,
+      final Collection<Unit> attacking, final Collection<Unit> defending, final Collection<Unit> bombarding,
+      final Collection<TerritoryEffect> territoryEffects, final int runCount) {
+    battle = new BattleSpec(attacker, defender, location, attacking, defending, bombarding, territoryEffects,
+        runCount, false);
+  }
+
+  @Override
+  public AggregateResults calculate() {
+    final BattleSpec battle;
+    synchronized (this) {
+      battle = this.battle;
+    }
+    if (battle == null) {
+      throw new IllegalStateException("Called calculate before setting calculate data!");
+    }
+    return calculate(Collections.singletonList(battle)).get(0);
+  }
+
+  @Override
+  public AggregateResults setCalculateDataAndCalculate(final PlayerID attacker, final PlayerID defender,
+      final Territory location, final Collection<Unit> attacking, final Collection<Unit> defending,
+      final Collection<Unit> bombarding, final Collection<TerritoryEffect> territoryEffects, final int runCount) {
+    setCalculateData(attacker, defender, location, attacking, defending, bombarding, territoryEffects, runCount);
+    return calculate();
+  }
+
+  /**
+   * Looks up the battles in the cache and calculates all the others with a single call of the underlying calculator.
+   */
+  @Override
+  public synchronized List<AggregateResults> calculate(final List<BattleSpec> battles) {
+    invalidateIfRulesChanged();
+    final List<AggregateResults> results = new ArrayList<>(Collections.nCopies(battles.size(), null));
+    final Map<BattleKey, List<Integer>> battlesToCalculate = new LinkedHashMap<>();
+    final List<BattleSpec> specsToCalculate = new ArrayList<>();
+    for (int i = 0; i < battles.size(); i++) {
+      final BattleKey key = new BattleKey(battles.get(i), this);
+      final CachedResults cached = cache.get(key);
+      if (cached != null) {
+        hits++;
+        cached.generation = generation;
+        results.set(i, cached.results);
+      } else {
+        misses++;
+        if (!battlesToCalculate.containsKey(key)) {
+          battlesToCalculate.put(key, new ArrayList<>());
+          specsToCalculate.add(battles.get(i));
+        }
+        battlesToCalculate.get(key).add(i);
+      }
+    }
+    if (specsToCalculate.isEmpty()) {
+      return results;
+    }
+    final List<AggregateResults> calculated = calculator.calculate(specsToCalculate);
+    int calculatedIndex = 0;
+    for (final Map.Entry<BattleKey, List<Integer>> entry : battlesToCalculate.entrySet()) {
+      final AggregateResults result = calculated.get(calculatedIndex);
+      // a cancelled calculation has fewer runs, and must not be used again
+      if (result.getRollCount() >= specsToCalculate.get(calculatedIndex).getRunCount()) {
+        cache.put(entry.getKey(), new CachedResults(result, generation));
+      }
+      for (final int i : entry.getValue()) {
+        results.set(i, result);
+      }
+      calculatedIndex++;
+    }
+    return results;
+  }
+
+  private void invalidateIfRulesChanged() {
+    if (gameData == null || !gameDataChanged) {
+      return;
+    }
+    // cleared first, so a change made while comparing is not missed
+    gameDataChanged = false;
+    final List<Object> currentSignature = getRulesSignature(gameData);
+    if (!currentSignature.equals(rulesSignature)) {
+      rulesSignature = currentSignature;
+      if (!cache.isEmpty()) {
+        invalidations++;
+        cache.clear();
+      }
+    }
+  }
+
+  /**
+   * @return What the results of all battles depend on besides the battle itself: the game properties, the technologies
+   *         of all players and the relationships between them.
+   */
+  private static List<Object> getRulesSignature(final GameData data) {
+    final List<Object> signature = new ArrayList<>();
+    signature.add(data.getGameName());
+    signature.add(Objects.toString(data.getGameVersion()));
+    for (final IEditableProperty property : data.getProperties().getEditableProperties()) {
+      signature.add(property.getName());
+      signature.add(Objects.toString(property.getValue()));
+    }
+    final List<PlayerID> players = data.getPlayerList().getPlayers();
+    for (final PlayerID player : players) {
+      signature.add(player.getName());
+      for (final TechAdvance advance : TechTracker.getCurrentTechAdvances(player, data)) {
+        signature.add(advance.getName());
+      }
+      for (final PlayerID otherPlayer : players) {
+        if (player != otherPlayer) {
+          signature.add(data.getRelationshipTracker().getRelationshipType(player, otherPlayer).getName());
+        }
+      }
+    }
+    return signature;
+  }
+
+  @Override
+  public synchronized int getRunCount() {
+    return (battle == null) ? 0 : battle.getRunCount();
+  }
+
+  @Override
+  public synchronized boolean getIsReady() {
+    return gameData != null && battle != null;
+  }
+
+  @Override
+  public synchronized void setKeepOneAttackingLandUnit(final boolean bool) {
+    keepOneAttackingLandUnit = bool;
+    calculator.setKeepOneAttackingLandUnit(bool);
+  }
+
+  @Override
+  public synchronized void setAmphibious(final boolean bool) {
+    amphibious = bool;
+    calculator.setAmphibious(bool);
+  }
+
+  @Override
+  public synchronized void setRetreatAfterRound(final int value) {
+    retreatAfterRound = value;
+    calculator.setRetreatAfterRound(value);
+  }
+
+  @Override
+  public synchronized void setRetreatAfterXUnitsLeft(final int value) {
+    retreatAfterXUnitsLeft = value;
+    calculator.setRetreatAfterXUnitsLeft(value);
+  }
+
+  @Override
+  public synchronized void setRetreatWhenOnlyAirLeft(final boolean value) {
+    retreatWhenOnlyAirLeft = value;
+    calculator.setRetreatWhenOnlyAirLeft(value);
+  }
+
+  @Override
+  public synchronized void setAttackerOrderOfLosses(final String attackerOrderOfLosses) {
+    this.attackerOrderOfLosses = attackerOrderOfLosses;
+    calculator.setAttackerOrderOfLosses(attackerOrderOfLosses);
+  }
+
+  @Override
+  public synchronized void setDefenderOrderOfLosses(final String defenderOrderOfLosses) {
+    this.defenderOrderOfLosses = defenderOrderOfLosses;
+    calculator.setDefenderOrderOfLosses(defenderOrderOfLosses);
+  }
+
+  @Override
+  public void cancel() {
+    calculator.cancel();
+  }
+
+  @Override
+  public void shutdown() {
+    calculator.shutdown();
+    synchronized (this) {
+      cache.clear();
+      setListenedGameData(null);
+    }
+  }
+
+  @Override
+  public int getThreadCount() {
+    return calculator.getThreadCount();
+  }
+
+  @Override
+  public void addOddsCalculatorListener(final OddsCalculatorListener listener) {
+    calculator.addOddsCalculatorListener(listener);
+  }
+
+  @Override
+  public void removeOddsCalculatorListener(final OddsCalculatorListener listener) {
+    calculator.removeOddsCalculatorListener(listener);
+  }
+
+  public synchronized int getSize() {
+    return cache.size();
+  }
+
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  /**
+   * @return The share of battles found in the cache, between 0 and 1.
+   */
+  public synchronized double getHitRate() {
+    final long lookups = hits + misses;
+    return (lookups == 0) ? 0 : hits / (double) lookups;
+  }
+
+  /**
+   * @return How many results were dropped because the cache was full.
+   */
+  public synchronized long getEvictions() {
+    return evictions;
+  }
+
+  /**
+   * @return How many times all results were dropped because the rules, technologies or relationships changed.
+   */
+  public synchronized long getInvalidations() {
+    return invalidations;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "CachingOddsCalculator size: " + cache.size() + ", hits: " + hits + ", misses: " + misses + ", hit rate: "
+        + Math.round(getHitRate() * 100) + "%, evictions: " + evictions + ", invalidations: " + invalidations;
+  }
+
+  private static final class CachedResults {
+    private final AggregateResults results;
+    private int generation;
+
+    CachedResults(final AggregateResults results, final int generation) {
+      this.results = results;
+      this.generation = generation;
+    }
+  }
+
+  /**
+   * Identifies a battle by names and unit states only, so it keeps no game data alive.
+   */
+  private static final class BattleKey {
+    private final String attacker;
+    private final String defender;
+    private final String location;
+    private final boolean water;
+    private final ImmutableMultiset<UnitState> attacking;
+    private final ImmutableMultiset<UnitState> defending;
+    private final ImmutableMultiset<UnitState> bombarding;
+    private final ImmutableMultiset<String> territoryEffects;
+    private final int runCount;
+    private final boolean keepOneAttackingLandUnit;
+    private final boolean amphibious;
+    private final int retreatAfterRound;
+    private final int retreatAfterXUnitsLeft;
+    private final boolean retreatWhenOnlyAirLeft;
+    private final String attackerOrderOfLosses;
+    private final String defenderOrderOfLosses;
+
+    BattleKey(final BattleSpec battle, final CachingOddsCalculator settings) {
+      attacker = (battle.getAttacker() == null) ? null : battle.getAttacker().getName();
+      defender = (battle.getDefender() == null) ? null : battle.getDefender().getName();
+      location = battle.getLocation().getName();
+      water = battle.getLocation().isWater();
+      attacking = getUnitStates(battle.getAttacking());
+      defending = getUnitStates(battle.getDefending());
+      bombarding = getUnitStates(battle.getBombarding());
+      final ImmutableMultiset.Builder<String> territoryEffectNames = ImmutableMultiset.builder();
+      for (final TerritoryEffect territoryEffect : battle.getTerritoryEffects()) {
+        territoryEffectNames.add(territoryEffect.getName());
+      }
+      territoryEffects = territoryEffectNames.build();
+      runCount = battle.getRunCount();
+      keepOneAttackingLandUnit = settings.keepOneAttackingLandUnit;
+      amphibious = settings.amphibious;
+      retreatAfterRound = settings.retreatAfterRound;
+      retreatAfterXUnitsLeft = settings.retreatAfterXUnitsLeft;
+      retreatWhenOnlyAirLeft = settings.retreatWhenOnlyAirLeft || battle.isRetreatWhenOnlyAirLeft();
+      attackerOrderOfLosses = settings.attackerOrderOfLosses;
+      defenderOrderOfLosses = settings.defenderOrderOfLosses;
+    }
+
+    private static ImmutableMultiset<UnitState> getUnitStates(final Collection<Unit> units) {
+      final ImmutableMultiset.Builder<UnitState> unitStates = ImmutableMultiset.builder();
+      for (final Unit unit : units) {
+        unitStates.add(new UnitState(unit));
+      }
+      return unitStates.build();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof BattleKey)) {
+        return false;
+      }
+      final BattleKey other = (BattleKey) o;
+      return water == other.water && runCount == other.runCount
+          && keepOneAttackingLandUnit == other.keepOneAttackingLandUnit && amphibious == other.amphibious
+          && retreatAfterRound == other.retreatAfterRound && retreatAfterXUnitsLeft == other.retreatAfterXUnitsLeft
+          && retreatWhenOnlyAirLeft == other.retreatWhenOnlyAirLeft && Objects.equals(attacker, other.attacker)
+          && Objects.equals(defender, other.defender) && location.equals(other.location)
+          && attacking.equals(other.attacking) && defending.equals(other.defending)
+          && bombarding.equals(other.bombarding) && territoryEffects.equals(other.territoryEffects)
+          && Objects.equals(attackerOrderOfLosses, other.attackerOrderOfLosses)
+          && Objects.equals(defenderOrderOfLosses, other.defenderOrderOfLosses);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(attacker, defender, location, attacking, defending, bombarding, territoryEffects, runCount,
+          amphibious, retreatWhenOnlyAirLeft);
+    }
+  }
+
+  private static final class UnitState {
+    private final String type;
+    private final String owner;
+    private final int hits;
+    private final int damage;
+    private final boolean wasAmphibious;
+    private final boolean transported;
+
+    UnitState(final Unit unit) {
+      type = unit.getType().getName();
+      owner = (unit.getOwner() == null) ? null : unit.getOwner().getName();
+      hits = unit.getHits();
+      final TripleAUnit tripleAUnit = (unit instanceof TripleAUnit) ? (TripleAUnit) unit : null;
+      damage = (tripleAUnit == null) ? 0 : tripleAUnit.getUnitDamage();
+      wasAmphibious = tripleAUnit != null && tripleAUnit.getWasAmphibious();
+      transported = tripleAUnit != null && tripleAUnit.getTransportedBy() != null;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof UnitState)) {
+        return false;
+      }
+      final UnitState other = (UnitState) o;
+      return hits == other.hits && damage == other.damage && wasAmphibious == other.wasAmphibious
+          && transported == other.transported && type.equals(other.type) && Objects.equals(owner, other.owner);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(type, owner, hits, damage, wasAmphibious, transported);
+    }
+  }
+}
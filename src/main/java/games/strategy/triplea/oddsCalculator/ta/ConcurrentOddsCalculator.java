@@ -1,7 +1,10 @@
 package games.strategy.triplea.oddsCalculator.ta;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -13,6 +16,8 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -21,7 +26,7 @@ import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.TerritoryEffect;
 import games.strategy.engine.data.Unit;
-import games.strategy.engine.framework.GameDataUtils;
+import games.strategy.engine.framework.GameDataSnapshot;
 import games.strategy.util.CountUpAndDownLatch;
 
 /**
@@ -43,6 +48,10 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
   private volatile boolean isShutDown = false;
   // shortcut setting of previous game data if we are trying to set it to a new one, or shutdown
   private volatile int cancelCurrentOperation = 0;
+  // stop taking the next battle of a batch
+  private volatile boolean isBatchCancelled = false;
+  // the setting of the workers, so it can be restored after a battle that overrides it
+  private boolean retreatWhenOnlyAirLeft = false;
   // do not let calcing happen while we are setting game data
   private final CountUpAndDownLatch latchSetData = new CountUpAndDownLatch();
   // do not let setting of game data happen multiple times while we offload creating workers and copying data to a
@@ -131,50 +140,56 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
       // see how long 1 copy takes (some games can get REALLY big)
       final long startTime = System.currentTimeMillis();
       final long startMemory = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+      // take a single snapshot while holding the lock (snapshot acquires the read lock itself), every worker then makes
+      // its own copy from that snapshot without locking the game data again, so the game can continue while we copy
+      final GameDataSnapshot snapshot;
       final GameData newData;
       try {
-        // make first copy, then release lock on it so game can continue (ie: we don't want to lock on it while we copy
-        // it 16 times, when once is enough) don't let the data change while we make the first copy
-        data.acquireReadLock();
-        newData = GameDataUtils.cloneGameData(data, false);
-      } finally {
-        data.releaseReadLock();
+        snapshot = GameDataSnapshot.of(data, false);
+        newData = snapshot.newGameData();
+      } catch (final IOException e) {
+        logger.log(Level.SEVERE, "Failed to copy game data for battle calculator workers", e);
+        workers.clear();
+        isDataSet = false;
+        latchWorkerThreadsCreation.countDown();
+        latchSetData.countDown();
+        return;
       }
       currentThreads = getThreadsToUse((System.currentTimeMillis() - startTime), startMemory);
-      try {
-        // make sure all workers are using the same data
-        newData.acquireReadLock();
-        int i = 0;
-        // we are already in 1 executor thread, so we have MAX_THREADS-1 threads left to use
-        if (currentThreads <= 2 || MAX_THREADS <= 2) {
-          // if 2 or fewer threads, do not multi-thread the copying (we have already copied it once above, so at most
-          // only 1 more copy to
-          // make)
-          while (cancelCurrentOperation >= 0 && i < currentThreads) {
-            // the last one will use our already copied data from above, without copying it again
-            workers.add(new OddsCalculator(newData, (currentThreads == ++i)));
+      int i = 0;
+      // we are already in 1 executor thread, so we have MAX_THREADS-1 threads left to use
+      if (currentThreads <= 2 || MAX_THREADS <= 2) {
+        // if 2 or fewer threads, do not multi-thread the copying (we have already copied it once above, so at most
+        // only 1 more copy to make)
+        while (cancelCurrentOperation >= 0 && i < currentThreads) {
+          // the last one will use our already copied data from above, without copying it again
+          if (currentThreads == ++i) {
+            workers.add(new OddsCalculator(newData, true));
+          } else {
+            addWorkerFrom(snapshot);
           }
-        } else { // multi-thread our copying, cus why the heck not (it increases the speed of copying by about double)
-          final CountDownLatch workerLatch = new CountDownLatch(currentThreads - 1);
-          while (i < (currentThreads - 1)) {
-            ++i;
-            executor.submit(() -> {
+        }
+      } else { // multi-thread our copying, cus why the heck not (it increases the speed of copying by about double)
+        final CountDownLatch workerLatch = new CountDownLatch(currentThreads - 1);
+        while (i < (currentThreads - 1)) {
+          ++i;
+          executor.submit(() -> {
+            try {
               if (cancelCurrentOperation >= 0) {
-                workers.add(new OddsCalculator(newData, false));
+                addWorkerFrom(snapshot);
               }
+            } finally {
               workerLatch.countDown();
-            });
-          }
-          // the last one will use our already copied data from above, without copying it again
-          workers.add(new OddsCalculator(newData, true));
-          try {
-            workerLatch.await();
-          } catch (final InterruptedException e) {
-            Thread.currentThread().interrupt();
-          }
+            }
+          });
+        }
+        // the last one will use our already copied data from above, without copying it again
+        workers.add(new OddsCalculator(newData, true));
+        try {
+          workerLatch.await();
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
         }
-      } finally {
-        newData.releaseReadLock();
       }
     }
     if (cancelCurrentOperation < 0 || data == null) {
@@ -193,6 +208,18 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
     logger.fine("Initialized worker thread pool with size: " + workers.size());
   }
 
+  /**
+   * Adds a worker with its own copy of the game data. Nobody waits on the future of a copying task, so a failed copy
+   * is logged here and we simply make do with one worker less.
+   */
+  private void addWorkerFrom(final GameDataSnapshot snapshot) {
+    try {
+      workers.add(new OddsCalculator(snapshot.newGameData(), true));
+    } catch (final IOException | RuntimeException e) {
+      logger.log(Level.SEVERE, "Failed to copy game data for a battle calculator worker", e);
+    }
+  }
+
   @Override
   public void shutdown() {
     isShutDown = true;
@@ -270,43 +297,119 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
       }
       // Wait for all worker futures to complete and combine results
       final AggregateResults results = new AggregateResults(totalRunCount);
-      final Set<InterruptedException> interruptExceptions = new HashSet<>();
-      final Map<String, Set<ExecutionException>> executionExceptions = new HashMap<>();
-      for (final Future<AggregateResults> future : list) {
-        try {
-          final AggregateResults result = future.get();
-          results.addResults(result.getResults());
-        } catch (final InterruptedException e) {
-          interruptExceptions.add(e);
-        } catch (final ExecutionException e) {
-          final String cause = e.getCause().getLocalizedMessage();
-          Set<ExecutionException> exceptions = executionExceptions.get(cause);
-          if (exceptions == null) {
-            exceptions = new HashSet<>();
-          }
-          exceptions.add(e);
-          executionExceptions.put(cause, exceptions);
+      awaitWorkers(list, results::addResults);
+      results.setTime(System.currentTimeMillis() - start);
+      return results;
+    }
+  }
+
+  /**
+   * Waits for all workers to finish, passing their results to the specified consumer.
+   *
+   * @throws IllegalStateException If any worker was aborted by an exception.
+   */
+  private static <T> void awaitWorkers(final List<Future<T>> futures, final Consumer<T> resultConsumer) {
+    final Set<InterruptedException> interruptExceptions = new HashSet<>();
+    final Map<String, Set<ExecutionException>> executionExceptions = new HashMap<>();
+    for (final Future<T> future : futures) {
+      try {
+        resultConsumer.accept(future.get());
+      } catch (final InterruptedException e) {
+        interruptExceptions.add(e);
+      } catch (final ExecutionException e) {
+        final String cause = e.getCause().getLocalizedMessage();
+        Set<ExecutionException> exceptions = executionExceptions.get(cause);
+        if (exceptions == null) {
+          exceptions = new HashSet<>();
         }
+        exceptions.add(e);
+        executionExceptions.put(cause, exceptions);
       }
-      // we don't want to scare the user with 8+ errors all for the same thing
-      if (!interruptExceptions.isEmpty()) {
-        logger.log(Level.SEVERE, interruptExceptions.size() + " Battle results workers interrupted",
-            interruptExceptions.iterator().next());
+    }
+    // we don't want to scare the user with 8+ errors all for the same thing
+    if (!interruptExceptions.isEmpty()) {
+      logger.log(Level.SEVERE, interruptExceptions.size() + " Battle results workers interrupted",
+          interruptExceptions.iterator().next());
+    }
+    if (!executionExceptions.isEmpty()) {
+      Exception e = null;
+      for (final Set<ExecutionException> entry : executionExceptions.values()) {
+        if (!entry.isEmpty()) {
+          e = entry.iterator().next();
+          logger.log(Level.SEVERE, entry.size() + " Battle results workers aborted by exception", e.getCause());
+        }
       }
-      if (!executionExceptions.isEmpty()) {
-        Exception e = null;
-        for (final Set<ExecutionException> entry : executionExceptions.values()) {
-          if (!entry.isEmpty()) {
-            e = entry.iterator().next();
-            logger.log(Level.SEVERE, entry.size() + " Battle results workers aborted by exception", e.getCause());
-          }
+      if (e != null) {
+        throw new IllegalStateException(e.getCause());
+      }
+    }
+  }
+
+  /**
+   * Calculates the battles on all workers at once. Each worker calculates whole battles, taking the next one whenever
+   * it is done, so many small battles keep all threads busy instead of splitting the few runs of each battle across
+   * the threads. A single battle is split across the workers like {@link #calculate()} does.
+   *
+   * <p>
+   * The battles that were not calculated because the calculation was cancelled or the game data is being replaced get
+   * an empty result, and a worker that fails makes this method throw an {@link IllegalStateException}.
+   * </p>
+   */
+  @Override
+  public List<AggregateResults> calculate(final List<BattleSpec> battles) {
+    synchronized (mutexCalcIsRunning) {
+      if (battles.size() == 1) {
+        return Collections.singletonList(calculate(battles.get(0)));
+      }
+      awaitLatch();
+      final long start = System.currentTimeMillis();
+      isCalcSet = false;
+      isBatchCancelled = false;
+      final AggregateResults[] results = new AggregateResults[battles.size()];
+      final AtomicInteger nextBattle = new AtomicInteger();
+      final List<Future<Void>> list = new ArrayList<>();
+      for (final OddsCalculator worker : workers.subList(0, Math.min(workers.size(), battles.size()))) {
+        if (!isDataSet || isShutDown) {
+          // we could have attempted to set a new game data, while the old one was still being set, causing it to abort
+          // with null data
+          break;
         }
-        if (e != null) {
-          throw new IllegalStateException(e.getCause());
+        list.add(executor.submit(() -> {
+          for (int i = nextBattle.getAndIncrement(); i < results.length && !isBatchCancelled; i =
+              nextBattle.getAndIncrement()) {
+            results[i] = worker.calculate(battles.get(i));
+          }
+          return null;
+        }));
+      }
+      awaitWorkers(list, result -> {});
+      int notCalculated = 0;
+      for (int i = 0; i < results.length; i++) {
+        if (results[i] == null) {
+          results[i] = new AggregateResults(0);
+          notCalculated++;
         }
       }
-      results.setTime(System.currentTimeMillis() - start);
-      return results;
+      if (notCalculated > 0) {
+        logger.log(isBatchCancelled ? Level.FINE : Level.WARNING, notCalculated + " of " + results.length
+            + " battles were not calculated" + (isBatchCancelled ? ", the calculation was cancelled" : ""));
+      }
+      logger.fine("Calculated " + results.length + " battles in " + (System.currentTimeMillis() - start) + "ms");
+      return Arrays.asList(results);
+    }
+  }
+
+  private AggregateResults calculate(final BattleSpec battle) {
+    final boolean retreatWhenOnlyAirLeft = this.retreatWhenOnlyAirLeft;
+    if (battle.isRetreatWhenOnlyAirLeft()) {
+      setRetreatWhenOnlyAirLeft(true);
+    }
+    try {
+      return setCalculateDataAndCalculate(battle.getAttacker(), battle.getDefender(), battle.getLocation(),
+          battle.getAttacking(), battle.getDefending(), battle.getBombarding(), battle.getTerritoryEffects(),
+          battle.getRunCount());
+    } finally {
+      setRetreatWhenOnlyAirLeft(retreatWhenOnlyAirLeft);
     }
   }
 
@@ -378,6 +481,7 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
   public void setRetreatWhenOnlyAirLeft(final boolean value) {
     synchronized (mutexCalcIsRunning) {
       awaitLatch();
+      retreatWhenOnlyAirLeft = value;
       for (final OddsCalculator worker : workers) {
         worker.setRetreatWhenOnlyAirLeft(value);
       }
@@ -408,6 +512,7 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
   // not on purpose, we need to be able to cancel at any time
   @Override
   public void cancel() {
+    isBatchCancelled = true;
     for (final OddsCalculator worker : workers) {
       worker.cancel();
     }
@@ -1,6 +1,7 @@
 package games.strategy.triplea.oddsCalculator.ta;
 
 import java.util.Collection;
+import java.util.List;
 
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
@@ -24,6 +25,14 @@ public interface IOddsCalculator {
       final Territory location, final Collection<Unit> attacking, final Collection<Unit> defending,
       final Collection<Unit> bombarding, final Collection<TerritoryEffect> territoryEffects, final int runCount);
 
+  /**
+   * Calculates several independent battles, replacing any data set with {@link #setCalculateData}.
+   *
+   * @return The results of the battles, in the same order. A battle that was not calculated, for example because the
+   *         calculation was cancelled, has a result with a roll count of 0.
+   */
+  List<AggregateResults> calculate(final List<BattleSpec> battles);
+
   int getRunCount();
 
   boolean getIsReady();
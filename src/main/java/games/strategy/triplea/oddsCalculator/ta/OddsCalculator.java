@@ -6,9 +6,12 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Properties;
+import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
 
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.CompositeChange;
@@ -166,7 +169,6 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
     isRunning = true;
     final long start = System.currentTimeMillis();
     final AggregateResults rVal = new AggregateResults(count);
-    final BattleTracker battleTracker = new BattleTracker();
     // CasualtySortingCaching can cause issues if there is more than 1 one battle being calced at the same time (like if
     // the AI and a human
     // are both using the calc)
@@ -177,6 +179,32 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
         OddsCalculator.getUnitListByOrderOfLoss(this.attackerOrderOfLosses, attackingUnits, gameData);
     final List<Unit> defenderOrderOfLosses =
         OddsCalculator.getUnitListByOrderOfLoss(this.defenderOrderOfLosses, defendingUnits, gameData);
+    final Optional<BattleSimulator> simulator = BattleSimulator.compile(gameData, attacker, defender, location,
+        attackingUnits, defendingUnits, bombardingUnits, territoryEffects, amphibious, keepOneAttackingLandUnit,
+        retreatAfterRound, retreatAfterXUnitsLeft, retreatWhenOnlyAirLeft, attackerOrderOfLosses,
+        defenderOrderOfLosses);
+    if (simulator.isPresent()) {
+      simulate(simulator.get(), count, rVal);
+    } else {
+      fight(count, attackerOrderOfLosses, defenderOrderOfLosses, rVal);
+    }
+    // BattleCalculator.DisableCasualtySortingCaching();
+    rVal.setTime(System.currentTimeMillis() - start);
+    isRunning = false;
+    cancelled = false;
+    return rVal;
+  }
+
+  private void simulate(final BattleSimulator simulator, final int count, final AggregateResults results) {
+    final Random random = ThreadLocalRandom.current();
+    for (int i = 0; i < count && !cancelled; i++) {
+      results.addResult(simulator.fight(random));
+    }
+  }
+
+  private void fight(final int count, final List<Unit> attackerOrderOfLosses, final List<Unit> defenderOrderOfLosses,
+      final AggregateResults results) {
+    final BattleTracker battleTracker = new BattleTracker();
     for (int i = 0; i < count && !cancelled; i++) {
       final CompositeChange allChanges = new CompositeChange();
       final DummyDelegateBridge bridge1 =
@@ -191,17 +219,33 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
       // battle.setAttackingFromAndMap(attackingFromMap);
       bridge1.setBattle(battle);
       battle.fight(bridge);
-      rVal.addResult(new BattleResults(battle, gameData));
+      results.addResult(new BattleResults(battle, gameData));
       // restore the game to its original state
       gameData.performChange(allChanges.invert());
       battleTracker.clear();
       battleTracker.clearBattleRecords();
     }
-    // BattleCalculator.DisableCasualtySortingCaching();
-    rVal.setTime(System.currentTimeMillis() - start);
-    isRunning = false;
-    cancelled = false;
-    return rVal;
+  }
+
+  @Override
+  public List<AggregateResults> calculate(final List<BattleSpec> battles) {
+    final List<AggregateResults> results = new ArrayList<>(battles.size());
+    for (final BattleSpec battle : battles) {
+      results.add(calculate(battle));
+    }
+    return results;
+  }
+
+  AggregateResults calculate(final BattleSpec battle) {
+    final boolean retreatWhenOnlyAirLeft = this.retreatWhenOnlyAirLeft;
+    this.retreatWhenOnlyAirLeft |= battle.isRetreatWhenOnlyAirLeft();
+    try {
+      return setCalculateDataAndCalculate(battle.getAttacker(), battle.getDefender(), battle.getLocation(),
+          battle.getAttacking(), battle.getDefending(), battle.getBombarding(), battle.getTerritoryEffects(),
+          battle.getRunCount());
+    } finally {
+      this.retreatWhenOnlyAirLeft = retreatWhenOnlyAirLeft;
+    }
   }
 
   @Override
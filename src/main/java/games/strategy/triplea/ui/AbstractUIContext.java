@@ -43,6 +43,7 @@ public abstract class AbstractUIContext implements IUIContext {
   protected static final String SHOW_TRIGGERED_CHANCE_FAILURE = "ShowTriggeredChanceFailure";
   protected static final String SHOW_BATTLES_BETWEEN_AIS = "ShowBattlesBetweenAIs";
   protected static ResourceLoader resourceLoader;
+  private static volatile boolean aiPauseDisabled = false;
 
   protected boolean isShutDown = false;
   protected final List<Window> windowsToCloseOnShutdown = new ArrayList<>();
@@ -56,7 +57,15 @@ public abstract class AbstractUIContext implements IUIContext {
   }
 
   public static int getAiPauseDuration() {
-    return ClientContext.aiSettings().getAiPauseDuration();
+    return aiPauseDisabled ? 0 : ClientContext.aiSettings().getAiPauseDuration();
+  }
+
+  /**
+   * Sets whether the AIs play without pausing, whatever the AI pause duration preference is. Meant for games nobody
+   * watches, such as AI tournaments.
+   */
+  public static void setAiPauseDisabled(final boolean disabled) {
+    aiPauseDisabled = disabled;
   }
 
   @Override
@@ -2,20 +2,46 @@ package games.strategy.util;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Utility for getting/setting java bean style properties on an object.
+ *
+ * <p>
+ * The reflective lookup of a setter, resetter or backing field is done once per class and property. The result is
+ * kept as a {@link MethodHandle} and reused for every later access to the same property on any instance of that
+ * class.
+ * </p>
  */
 public class PropertyUtil {
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+  private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+  private static final MethodType RESETTER_TYPE = MethodType.methodType(void.class, Object.class);
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+  private static final ClassValue<Accessors> ACCESSORS = new ClassValue<Accessors>() {
+    @Override
+    protected Accessors computeValue(final Class<?> type) {
+      return new Accessors(type);
+    }
+  };
 
   public static void set(final String propertyName, final Object value, final Object subject) {
-    final Method m = getSetter(propertyName, subject, value);
+    final Setter setter = ACCESSORS.get(subject.getClass()).getSetter(propertyName);
+    if (setter.first == null) {
+      throw new IllegalStateException("No method called:" + setter.name + " on:" + subject);
+    }
     try {
-      m.setAccessible(true);
-      m.invoke(subject, value);
-    } catch (final Exception e) {
+      setter.getHandle(value).invokeExact(subject, value);
+    } catch (final Throwable e) {
       throw new IllegalStateException(
           "Could not set property:" + propertyName + " subject:" + subject + " new value:" + value, e);
     }
@@ -34,12 +60,28 @@ public class PropertyUtil {
     set(propertyName, value, subject);
   }
 
+  /**
+   * Sets a property from its string form, as found in a game xml, using the setter that takes exactly one String.
+   *
+   * @throws NoSuchMethodException If the subject has no such setter.
+   * @throws InvocationTargetException If the setter throws an exception, which is wrapped.
+   */
+  public static void setFromString(final String propertyName, final String value, final Object subject)
+      throws NoSuchMethodException, InvocationTargetException {
+    final Setter setter = ACCESSORS.get(subject.getClass()).getSetter(propertyName);
+    final MethodHandle handle = setter.getExactHandle(String.class)
+        .orElseThrow(() -> new NoSuchMethodException(setter.name + "(String) on:" + subject));
+    try {
+      handle.invokeExact(subject, (Object) value);
+    } catch (final Throwable e) {
+      throw new InvocationTargetException(e);
+    }
+  }
+
   public static void reset(final String propertyName, final Object subject) {
     try {
-      final Method c = getResetter(propertyName, subject);
-      c.setAccessible(true);
-      c.invoke(subject);
-    } catch (final Exception e) {
+      ACCESSORS.get(subject.getClass()).getResetter(propertyName).invokeExact(subject);
+    } catch (final Throwable e) {
       throw new IllegalStateException("Could not reset property:" + propertyName + " subject:" + subject, e);
     }
   }
@@ -66,10 +108,8 @@ public class PropertyUtil {
 
   public static Object getPropertyFieldObject(final String propertyName, final Object subject) {
     try {
-      final Field field = getPropertyField(propertyName, subject);
-      field.setAccessible(true);
-      return field.get(subject);
-    } catch (final Exception e) {
+      return ACCESSORS.get(subject.getClass()).getGetter(propertyName).invokeExact(subject);
+    } catch (final Throwable e) {
       final String msg =
           "No such Property Field named: " + "m_" + propertyName + ", or: " + propertyName + ", for Subject: "
               + subject.toString();
@@ -77,10 +117,6 @@ public class PropertyUtil {
     }
   }
 
-  private static Field getPropertyField(final String propertyName, final Object subject) {
-    return getPropertyField(propertyName, subject.getClass());
-  }
-
   /**
    * Gets the backing field for the property with the specified name in the specified type.
    *
@@ -108,42 +144,109 @@ public class PropertyUtil {
     return first + str.substring(1);
   }
 
-  private static Method getSetter(final String propertyName, final Object subject, final Object value) {
-    final String setterName = "set" + capitalizeFirstLetter(propertyName);
-    // for (final Method m : subject.getClass().getDeclaredMethods())
-    for (final Method m : subject.getClass().getMethods()) {
-      if (m.getName().equals(setterName)) {
+  private static MethodHandle unreflect(final Method method, final MethodType type) {
+    try {
+      method.setAccessible(true);
+      return LOOKUP.unreflect(method).asType(type);
+    } catch (final IllegalAccessException e) {
+      throw new IllegalStateException("Could not access method:" + method, e);
+    }
+  }
+
+  /**
+   * The property accessors of one class, looked up the first time each property is used.
+   */
+  private static final class Accessors {
+    private final Class<?> type;
+    private final ConcurrentMap<String, Setter> setters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, MethodHandle> resetters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, MethodHandle> getters = new ConcurrentHashMap<>();
+
+    private Accessors(final Class<?> type) {
+      this.type = type;
+    }
+
+    private Setter getSetter(final String propertyName) {
+      return setters.computeIfAbsent(propertyName, name -> new Setter(type, "set" + capitalizeFirstLetter(name)));
+    }
+
+    private MethodHandle getResetter(final String propertyName) {
+      return resetters.computeIfAbsent(propertyName, name -> {
+        final String resetterName = "reset" + capitalizeFirstLetter(name);
+        for (final Method c : type.getMethods()) {
+          if (c.getName().equals(resetterName)) {
+            try {
+              return unreflect(type.getMethod(resetterName), RESETTER_TYPE);
+            } catch (final NoSuchMethodException nsmf) {
+              // Go ahead and try the first one
+              return unreflect(c, RESETTER_TYPE);
+            }
+          }
+        }
+        throw new IllegalStateException("No method called:" + resetterName + " on:" + type.getName());
+      });
+    }
+
+    private MethodHandle getGetter(final String propertyName) {
+      return getters.computeIfAbsent(propertyName, name -> {
+        final Field field = getPropertyField(name, type);
+        field.setAccessible(true);
         try {
-          final Class<?> argType = value.getClass();
-          return subject.getClass().getMethod(setterName, argType);
-        } catch (final NoSuchMethodException nsmf) {
-          // Go ahead and try the first one
-          return m;
-        } catch (final NullPointerException n) {
-          // Go ahead and try the first one
-          return m;
+          return LOOKUP.unreflectGetter(field).asType(GETTER_TYPE);
+        } catch (final IllegalAccessException e) {
+          throw new IllegalStateException("Could not access field:" + field, e);
         }
-      }
+      });
     }
-    throw new IllegalStateException("No method called:" + setterName + " on:" + subject);
   }
 
-  private static Method getResetter(final String propertyName, final Object subject) {
-    final String resetterName = "reset" + capitalizeFirstLetter(propertyName);
-    // for (final Method c : subject.getClass().getDeclaredMethods())
-    for (final Method c : subject.getClass().getMethods()) {
-      if (c.getName().equals(resetterName)) {
-        try {
-          return subject.getClass().getMethod(resetterName);
-        } catch (final NoSuchMethodException nsmf) {
-          // Go ahead and try the first one
-          return c;
-        } catch (final NullPointerException n) {
-          // Go ahead and try the first one
-          return c;
+  /**
+   * All setters with the same name on one class. When there are several overloads, the one taking exactly the class
+   * of the new value is used, otherwise the first one found.
+   */
+  private static final class Setter {
+    private final Class<?> type;
+    private final String name;
+    private final Method first;
+    private final ConcurrentMap<Class<?>, Optional<MethodHandle>> exactHandles = new ConcurrentHashMap<>();
+    private volatile MethodHandle firstHandle;
+
+    private Setter(final Class<?> type, final String name) {
+      this.type = type;
+      this.name = name;
+      Method first = null;
+      for (final Method m : type.getMethods()) {
+        if (m.getName().equals(name)) {
+          first = m;
+          break;
+        }
+      }
+      this.first = first;
+    }
+
+    private MethodHandle getHandle(final Object value) {
+      if (value != null) {
+        final Optional<MethodHandle> exactHandle = getExactHandle(value.getClass());
+        if (exactHandle.isPresent()) {
+          return exactHandle.get();
         }
       }
+      MethodHandle handle = firstHandle;
+      if (handle == null) {
+        handle = unreflect(first, SETTER_TYPE);
+        firstHandle = handle;
+      }
+      return handle;
+    }
+
+    private Optional<MethodHandle> getExactHandle(final Class<?> valueType) {
+      return exactHandles.computeIfAbsent(valueType, argType -> {
+        try {
+          return Optional.of(unreflect(type.getMethod(name, argType), SETTER_TYPE));
+        } catch (final NoSuchMethodException e) {
+          return Optional.empty();
+        }
+      });
     }
-    throw new IllegalStateException("No method called:" + resetterName + " on:" + subject);
   }
 }
@@ -30,6 +30,8 @@ public class LobbyPropertyReaderTest {
       writer.write(keyValuePair(LobbyPropertyReader.PropertyKeys.port, String.valueOf(TestData.fakePort)));
       writer.write(keyValuePair(LobbyPropertyReader.PropertyKeys.postgresUser, TestData.fakeUser));
       writer.write(keyValuePair(LobbyPropertyReader.PropertyKeys.postgresPassword, TestData.fakePassword));
+      writer.write(
+          keyValuePair(LobbyPropertyReader.PropertyKeys.rsaKeyPoolSize, String.valueOf(TestData.fakePoolSize)));
     }
 
     testObj = new LobbyPropertyReader(testFile);
@@ -55,9 +57,20 @@ public class LobbyPropertyReaderTest {
     assertThat(testObj.getPostgresPassword(), is(TestData.fakePassword));
   }
 
+  @Test
+  public void rsaKeyPoolSize() throws Exception {
+    assertThat(testObj.getRsaKeyPoolSize(), is(TestData.fakePoolSize));
+  }
+
+  @Test
+  public void rsaKeyPoolLowWaterMarkShouldDefaultWhenMissing() throws Exception {
+    assertThat(testObj.getRsaKeyPoolLowWaterMark(), is(8));
+  }
+
   private interface TestData {
     int fakePort = 100;
     String fakeUser = "funnyName";
     String fakePassword = "funnyPasssword";
+    int fakePoolSize = 5;
   }
 }
@@ -5,11 +5,14 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Set;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import games.strategy.triplea.delegate.Matches;
 import games.strategy.util.Match;
 
 public class MapTest {
@@ -240,4 +243,82 @@ public class MapTest {
     assertTrue(neighbors.contains(bb));
     assertTrue(neighbors.contains(ca));
   }
+
+  @Test
+  public void testCachedConditionsMatchUncachedSearch() {
+    // equivalent conditions that are not cached, so they take the uncached search path
+    final Match<Territory> anyTerritory = Match.of(t -> true);
+    final Match<Territory> land = Match.of(t -> !t.isWater());
+    final Match<Territory> water = Match.of(Territory::isWater);
+    for (final Territory start : map) {
+      for (final Territory end : map) {
+        assertEquals(map.getDistance(start, end, anyTerritory), map.getDistance(start, end));
+        assertEquals(map.getDistance(start, end, land), map.getLandDistance(start, end));
+        assertEquals(map.getDistance(start, end, water), map.getWaterDistance(start, end));
+        assertSameLength(map.getRoute(start, end, anyTerritory), map.getRoute(start, end));
+        assertSameLength(map.getRoute(start, end, land), map.getLandRoute(start, end));
+        assertSameLength(map.getRoute(start, end, water), map.getWaterRoute(start, end));
+      }
+      for (int distance = 2; distance < 7; distance++) {
+        assertEquals(map.getNeighbors(start, distance, anyTerritory), map.getNeighbors(start, distance));
+        assertEquals(map.getNeighbors(start, distance, land),
+            map.getNeighbors(start, distance, Matches.TerritoryIsLand));
+        assertEquals(map.getNeighbors(start, distance, water),
+            map.getNeighbors(start, distance, Matches.TerritoryIsWater));
+      }
+    }
+  }
+
+  private void assertSameLength(final Route expected, final Route actual) {
+    if (expected == null) {
+      assertNull(actual);
+      return;
+    }
+    assertNotNull(actual);
+    assertEquals(expected.getStart(), actual.getStart());
+    assertEquals(expected.getEnd(), actual.getEnd());
+    assertEquals(expected.numberOfSteps(), actual.numberOfSteps());
+    assertTrue(map.isValidRoute(actual));
+  }
+
+  @Test
+  public void testCachedRoutesFollowNewConnections() {
+    assertEquals(3, map.getDistance(ca, cd));
+    assertEquals(-1, map.getLandDistance(ca, cd));
+    map.addConnection(cb, cd);
+    assertEquals(2, map.getDistance(ca, cd));
+    assertEquals(2, map.getLandDistance(ca, cd));
+    assertEquals(Arrays.asList(ca, cb, cd), map.getLandRoute(ca, cd).getAllTerritories());
+  }
+
+  @Test
+  public void testCompositeRouteAvoidsExpensiveTerritories() {
+    final HashMap<Match<Territory>, Integer> matches = new HashMap<>();
+    matches.put(Match.of(t -> t == bb || t == cb), 10);
+    matches.put(Match.of(t -> !t.isWater() && t != bb && t != cb), 1);
+    assertEquals(Arrays.asList(ab, aa, ba, ca, da, db), map.getCompositeRoute(ab, db, matches).getAllTerritories());
+  }
+
+  @Test
+  public void testRouteFinderUsesMoveCost() {
+    final RouteFinder routeFinder = new RouteFinder(map, Match.of(t -> !t.isWater()),
+        (from, to) -> (to == bb || to == cb) ? 10 : 1);
+    assertEquals(Arrays.asList(ab, aa, ba, ca, da, db), routeFinder.findRoute(ab, db).getAllTerritories());
+  }
+
+  @Test
+  public void testRouteFinderHandlesLongRoutes() {
+    final GameMap chain = new GameMap(null);
+    Territory previous = null;
+    for (int i = 0; i < 20000; i++) {
+      final Territory current = new Territory("t" + i, false, null);
+      chain.addTerritory(current);
+      if (previous != null) {
+        chain.addConnection(previous, current);
+      }
+      previous = current;
+    }
+    final Route route = chain.getRoute(chain.getTerritory("t0"), previous, Match.of(t -> true));
+    assertEquals(19999, route.numberOfSteps());
+  }
 }
@@ -0,0 +1,128 @@
+package games.strategy.engine.data.changefactory;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.russians;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Resource;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.TripleAUnit;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class ChangeCompactorTest {
+  private GameData gameData;
+  private Territory germany;
+  private Territory easternEurope;
+  private Territory southernEurope;
+  private List<Unit> units;
+
+  @Before
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.REVISED.getGameData();
+    germany = territory("Germany", gameData);
+    easternEurope = territory("Eastern Europe", gameData);
+    southernEurope = territory("Southern Europe", gameData);
+    units = infantry(gameData).create(2, germans(gameData));
+    gameData.performChange(ChangeFactory.addUnits(germany, units));
+  }
+
+  private static List<Change> getChanges(final Change change) {
+    return ((CompositeChange) change).getChanges();
+  }
+
+  @Test
+  public void unitsMovedSeveralTimesShouldBeMovedOnce() {
+    final List<Change> changes = Arrays.asList(ChangeFactory.moveUnits(germany, easternEurope, units),
+        ChangeFactory.moveUnits(easternEurope, southernEurope, units));
+    final Change compacted = ChangeCompactor.compact(changes);
+
+    assertEquals(2, getChanges(compacted).size());
+    gameData.performChange(compacted);
+    assertTrue(southernEurope.getUnits().getUnits().containsAll(units));
+    assertFalse(easternEurope.getUnits().getUnits().contains(units.get(0)));
+    assertFalse(germany.getUnits().getUnits().contains(units.get(0)));
+    gameData.performChange(compacted.invert());
+    assertTrue(germany.getUnits().getUnits().containsAll(units));
+    assertFalse(southernEurope.getUnits().getUnits().contains(units.get(0)));
+  }
+
+  @Test
+  public void unitsMovedBackShouldNotBeMoved() {
+    final List<Change> changes = Arrays.asList(ChangeFactory.moveUnits(germany, easternEurope, units),
+        ChangeFactory.moveUnits(easternEurope, germany, units));
+    final Change compacted = ChangeCompactor.compact(changes);
+
+    assertTrue(getChanges(compacted).isEmpty());
+  }
+
+  @Test
+  public void propertyChangesShouldKeepFirstOldAndLastNewValue() {
+    final Unit unit = units.get(0);
+    final Change first = ChangeFactory.unitPropertyChange(unit, 1, TripleAUnit.ALREADY_MOVED);
+    gameData.performChange(first);
+    final Change second = ChangeFactory.unitPropertyChange(unit, 3, TripleAUnit.ALREADY_MOVED);
+    gameData.performChange(second);
+
+    final Change compacted = ChangeCompactor.compact(Arrays.asList(first, second));
+
+    assertEquals(1, getChanges(compacted).size());
+    gameData.performChange(compacted.invert());
+    assertEquals(0, TripleAUnit.get(unit).getAlreadyMoved());
+    gameData.performChange(compacted);
+    assertEquals(3, TripleAUnit.get(unit).getAlreadyMoved());
+  }
+
+  @Test
+  public void resourceChangesShouldBeAddedUp() {
+    final Resource pus = gameData.getResourceList().getResource(Constants.PUS);
+    final int quantity = germans(gameData).getResources().getQuantity(pus);
+
+    final Change compacted = ChangeCompactor.compact(Arrays.asList(
+        ChangeFactory.changeResourcesChange(germans(gameData), pus, 5),
+        ChangeFactory.changeResourcesChange(germans(gameData), pus, -2),
+        ChangeFactory.changeResourcesChange(russians(gameData), pus, 4),
+        ChangeFactory.changeResourcesChange(russians(gameData), pus, -4)));
+
+    assertEquals(1, getChanges(compacted).size());
+    gameData.performChange(compacted);
+    assertEquals(quantity + 3, germans(gameData).getResources().getQuantity(pus));
+  }
+
+  @Test
+  public void ownerChangesShouldKeepFirstOldAndLastNewOwner() {
+    final Change first = ChangeFactory.changeOwner(easternEurope, russians(gameData));
+    gameData.performChange(first);
+    final Change second = ChangeFactory.changeOwner(easternEurope, germans(gameData));
+    gameData.performChange(second);
+
+    assertTrue(getChanges(ChangeCompactor.compact(Arrays.asList(first, second))).isEmpty());
+  }
+
+  @Test
+  public void otherChangesShouldNotBeCombinedAcross() {
+    final List<Change> changes = Arrays.asList(ChangeFactory.moveUnits(germany, easternEurope, units),
+        ChangeFactory.setProperty("compactor test", Boolean.TRUE, gameData),
+        ChangeFactory.moveUnits(easternEurope, southernEurope, units));
+    final Change compacted = ChangeCompactor.compact(changes);
+
+    assertEquals(5, getChanges(compacted).size());
+    gameData.performChange(compacted);
+    assertTrue(southernEurope.getUnits().getUnits().containsAll(units));
+    assertEquals(Boolean.TRUE, gameData.getProperties().get("compactor test"));
+  }
+}
@@ -0,0 +1,61 @@
+package games.strategy.engine.framework;
+
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import games.strategy.engine.data.GameData;
+
+public class AutoSaveWriterTest {
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final AutoSaveWriter autoSaveWriter = new AutoSaveWriter();
+
+  @Test
+  public void writtenAutoSaveShouldLoadLikeASavedGame() throws Exception {
+    final GameData data = new GameData();
+    final File file = new File(temporaryFolder.getRoot(), "autosave.tsvg");
+
+    autoSaveWriter.write(file, GameDataManager.serializeGame(data), 0);
+    autoSaveWriter.shutDown(10, TimeUnit.SECONDS);
+
+    final GameData loaded = GameDataManager.loadGame(file);
+    assertEquals(data.getProperties().get(GameData.GAME_UUID), loaded.getProperties().get(GameData.GAME_UUID));
+    assertEquals(1, autoSaveWriter.getSaveCount());
+  }
+
+  @Test
+  public void laterAutoSavesShouldReplaceEarlierOnesWithoutLeavingTemporaryFiles() throws Exception {
+    final File file = new File(temporaryFolder.getRoot(), "autosave.tsvg");
+    GameData last = null;
+    for (int i = 0; i < AutoSaveWriter.MAX_PENDING_SAVES * 3; i++) {
+      last = new GameData();
+      autoSaveWriter.write(file, GameDataManager.serializeGame(last), 0);
+    }
+    autoSaveWriter.shutDown(10, TimeUnit.SECONDS);
+
+    final GameData loaded = GameDataManager.loadGame(file);
+    assertEquals(last.getProperties().get(GameData.GAME_UUID), loaded.getProperties().get(GameData.GAME_UUID));
+    assertThat(temporaryFolder.getRoot().list(), arrayContaining("autosave.tsvg"));
+  }
+
+  @Test
+  public void shuttingDownAgainShouldDropLaterAutoSaves() throws Exception {
+    final File file = new File(temporaryFolder.getRoot(), "autosave.tsvg");
+    autoSaveWriter.write(file, GameDataManager.serializeGame(new GameData()), 0);
+    autoSaveWriter.shutDown(10, TimeUnit.SECONDS);
+
+    autoSaveWriter.shutDown(10, TimeUnit.SECONDS);
+    autoSaveWriter.write(file, GameDataManager.serializeGame(new GameData()), 0);
+
+    assertEquals(1, autoSaveWriter.getSaveCount());
+  }
+}
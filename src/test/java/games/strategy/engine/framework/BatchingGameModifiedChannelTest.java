@@ -0,0 +1,91 @@
+package games.strategy.engine.framework;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
+
+public class BatchingGameModifiedChannelTest {
+  private final IGameModifiedChannel broadcaster = mock(IGameModifiedChannel.class);
+  private final BatchingGameModifiedChannel channel = new BatchingGameModifiedChannel(broadcaster, 60_000);
+
+  @Test
+  public void changesShouldBeSentAsOneCompositeChangeBeforeTheNextHistoryEvent() {
+    channel.gameDataChanged(mock(Change.class));
+    channel.gameDataChanged(mock(Change.class));
+    verify(broadcaster, never()).gameDataChanged(any());
+
+    channel.startHistoryEvent("event");
+
+    final ArgumentCaptor<Change> batch = ArgumentCaptor.forClass(Change.class);
+    final InOrder inOrder = inOrder(broadcaster);
+    inOrder.verify(broadcaster).gameDataChanged(batch.capture());
+    inOrder.verify(broadcaster).startHistoryEvent("event");
+    assertThat(batch.getValue(), is(instanceOf(CompositeChange.class)));
+  }
+
+  @Test
+  public void aSingleChangeShouldBeSentAsItIs() {
+    final Change change = mock(Change.class);
+    channel.gameDataChanged(change);
+
+    channel.flush();
+
+    verify(broadcaster).gameDataChanged(change);
+  }
+
+  @Test
+  public void emptyChangesShouldBeDropped() {
+    final Change change = mock(Change.class);
+    when(change.isEmpty()).thenReturn(true);
+    channel.gameDataChanged(change);
+
+    channel.addChildToEvent("child", null);
+
+    verify(broadcaster, never()).gameDataChanged(any());
+    verify(broadcaster).addChildToEvent("child", null);
+  }
+
+  @Test
+  public void changesShouldBeSentOnceTooManyAreHeldBack() {
+    for (int i = 0; i < BatchingGameModifiedChannel.MAX_BATCH_SIZE; i++) {
+      channel.gameDataChanged(mock(Change.class));
+    }
+
+    verify(broadcaster).gameDataChanged(any());
+  }
+
+  @Test
+  public void changesShouldBeSentAfterTheLingerTime() {
+    final BatchingGameModifiedChannel lingeringChannel = new BatchingGameModifiedChannel(broadcaster, 10);
+    lingeringChannel.gameDataChanged(mock(Change.class));
+
+    verify(broadcaster, timeout(5000)).gameDataChanged(any());
+  }
+
+  @Test
+  public void shutDownShouldSendTheChangesHeldBackFirst() {
+    channel.gameDataChanged(mock(Change.class));
+
+    channel.shutDown();
+    channel.flush();
+
+    final InOrder inOrder = inOrder(broadcaster);
+    inOrder.verify(broadcaster, times(1)).gameDataChanged(any());
+    inOrder.verify(broadcaster).shutDown();
+  }
+}
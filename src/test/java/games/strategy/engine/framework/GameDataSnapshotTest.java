@@ -0,0 +1,67 @@
+package games.strategy.engine.framework;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class GameDataSnapshotTest {
+  private GameData gameData;
+
+  @Before
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.REVISED.getGameData();
+  }
+
+  @Test
+  public void newGameDataShouldCopyTheSnapshottedState() throws Exception {
+    final GameData copy = GameDataSnapshot.of(gameData, false).newGameData();
+
+    assertNotSame(gameData, copy);
+    assertEquals(gameData.getGameName(), copy.getGameName());
+    assertEquals(gameData.getMap().getTerritories().size(), copy.getMap().getTerritories().size());
+    assertEquals(gameData.getProperties().get(GameData.GAME_UUID), copy.getProperties().get(GameData.GAME_UUID));
+  }
+
+  @Test
+  public void copiesFromTheSameSnapshotShouldBeIndependent() throws Exception {
+    final GameDataSnapshot snapshot = GameDataSnapshot.of(gameData, false);
+    final GameData first = snapshot.newGameData();
+    final GameData second = snapshot.newGameData();
+    final Territory germany = first.getMap().getTerritory("Germany");
+    final int unitCount = germany.getUnits().size();
+    assertTrue(unitCount > 0);
+
+    first.performChange(ChangeFactory.removeUnits(germany, germany.getUnits().getUnits()));
+
+    assertEquals(0, germany.getUnits().size());
+    assertEquals(unitCount, second.getMap().getTerritory("Germany").getUnits().size());
+    assertEquals(unitCount, gameData.getMap().getTerritory("Germany").getUnits().size());
+  }
+
+  @Test
+  public void snapshotShouldNotChangeWhenSourceChanges() throws Exception {
+    final GameDataSnapshot snapshot = GameDataSnapshot.of(gameData, false);
+    final Territory germany = gameData.getMap().getTerritory("Germany");
+    final int unitCount = germany.getUnits().size();
+
+    gameData.performChange(ChangeFactory.removeUnits(germany, germany.getUnits().getUnits()));
+
+    assertEquals(unitCount, snapshot.newGameData().getMap().getTerritory("Germany").getUnits().size());
+  }
+
+  @Test
+  public void newGameDataShouldOnlyCopyDelegatesWhenRequested() throws Exception {
+    assertNotNull(GameDataSnapshot.of(gameData, true).newGameData().getDelegateList().getDelegate("move"));
+    assertNull(GameDataSnapshot.of(gameData, false).newGameData().getDelegateList().getDelegate("move"));
+  }
+}
@@ -0,0 +1,33 @@
+package games.strategy.engine.framework;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.PlayerID;
+
+public class GameModificationTest {
+  private final IGameModifiedChannel channel = mock(IGameModifiedChannel.class);
+
+  @Test
+  public void applyToShouldMakeTheRecordedCalls() {
+    final Change change = mock(Change.class);
+    final PlayerID player = mock(PlayerID.class);
+    final Object renderingData = new Object();
+
+    GameModification.stepChanged("step", "delegate", player, 3, "Step", false).applyTo(channel);
+    GameModification.startHistoryEvent("event", renderingData).applyTo(channel);
+    GameModification.gameDataChanged(change).applyTo(channel);
+    GameModification.addChildToEvent("child", null).applyTo(channel);
+
+    final InOrder inOrder = inOrder(channel);
+    inOrder.verify(channel).stepChanged("step", "delegate", player, 3, "Step", false);
+    inOrder.verify(channel).startHistoryEvent("event", renderingData);
+    inOrder.verify(channel).gameDataChanged(change);
+    inOrder.verify(channel).addChildToEvent("child", null);
+    inOrder.verifyNoMoreInteractions();
+  }
+}
@@ -0,0 +1,51 @@
+package games.strategy.engine.framework;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class GameObjectStreamFactoryTest {
+  private GameData gameData;
+  private GameObjectStreamFactory factory;
+
+  @Before
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.REVISED.getGameData();
+    factory = new GameObjectStreamFactory(gameData);
+  }
+
+  @Test
+  public void changesShouldSurviveARoundTripWithRegisteredTypes() throws Exception {
+    final Territory germany = territory("Germany", gameData);
+    final int unitCount = germany.getUnits().getUnitCount(infantry(gameData), germans(gameData));
+    final Change change = ChangeFactory.addUnits(germany, infantry(gameData).create(2, germans(gameData)));
+
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    try (final ObjectOutputStream out = factory.createWithRegisteredTypes(sink)) {
+      out.writeObject(change);
+    }
+    final Change read;
+    try (final ObjectInputStream in = factory.createWithRegisteredTypes(new ByteArrayInputStream(sink.toByteArray()))) {
+      read = (Change) in.readObject();
+    }
+    gameData.performChange(read);
+
+    // the infantry type and the owner are resolved to the objects of the local game data
+    assertEquals(unitCount + 2, germany.getUnits().getUnitCount(infantry(gameData), germans(gameData)));
+  }
+}
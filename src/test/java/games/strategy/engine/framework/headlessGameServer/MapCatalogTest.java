@@ -0,0 +1,112 @@
+package games.strategy.engine.framework.headlessGameServer;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MapCatalogTest {
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final AtomicInteger readCount = new AtomicInteger();
+  private File cacheFile;
+  private File mapFolder;
+  private File gameFile;
+
+  @Before
+  public void setUp() throws Exception {
+    cacheFile = new File(temporaryFolder.getRoot(), "mapCatalog.cache");
+    mapFolder = temporaryFolder.newFolder("maps", "someMap");
+    final File games = new File(mapFolder, "games");
+    games.mkdirs();
+    gameFile = new File(games, "someGame.xml");
+    write(gameFile, "first");
+  }
+
+  private static void write(final File file, final String content) throws IOException {
+    Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private MapCatalog newCatalog(final String engineVersion) {
+    return new MapCatalog(cacheFile, engineVersion, this::readGame);
+  }
+
+  private MapCatalog.Game readGame(final URI uri) {
+    readCount.incrementAndGet();
+    try {
+      final String content = new String(Files.readAllBytes(new File(uri).toPath()), StandardCharsets.UTF_8);
+      return new MapCatalog.Game(content, "someMap", Arrays.asList("Germans", "Russians"), uri);
+    } catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private Map<File, List<MapCatalog.Game>> scan(final MapCatalog catalog) {
+    return catalog.scan(Collections.singletonList(mapFolder));
+  }
+
+  @Test
+  public void scanShouldFindGamesInMapFolders() {
+    final Map<File, List<MapCatalog.Game>> games = scan(newCatalog("1.0"));
+
+    assertEquals(1, games.get(mapFolder).size());
+    final MapCatalog.Game game = games.get(mapFolder).get(0);
+    assertEquals("first", game.getGameName());
+    assertThat(game.getPlayerNames(), contains("Germans", "Russians"));
+    assertEquals(gameFile.toURI(), game.getUri());
+    assertTrue(cacheFile.exists());
+  }
+
+  @Test
+  public void scanShouldNotReadUnchangedGamesAgain() {
+    scan(newCatalog("1.0"));
+    final Map<File, List<MapCatalog.Game>> games = scan(newCatalog("1.0"));
+
+    assertEquals(1, readCount.get());
+    assertEquals("first", games.get(mapFolder).get(0).getGameName());
+  }
+
+  @Test
+  public void scanShouldReadChangedGamesAgain() throws Exception {
+    scan(newCatalog("1.0"));
+    write(gameFile, "second");
+    gameFile.setLastModified(gameFile.lastModified() - 10_000);
+    final Map<File, List<MapCatalog.Game>> games = scan(newCatalog("1.0"));
+
+    assertEquals(2, readCount.get());
+    assertEquals("second", games.get(mapFolder).get(0).getGameName());
+  }
+
+  @Test
+  public void scanShouldReadAllGamesAgainForAnotherEngineVersion() {
+    scan(newCatalog("1.0"));
+    scan(newCatalog("2.0"));
+
+    assertEquals(2, readCount.get());
+  }
+
+  @Test
+  public void scanShouldIgnoreADamagedCatalog() throws Exception {
+    write(cacheFile, "not a catalog");
+    final Map<File, List<MapCatalog.Game>> games = scan(newCatalog("1.0"));
+
+    assertEquals("first", games.get(mapFolder).get(0).getGameName());
+  }
+}
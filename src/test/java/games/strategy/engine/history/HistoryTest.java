@@ -0,0 +1,177 @@
+package games.strategy.engine.history;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Resource;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.framework.GameDataUtils;
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.TripleAUnit;
+import games.strategy.triplea.xml.TestMapGameData;
+import games.strategy.util.Match;
+
+public class HistoryTest {
+  private GameData gameData;
+  private History history;
+  private HistoryWriter historyWriter;
+  private List<Unit> units;
+  private Resource pus;
+
+  @Before
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.REVISED.getGameData();
+    history = gameData.getHistory();
+    historyWriter = history.getHistoryWriter();
+    units = infantry(gameData).create(3, germans(gameData));
+    pus = gameData.getResourceList().getResource(Constants.PUS);
+  }
+
+  private void addChange(final Change change) {
+    gameData.performChange(change);
+    historyWriter.addChange(change);
+  }
+
+  /**
+   * Plays a round in which the units in Germany are moved to Eastern Europe and Southern Europe, and then back to
+   * Germany, except for one of them in odd rounds.
+   */
+  private void playRound(final int round) {
+    historyWriter.startNextRound(round);
+    historyWriter.startNextStep("germansCombatMove", "move", germans(gameData), "Combat Move");
+    historyWriter.startEvent("Move");
+    final Territory germany = territory("Germany", gameData);
+    final Territory easternEurope = territory("Eastern Europe", gameData);
+    final Territory southernEurope = territory("Southern Europe", gameData);
+    if (round == 1) {
+      addChange(ChangeFactory.addUnits(germany, units));
+    }
+    final List<Unit> unitsToMove = germany.getUnits().getMatches(Match.of(units::contains));
+    addChange(ChangeFactory.moveUnits(germany, easternEurope, unitsToMove));
+    for (final Unit unit : unitsToMove) {
+      addChange(ChangeFactory.unitPropertyChange(unit, TripleAUnit.get(unit).getAlreadyMoved() + 1,
+          TripleAUnit.ALREADY_MOVED));
+    }
+    addChange(ChangeFactory.moveUnits(easternEurope, southernEurope, unitsToMove));
+    addChange(ChangeFactory.changeResourcesChange(germans(gameData), pus, round));
+    addChange(ChangeFactory.setProperty("round " + round, Boolean.TRUE, gameData));
+    addChange(ChangeFactory.moveUnits(southernEurope, germany,
+        unitsToMove.subList((round % 2 == 0) ? 0 : 1, unitsToMove.size())));
+    historyWriter.startEvent("Purchase");
+    addChange(ChangeFactory.changeResourcesChange(germans(gameData), pus, -1));
+  }
+
+  private Map<String, Object> getState() {
+    final Map<String, Object> state = new HashMap<>();
+    for (final Territory territory : gameData.getMap().getTerritories()) {
+      state.put(territory.getName(), new HashSet<>(territory.getUnits().getUnits()));
+    }
+    for (final Unit unit : units) {
+      state.put(unit.getID().toString(), TripleAUnit.get(unit).getAlreadyMoved());
+    }
+    state.put("pus", germans(gameData).getResources().getQuantity(pus));
+    for (int round = 1; round <= 5; round++) {
+      state.put("round " + round, gameData.getProperties().get("round " + round));
+    }
+    return state;
+  }
+
+  @Test
+  public void goingToNodesShouldRestoreTheirState() {
+    final List<HistoryNode> rounds = new ArrayList<>();
+    final List<Map<String, Object>> states = new ArrayList<>();
+    for (int round = 1; round <= 5; round++) {
+      states.add(getState());
+      playRound(round);
+      rounds.add(history.getLastNode());
+    }
+    final Map<String, Object> lastState = getState();
+
+    for (final int index : new int[] {0, 4, 1, 3, 2, 0}) {
+      history.gotoNode((HistoryNode) rounds.get(index).getParent().getParent());
+      assertEquals("Round " + (index + 1), states.get(index), getState());
+    }
+    history.gotoNode(history.getLastNode());
+    assertEquals(lastState, getState());
+    assertTrue(history.getCheckpointCount() > 0);
+  }
+
+  @Test
+  public void removingHistoryShouldRemoveCheckpoints() {
+    for (int round = 1; round <= 4; round++) {
+      playRound(round);
+    }
+    final HistoryNode root = (HistoryNode) history.getRoot();
+    final HistoryNode secondRound = (HistoryNode) root.getChildAt(1);
+    history.gotoNode((HistoryNode) root.getChildAt(0));
+    history.gotoNode(history.getLastNode());
+    assertTrue(history.getCheckpointCount() > 0);
+
+    history.removeAllHistoryAfterNode(secondRound);
+
+    assertEquals(0, history.getCheckpointCount());
+  }
+
+  @Test
+  public void goingToRootShouldUndoAllRounds() {
+    final Set<Unit> germanyUnits = new HashSet<>(territory("Germany", gameData).getUnits().getUnits());
+    for (int round = 1; round <= 3; round++) {
+      playRound(round);
+    }
+
+    history.gotoNode((HistoryNode) history.getRoot());
+
+    assertEquals(germanyUnits, new HashSet<>(territory("Germany", gameData).getUnits().getUnits()));
+  }
+
+  @Test
+  public void historyWithCheckpointsShouldBeSavedWithoutThem() {
+    for (int round = 1; round <= 3; round++) {
+      playRound(round);
+    }
+    final HistoryNode root = (HistoryNode) history.getRoot();
+    history.gotoNode((HistoryNode) root.getChildAt(0));
+    history.gotoNode(history.getLastNode());
+    assertTrue(history.getCheckpointCount() > 0);
+
+    final GameData loadedData = GameDataUtils.cloneGameData(gameData);
+
+    final History loadedHistory = loadedData.getHistory();
+    assertEquals(0, loadedHistory.getCheckpointCount());
+    loadedHistory.gotoNode((HistoryNode) ((HistoryNode) loadedHistory.getRoot()).getChildAt(0));
+    loadedHistory.gotoNode(loadedHistory.getLastNode());
+    assertTrue(loadedHistory.getCheckpointCount() > 0);
+  }
+
+  @Test
+  public void loadedHistoryWithoutCheckpointsShouldRemoveHistory() {
+    for (int round = 1; round <= 3; round++) {
+      playRound(round);
+    }
+
+    // like a game saved before there were checkpoints, the loaded history has none
+    final History loadedHistory = GameDataUtils.cloneGameData(gameData).getHistory();
+    final HistoryNode loadedRoot = (HistoryNode) loadedHistory.getRoot();
+    loadedHistory.removeAllHistoryAfterNode((HistoryNode) loadedRoot.getChildAt(1));
+
+    assertEquals(2, loadedRoot.getChildCount());
+    assertEquals(0, loadedHistory.getCheckpointCount());
+  }
+}
@@ -0,0 +1,39 @@
+package games.strategy.engine.lobby.server.db;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class BadWordMatcherTest {
+  private final BadWordMatcher matcher = new BadWordMatcher(Arrays.asList("abcd", "bce", "Cd", "x"));
+
+  @Test
+  public void containsBadWordShouldFindWordsAnywhereIgnoringCase() {
+    assertTrue(matcher.containsBadWord("zzABCDzz"));
+    assertTrue(matcher.containsBadWord("cd"));
+    assertTrue(matcher.containsBadWord("tax"));
+  }
+
+  @Test
+  public void containsBadWordShouldFindWordsOverlappingAPartialMatch() {
+    // "abc" is a prefix of abcd, the match must continue with bce
+    assertTrue(matcher.containsBadWord("abce"));
+    // "abcd" fails at the last letter but contains cd
+    assertTrue(matcher.containsBadWord("zabcdz"));
+  }
+
+  @Test
+  public void containsBadWordShouldNotFindPartialWords() {
+    assertFalse(matcher.containsBadWord("abc bc c d"));
+    assertFalse(matcher.containsBadWord(""));
+  }
+
+  @Test
+  public void containsBadWordShouldFindNothingWithoutWords() {
+    assertFalse(new BadWordMatcher(Collections.emptyList()).containsBadWord("abcd"));
+  }
+}
@@ -0,0 +1,160 @@
+package games.strategy.engine.lobby.server.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConnectionPoolTest {
+  private final List<Connection> opened = new ArrayList<>();
+  private ConnectionPool pool;
+
+  private Connection newConnection() {
+    final Connection connection = mock(Connection.class);
+    try {
+      when(connection.getAutoCommit()).thenReturn(true);
+    } catch (final SQLException e) {
+      throw new AssertionError(e);
+    }
+    opened.add(connection);
+    return connection;
+  }
+
+  @Before
+  public void setUp() {
+    pool = new ConnectionPool(this::newConnection, 2, Duration.ofMinutes(5), Duration.ofMinutes(1));
+  }
+
+  @Test
+  public void getShouldReuseReturnedConnections() throws Exception {
+    pool.get().close();
+    pool.get().close();
+
+    assertEquals(1, opened.size());
+    verify(opened.get(0), never()).close();
+  }
+
+  @Test
+  public void getShouldOpenConnectionsWhileOthersAreInUse() {
+    pool.get();
+    pool.get();
+
+    assertEquals(2, opened.size());
+  }
+
+  @Test
+  public void getShouldWaitForAConnectionWhenAllAreInUse() throws Exception {
+    final Connection first = pool.get();
+    pool.get();
+    final CompletableFuture<Connection> third = CompletableFuture.supplyAsync(pool::get);
+
+    try {
+      third.get(100, TimeUnit.MILLISECONDS);
+      throw new AssertionError("Expected to wait for a free connection");
+    } catch (final TimeoutException e) {
+      // expected
+    }
+    first.close();
+    third.get(5, TimeUnit.SECONDS).close();
+    assertEquals(2, opened.size());
+  }
+
+  @Test
+  public void closeShouldRollBackUncommittedWork() throws Exception {
+    pool.get().close();
+    when(opened.get(0).getAutoCommit()).thenReturn(false);
+    pool.get().close();
+
+    verify(opened.get(0), times(1)).rollback();
+  }
+
+  @Test
+  public void closingAConnectionTwiceShouldReturnItOnce() throws Exception {
+    final Connection connection = pool.get();
+    connection.close();
+    connection.close();
+
+    assertTrue(connection.isClosed());
+    pool.get();
+    pool.get();
+    assertEquals(2, opened.size());
+  }
+
+  @Test
+  public void getShouldReplaceInvalidConnections() throws Exception {
+    pool = new ConnectionPool(this::newConnection, 2, Duration.ofMinutes(5), Duration.ZERO);
+    pool.get().close();
+    when(opened.get(0).isValid(anyInt())).thenReturn(false);
+    pool.get();
+
+    assertEquals(2, opened.size());
+    verify(opened.get(0)).close();
+  }
+
+  @Test
+  public void getShouldCloseConnectionsIdleForTooLong() throws Exception {
+    pool = new ConnectionPool(this::newConnection, 2, Duration.ZERO, Duration.ofMinutes(1));
+    pool.get().close();
+    pool.get();
+
+    assertEquals(2, opened.size());
+    verify(opened.get(0)).close();
+  }
+
+  @Test
+  public void prepareStatementShouldReuseStatementsOfAConnection() throws Exception {
+    final String sql = "select username from ta_users where username = ?";
+    final PreparedStatement statement = mock(PreparedStatement.class);
+    pool.get().close();
+    when(opened.get(0).prepareStatement(sql)).thenReturn(statement);
+
+    for (int i = 0; i < 2; i++) {
+      try (Connection connection = pool.get();
+          PreparedStatement ps = connection.prepareStatement(sql)) {
+        ps.setString(1, "user");
+        ps.executeQuery();
+      }
+    }
+
+    verify(opened.get(0), times(1)).prepareStatement(sql);
+    verify(statement, times(2)).executeQuery();
+    verify(statement, times(2)).clearParameters();
+    verify(statement, never()).close();
+  }
+
+  @Test
+  public void prepareStatementShouldNotShareAStatementInUse() throws Exception {
+    final String sql = "select username from ta_users where username = ?";
+    when(newConnection().prepareStatement(sql))
+        .thenReturn(mock(PreparedStatement.class), mock(PreparedStatement.class));
+    pool = new ConnectionPool(() -> opened.get(0), 1, Duration.ofMinutes(5), Duration.ofMinutes(1));
+
+    try (Connection connection = pool.get()) {
+      final PreparedStatement first = connection.prepareStatement(sql);
+      final PreparedStatement second = connection.prepareStatement(sql);
+      second.close();
+      first.close();
+
+      assertFalse(first.equals(second));
+      verify(opened.get(0), times(2)).prepareStatement(sql);
+    }
+  }
+}
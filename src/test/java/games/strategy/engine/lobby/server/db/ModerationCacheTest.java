@@ -0,0 +1,82 @@
+package games.strategy.engine.lobby.server.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ModerationCacheTest {
+  private final BannedMacController bannedMacController = mock(BannedMacController.class);
+  private final BannedUsernameController bannedUsernameController = mock(BannedUsernameController.class);
+  private final MutedMacController mutedMacController = mock(MutedMacController.class);
+  private final MutedUsernameController mutedUsernameController = mock(MutedUsernameController.class);
+  private final BadWordController badWordController = mock(BadWordController.class);
+  private final ScheduledExecutorService expiryScheduler = Executors.newSingleThreadScheduledExecutor();
+  private final Instant later = Instant.now().plusSeconds(3600);
+  private ModerationCache moderationCache;
+
+  @Before
+  public void setUp() {
+    final Map<String, Instant> bannedMacs = new HashMap<>();
+    bannedMacs.put("foreverMac", null);
+    bannedMacs.put("laterMac", later);
+    when(bannedMacController.getBannedMacs()).thenReturn(bannedMacs);
+    when(mutedUsernameController.getMutedUsernames()).thenReturn(Collections.singletonMap("muted", later));
+    when(badWordController.list()).thenReturn(Collections.singletonList("bad"));
+    moderationCache = new ModerationCache(bannedMacController, bannedUsernameController, mutedMacController,
+        mutedUsernameController, badWordController, expiryScheduler);
+  }
+
+  @After
+  public void tearDown() {
+    expiryScheduler.shutdownNow();
+  }
+
+  @Test
+  public void shouldAnswerFromTheLoadedEntries() {
+    assertTrue(moderationCache.isMacBanned("foreverMac").getFirst());
+    assertNull(moderationCache.isMacBanned("foreverMac").getSecond());
+    assertEquals(later.toEpochMilli(), moderationCache.isMacBanned("laterMac").getSecond().getTime());
+    assertFalse(moderationCache.isMacBanned("otherMac").getFirst());
+    assertEquals(later.toEpochMilli(), moderationCache.getUsernameUnmuteTime("muted"));
+    assertEquals(-1, moderationCache.getMacUnmuteTime("muted"));
+    assertTrue(moderationCache.containsBadWord("xBADx"));
+  }
+
+  @Test
+  public void addShouldWriteThroughToTheDatabase() {
+    moderationCache.addBannedUsername("someone", later);
+    moderationCache.addMutedMac("someMac", null);
+    moderationCache.addBadWord("worse");
+
+    verify(bannedUsernameController).addBannedUsername("someone", later);
+    verify(mutedMacController).addMutedMac("someMac", null);
+    verify(badWordController).addBadWord("worse");
+    assertTrue(moderationCache.isUsernameBanned("someone").getFirst());
+    assertEquals(Long.MAX_VALUE, moderationCache.getMacUnmuteTime("someMac"));
+    assertTrue(moderationCache.containsBadWord("even worse"));
+  }
+
+  @Test
+  public void shouldForgetEndedBansAndMutes() {
+    moderationCache.addBannedMac("someMac", Instant.now().minusSeconds(1));
+    moderationCache.addMutedUsername("someone", Instant.now().minusSeconds(1));
+
+    assertFalse(moderationCache.isMacBanned("someMac").getFirst());
+    assertEquals(-1, moderationCache.getUsernameUnmuteTime("someone"));
+  }
+}
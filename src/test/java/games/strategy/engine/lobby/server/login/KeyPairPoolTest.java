@@ -0,0 +1,72 @@
+package games.strategy.engine.lobby.server.login;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.junit.Test;
+
+public class KeyPairPoolTest {
+  private final List<Runnable> tasks = new ArrayList<>();
+  private final Executor deferredExecutor = tasks::add;
+
+  private static KeyPair newKeyPair() {
+    return new KeyPair(null, null);
+  }
+
+  private void runTasks() {
+    final List<Runnable> toRun = new ArrayList<>(tasks);
+    tasks.clear();
+    toRun.forEach(Runnable::run);
+  }
+
+  @Test
+  public void constructorShouldFillThePool() {
+    final KeyPairPool pool = new KeyPairPool(KeyPairPoolTest::newKeyPair, 3, 1, deferredExecutor);
+    runTasks();
+
+    assertEquals(3, pool.size());
+    assertEquals(3, pool.getGenerated());
+  }
+
+  @Test
+  public void takeShouldHandOutEveryKeyPairOnce() {
+    final KeyPairPool pool = new KeyPairPool(KeyPairPoolTest::newKeyPair, 2, 0, deferredExecutor);
+    runTasks();
+
+    assertNotSame(pool.take(), pool.take());
+    assertEquals(0, pool.size());
+    assertEquals(0, pool.getStarved());
+  }
+
+  @Test
+  public void takeShouldRefillBelowTheLowWaterMark() {
+    final KeyPairPool pool = new KeyPairPool(KeyPairPoolTest::newKeyPair, 4, 2, deferredExecutor);
+    runTasks();
+
+    pool.take();
+    pool.take();
+    assertEquals(0, tasks.size());
+    pool.take();
+    assertEquals(1, tasks.size());
+    runTasks();
+    assertEquals(4, pool.size());
+  }
+
+  @Test
+  public void takeShouldGenerateAKeyPairWhenThePoolIsEmpty() {
+    final KeyPairPool pool = new KeyPairPool(KeyPairPoolTest::newKeyPair, 2, 1, deferredExecutor);
+
+    pool.take();
+
+    assertEquals(1, pool.getTaken());
+    assertEquals(1, pool.getStarved());
+    assertEquals(0, pool.getGenerated());
+    // the initial fill is still pending, so no second refill is started
+    assertEquals(1, tasks.size());
+  }
+}
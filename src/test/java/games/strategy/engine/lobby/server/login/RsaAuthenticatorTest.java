@@ -4,6 +4,7 @@ import static java.util.Collections.singletonMap;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.security.KeyPair;
 import java.security.PrivateKey;
 import java.util.HashMap;
 import java.util.Map;
@@ -35,7 +36,9 @@ public class RsaAuthenticatorTest {
   @Test
   public void testPublicKeysAreExpungedAfterLookup() {
     final Cache<String, PrivateKey> rsaKeyCache = CacheBuilder.newBuilder().build();
-    final RsaAuthenticator rsaAuthenticator = new RsaAuthenticator(rsaKeyCache);
+    final RsaAuthenticator rsaAuthenticator =
+        new RsaAuthenticator(rsaKeyCache, new KeyPairPool(() -> new KeyPair(null, null), 1, 0, runnable -> {
+        }));
     final String publicKey = "something";
     final Map<String, String> challenge = new HashMap<>();
     challenge.put(RsaAuthenticator.RSA_PUBLIC_KEY, publicKey);
@@ -0,0 +1,37 @@
+package games.strategy.engine.message.unifiedmessenger;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class InvocationStatisticsTest {
+  private final InvocationStatistics statistics = new InvocationStatistics("endPoint");
+
+  @Test
+  public void trackShouldCountQueuedRunningAndCompletedInvocations() {
+    final Runnable first = statistics.track(() -> assertEquals(1, statistics.getRunning()));
+    statistics.track(() -> {
+    });
+
+    assertEquals(2, statistics.getQueued());
+    first.run();
+
+    assertEquals(1, statistics.getQueued());
+    assertEquals(0, statistics.getRunning());
+    assertEquals(1, statistics.getCompleted());
+  }
+
+  @Test
+  public void trackShouldCountInvocationsThatFail() {
+    try {
+      statistics.track(() -> {
+        throw new IllegalStateException();
+      }).run();
+    } catch (final IllegalStateException e) {
+      // expected
+    }
+
+    assertEquals(0, statistics.getRunning());
+    assertEquals(1, statistics.getCompleted());
+  }
+}
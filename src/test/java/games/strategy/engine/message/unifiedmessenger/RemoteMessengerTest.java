@@ -107,6 +107,20 @@ public class RemoteMessengerTest {
     assertEquals(testRemote.getLastSenderNode(), serverMessenger.getLocalNode());
   }
 
+  @Test
+  public void invocationStatisticsShouldBeRemovedWithTheirEndPoint() {
+    final UnifiedMessenger unifiedMessenger = new UnifiedMessenger(serverMessenger);
+    final RemoteMessenger messenger = new RemoteMessenger(unifiedMessenger);
+    final RemoteName test = new RemoteName(ITestRemote.class, "test");
+    messenger.registerRemote(new TestRemote(), test);
+    ((ITestRemote) messenger.getRemote(test)).increment(1);
+
+    assertEquals(1, unifiedMessenger.getInvocationStatistics().size());
+    assertEquals(test.getName(), unifiedMessenger.getInvocationStatistics().get(0).getEndPointName());
+    messenger.unregisterRemote(test);
+    assertTrue(unifiedMessenger.getInvocationStatistics().isEmpty());
+  }
+
   @Test
   public void testExceptionThrownWhenUnregisteredRemote() {
     final TestRemote testRemote = new TestRemote();
@@ -0,0 +1,65 @@
+package games.strategy.engine.message.unifiedmessenger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class SerialExecutorTest {
+  private final ExecutorService threadPool = Executors.newFixedThreadPool(4);
+
+  @After
+  public void tearDown() {
+    threadPool.shutdownNow();
+  }
+
+  @Test
+  public void tasksShouldRunOneAfterAnotherInTheOrderTheyWereSubmitted() throws Exception {
+    final SerialExecutor executor = new SerialExecutor(threadPool);
+    final List<Integer> order = new ArrayList<>();
+    final AtomicInteger running = new AtomicInteger();
+    final CountDownLatch done = new CountDownLatch(100);
+
+    for (int i = 0; i < 100; i++) {
+      final int number = i;
+      executor.execute(() -> {
+        assertEquals(1, running.incrementAndGet());
+        order.add(number);
+        running.decrementAndGet();
+        done.countDown();
+      });
+    }
+
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    for (int i = 0; i < 100; i++) {
+      assertEquals(i, (int) order.get(i));
+    }
+  }
+
+  @Test
+  public void aBlockedTaskShouldNotBlockOtherSerialExecutors() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch otherRan = new CountDownLatch(1);
+    new SerialExecutor(threadPool).execute(() -> {
+      try {
+        release.await();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+
+    new SerialExecutor(threadPool).execute(otherRan::countDown);
+
+    assertTrue(otherRan.await(5, TimeUnit.SECONDS));
+    release.countDown();
+  }
+}
@@ -0,0 +1,38 @@
+package games.strategy.engine.random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class SeededRandomSourceTest {
+
+  @Test
+  public void sameSeedShouldGiveSameNumbers() {
+    final int[] numbers = new SeededRandomSource(42).getRandom(6, 100, null);
+
+    assertArrayEquals(numbers, new SeededRandomSource(42).getRandom(6, 100, null));
+  }
+
+  @Test
+  public void differentSeedsShouldGiveDifferentNumbers() {
+    final int[] numbers = new SeededRandomSource(42).getRandom(6, 100, null);
+
+    assertFalse(Arrays.equals(numbers, new SeededRandomSource(43).getRandom(6, 100, null)));
+  }
+
+  @Test
+  public void numbersShouldBeBelowMax() {
+    for (final int number : new SeededRandomSource(42).getRandom(6, 100, null)) {
+      assertTrue(number >= 0 && number < 6);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void zeroCountShouldBeRejected() {
+    new SeededRandomSource(42).getRandom(6, 0, null);
+  }
+}
@@ -0,0 +1,127 @@
+package games.strategy.net;
+
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class RegisteredTypeObjectStreamTest {
+  private final IObjectStreamFactory factory = new DefaultObjectStreamFactory();
+
+  private static byte[] write(final ObjectOutputStream out, final ByteArrayOutputStream sink, final Object object)
+      throws Exception {
+    out.writeObject(object);
+    out.close();
+    return sink.toByteArray();
+  }
+
+  private byte[] writePlain(final Object object) throws Exception {
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    return write(factory.create(sink), sink, object);
+  }
+
+  private byte[] writeWithRegisteredTypes(final Object object) throws Exception {
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    return write(factory.createWithRegisteredTypes(sink), sink, object);
+  }
+
+  private Object readWithRegisteredTypes(final byte[] bytes) throws Exception {
+    try (final ObjectInputStream in = factory.createWithRegisteredTypes(new ByteArrayInputStream(bytes))) {
+      return in.readObject();
+    }
+  }
+
+  private static Map<String, Object> newMessage() {
+    final Map<String, Object> message = new HashMap<>();
+    message.put("id", new GUID());
+    message.put("count", 3);
+    message.put("names", new ArrayList<>(Arrays.asList("Germans", "Russians")));
+    message.put("unregistered", new UnregisteredType("value"));
+    return message;
+  }
+
+  @Test
+  public void registeredAndUnregisteredTypesShouldSurviveARoundTrip() throws Exception {
+    final Map<String, Object> message = newMessage();
+
+    assertEquals(message, readWithRegisteredTypes(writeWithRegisteredTypes(message)));
+  }
+
+  @Test
+  public void registeredTypesShouldBeWrittenMoreCompactly() throws Exception {
+    final Map<String, Object> message = newMessage();
+
+    assertThat(writeWithRegisteredTypes(message).length, lessThan(writePlain(message).length));
+  }
+
+  @Test
+  public void factoryWithoutRegisteredTypesShouldWritePlainStreams() throws Exception {
+    final IObjectStreamFactory plainFactory = new IObjectStreamFactory() {
+      @Override
+      public ObjectInputStream create(final InputStream stream) throws IOException {
+        return new ObjectInputStream(stream);
+      }
+
+      @Override
+      public ObjectOutputStream create(final OutputStream stream) throws IOException {
+        return new ObjectOutputStream(stream);
+      }
+    };
+    final Map<String, Object> message = newMessage();
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+
+    final byte[] bytes = write(plainFactory.createWithRegisteredTypes(sink), sink, message);
+
+    try (final ObjectInputStream in = plainFactory.createWithRegisteredTypes(new ByteArrayInputStream(bytes))) {
+      assertEquals(message, in.readObject());
+    }
+    assertEquals(writePlain(message).length, bytes.length);
+  }
+
+  @Test
+  public void extendedRegistryShouldHaveAnotherFingerprint() {
+    final List<String> typeNames = Collections.singletonList(UnregisteredType.class.getName());
+
+    assertThat(TypeRegistry.NETWORK.extend(typeNames).getFingerprint(),
+        not(TypeRegistry.NETWORK.getFingerprint()));
+    assertEquals(TypeRegistry.NETWORK.extend(typeNames).getFingerprint(),
+        TypeRegistry.NETWORK.extend(typeNames).getFingerprint());
+  }
+
+  private static final class UnregisteredType implements Serializable {
+    private static final long serialVersionUID = 3475431268930123468L;
+
+    private final String value;
+
+    private UnregisteredType(final String value) {
+      this.value = value;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      return obj instanceof UnregisteredType && value.equals(((UnregisteredType) obj).value);
+    }
+
+    @Override
+    public int hashCode() {
+      return value.hashCode();
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package games.strategy.net;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class ServerMessengerTest {
+  @After
+  public void tearDown() {
+    System.clearProperty(ServerMessenger.DECODER_THREADS_PROPERTY);
+  }
+
+  @Test
+  public void getDecoderThreadsShouldUseTheSystemProperty() {
+    System.setProperty(ServerMessenger.DECODER_THREADS_PROPERTY, "7");
+
+    assertEquals(7, ServerMessenger.getDecoderThreads());
+  }
+
+  @Test
+  public void getDecoderThreadsShouldDefaultToOnePerCoreUpToFour() {
+    assertEquals(Math.min(4, Runtime.getRuntime().availableProcessors()), ServerMessenger.getDecoderThreads());
+  }
+}
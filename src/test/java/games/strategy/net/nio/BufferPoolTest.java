@@ -0,0 +1,78 @@
+package games.strategy.net.nio;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+public class BufferPoolTest {
+  private final BufferPool pool = new BufferPool();
+
+  @Test
+  public void acquireShouldLimitTheBufferToTheRequestedSize() {
+    final ByteBuffer buffer = pool.acquire(1500);
+
+    assertEquals(0, buffer.position());
+    assertEquals(1500, buffer.limit());
+    assertEquals(2048, buffer.capacity());
+    assertTrue(buffer.isDirect());
+  }
+
+  @Test
+  public void acquireShouldReuseReleasedBuffers() {
+    final ByteBuffer buffer = pool.acquire(100);
+    pool.release(buffer);
+
+    assertSame(buffer, pool.acquire(1000));
+    assertEquals(1, pool.getMisses());
+    assertEquals(1, pool.getHits());
+  }
+
+  @Test
+  public void acquireShouldNotPoolLargeBuffers() {
+    final ByteBuffer buffer = pool.acquire(BufferPool.MAX_POOLED_SIZE + 1);
+    pool.release(buffer);
+
+    assertFalse(buffer.isDirect());
+    assertEquals(BufferPool.MAX_POOLED_SIZE + 1, buffer.limit());
+    assertEquals(1, pool.getUnpooled());
+    assertEquals(0, pool.getMisses());
+  }
+
+  @Test
+  public void pooledOutputStreamShouldKeepWhatWasWrittenAcrossBuffers() {
+    final byte[] bytes = new byte[10_000];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) i;
+    }
+    final PooledOutputStream out = new PooledOutputStream(pool);
+    out.write(bytes[0]);
+    out.write(bytes, 1, bytes.length - 1);
+
+    assertEquals(bytes.length, out.size());
+    final ByteBuffer[] buffers = out.toBuffers();
+    assertTrue(buffers.length > 1);
+    final ByteBuffer written = ByteBuffer.allocate(bytes.length);
+    for (final ByteBuffer buffer : buffers) {
+      written.put(buffer);
+    }
+    assertArrayEquals(bytes, written.array());
+  }
+
+  @Test
+  public void byteBufferInputStreamShouldReadTheRemainingContent() {
+    final ByteBufferInputStream in = new ByteBufferInputStream(ByteBuffer.wrap(new byte[] {1, 2, 3, 4}));
+
+    assertEquals(1, in.read());
+    assertEquals(3, in.available());
+    final byte[] rest = new byte[5];
+    assertEquals(3, in.read(rest, 0, rest.length));
+    assertEquals(-1, in.read());
+    assertArrayEquals(new byte[] {2, 3, 4, 0, 0}, rest);
+  }
+}
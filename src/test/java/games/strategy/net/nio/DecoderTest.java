@@ -0,0 +1,155 @@
+package games.strategy.net.nio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.net.MessageHeader;
+
+public class DecoderTest {
+  private static final long TIMEOUT_SECONDS = 10;
+  private final BlockingQueue<SocketReadData> readQueue = new LinkedBlockingQueue<>();
+  private final IErrorReporter errorReporter = mock(IErrorReporter.class);
+  private final NIOReader reader = mock(NIOReader.class);
+  private LoopbackConnections connections;
+  private Decoder decoder;
+
+  @Before
+  public void setUp() throws Exception {
+    connections = new LoopbackConnections();
+    when(reader.take()).thenAnswer(invocation -> readQueue.take());
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    if (decoder != null) {
+      decoder.shutDown();
+    }
+    connections.close();
+  }
+
+  private void startDecoder(final int threads) {
+    decoder = new Decoder(connections.receiverSocket, reader, errorReporter, connections.objectStreamFactory, "Test",
+        threads);
+  }
+
+  private void send(final LoopbackConnections.Connection connection, final Serializable message)
+      throws IOException {
+    connections.encoder.write(connection.sender, new MessageHeader(null, LoopbackConnections.SENDER, message));
+    readQueue.add(connections.transfer(connections.takeWritten(connection.sender), connection));
+  }
+
+  private static String largeMessage() {
+    final char[] chars = new char[3 * 1000 * 1000];
+    Arrays.fill(chars, 'x');
+    return new String(chars);
+  }
+
+  @Test
+  public void shouldDecodeTheMessagesOfEachChannelInOrder() throws Exception {
+    startDecoder(2);
+    final List<LoopbackConnections.Connection> channels =
+        Arrays.asList(connections.connect(false), connections.connect(true));
+    final Map<SocketChannel, List<Object>> received = new ConcurrentHashMap<>();
+    final CountDownLatch done = new CountDownLatch(40);
+    doAnswer(invocation -> {
+      final MessageHeader header = invocation.getArgument(0);
+      received.computeIfAbsent(invocation.getArgument(1), channel -> Collections.synchronizedList(new ArrayList<>()))
+          .add(header.getMessage());
+      done.countDown();
+      return null;
+    }).when(connections.receiverSocket).messageReceived(any(), any());
+
+    final List<Object> expected = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      expected.add("message " + i);
+      for (final LoopbackConnections.Connection connection : channels) {
+        send(connection, "message " + i);
+      }
+    }
+
+    assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    for (final LoopbackConnections.Connection connection : channels) {
+      assertEquals(expected, received.get(connection.receiver));
+    }
+    verify(errorReporter, never()).error(any(), any());
+  }
+
+  @Test
+  public void largeMessageShouldNotHoldUpOtherChannels() throws Exception {
+    startDecoder(2);
+    final LoopbackConnections.Connection large = connections.connect(false);
+    final LoopbackConnections.Connection small = connections.connect(false);
+    final CountDownLatch smallReceived = new CountDownLatch(1);
+    final CountDownLatch largeReceived = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      if (invocation.getArgument(1) == small.receiver) {
+        smallReceived.countDown();
+      } else if (smallReceived.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        // the large message is only done once the small one got through
+        largeReceived.countDown();
+      }
+      return null;
+    }).when(connections.receiverSocket).messageReceived(any(), any());
+
+    send(large, largeMessage());
+    send(small, "small");
+
+    assertTrue(largeReceived.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void shouldNotDecodeOnMoreThreadsThanRequested() throws Exception {
+    startDecoder(2);
+    final AtomicInteger active = new AtomicInteger();
+    final AtomicInteger maxActive = new AtomicInteger();
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(3);
+    doAnswer(invocation -> {
+      maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+      release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      active.decrementAndGet();
+      done.countDown();
+      return null;
+    }).when(connections.receiverSocket).messageReceived(any(), any());
+
+    for (int i = 0; i < 3; i++) {
+      send(connections.connect(false), "message");
+    }
+    final long end = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS);
+    while (active.get() < 2 && System.currentTimeMillis() < end) {
+      Thread.sleep(10);
+    }
+    // give a third thread the chance to show up
+    Thread.sleep(200);
+    assertEquals(2, active.get());
+    release.countDown();
+
+    assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    assertEquals(2, maxActive.get());
+  }
+}
@@ -0,0 +1,88 @@
+package games.strategy.net.nio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.net.MessageHeader;
+
+public class EncoderTest {
+  private final BlockingQueue<SocketReadData> readQueue = new LinkedBlockingQueue<>();
+  private final IErrorReporter errorReporter = mock(IErrorReporter.class);
+  private LoopbackConnections connections;
+  private Decoder decoder;
+
+  @Before
+  public void setUp() throws Exception {
+    connections = new LoopbackConnections();
+    final NIOReader reader = mock(NIOReader.class);
+    when(reader.take()).thenAnswer(invocation -> readQueue.take());
+    decoder = new Decoder(connections.receiverSocket, reader, errorReporter, connections.objectStreamFactory, "Test",
+        2);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    decoder.shutDown();
+    connections.close();
+  }
+
+  @Test
+  public void writeBroadcastShouldDeliverTheSameMessageToEveryChannel() throws Exception {
+    final List<LoopbackConnections.Connection> channels = new ArrayList<>();
+    final List<SocketChannel> senders = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      final LoopbackConnections.Connection connection = connections.connect(i % 2 == 0);
+      channels.add(connection);
+      senders.add(connection.sender);
+    }
+    final Map<SocketChannel, MessageHeader> received = new ConcurrentHashMap<>();
+    final CountDownLatch done = new CountDownLatch(channels.size());
+    doAnswer(invocation -> {
+      received.put(invocation.getArgument(1), invocation.getArgument(0));
+      done.countDown();
+      return null;
+    }).when(connections.receiverSocket).messageReceived(any(), any());
+    final ArrayList<String> message = new ArrayList<>();
+    for (int i = 0; i < 50_000; i++) {
+      message.add("line " + i);
+    }
+
+    connections.encoder.writeBroadcast(senders, new MessageHeader(LoopbackConnections.SENDER, message));
+    for (final LoopbackConnections.Connection connection : channels) {
+      final SocketWriteData data = connections.takeWritten(connection.sender);
+      readQueue.add(connections.transfer(data, connection));
+      assertTrue("write was not partial", data.getWriteCalls() > 1);
+    }
+
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+    for (final LoopbackConnections.Connection connection : channels) {
+      final MessageHeader header = received.get(connection.receiver);
+      assertNull(header.getFor());
+      assertEquals(LoopbackConnections.SENDER, header.getFrom());
+      assertEquals(message, header.getMessage());
+    }
+    verify(errorReporter, never()).error(any(), any());
+  }
+}
@@ -0,0 +1,123 @@
+package games.strategy.net.nio;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import games.strategy.net.DefaultObjectStreamFactory;
+import games.strategy.net.IObjectStreamFactory;
+import games.strategy.net.Node;
+
+/**
+ * Pairs of socket channels connected over the loopback interface, with an encoder writing to the sending ends.
+ *
+ * <p>
+ * The sending ends are non-blocking and have a small send buffer, so large messages take several partial writes.
+ * </p>
+ */
+final class LoopbackConnections implements Closeable {
+  static final Node SENDER = new Node("sender", InetAddress.getLoopbackAddress(), 1);
+  static final Node RECEIVER = new Node("receiver", InetAddress.getLoopbackAddress(), 2);
+  final IObjectStreamFactory objectStreamFactory = new DefaultObjectStreamFactory();
+  final BufferPool bufferPool = new BufferPool();
+  final NIOSocket senderSocket = mock(NIOSocket.class);
+  final NIOSocket receiverSocket = mock(NIOSocket.class);
+  final Encoder encoder;
+  private final Map<SocketChannel, SocketWriteData> written = new ConcurrentHashMap<>();
+  private final ServerSocketChannel server;
+  private final List<SocketChannel> channels = new ArrayList<>();
+
+  LoopbackConnections() throws IOException {
+    server = ServerSocketChannel.open();
+    server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    when(senderSocket.getLocalNode()).thenReturn(SENDER);
+    when(receiverSocket.getLocalNode()).thenReturn(RECEIVER);
+    when(receiverSocket.getRemoteNode(any())).thenReturn(SENDER);
+    final NIOWriter writer = mock(NIOWriter.class);
+    doAnswer(invocation -> written.put(invocation.getArgument(1), invocation.getArgument(0)))
+        .when(writer).enque(any(), any());
+    encoder = new Encoder(senderSocket, writer, objectStreamFactory, bufferPool);
+  }
+
+  /**
+   * @param registeredTypes Whether both ends of the connection use the registered types.
+   */
+  Connection connect(final boolean registeredTypes) throws IOException {
+    final SocketChannel sender = SocketChannel.open(server.getLocalAddress());
+    final SocketChannel receiver = server.accept();
+    channels.add(sender);
+    channels.add(receiver);
+    sender.configureBlocking(false);
+    sender.socket().setSendBufferSize(4096);
+    when(senderSocket.usesRegisteredTypes(eq(sender))).thenReturn(registeredTypes);
+    when(receiverSocket.usesRegisteredTypes(eq(receiver))).thenReturn(registeredTypes);
+    return new Connection(sender, receiver);
+  }
+
+  /**
+   * @return The data the encoder last wrote to the specified sending end.
+   */
+  SocketWriteData takeWritten(final SocketChannel sender) {
+    final SocketWriteData data = written.remove(sender);
+    if (data == null) {
+      throw new IllegalStateException("Nothing written to:" + sender);
+    }
+    return data;
+  }
+
+  /**
+   * Writes the data to the sending end of the connection and reads it from the receiving end.
+   */
+  SocketReadData transfer(final SocketWriteData data, final Connection connection) throws IOException {
+    final CompletableFuture<Void> write = CompletableFuture.runAsync(() -> {
+      try {
+        while (!data.write(connection.sender)) {
+          Thread.yield();
+        }
+      } catch (final IOException e) {
+        throw new UncheckedIOException(e);
+      } finally {
+        data.release();
+      }
+    });
+    final SocketReadData read = new SocketReadData(connection.receiver, bufferPool);
+    while (!read.read(connection.receiver)) {
+      // keep reading until the whole packet arrived
+    }
+    write.join();
+    return read;
+  }
+
+  @Override
+  public void close() throws IOException {
+    for (final SocketChannel channel : channels) {
+      channel.close();
+    }
+    server.close();
+  }
+
+  static final class Connection {
+    final SocketChannel sender;
+    final SocketChannel receiver;
+
+    private Connection(final SocketChannel sender, final SocketChannel receiver) {
+      this.sender = sender;
+      this.receiver = receiver;
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package games.strategy.net.nio;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+public class SocketWriteDataTest {
+  private final BufferPool pool = new BufferPool();
+
+  private SocketWriteData newData(final ByteBuffer content) {
+    content.put(new byte[100]);
+    content.flip();
+    return new SocketWriteData(pool, new ByteBuffer[] {content});
+  }
+
+  @Test
+  public void releasingTwiceShouldNotReleaseTheContentOfCopies() {
+    final ByteBuffer content = pool.acquire(100);
+    final SocketWriteData data = newData(content);
+    final SocketWriteData copy = data.copy();
+
+    data.release();
+    data.release();
+
+    assertNotSame(content, pool.acquire(100));
+    copy.release();
+    assertSame(content, pool.acquire(100));
+  }
+}
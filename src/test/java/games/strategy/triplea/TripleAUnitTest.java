@@ -0,0 +1,83 @@
+package games.strategy.triplea;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.addTo;
+import static games.strategy.triplea.delegate.GameDataTestUtil.americans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.removeFrom;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
+import static games.strategy.triplea.delegate.GameDataTestUtil.transport;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.framework.GameDataUtils;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class TripleAUnitTest {
+  private GameData gameData;
+  private Territory seaZone;
+  private TripleAUnit transport;
+  private Unit infantry;
+
+  @Before
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.REVISED.getGameData();
+    final PlayerID americans = americans(gameData);
+    seaZone = territory("10 Sea Zone", gameData);
+    transport = (TripleAUnit) transport(gameData).create(americans);
+    infantry = infantry(gameData).create(americans);
+    addTo(seaZone, Collections.singletonList(transport));
+    addTo(seaZone, Collections.singletonList(infantry));
+  }
+
+  private void load(final Unit unit, final TripleAUnit transport) {
+    gameData.performChange(ChangeFactory.unitPropertyChange(unit, transport, TripleAUnit.TRANSPORTED_BY));
+  }
+
+  @Test
+  public void getTransportingShouldFollowTransportedByChanges() {
+    assertThat(transport.getTransporting(), empty());
+
+    load(infantry, transport);
+    assertThat(transport.getTransporting(), contains(infantry));
+
+    load(infantry, null);
+    assertThat(transport.getTransporting(), empty());
+  }
+
+  @Test
+  public void getTransportingShouldOnlyReturnUnitsInTheSameTerritory() {
+    load(infantry, transport);
+    removeFrom(seaZone, Collections.singletonList(infantry));
+    assertThat(transport.getTransporting(), empty());
+
+    final Territory otherSeaZone = territory("11 Sea Zone", gameData);
+    gameData.performChange(ChangeFactory.moveUnits(seaZone, otherSeaZone, Collections.singletonList(transport)));
+    addTo(otherSeaZone, Collections.singletonList(infantry));
+    assertThat(transport.getTransporting(), contains(infantry));
+  }
+
+  @Test
+  public void getTransportingShouldSurviveCloning() {
+    load(infantry, transport);
+
+    final GameData clone = GameDataUtils.cloneGameData(gameData);
+    final TripleAUnit clonedTransport = (TripleAUnit) clone.getUnits().get(transport.getID());
+    final List<Unit> transporting = clonedTransport.getTransporting();
+
+    assertEquals(1, transporting.size());
+    assertEquals(infantry.getID(), transporting.get(0).getID());
+  }
+}
@@ -0,0 +1,109 @@
+package games.strategy.triplea.ai.proAI.simulate;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class ProSimulationDataTest {
+  private GameData data;
+  private ProSimulationData simulationData;
+
+  @Before
+  public void setUp() throws Exception {
+    data = TestMapGameData.REVISED.getGameData();
+    simulationData = new ProSimulationData(data);
+  }
+
+  @After
+  public void tearDown() {
+    simulationData.dispose();
+  }
+
+  private static int unitCount(final GameData data, final String territoryName) {
+    return territory(territoryName, data).getUnits().size();
+  }
+
+  @Test
+  public void startSimulationShouldReturnCopyOfGameData() {
+    final GameData dataCopy = simulationData.startSimulation();
+
+    assertNotSame(data, dataCopy);
+    assertEquals(unitCount(data, "Germany"), unitCount(dataCopy, "Germany"));
+  }
+
+  @Test
+  public void startSimulationShouldApplyChangesMadeToGame() {
+    final GameData dataCopy = simulationData.startSimulation();
+    final int germanyUnitCount = unitCount(data, "Germany");
+
+    final Territory germany = territory("Germany", data);
+    data.performChange(ChangeFactory.addUnits(germany, infantry(data).create(2, germans(data))));
+
+    assertSame(dataCopy, simulationData.startSimulation());
+    assertEquals(germanyUnitCount + 2, unitCount(dataCopy, "Germany"));
+  }
+
+  @Test
+  public void endSimulationShouldUndoSimulatedChanges() {
+    final GameData dataCopy = simulationData.startSimulation();
+    final int germanyUnitCount = unitCount(data, "Germany");
+    final ProDummyDelegateBridge bridge = new ProDummyDelegateBridge(null, germans(dataCopy), dataCopy);
+
+    final Territory germanyCopy = territory("Germany", dataCopy);
+    bridge.addChange(ChangeFactory.removeUnits(germanyCopy, germanyCopy.getUnits().getUnits()));
+    bridge.addChange(ChangeFactory.changeOwner(germanyCopy, dataCopy.getPlayerList().getPlayerID("Russians")));
+    simulationData.endSimulation(bridge);
+
+    assertEquals(germanyUnitCount, unitCount(dataCopy, "Germany"));
+    assertEquals("Germans", germanyCopy.getOwner().getName());
+    assertSame(dataCopy, simulationData.startSimulation());
+  }
+
+  @Test
+  public void startSimulationShouldCloneAgainIfCopyDoesNotMatchGame() {
+    final GameData dataCopy = simulationData.startSimulation();
+
+    // changed without telling the game data listeners
+    final Territory germanyCopy = territory("Germany", dataCopy);
+    germanyCopy.getUnits().removeAll(germanyCopy.getUnits().getUnits());
+
+    final GameData newDataCopy = simulationData.startSimulation();
+    assertNotSame(dataCopy, newDataCopy);
+    assertEquals(unitCount(data, "Germany"), unitCount(newDataCopy, "Germany"));
+  }
+
+  @Test
+  public void startSimulationShouldCloneAgainIfCopyHasOtherUnits() {
+    final GameData dataCopy = simulationData.startSimulation();
+
+    // swapped for a new unit without telling the game data listeners
+    final Territory germanyCopy = territory("Germany", dataCopy);
+    germanyCopy.getUnits().removeAll(germanyCopy.getUnits().getUnits().stream().limit(1).collect(Collectors.toList()));
+    germanyCopy.getUnits().addAll(infantry(dataCopy).create(1, germans(dataCopy)));
+
+    assertNotSame(dataCopy, simulationData.startSimulation());
+  }
+
+  @Test
+  public void endSimulationShouldIgnoreDisposedCopy() {
+    final GameData dataCopy = simulationData.startSimulation();
+    final ProDummyDelegateBridge bridge = new ProDummyDelegateBridge(null, germans(dataCopy), dataCopy);
+    simulationData.dispose();
+
+    simulationData.endSimulation(bridge);
+  }
+}
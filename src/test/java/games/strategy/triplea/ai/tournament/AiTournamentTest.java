@@ -0,0 +1,53 @@
+package games.strategy.triplea.ai.tournament;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.triplea.TripleA;
+import games.strategy.triplea.ai.tournament.TournamentGameResult.Outcome;
+import games.strategy.triplea.ui.AbstractUIContext;
+
+public class AiTournamentTest {
+
+  @Before
+  public void setUp() {
+    AbstractUIContext.setAiPauseDisabled(true);
+  }
+
+  @After
+  public void tearDown() {
+    AbstractUIContext.setAiPauseDisabled(false);
+  }
+
+  @Test
+  public void gamesShouldStopAtRoundLimit() throws Exception {
+    final AiTournament tournament = new AiTournament(new File("src/test/resources/revised_test.xml"),
+        TripleA.DOESNOTHINGAI_COMPUTER_PLAYER_TYPE, 2, 2, 42, 1, TimeUnit.MINUTES.toMillis(5));
+
+    final List<TournamentGameResult> results = tournament.play();
+
+    assertEquals(2, results.size());
+    for (int i = 0; i < results.size(); i++) {
+      final TournamentGameResult result = results.get(i);
+      assertEquals(i, result.getGameIndex());
+      assertEquals(42 + i, result.getSeed());
+      assertEquals(Outcome.ROUND_LIMIT, result.getOutcome());
+      assertEquals(1, result.getRounds());
+      assertTrue(result.getWinners().isEmpty());
+      assertTrue(result.getPhaseMillis().containsKey("purchase"));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void humanPlayersShouldBeRejected() {
+    new AiTournament(new File("src/test/resources/revised_test.xml"), TripleA.HUMAN_PLAYER_TYPE, 1, 1, 0, 1, 1);
+  }
+}
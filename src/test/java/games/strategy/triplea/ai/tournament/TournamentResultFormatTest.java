@@ -0,0 +1,61 @@
+package games.strategy.triplea.ai.tournament;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import games.strategy.triplea.ai.tournament.TournamentGameResult.Outcome;
+
+public class TournamentResultFormatTest {
+  private final List<TournamentGameResult> results = Arrays.asList(
+      new TournamentGameResult(0, 42, Outcome.WON, 7, Arrays.asList("Germans", "Japanese"), 1500,
+          phaseMillis("purchase", 100L, "move", 800L)),
+      new TournamentGameResult(1, 43, Outcome.ROUND_LIMIT, 20, Collections.emptyList(), 3000,
+          phaseMillis("purchase", 200L, "battle", 400L)));
+
+  private static Map<String, Long> phaseMillis(final String phase1, final long millis1, final String phase2,
+      final long millis2) {
+    final Map<String, Long> phaseMillis = new LinkedHashMap<>();
+    phaseMillis.put(phase1, millis1);
+    phaseMillis.put(phase2, millis2);
+    return phaseMillis;
+  }
+
+  @Test
+  public void csvShouldHaveColumnForEveryPhase() throws Exception {
+    final StringWriter writer = new StringWriter();
+
+    TournamentResultFormat.CSV.write(results, writer);
+
+    assertEquals("game,seed,outcome,rounds,winners,durationMillis,purchaseMillis,moveMillis,battleMillis\n"
+        + "0,42,WON,7,Germans Japanese,1500,100,800,0\n"
+        + "1,43,ROUND_LIMIT,20,,3000,200,0,400\n", writer.toString());
+  }
+
+  @Test
+  public void jsonShouldHaveObjectForEveryGame() throws Exception {
+    final StringWriter writer = new StringWriter();
+
+    TournamentResultFormat.JSON.write(results, writer);
+
+    final JSONArray games = new JSONArray(writer.toString());
+    assertEquals(2, games.length());
+    final JSONObject game = games.getJSONObject(0);
+    assertEquals(0, game.getInt("game"));
+    assertEquals(42, game.getLong("seed"));
+    assertEquals("WON", game.getString("outcome"));
+    assertEquals(7, game.getInt("rounds"));
+    assertEquals(Arrays.asList("Germans", "Japanese"), game.getJSONArray("winners").toList());
+    assertEquals(1500, game.getLong("durationMillis"));
+    assertEquals(800, game.getJSONObject("phaseMillis").getLong("move"));
+  }
+}
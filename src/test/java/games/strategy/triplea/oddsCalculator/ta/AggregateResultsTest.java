@@ -0,0 +1,120 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.armour;
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.russians;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.UnitType;
+import games.strategy.triplea.delegate.IBattle;
+import games.strategy.triplea.delegate.IBattle.WhoWon;
+import games.strategy.triplea.xml.TestMapGameData;
+import games.strategy.util.IntegerMap;
+import games.strategy.util.Tuple;
+
+public class AggregateResultsTest {
+  private GameData gameData;
+
+  @Before
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.REVISED.getGameData();
+  }
+
+  private BattleResults newBattleResults(final int attackersLeft, final int defendersLeft, final int rounds,
+      final WhoWon whoWon) {
+    final List<Unit> attackers = infantry(gameData).create(attackersLeft, russians(gameData));
+    final List<Unit> defenders = armour(gameData).create(defendersLeft, germans(gameData));
+    final IBattle battle = mock(IBattle.class);
+    when(battle.getBattleRound()).thenReturn(rounds);
+    when(battle.getRemainingAttackingUnits()).thenReturn(attackers);
+    when(battle.getRemainingDefendingUnits()).thenReturn(defenders);
+    return new BattleResults(battle, whoWon, gameData);
+  }
+
+  @Test
+  public void emptyResultsShouldReturnZeroes() {
+    final AggregateResults results = new AggregateResults(0);
+
+    assertEquals(0, results.getRollCount());
+    assertEquals(0.0, results.getAttackerWinPercent(), 0.0);
+    assertEquals(0.0, results.getAverageBattleRoundsFought(), 0.0);
+    assertNull(results.getBattleResultsClosestToAverage());
+  }
+
+  @Test
+  public void addResultShouldAccumulateStatistics() {
+    final AggregateResults results = new AggregateResults(3);
+    results.addResult(newBattleResults(3, 0, 2, WhoWon.ATTACKER));
+    results.addResult(newBattleResults(1, 0, 4, WhoWon.ATTACKER));
+    results.addResult(newBattleResults(0, 2, 3, WhoWon.DEFENDER));
+    results.addResult(newBattleResults(0, 0, 3, WhoWon.DEFENDER));
+
+    assertEquals(4, results.getRollCount());
+    assertEquals(0.5, results.getAttackerWinPercent(), 0.0);
+    assertEquals(0.25, results.getDefenderWinPercent(), 0.0);
+    assertEquals(0.25, results.getDrawPercent(), 0.0);
+    assertEquals(1.0, results.getAverageAttackingUnitsLeft(), 0.0);
+    assertEquals(0.5, results.getAverageDefendingUnitsLeft(), 0.0);
+    assertEquals(2.0, results.getAverageAttackingUnitsLeftWhenAttackerWon(), 0.0);
+    assertEquals(2.0, results.getAverageDefendingUnitsLeftWhenDefenderWon(), 0.0);
+    assertEquals(3.0, results.getAverageBattleRoundsFought(), 0.0);
+  }
+
+  @Test
+  public void averageTuvOfUnitsLeftOverShouldUseUnitTypeTotals() {
+    final AggregateResults results = new AggregateResults(2);
+    results.addResult(newBattleResults(3, 0, 1, WhoWon.ATTACKER));
+    results.addResult(newBattleResults(0, 1, 1, WhoWon.DEFENDER));
+    final IntegerMap<UnitType> costs = new IntegerMap<>();
+    costs.put(infantry(gameData), 3);
+    costs.put(armour(gameData), 5);
+
+    final Tuple<Double, Double> tuv = results.getAverageTUVofUnitsLeftOver(costs, costs);
+
+    assertEquals(4.5, tuv.getFirst(), 0.0);
+    assertEquals(2.5, tuv.getSecond(), 0.0);
+  }
+
+  @Test
+  public void sampledResultsShouldBeBounded() {
+    final AggregateResults results = new AggregateResults(AggregateResults.RESERVOIR_SIZE * 3);
+    for (int i = 0; i < AggregateResults.RESERVOIR_SIZE * 3; i++) {
+      results.addResult(newBattleResults(1, 0, 1, WhoWon.ATTACKER));
+    }
+
+    assertEquals(AggregateResults.RESERVOIR_SIZE * 3, results.getRollCount());
+    assertEquals(AggregateResults.RESERVOIR_SIZE, results.getSampledResults().size());
+    assertNotNull(results.getBattleResultsClosestToAverage());
+  }
+
+  @Test
+  public void addResultsShouldMergeStatisticsOfOtherResults() {
+    final AggregateResults first = new AggregateResults(AggregateResults.RESERVOIR_SIZE);
+    final AggregateResults second = new AggregateResults(AggregateResults.RESERVOIR_SIZE);
+    for (int i = 0; i < AggregateResults.RESERVOIR_SIZE; i++) {
+      first.addResult(newBattleResults(2, 0, 1, WhoWon.ATTACKER));
+      second.addResult(newBattleResults(0, 1, 3, WhoWon.DEFENDER));
+    }
+
+    first.addResults(second);
+
+    assertEquals(AggregateResults.RESERVOIR_SIZE * 2, first.getRollCount());
+    assertEquals(0.5, first.getAttackerWinPercent(), 0.0);
+    assertEquals(0.5, first.getDefenderWinPercent(), 0.0);
+    assertEquals(1.0, first.getAverageAttackingUnitsLeft(), 0.0);
+    assertEquals(2.0, first.getAverageBattleRoundsFought(), 0.0);
+    assertEquals(AggregateResults.RESERVOIR_SIZE, first.getSampledResults().size());
+  }
+}
@@ -0,0 +1,96 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.aaGun;
+import static games.strategy.triplea.delegate.GameDataTestUtil.armour;
+import static games.strategy.triplea.delegate.GameDataTestUtil.british;
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.submarine;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class BattleSimulatorTest {
+  private GameData gameData;
+
+  @Before
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.REVISED.getGameData();
+  }
+
+  private Optional<BattleSimulator> compile(final Territory location, final Collection<Unit> attacking,
+      final Collection<Unit> defending) {
+    return BattleSimulator.compile(gameData, germans(gameData), british(gameData), location, attacking, defending,
+        Collections.emptyList(), Collections.emptyList(), false, false, -1, -1, false, null, null);
+  }
+
+  private AggregateResults simulate(final BattleSimulator simulator, final int count) {
+    final Random random = new Random(42);
+    final AggregateResults results = new AggregateResults(count);
+    for (int i = 0; i < count; i++) {
+      results.addResult(simulator.fight(random));
+    }
+    return results;
+  }
+
+  @Test
+  public void oneArmourAgainstOneInfantryShouldMatchExactOdds() {
+    final Territory location = territory("Eastern Canada", gameData);
+    final List<Unit> attacking = armour(gameData).create(1, germans(gameData));
+    final List<Unit> defending = infantry(gameData).create(1, british(gameData));
+
+    final AggregateResults results = simulate(compile(location, attacking, defending).get(), 20000);
+
+    // each round the attacker hits on 3 and the defender hits on 2, both dying is a draw
+    assertEquals(0.5, results.getAttackerWinPercent(), 0.02);
+    assertEquals(0.25, results.getDefenderWinPercent(), 0.02);
+    assertEquals(0.25, results.getDrawPercent(), 0.02);
+  }
+
+  @Test
+  public void remainingUnitsShouldBeTakenFromTheCombatants() {
+    final Territory location = territory("Eastern Canada", gameData);
+    final List<Unit> attacking = armour(gameData).create(10, germans(gameData));
+    final List<Unit> defending = infantry(gameData).create(1, british(gameData));
+
+    final AggregateResults results = simulate(compile(location, attacking, defending).get(), 200);
+
+    assertTrue(results.getAttackerWinPercent() > 0.99);
+    assertTrue(attacking.containsAll(results.getAverageAttackingUnitsRemaining()));
+    assertTrue(results.getAverageDefendingUnitsRemaining().isEmpty());
+  }
+
+  @Test
+  public void battlesWithAaGunsShouldNotBeCompiled() {
+    final Territory location = territory("Eastern Canada", gameData);
+    final List<Unit> attacking = armour(gameData).create(1, germans(gameData));
+    final List<Unit> defending = infantry(gameData).create(1, british(gameData));
+    defending.addAll(aaGun(gameData).create(1, british(gameData)));
+
+    assertFalse(compile(location, attacking, defending).isPresent());
+  }
+
+  @Test
+  public void battlesWithSubsShouldNotBeCompiled() {
+    final Territory location = territory("1 Sea Zone", gameData);
+    final List<Unit> attacking = submarine(gameData).create(1, germans(gameData));
+    final List<Unit> defending = submarine(gameData).create(1, british(gameData));
+
+    assertFalse(compile(location, attacking, defending).isPresent());
+  }
+}
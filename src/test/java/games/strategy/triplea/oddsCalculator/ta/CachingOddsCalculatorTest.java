@@ -0,0 +1,205 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.armour;
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.russians;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.triplea.delegate.IBattle;
+import games.strategy.triplea.delegate.IBattle.WhoWon;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class CachingOddsCalculatorTest {
+  private GameData gameData;
+  private Territory germany;
+  private IOddsCalculator calculator;
+  private int rollCount = -1;
+
+  @Before
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.REVISED.getGameData();
+    germany = gameData.getMap().getTerritory("Germany");
+    calculator = mock(IOddsCalculator.class);
+    when(calculator.calculate(anyList())).thenAnswer(invocation -> {
+      final List<AggregateResults> results = new ArrayList<>();
+      for (final BattleSpec battle : invocation.<List<BattleSpec>>getArgument(0)) {
+        results.add(newResults((rollCount < 0) ? battle.getRunCount() : rollCount));
+      }
+      return results;
+    });
+  }
+
+  private AggregateResults newResults(final int rollCount) {
+    final IBattle battle = mock(IBattle.class);
+    when(battle.getRemainingAttackingUnits()).thenReturn(Collections.emptyList());
+    when(battle.getRemainingDefendingUnits()).thenReturn(Collections.emptyList());
+    final AggregateResults results = new AggregateResults(rollCount);
+    for (int i = 0; i < rollCount; i++) {
+      results.addResult(new BattleResults(battle, WhoWon.DEFENDER, gameData));
+    }
+    return results;
+  }
+
+  private CachingOddsCalculator newCachingOddsCalculator(final int capacity) {
+    final CachingOddsCalculator cachingCalculator = new CachingOddsCalculator(calculator, capacity);
+    cachingCalculator.setGameData(gameData);
+    return cachingCalculator;
+  }
+
+  private BattleSpec newBattle(final List<Unit> attacking) {
+    return new BattleSpec(russians(gameData), germans(gameData), germany, attacking,
+        armour(gameData).create(2, germans(gameData)), Collections.emptyList(), Collections.emptyList(), 10, false);
+  }
+
+  @Test
+  public void sameUnitCompositionShouldBeCalculatedOnce() {
+    final CachingOddsCalculator cachingCalculator = newCachingOddsCalculator(10);
+
+    final AggregateResults first = cachingCalculator.calculate(
+        Collections.singletonList(newBattle(infantry(gameData).create(3, russians(gameData))))).get(0);
+    final AggregateResults second = cachingCalculator.calculate(
+        Collections.singletonList(newBattle(infantry(gameData).create(3, russians(gameData))))).get(0);
+
+    assertSame(first, second);
+    verify(calculator, times(1)).calculate(anyList());
+    assertEquals(1, cachingCalculator.getHits());
+    assertEquals(1, cachingCalculator.getMisses());
+    assertEquals(0.5, cachingCalculator.getHitRate(), 0.0);
+  }
+
+  @Test
+  public void damagedUnitsShouldBeCalculatedSeparately() {
+    final CachingOddsCalculator cachingCalculator = newCachingOddsCalculator(10);
+    final List<Unit> damaged = infantry(gameData).create(3, russians(gameData));
+    damaged.get(0).setHits(1);
+
+    cachingCalculator.calculate(
+        Collections.singletonList(newBattle(infantry(gameData).create(3, russians(gameData)))));
+    cachingCalculator.calculate(Collections.singletonList(newBattle(damaged)));
+
+    assertEquals(0, cachingCalculator.getHits());
+    assertEquals(2, cachingCalculator.getSize());
+  }
+
+  @Test
+  public void changedSettingsShouldBeCalculatedSeparately() {
+    final CachingOddsCalculator cachingCalculator = newCachingOddsCalculator(10);
+
+    cachingCalculator.calculate(
+        Collections.singletonList(newBattle(infantry(gameData).create(3, russians(gameData)))));
+    cachingCalculator.setAmphibious(true);
+    cachingCalculator.calculate(
+        Collections.singletonList(newBattle(infantry(gameData).create(3, russians(gameData)))));
+
+    assertEquals(0, cachingCalculator.getHits());
+    verify(calculator).setAmphibious(true);
+  }
+
+  @Test
+  public void batchShouldCalculateEachMissingBattleOnce() {
+    final CachingOddsCalculator cachingCalculator = newCachingOddsCalculator(10);
+    final BattleSpec cached = newBattle(infantry(gameData).create(1, russians(gameData)));
+    cachingCalculator.calculate(Collections.singletonList(cached));
+
+    final List<AggregateResults> results = cachingCalculator.calculate(Arrays.asList(cached,
+        newBattle(infantry(gameData).create(2, russians(gameData))),
+        newBattle(infantry(gameData).create(2, russians(gameData)))));
+
+    assertEquals(3, results.size());
+    assertSame(results.get(1), results.get(2));
+    verify(calculator, times(2)).calculate(anyList());
+    assertEquals(2, cachingCalculator.getSize());
+  }
+
+  @Test
+  public void leastRecentlyUsedBattleShouldBeEvicted() {
+    final CachingOddsCalculator cachingCalculator = newCachingOddsCalculator(2);
+    final BattleSpec one = newBattle(infantry(gameData).create(1, russians(gameData)));
+    final BattleSpec two = newBattle(infantry(gameData).create(2, russians(gameData)));
+    final BattleSpec three = newBattle(infantry(gameData).create(3, russians(gameData)));
+
+    cachingCalculator.calculate(Collections.singletonList(one));
+    cachingCalculator.calculate(Collections.singletonList(two));
+    cachingCalculator.calculate(Collections.singletonList(one));
+    cachingCalculator.calculate(Collections.singletonList(three));
+    cachingCalculator.calculate(Collections.singletonList(one));
+    cachingCalculator.calculate(Collections.singletonList(two));
+
+    assertEquals(2, cachingCalculator.getEvictions());
+    assertEquals(2, cachingCalculator.getHits());
+  }
+
+  @Test
+  public void changedRelationshipShouldInvalidateCache() {
+    final CachingOddsCalculator cachingCalculator = newCachingOddsCalculator(10);
+    final BattleSpec battle = newBattle(infantry(gameData).create(3, russians(gameData)));
+    cachingCalculator.calculate(Collections.singletonList(battle));
+
+    gameData.performChange(ChangeFactory.relationshipChange(russians(gameData), germans(gameData),
+        gameData.getRelationshipTracker().getRelationshipType(russians(gameData), germans(gameData)),
+        gameData.getRelationshipTypeList().getDefaultAlliedRelationship()));
+    cachingCalculator.calculate(Collections.singletonList(battle));
+
+    assertEquals(0, cachingCalculator.getHits());
+    assertEquals(1, cachingCalculator.getInvalidations());
+  }
+
+  @Test
+  public void unrelatedChangeShouldNotInvalidateCache() {
+    final CachingOddsCalculator cachingCalculator = newCachingOddsCalculator(10);
+    final BattleSpec battle = newBattle(infantry(gameData).create(3, russians(gameData)));
+    cachingCalculator.calculate(Collections.singletonList(battle));
+
+    gameData.performChange(ChangeFactory.addUnits(germany, infantry(gameData).create(1, germans(gameData))));
+    cachingCalculator.calculate(Collections.singletonList(battle));
+
+    assertEquals(1, cachingCalculator.getHits());
+    assertEquals(0, cachingCalculator.getInvalidations());
+  }
+
+  @Test
+  public void cancelledCalculationShouldNotBeCached() {
+    final CachingOddsCalculator cachingCalculator = newCachingOddsCalculator(10);
+    rollCount = 0;
+
+    cachingCalculator.calculate(
+        Collections.singletonList(newBattle(infantry(gameData).create(3, russians(gameData)))));
+
+    assertEquals(0, cachingCalculator.getSize());
+  }
+
+  @Test
+  public void setCalculateDataAndCalculateShouldUseCache() {
+    final CachingOddsCalculator cachingCalculator = newCachingOddsCalculator(10);
+
+    cachingCalculator.setCalculateDataAndCalculate(russians(gameData), germans(gameData), germany,
+        infantry(gameData).create(3, russians(gameData)), armour(gameData).create(2, germans(gameData)),
+        Collections.emptyList(), Collections.emptyList(), 10);
+    cachingCalculator.setCalculateData(russians(gameData), germans(gameData), germany,
+        infantry(gameData).create(3, russians(gameData)), armour(gameData).create(2, germans(gameData)),
+        Collections.emptyList(), Collections.emptyList(), 10);
+    final AggregateResults results = cachingCalculator.calculate();
+
+    assertEquals(10, results.getRollCount());
+    assertEquals(1, cachingCalculator.getHits());
+  }
+}
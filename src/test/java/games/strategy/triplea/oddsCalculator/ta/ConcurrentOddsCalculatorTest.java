@@ -0,0 +1,94 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.triplea.delegate.GameDataTestUtil;
+import games.strategy.triplea.delegate.TerritoryEffectHelper;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class ConcurrentOddsCalculatorTest {
+  private GameData gameData;
+  private ConcurrentOddsCalculator calculator;
+
+  @Before
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.REVISED.getGameData();
+    calculator = new ConcurrentOddsCalculator("Test");
+    calculator.setGameData(gameData);
+  }
+
+  @After
+  public void tearDown() {
+    calculator.shutdown();
+  }
+
+  @Test
+  public void testCalculateBattlesReturnsResultsInOrder() {
+    final Territory germany = gameData.getMap().getTerritory("Germany");
+    final PlayerID russians = GameDataTestUtil.russians(gameData);
+    final PlayerID germans = GameDataTestUtil.germans(gameData);
+    final List<BattleSpec> battles = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      // odd battles are hopeless for the attacker
+      final int attackers = (i % 2 == 0) ? 100 : 1;
+      battles.add(new BattleSpec(russians, germans, germany,
+          GameDataTestUtil.infantry(gameData).create(attackers, russians), germany.getUnits().getUnits(),
+          Collections.emptyList(), TerritoryEffectHelper.getEffects(germany), 50, false));
+    }
+    final List<AggregateResults> results = calculator.calculate(battles);
+    assertEquals(battles.size(), results.size());
+    for (int i = 0; i < results.size(); i++) {
+      assertEquals(50, results.get(i).getRollCount());
+      if (i % 2 == 0) {
+        assertTrue(results.get(i).getAttackerWinPercent() > 0.99);
+      } else {
+        assertTrue(results.get(i).getDefenderWinPercent() > 0.99);
+      }
+    }
+  }
+
+  @Test
+  public void testCalculateSingleBattle() {
+    final Territory germany = gameData.getMap().getTerritory("Germany");
+    final PlayerID russians = GameDataTestUtil.russians(gameData);
+    final PlayerID germans = GameDataTestUtil.germans(gameData);
+    final BattleSpec battle = new BattleSpec(russians, germans, germany,
+        GameDataTestUtil.infantry(gameData).create(100, russians), germany.getUnits().getUnits(),
+        Collections.emptyList(), TerritoryEffectHelper.getEffects(germany), 50, false);
+    final List<AggregateResults> results = calculator.calculate(Collections.singletonList(battle));
+    assertEquals(1, results.size());
+    assertEquals(50, results.get(0).getRollCount());
+    assertTrue(results.get(0).getAttackerWinPercent() > 0.99);
+  }
+
+  @Test
+  public void testCalculateBattlesAfterShutdownReturnsEmptyResults() {
+    final Territory germany = gameData.getMap().getTerritory("Germany");
+    final PlayerID russians = GameDataTestUtil.russians(gameData);
+    final PlayerID germans = GameDataTestUtil.germans(gameData);
+    final List<BattleSpec> battles = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      battles.add(new BattleSpec(russians, germans, germany,
+          GameDataTestUtil.infantry(gameData).create(10, russians), germany.getUnits().getUnits(),
+          Collections.emptyList(), TerritoryEffectHelper.getEffects(germany), 50, false));
+    }
+    calculator.shutdown();
+    final List<AggregateResults> results = calculator.calculate(battles);
+    assertEquals(battles.size(), results.size());
+    for (final AggregateResults result : results) {
+      assertEquals(0, result.getRollCount());
+    }
+  }
+}
@@ -9,6 +9,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -99,4 +100,25 @@ public class OddsCalculatorTest {
     assertEquals(results.getAttackerWinPercent(), 1.0, 0.0);
     assertEquals(results.getDefenderWinPercent(), 0.0, 0.0);
   }
+
+  @Test
+  public void testCalculateBattles() {
+    final Territory germany = gameData.getMap().getTerritory("Germany");
+    final Territory eastCanada = gameData.getMap().getTerritory("Eastern Canada");
+    final PlayerID russians = GameDataTestUtil.russians(gameData);
+    final PlayerID germans = GameDataTestUtil.germans(gameData);
+    final PlayerID british = GameDataTestUtil.british(gameData);
+    final BattleSpec russiansWin = new BattleSpec(russians, germans, germany,
+        GameDataTestUtil.infantry(gameData).create(100, russians), germany.getUnits().getUnits(),
+        Collections.emptyList(), TerritoryEffectHelper.getEffects(germany), 200, false);
+    final BattleSpec britishWin = new BattleSpec(germans, british, eastCanada,
+        GameDataTestUtil.infantry(gameData).create(1, germans), GameDataTestUtil.armour(gameData).create(10, british),
+        Collections.emptyList(), TerritoryEffectHelper.getEffects(eastCanada), 200, false);
+    final OddsCalculator calculator = new OddsCalculator(gameData);
+    final List<AggregateResults> results = calculator.calculate(Arrays.asList(russiansWin, britishWin));
+    calculator.shutdown();
+    assertEquals(2, results.size());
+    assertTrue(results.get(0).getAttackerWinPercent() > 0.99);
+    assertTrue(results.get(1).getDefenderWinPercent() > 0.99);
+  }
 }
@@ -79,6 +79,38 @@ public class PropertyUtilTest {
         testClass.bar, is("default"));
   }
 
+  @Test
+  public void testOverloadedSetterMatchingValueTypeIsUsed() {
+    final OverloadedSetterClass testClass = new OverloadedSetterClass();
+    PropertyUtil.set(BAR, 3, testClass);
+    assertThat(testClass.bar, is("int:3"));
+    PropertyUtil.set(BAR, NEW_VALUE, testClass);
+    assertThat(testClass.bar, is("string:" + NEW_VALUE));
+    PropertyUtil.set(BAR, 4, testClass);
+    assertThat(testClass.bar, is("int:4"));
+  }
+
+  @Test
+  public void testSetFromString() throws Exception {
+    final OverloadedSetterClass testClass = new OverloadedSetterClass();
+    PropertyUtil.setFromString(BAR, NEW_VALUE, testClass);
+    assertThat(testClass.bar, is("string:" + NEW_VALUE));
+  }
+
+  @Test(expected = NoSuchMethodException.class)
+  public void testSetFromStringWithNoStringSetter() throws Exception {
+    PropertyUtil.setFromString(BAR, NEW_VALUE, new InvalidSetterClass());
+  }
+
+  @Test
+  public void testReset() {
+    final OverloadedSetterClass testClass = new OverloadedSetterClass();
+    PropertyUtil.set(BAR, NEW_VALUE, testClass, true);
+    assertThat(testClass.bar, is("string:" + NEW_VALUE));
+    PropertyUtil.reset(BAR, testClass);
+    assertThat(testClass.bar, is(DEFAULT));
+  }
+
   private static class NoSetterClass {
     
     @SuppressWarnings("unused")
@@ -120,4 +152,23 @@ public class PropertyUtilTest {
       m_bar = newValue;
     }
   }
+
+  private static class OverloadedSetterClass {
+    protected String bar = PropertyUtilTest.DEFAULT;
+
+    @SuppressWarnings("unused")
+    public void setBar(final String newValue) {
+      bar = "string:" + newValue;
+    }
+
+    @SuppressWarnings("unused")
+    public void setBar(final Integer newValue) {
+      bar = "int:" + newValue;
+    }
+
+    @SuppressWarnings("unused")
+    public void resetBar() {
+      bar = PropertyUtilTest.DEFAULT;
+    }
+  }
 }